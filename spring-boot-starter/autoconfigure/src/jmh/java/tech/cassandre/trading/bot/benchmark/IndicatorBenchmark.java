@@ -0,0 +1,273 @@
+package tech.cassandre.trading.bot.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.indicators.ATRIndicator;
+import org.ta4j.core.indicators.EMAIndicator;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsMiddleIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsUpperIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.statistics.StandardDeviationIndicator;
+import tech.cassandre.trading.bot.util.indicator.AverageTrueRange;
+import tech.cassandre.trading.bot.util.indicator.BollingerBands;
+import tech.cassandre.trading.bot.util.indicator.ExponentialMovingAverage;
+import tech.cassandre.trading.bot.util.indicator.RelativeStrengthIndex;
+import tech.cassandre.trading.bot.util.indicator.SimpleMovingAverage;
+import tech.cassandre.trading.bot.util.ta4j.RingBarSeries;
+
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of a new bar for streaming indicators and for ta4j indicators.
+ * Bars are generated once (random walk with distinct open, high, low and close prices) and both kinds of indicators
+ * are fed the same bars. Each ta4j invocation adds a bar to the series and reads the indicator value at the new
+ * index, as BasicTa4jCassandreStrategy does when a bar is closed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("checkstyle:VisibilityModifier")
+public class IndicatorBenchmark {
+
+    /** Number of bars generated. */
+    private static final int BARS_COUNT = 1 << 16;
+
+    /** Indicators period. */
+    @Param({"14", "200"})
+    public int barCount;
+
+    /** Open prices. */
+    private final double[] opens = new double[BARS_COUNT];
+
+    /** High prices. */
+    private final double[] highs = new double[BARS_COUNT];
+
+    /** Low prices. */
+    private final double[] lows = new double[BARS_COUNT];
+
+    /** Close prices (random walk). */
+    private final double[] closes = new double[BARS_COUNT];
+
+    /** Volumes. */
+    private final double[] volumes = new double[BARS_COUNT];
+
+    /** Current bar. */
+    private int index;
+
+    /** Bars timestamp. */
+    private ZonedDateTime time;
+
+    /** Series used by ta4j indicators. */
+    private BarSeries series;
+
+    /** ta4j SMA. */
+    private SMAIndicator ta4jSma;
+
+    /** ta4j EMA. */
+    private EMAIndicator ta4jEma;
+
+    /** ta4j RSI. */
+    private RSIIndicator ta4jRsi;
+
+    /** ta4j ATR. */
+    private ATRIndicator ta4jAtr;
+
+    /** ta4j Bollinger upper band. */
+    private BollingerBandsUpperIndicator ta4jBollinger;
+
+    /** Streaming SMA. */
+    private SimpleMovingAverage sma;
+
+    /** Streaming EMA. */
+    private ExponentialMovingAverage ema;
+
+    /** Streaming RSI. */
+    private RelativeStrengthIndex rsi;
+
+    /** Streaming ATR. */
+    private AverageTrueRange atr;
+
+    /** Streaming Bollinger bands. */
+    private BollingerBands bollinger;
+
+    /**
+     * Creates the bars and the indicators.
+     */
+    @Setup(Level.Iteration)
+    public void setup() {
+        final Random random = new Random(1);
+        double close = 100;
+        for (int i = 0; i < BARS_COUNT; i++) {
+            opens[i] = close;
+            close = Math.max(1, close + random.nextGaussian());
+            closes[i] = close;
+            highs[i] = Math.max(opens[i], close) + random.nextDouble();
+            lows[i] = Math.max(0, Math.min(opens[i], close) - random.nextDouble());
+            volumes[i] = random.nextDouble() * 10;
+        }
+        index = 0;
+        time = ZonedDateTime.now();
+        series = new RingBarSeries("benchmark", barCount * 2);
+        final ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        ta4jSma = new SMAIndicator(closePrice, barCount);
+        ta4jEma = new EMAIndicator(closePrice, barCount);
+        ta4jRsi = new RSIIndicator(closePrice, barCount);
+        ta4jAtr = new ATRIndicator(series, barCount);
+        final SMAIndicator bollingerSma = new SMAIndicator(closePrice, barCount);
+        ta4jBollinger = new BollingerBandsUpperIndicator(new BollingerBandsMiddleIndicator(bollingerSma),
+                new StandardDeviationIndicator(closePrice, barCount),
+                series.numOf(BollingerBands.DEFAULT_MULTIPLE));
+        sma = new SimpleMovingAverage(barCount);
+        ema = new ExponentialMovingAverage(barCount);
+        rsi = new RelativeStrengthIndex(barCount);
+        atr = new AverageTrueRange(barCount);
+        bollinger = new BollingerBands(barCount);
+    }
+
+    /**
+     * Moves to the next bar.
+     *
+     * @return index of the bar in the generated bars
+     */
+    private int nextBar() {
+        index = (index + 1) & (BARS_COUNT - 1);
+        return index;
+    }
+
+    /**
+     * Adds the next bar to the ta4j series.
+     *
+     * @return index of the new bar in the series
+     */
+    private int addBar() {
+        final int i = nextBar();
+        time = time.plusMinutes(1);
+        series.addBar(time, opens[i], highs[i], lows[i], closes[i], volumes[i]);
+        return series.getEndIndex();
+    }
+
+    /**
+     * ta4j SMA.
+     *
+     * @return value
+     */
+    @Benchmark
+    public double ta4jSma() {
+        return ta4jSma.getValue(addBar()).doubleValue();
+    }
+
+    /**
+     * Streaming SMA.
+     *
+     * @return value
+     */
+    @Benchmark
+    public double streamingSma() {
+        sma.update(closes[nextBar()]);
+        return sma.getValue();
+    }
+
+    /**
+     * ta4j EMA.
+     *
+     * @return value
+     */
+    @Benchmark
+    public double ta4jEma() {
+        return ta4jEma.getValue(addBar()).doubleValue();
+    }
+
+    /**
+     * Streaming EMA.
+     *
+     * @return value
+     */
+    @Benchmark
+    public double streamingEma() {
+        ema.update(closes[nextBar()]);
+        return ema.getValue();
+    }
+
+    /**
+     * ta4j RSI.
+     *
+     * @return value
+     */
+    @Benchmark
+    public double ta4jRsi() {
+        return ta4jRsi.getValue(addBar()).doubleValue();
+    }
+
+    /**
+     * Streaming RSI.
+     *
+     * @return value
+     */
+    @Benchmark
+    public double streamingRsi() {
+        rsi.update(closes[nextBar()]);
+        return rsi.getValue();
+    }
+
+    /**
+     * ta4j ATR.
+     *
+     * @return value
+     */
+    @Benchmark
+    public double ta4jAtr() {
+        return ta4jAtr.getValue(addBar()).doubleValue();
+    }
+
+    /**
+     * Streaming ATR.
+     *
+     * @return value
+     */
+    @Benchmark
+    public double streamingAtr() {
+        final int i = nextBar();
+        atr.update(highs[i], lows[i], closes[i], volumes[i]);
+        return atr.getValue();
+    }
+
+    /**
+     * ta4j Bollinger upper band.
+     *
+     * @return value
+     */
+    @Benchmark
+    public double ta4jBollinger() {
+        return ta4jBollinger.getValue(addBar()).doubleValue();
+    }
+
+    /**
+     * Streaming Bollinger upper band.
+     *
+     * @return value
+     */
+    @Benchmark
+    public double streamingBollinger() {
+        bollinger.update(closes[nextBar()]);
+        return bollinger.getUpper();
+    }
+
+}
@@ -0,0 +1,151 @@
+package tech.cassandre.trading.bot.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.cassandre.trading.bot.dto.market.TickerDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderDTO;
+import tech.cassandre.trading.bot.dto.trade.TradeDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyAmountDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.util.journal.EventJournal;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.PARTIALLY_FILLED;
+import static tech.cassandre.trading.bot.dto.trade.OrderTypeDTO.BID;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.BTC;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.USDT;
+import static tech.cassandre.trading.bot.util.journal.EventType.ORDER;
+import static tech.cassandre.trading.bot.util.journal.EventType.TICKER;
+
+/**
+ * Measures the latency a journal append adds to each flux value (the journal write is done before the value is
+ * saved and emitted). Each iteration starts with an empty journal in a temporary directory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("checkstyle:VisibilityModifier")
+public class JournalBenchmark {
+
+    /** Segment size (the default one). */
+    private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    /** True to force each append to the storage device. */
+    @Param({"false", "true"})
+    public boolean forceWrites;
+
+    /** Journal directory. */
+    private Path directory;
+
+    /** Journal. */
+    private EventJournal journal;
+
+    /** Ticker appended. */
+    private TickerDTO ticker;
+
+    /** Order (with one trade) appended. */
+    private OrderDTO order;
+
+    /**
+     * Creates the values and opens an empty journal.
+     *
+     * @throws IOException error creating the journal directory
+     */
+    @Setup(Level.Iteration)
+    public void setup() throws IOException {
+        final CurrencyPairDTO currencyPair = new CurrencyPairDTO(BTC, USDT);
+        final ZonedDateTime now = ZonedDateTime.now();
+        ticker = TickerDTO.builder()
+                .currencyPair(currencyPair)
+                .timestamp(now)
+                .open(new BigDecimal("50000.12"))
+                .high(new BigDecimal("50100.5"))
+                .low(new BigDecimal("49900.25"))
+                .last(new BigDecimal("50050.75"))
+                .bid(new BigDecimal("50050.7"))
+                .ask(new BigDecimal("50050.8"))
+                .volume(new BigDecimal("1234.5678"))
+                .build();
+        order = OrderDTO.builder()
+                .orderId("ORDER_000001")
+                .type(BID)
+                .currencyPair(currencyPair)
+                .amount(new CurrencyAmountDTO(new BigDecimal("0.5"), BTC))
+                .averagePrice(new CurrencyAmountDTO(new BigDecimal("50050.75"), USDT))
+                .status(PARTIALLY_FILLED)
+                .cumulativeAmount(new CurrencyAmountDTO(new BigDecimal("0.25"), BTC))
+                .userReference("123456789")
+                .timestamp(now)
+                .trade(TradeDTO.builder()
+                        .tradeId("TRADE_000001")
+                        .orderId("ORDER_000001")
+                        .type(BID)
+                        .currencyPair(currencyPair)
+                        .amount(new CurrencyAmountDTO(new BigDecimal("0.25"), BTC))
+                        .price(new CurrencyAmountDTO(new BigDecimal("50050.75"), USDT))
+                        .fee(new CurrencyAmountDTO(new BigDecimal("0.01"), USDT))
+                        .timestamp(now)
+                        .build())
+                .build();
+        directory = Files.createTempDirectory("cassandre-journal-benchmark");
+        journal = new EventJournal(directory, SEGMENT_SIZE, forceWrites);
+    }
+
+    /**
+     * Closes the journal and deletes its files.
+     *
+     * @throws IOException error deleting the journal files
+     */
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Ticker append.
+     *
+     * @return event sequence
+     */
+    @Benchmark
+    public long appendTicker() {
+        return journal.append(TICKER, ticker);
+    }
+
+    /**
+     * Order append.
+     *
+     * @return event sequence
+     */
+    @Benchmark
+    public long appendOrder() {
+        return journal.append(ORDER, order);
+    }
+
+}
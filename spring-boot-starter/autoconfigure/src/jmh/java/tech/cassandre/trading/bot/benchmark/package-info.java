@@ -0,0 +1,4 @@
+/**
+ * Benchmarks (run with the benchmark profile).
+ */
+package tech.cassandre.trading.bot.benchmark;
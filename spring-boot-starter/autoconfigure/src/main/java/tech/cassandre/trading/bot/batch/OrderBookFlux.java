@@ -0,0 +1,97 @@
+package tech.cassandre.trading.bot.batch;
+
+import com.google.common.collect.Iterators;
+import tech.cassandre.trading.bot.dto.market.OrderBookDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.service.MarketService;
+import tech.cassandre.trading.bot.util.base.BaseExternalFlux;
+import tech.cassandre.trading.bot.util.market.LocalOrderBook;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Order book flux - push {@link OrderBookDTO}.
+ * Each update retrieves the order book of one requested currency pair and applies the level changes to the local book
+ * of the pair, which keeps at most {@code depth} levels per side : a book is only pushed when a level changed. The flux is conflated : only the latest book is kept when the
+ * subscribers are slower than the exchange, so a slow strategy never accumulates books in memory.
+ */
+public class OrderBookFlux extends BaseExternalFlux<OrderBookDTO> {
+
+    /** Market service. */
+    private final MarketService marketService;
+
+    /** Maximum number of levels per side. */
+    private final int depth;
+
+    /** Requested currency pairs. */
+    private Set<CurrencyPairDTO> requestedCurrencyPairs = Collections.emptySet();
+
+    /** Cycle iterator over requested currency pairs. */
+    private Iterator<CurrencyPairDTO> currencyPairsIterator = Collections.emptyIterator();
+
+    /** Local order books. */
+    private final Map<CurrencyPairDTO, LocalOrderBook> orderBooks = new LinkedHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param newMarketService market service
+     */
+    public OrderBookFlux(final MarketService newMarketService) {
+        this(newMarketService, LocalOrderBook.DEFAULT_DEPTH);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param newMarketService market service
+     * @param newDepth         maximum number of levels per side
+     */
+    public OrderBookFlux(final MarketService newMarketService, final int newDepth) {
+        this.marketService = newMarketService;
+        this.depth = newDepth;
+    }
+
+    /**
+     * Update the list of currency pairs whose order book is requested.
+     *
+     * @param newRequestedCurrencyPairs list of requested currency pairs
+     */
+    public void updateRequestedCurrencyPairs(final Set<CurrencyPairDTO> newRequestedCurrencyPairs) {
+        requestedCurrencyPairs = new LinkedHashSet<>(newRequestedCurrencyPairs);
+        currencyPairsIterator = Iterators.cycle(requestedCurrencyPairs);
+    }
+
+    @Override
+    protected final int getPrefetch() {
+        return 1;
+    }
+
+    @Override
+    protected final Set<OrderBookDTO> getNewValues() {
+        Set<OrderBookDTO> newValues = new LinkedHashSet<>();
+        if (currencyPairsIterator.hasNext()) {
+            logger.debug("OrderBookFlux - Retrieving new values");
+            final CurrencyPairDTO currencyPair = currencyPairsIterator.next();
+            marketService.getOrderBook(currencyPair).ifPresent(snapshot -> {
+                LocalOrderBook orderBook = orderBooks.get(currencyPair);
+                if (orderBook == null) {
+                    orderBook = new LocalOrderBook(currencyPair, depth);
+                    orderBook.applySnapshot(snapshot);
+                    orderBooks.put(currencyPair, orderBook);
+                } else if (!orderBook.applyChanges(snapshot)) {
+                    return;
+                }
+                logger.debug("OrderBookFlux - New order book received for {}", currencyPair);
+                newValues.add(orderBook.toOrderBookDTO());
+            });
+        }
+        return newValues;
+    }
+
+}
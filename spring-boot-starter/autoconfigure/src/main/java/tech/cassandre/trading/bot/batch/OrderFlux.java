@@ -12,6 +12,8 @@ import java.util.Set;
 
 /**
  * Order flux - push {@link OrderDTO}.
+ * The trade service only returns the orders in flight (and their final status) ; an order is pushed when it differs
+ * from the one saved in database.
  */
 public class OrderFlux extends BaseExternalFlux<OrderDTO> {
 
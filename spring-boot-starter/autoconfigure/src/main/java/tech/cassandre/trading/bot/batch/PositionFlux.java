@@ -1,16 +1,33 @@
 package tech.cassandre.trading.bot.batch;
 
+import org.springframework.transaction.support.TransactionTemplate;
 import tech.cassandre.trading.bot.domain.Order;
 import tech.cassandre.trading.bot.domain.Position;
 import tech.cassandre.trading.bot.dto.position.PositionDTO;
 import tech.cassandre.trading.bot.repository.OrderRepository;
 import tech.cassandre.trading.bot.repository.PositionRepository;
+import tech.cassandre.trading.bot.service.intern.GainAggregator;
 import tech.cassandre.trading.bot.util.base.BaseInternalFlux;
+import tech.cassandre.trading.bot.util.jpa.CurrencyAmount;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
+import static tech.cassandre.trading.bot.dto.position.PositionStatusDTO.CLOSED;
+
 /**
  * Position flux - push {@link PositionDTO}.
+ * Status changes and order links are written immediately. When a checkpoint interval is set, updates only changing
+ * prices (lowest, highest and latest) are kept in memory and written by {@link #checkpoint()} : a position receiving
+ * a price on every ticker is then written once per checkpoint. Positions read from database should go through
+ * {@link #withPendingPrices(Position)} to see prices not written yet.
  */
 public class PositionFlux extends BaseInternalFlux<PositionDTO> {
 
@@ -20,6 +37,24 @@ public class PositionFlux extends BaseInternalFlux<PositionDTO> {
     /** Order repository. */
     private final OrderRepository orderRepository;
 
+    /** Gain aggregator (null if gains are calculated from closed positions). */
+    private final GainAggregator gainAggregator;
+
+    /** Checkpoint interval (zero if every update is written immediately). */
+    private final Duration checkpointInterval;
+
+    /** Transaction template used by checkpoints (null to write without transaction). */
+    private final TransactionTemplate transactionTemplate;
+
+    /** Lock - a checkpoint and a position write never run at the same time. */
+    private final Object lock = new Object();
+
+    /** Prices waiting for the next checkpoint, by position technical id (guarded by lock). */
+    private final Map<Long, Position> pendingPrices = new LinkedHashMap<>();
+
+    /** State (status and orders) written in database, by position technical id (guarded by lock). */
+    private final Map<Long, String> writtenStates = new HashMap<>();
+
     /**
      * Constructor.
      *
@@ -28,28 +63,225 @@ public class PositionFlux extends BaseInternalFlux<PositionDTO> {
      */
     public PositionFlux(final PositionRepository newPositionRepository,
                         final OrderRepository newOrderRepository) {
+        this(newPositionRepository, newOrderRepository, null);
+    }
+
+    /**
+     * Constructor with a gain aggregator updated when a position is closed.
+     *
+     * @param newPositionRepository position repository
+     * @param newOrderRepository    order repository
+     * @param newGainAggregator     gain aggregator
+     */
+    public PositionFlux(final PositionRepository newPositionRepository,
+                        final OrderRepository newOrderRepository,
+                        final GainAggregator newGainAggregator) {
+        this(newPositionRepository, newOrderRepository, newGainAggregator, Duration.ZERO);
+    }
+
+    /**
+     * Constructor with a gain aggregator and a checkpoint interval for price updates.
+     *
+     * @param newPositionRepository position repository
+     * @param newOrderRepository    order repository
+     * @param newGainAggregator     gain aggregator
+     * @param newCheckpointInterval checkpoint interval (zero to write every update immediately)
+     */
+    public PositionFlux(final PositionRepository newPositionRepository,
+                        final OrderRepository newOrderRepository,
+                        final GainAggregator newGainAggregator,
+                        final Duration newCheckpointInterval) {
+        this(newPositionRepository, newOrderRepository, newGainAggregator, newCheckpointInterval, null);
+    }
+
+    /**
+     * Constructor with a gain aggregator, a checkpoint interval for price updates and the transaction template used
+     * by checkpoints.
+     *
+     * @param newPositionRepository  position repository
+     * @param newOrderRepository     order repository
+     * @param newGainAggregator      gain aggregator
+     * @param newCheckpointInterval  checkpoint interval (zero to write every update immediately)
+     * @param newTransactionTemplate transaction template
+     */
+    public PositionFlux(final PositionRepository newPositionRepository,
+                        final OrderRepository newOrderRepository,
+                        final GainAggregator newGainAggregator,
+                        final Duration newCheckpointInterval,
+                        final TransactionTemplate newTransactionTemplate) {
         this.positionRepository = newPositionRepository;
         this.orderRepository = newOrderRepository;
+        this.gainAggregator = newGainAggregator;
+        this.checkpointInterval = newCheckpointInterval;
+        this.transactionTemplate = newTransactionTemplate;
+    }
+
+    /**
+     * Getter gainAggregator.
+     *
+     * @return gainAggregator (null if gains are calculated from closed positions)
+     */
+    public final GainAggregator getGainAggregator() {
+        return gainAggregator;
+    }
+
+    /**
+     * Getter checkpointInterval.
+     *
+     * @return checkpointInterval (zero if every update is written immediately)
+     */
+    public final Duration getCheckpointInterval() {
+        return checkpointInterval;
     }
 
     @Override
     public final void saveValue(final PositionDTO newValue) {
-        Optional<Position> positionInDatabase = positionRepository.findById(newValue.getId());
-        positionInDatabase.ifPresentOrElse(position -> {
-            positionMapper.updatePosition(newValue, position);
-            // Setting opening & closing order.
-            if (newValue.getOpeningOrder() != null) {
-                final Optional<Order> openingOrder = orderRepository.findByOrderId(newValue.getOpeningOrder().getOrderId());
-                openingOrder.ifPresent(position::setOpeningOrder);
+        synchronized (lock) {
+            // If only prices changed, they will be written by the next checkpoint.
+            final String state = getState(newValue);
+            if (!checkpointInterval.isZero() && state.equals(writtenStates.get(newValue.getId()))) {
+                final Position prices = pendingPrices.computeIfAbsent(newValue.getId(), id -> new Position());
+                positionMapper.updatePositionPrices(newValue, prices);
+                logger.debug("PositionFlux - Position {} prices will be written at next checkpoint", newValue.getId());
+                return;
+            }
+
+            // Status or orders changed, the position is written now (with its latest prices).
+            pendingPrices.remove(newValue.getId());
+            Optional<Position> positionInDatabase = positionRepository.findById(newValue.getId());
+            positionInDatabase.ifPresentOrElse(position -> {
+                final boolean closing = !CLOSED.equals(position.getStatus()) && CLOSED.equals(newValue.getStatus());
+                positionMapper.updatePosition(newValue, position);
+                // Setting opening & closing order.
+                if (newValue.getOpeningOrder() != null) {
+                    final Optional<Order> openingOrder = orderRepository.findByOrderId(newValue.getOpeningOrder().getOrderId());
+                    openingOrder.ifPresent(position::setOpeningOrder);
+                }
+                if (newValue.getClosingOrder() != null && newValue.getClosingOrder().getId() != null) {
+                    final Optional<Order> closingOrder = orderRepository.findByOrderId(newValue.getClosingOrder().getOrderId());
+                    closingOrder.ifPresent(position::setClosingOrder);
+                }
+                if (closing && gainAggregator != null) {
+                    gainAggregator.positionClosed(position, () -> positionRepository.save(position));
+                } else {
+                    positionRepository.save(position);
+                }
+                if (CLOSED.equals(newValue.getStatus())) {
+                    writtenStates.remove(newValue.getId());
+                } else {
+                    writtenStates.put(newValue.getId(), state);
+                }
+                logger.error("PositionFlux - Position {} updated in database", position);
+
+            }, () -> logger.error("PositionFlux - Position {} was not found in database", newValue.getId()));
+        }
+    }
+
+    /**
+     * Writes the prices waiting for a checkpoint (in a single transaction).
+     *
+     * @return number of positions written
+     */
+    public final int checkpoint() {
+        synchronized (lock) {
+            if (pendingPrices.isEmpty()) {
+                return 0;
+            }
+            final List<Position> positions = new ArrayList<>(pendingPrices.size());
+            pendingPrices.forEach((id, prices) -> {
+                prices.setId(id);
+                positions.add(prices);
+            });
+            try {
+                if (transactionTemplate != null) {
+                    transactionTemplate.executeWithoutResult(status -> updatePrices(positions));
+                } else {
+                    updatePrices(positions);
+                }
+                pendingPrices.clear();
+                logger.debug("PositionFlux - Prices of {} positions written in database", positions.size());
+                return positions.size();
+            } catch (RuntimeException e) {
+                logger.error("PositionFlux - Error writing positions prices : {}", e.getMessage());
+                return 0;
             }
-            if (newValue.getClosingOrder() != null && newValue.getClosingOrder().getId() != null) {
-                final Optional<Order> closingOrder = orderRepository.findByOrderId(newValue.getClosingOrder().getOrderId());
-                closingOrder.ifPresent(position::setClosingOrder);
+        }
+    }
+
+    /**
+     * Updates the prices of positions (status, orders and other fields are not written).
+     *
+     * @param positions positions with their new prices
+     */
+    private void updatePrices(final List<Position> positions) {
+        positions.forEach(p -> positionRepository.updatePrices(p.getId(),
+                getValue(p.getLowestPrice()), getCurrency(p.getLowestPrice()),
+                getValue(p.getHighestPrice()), getCurrency(p.getHighestPrice()),
+                getValue(p.getLatestPrice()), getCurrency(p.getLatestPrice())));
+    }
+
+    /**
+     * Returns the value of a price (null if there is no price).
+     *
+     * @param price price
+     * @return value
+     */
+    private static BigDecimal getValue(final CurrencyAmount price) {
+        if (price != null) {
+            return price.getValue();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the currency of a price (null if there is no price).
+     *
+     * @param price price
+     * @return currency
+     */
+    private static String getCurrency(final CurrencyAmount price) {
+        if (price != null) {
+            return price.getCurrency();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Sets, on a position read from database, the prices not written yet.
+     *
+     * @param position position read from database
+     * @return position with its latest prices
+     */
+    public final Position withPendingPrices(final Position position) {
+        synchronized (lock) {
+            final Position prices = pendingPrices.get(position.getId());
+            if (prices != null) {
+                position.setLowestPrice(prices.getLowestPrice());
+                position.setHighestPrice(prices.getHighestPrice());
+                position.setLatestPrice(prices.getLatestPrice());
             }
-            positionRepository.save(position);
-            logger.error("PositionFlux - Position {} updated in database", position);
+        }
+        return position;
+    }
 
-        }, () -> logger.error("PositionFlux - Position {} was not found in database", newValue.getId()));
+    /**
+     * Returns what is written immediately for a position : its status and its orders.
+     *
+     * @param position position
+     * @return state
+     */
+    private static String getState(final PositionDTO position) {
+        String closingOrderId = null;
+        if (position.getClosingOrder() != null && position.getClosingOrder().getId() != null) {
+            closingOrderId = position.getClosingOrder().getOrderId();
+        }
+        String openingOrderId = null;
+        if (position.getOpeningOrder() != null) {
+            openingOrderId = position.getOpeningOrder().getOrderId();
+        }
+        return position.getStatus() + "/" + Objects.toString(openingOrderId) + "/" + Objects.toString(closingOrderId);
     }
 
 }
@@ -0,0 +1,132 @@
+package tech.cassandre.trading.bot.batch;
+
+import com.google.common.collect.Iterators;
+import reactor.core.publisher.FluxSink;
+import tech.cassandre.trading.bot.dto.market.PublicTradeDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.service.MarketService;
+import tech.cassandre.trading.bot.util.base.BaseExternalFlux;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static reactor.core.publisher.FluxSink.OverflowStrategy.BUFFER;
+
+/**
+ * Public trade flux - push {@link PublicTradeDTO} (the trades of all market participants).
+ * Each update retrieves the last public trades of one requested currency pair and only emits the trades more recent
+ * than the trades emitted by the previous updates. Trades at the timestamp of the last trade emitted are emitted if
+ * their id was not seen yet (trades without id can't be told apart, so they're ignored at this timestamp). Equal trades
+ * are different trades : they are all emitted. Trades are never conflated as each one updates the rolling aggregates of
+ * the strategy : trades waiting for slow subscribers are buffered, up to {@link #BUFFER_SIZE} trades. Beyond, the
+ * oldest trades are dropped, counted and logged.
+ */
+public class PublicTradeFlux extends BaseExternalFlux<PublicTradeDTO> {
+
+    /** Maximum number of trades waiting for slow subscribers. */
+    public static final int BUFFER_SIZE = 100_000;
+
+    /** Market service. */
+    private final MarketService marketService;
+
+    /** Cycle iterator over requested currency pairs. */
+    private Iterator<CurrencyPairDTO> currencyPairsIterator = Collections.emptyIterator();
+
+    /** Timestamp of the last trade emitted per currency pair. */
+    private final Map<CurrencyPairDTO, ZonedDateTime> lastTimestamps = new LinkedHashMap<>();
+
+    /** Ids of the trades emitted with the last timestamp per currency pair. */
+    private final Map<CurrencyPairDTO, Set<String>> lastIds = new LinkedHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param newMarketService market service
+     */
+    public PublicTradeFlux(final MarketService newMarketService) {
+        this.marketService = newMarketService;
+    }
+
+    /**
+     * Update the list of currency pairs whose public trades are requested.
+     *
+     * @param newRequestedCurrencyPairs list of requested currency pairs
+     */
+    public void updateRequestedCurrencyPairs(final Set<CurrencyPairDTO> newRequestedCurrencyPairs) {
+        currencyPairsIterator = Iterators.cycle(new LinkedHashSet<>(newRequestedCurrencyPairs));
+    }
+
+    @Override
+    protected final FluxSink.OverflowStrategy getOverflowStrategy() {
+        return BUFFER;
+    }
+
+    @Override
+    protected final int getBufferSize() {
+        return BUFFER_SIZE;
+    }
+
+    @Override
+    protected final List<PublicTradeDTO> getNewValues() {
+        List<PublicTradeDTO> newValues = new ArrayList<>();
+        if (currencyPairsIterator.hasNext()) {
+            logger.debug("PublicTradeFlux - Retrieving new values");
+            final CurrencyPairDTO currencyPair = currencyPairsIterator.next();
+            final ZonedDateTime lastTimestamp = lastTimestamps.get(currencyPair);
+            final Set<String> ids = lastIds.computeIfAbsent(currencyPair, cp -> new HashSet<>());
+            marketService.getPublicTrades(currencyPair)
+                    .stream()
+                    .filter(trade -> trade.getTimestamp() != null && isNew(trade, lastTimestamp, ids))
+                    .forEach(trade -> {
+                        logger.debug("PublicTradeFlux - New public trade received : {}", trade);
+                        newValues.add(trade);
+                    });
+            newValues.forEach(trade -> updateLastTrades(currencyPair, trade));
+        }
+        return newValues;
+    }
+
+    /**
+     * Returns true if the trade was not emitted by a previous update.
+     *
+     * @param trade         trade received
+     * @param lastTimestamp timestamp of the last trade emitted by the previous updates (null if none)
+     * @param ids           ids of the trades emitted at this timestamp
+     * @return true if it's a new trade
+     */
+    private boolean isNew(final PublicTradeDTO trade, final ZonedDateTime lastTimestamp, final Set<String> ids) {
+        if (lastTimestamp == null || trade.getTimestamp().isAfter(lastTimestamp)) {
+            return true;
+        }
+        return trade.getTimestamp().isEqual(lastTimestamp) && trade.getId() != null && !ids.contains(trade.getId());
+    }
+
+    /**
+     * Updates the timestamp and the ids of the last trades emitted.
+     *
+     * @param currencyPair currency pair
+     * @param trade        trade emitted
+     */
+    private void updateLastTrades(final CurrencyPairDTO currencyPair, final PublicTradeDTO trade) {
+        final ZonedDateTime lastTimestamp = lastTimestamps.get(currencyPair);
+        final Set<String> ids = lastIds.get(currencyPair);
+        if (lastTimestamp == null || trade.getTimestamp().isAfter(lastTimestamp)) {
+            lastTimestamps.put(currencyPair, trade.getTimestamp());
+            ids.clear();
+        } else if (trade.getTimestamp().isBefore(lastTimestamp)) {
+            return;
+        }
+        if (trade.getId() != null) {
+            ids.add(trade.getId());
+        }
+    }
+
+}
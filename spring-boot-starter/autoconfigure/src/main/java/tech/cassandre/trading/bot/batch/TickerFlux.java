@@ -5,6 +5,7 @@ import tech.cassandre.trading.bot.dto.market.TickerDTO;
 import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
 import tech.cassandre.trading.bot.service.MarketService;
 import tech.cassandre.trading.bot.util.base.BaseExternalFlux;
+import tech.cassandre.trading.bot.util.concurrent.ExchangeExecutor;
 
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -20,42 +21,95 @@ public class TickerFlux extends BaseExternalFlux<TickerDTO> {
     /** Market service. */
     private final MarketService marketService;
 
+    /** Executor used to retrieve all tickers concurrently (null to retrieve one ticker per update). */
+    private final ExchangeExecutor exchangeExecutor;
+
+    /** Requested currency pairs. */
+    private Set<CurrencyPairDTO> requestedCurrencyPairs = new LinkedHashSet<>();
+
     /** Cycle iterator over requested currency pairs. */
     private Iterator<CurrencyPairDTO> currencyPairsIterator;
 
     /** Previous values. */
     private final Map<CurrencyPairDTO, TickerDTO> previousValues = new LinkedHashMap<>();
 
+    /** Ticker writer saving tickers in background (null if tickers are not saved). */
+    private TickerWriter tickerWriter;
+
     /**
      * Constructor.
      *
      * @param newMarketService market service.
      */
     public TickerFlux(final MarketService newMarketService) {
+        this(newMarketService, null);
+    }
+
+    /**
+     * Constructor retrieving the tickers of all requested currency pairs concurrently at each update.
+     *
+     * @param newMarketService    market service.
+     * @param newExchangeExecutor executor running the concurrent calls (null to retrieve one ticker per update)
+     */
+    public TickerFlux(final MarketService newMarketService, final ExchangeExecutor newExchangeExecutor) {
         this.marketService = newMarketService;
+        this.exchangeExecutor = newExchangeExecutor;
     }
 
     /**
      * Update the list of requested currency pairs.
      *
-     * @param requestedCurrencyPairs list of requested currency pairs.
+     * @param newRequestedCurrencyPairs list of requested currency pairs.
      */
-    public void updateRequestedCurrencyPairs(final Set<CurrencyPairDTO> requestedCurrencyPairs) {
+    public void updateRequestedCurrencyPairs(final Set<CurrencyPairDTO> newRequestedCurrencyPairs) {
+        requestedCurrencyPairs = new LinkedHashSet<>(newRequestedCurrencyPairs);
         currencyPairsIterator = Iterators.cycle(requestedCurrencyPairs);
     }
 
+    /**
+     * Setter tickerWriter.
+     *
+     * @param newTickerWriter ticker writer saving tickers in background
+     */
+    public final void setTickerWriter(final TickerWriter newTickerWriter) {
+        this.tickerWriter = newTickerWriter;
+    }
+
     @Override
     protected final Set<TickerDTO> getNewValues() {
         logger.debug("TickerFlux - Retrieving new values");
         Set<TickerDTO> newValues = new LinkedHashSet<>();
-        marketService.getTicker(currencyPairsIterator.next()).ifPresent(ticker -> {
-            if (!ticker.equals(previousValues.get(ticker.getCurrencyPair()))) {
-                logger.debug("TickerFlux - New ticker received : {}", ticker);
-                previousValues.put(ticker.getCurrencyPair(), ticker);
-                newValues.add(ticker);
-            }
-        });
+        if (exchangeExecutor == null) {
+            // One ticker per update.
+            marketService.getTicker(currencyPairsIterator.next()).ifPresent(ticker -> addNewValue(newValues, ticker));
+        } else {
+            // All tickers at once, each call running on its own thread.
+            exchangeExecutor.fanOut(requestedCurrencyPairs, marketService::getTicker)
+                    .values()
+                    .forEach(ticker -> ticker.ifPresent(t -> addNewValue(newValues, t)));
+        }
         return newValues;
     }
 
+    /**
+     * Adds the ticker to new values if it's different from the previous one.
+     *
+     * @param newValues new values
+     * @param ticker    ticker received
+     */
+    private void addNewValue(final Set<TickerDTO> newValues, final TickerDTO ticker) {
+        if (!ticker.equals(previousValues.get(ticker.getCurrencyPair()))) {
+            logger.debug("TickerFlux - New ticker received : {}", ticker);
+            previousValues.put(ticker.getCurrencyPair(), ticker);
+            newValues.add(ticker);
+        }
+    }
+
+    @Override
+    public final void saveValue(final TickerDTO newValue) {
+        if (tickerWriter != null) {
+            tickerWriter.offer(newValue);
+        }
+    }
+
 }
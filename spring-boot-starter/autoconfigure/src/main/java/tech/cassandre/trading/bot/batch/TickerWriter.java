@@ -0,0 +1,132 @@
+package tech.cassandre.trading.bot.batch;
+
+import tech.cassandre.trading.bot.domain.Ticker;
+import tech.cassandre.trading.bot.dto.market.TickerDTO;
+import tech.cassandre.trading.bot.repository.TickerRepository;
+import tech.cassandre.trading.bot.util.base.Base;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ticker writer - saves the tickers received in the TICKERS table, in background.
+ * {@link #offer(TickerDTO)} only adds the ticker to a bounded queue so the ticker flux is never slowed down ; if the
+ * queue is full, the ticker is dropped and counted. {@link #flush()} writes the queued tickers in batches, each batch
+ * in a single transaction, and {@link #applyRetention()} deletes the tickers older than the retention period.
+ */
+public class TickerWriter extends Base {
+
+    /** Ticker repository. */
+    private final TickerRepository tickerRepository;
+
+    /** Maximum number of tickers written in one transaction. */
+    private final int batchSize;
+
+    /** Retention period (zero to keep all tickers). */
+    private final Duration retention;
+
+    /** Tickers waiting to be written. */
+    private final BlockingQueue<TickerDTO> queue;
+
+    /** Number of tickers dropped because the queue was full. */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param newTickerRepository ticker repository
+     * @param newQueueCapacity    maximum number of tickers waiting to be written
+     * @param newBatchSize        maximum number of tickers written in one transaction
+     * @param newRetention        retention period (zero to keep all tickers)
+     */
+    public TickerWriter(final TickerRepository newTickerRepository,
+                        final int newQueueCapacity,
+                        final int newBatchSize,
+                        final Duration newRetention) {
+        this.tickerRepository = newTickerRepository;
+        this.queue = new ArrayBlockingQueue<>(newQueueCapacity);
+        this.batchSize = newBatchSize;
+        this.retention = newRetention;
+    }
+
+    /**
+     * Adds a ticker to the tickers waiting to be written (never blocks).
+     *
+     * @param ticker ticker
+     * @return true if the ticker will be written, false if it was dropped
+     */
+    public final boolean offer(final TickerDTO ticker) {
+        if (queue.offer(ticker)) {
+            return true;
+        }
+        if (dropped.incrementAndGet() == 1) {
+            logger.warn("TickerWriter - Queue is full, tickers are dropped");
+        }
+        return false;
+    }
+
+    /**
+     * Writes the tickers waiting in the queue when the flush starts (tickers added meanwhile wait for the next flush).
+     *
+     * @return number of tickers written
+     */
+    public final int flush() {
+        int written = 0;
+        int remaining = queue.size();
+        List<TickerDTO> batch = new ArrayList<>(batchSize);
+        while (remaining > 0 && queue.drainTo(batch, Math.min(batchSize, remaining)) > 0) {
+            remaining -= batch.size();
+            final List<Ticker> tickers = new ArrayList<>(batch.size());
+            batch.forEach(ticker -> tickers.add(tickerMapper.mapToTicker(ticker)));
+            try {
+                tickerRepository.saveAll(tickers);
+                written += tickers.size();
+            } catch (RuntimeException e) {
+                logger.error("TickerWriter - Error writing {} tickers : {}", tickers.size(), e.getMessage());
+            }
+            batch.clear();
+        }
+        final long droppedTickers = dropped.getAndSet(0);
+        if (droppedTickers > 0) {
+            logger.warn("TickerWriter - {} tickers dropped since last flush", droppedTickers);
+        }
+        if (written > 0) {
+            logger.debug("TickerWriter - {} tickers written in database", written);
+        }
+        return written;
+    }
+
+    /**
+     * Deletes the tickers older than the retention period.
+     *
+     * @return number of tickers deleted
+     */
+    public final int applyRetention() {
+        if (retention.isZero()) {
+            return 0;
+        }
+        try {
+            final int deleted = tickerRepository.deleteByTimestampBefore(ZonedDateTime.now().minus(retention));
+            logger.debug("TickerWriter - {} tickers older than {} deleted", deleted, retention);
+            return deleted;
+        } catch (RuntimeException e) {
+            logger.error("TickerWriter - Error deleting old tickers : {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Getter retention.
+     *
+     * @return retention period (zero to keep all tickers)
+     */
+    public final Duration getRetention() {
+        return retention;
+    }
+
+}
@@ -10,16 +10,23 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import si.mazi.rescu.HttpStatusIOException;
 import tech.cassandre.trading.bot.batch.AccountFlux;
+import tech.cassandre.trading.bot.batch.OrderBookFlux;
 import tech.cassandre.trading.bot.batch.OrderFlux;
 import tech.cassandre.trading.bot.batch.PositionFlux;
+import tech.cassandre.trading.bot.batch.PublicTradeFlux;
 import tech.cassandre.trading.bot.batch.TickerFlux;
+import tech.cassandre.trading.bot.batch.TickerWriter;
 import tech.cassandre.trading.bot.batch.TradeFlux;
 import tech.cassandre.trading.bot.domain.ExchangeAccount;
 import tech.cassandre.trading.bot.repository.ExchangeAccountRepository;
+import tech.cassandre.trading.bot.repository.GainRepository;
 import tech.cassandre.trading.bot.repository.OrderRepository;
 import tech.cassandre.trading.bot.repository.PositionRepository;
+import tech.cassandre.trading.bot.repository.TickerRepository;
 import tech.cassandre.trading.bot.repository.TradeRepository;
 import tech.cassandre.trading.bot.service.ExchangeService;
 import tech.cassandre.trading.bot.service.MarketService;
@@ -28,24 +35,47 @@ import tech.cassandre.trading.bot.service.UserService;
 import tech.cassandre.trading.bot.service.dry.ExchangeServiceDryModeImplementation;
 import tech.cassandre.trading.bot.service.dry.TradeServiceDryModeImplementation;
 import tech.cassandre.trading.bot.service.dry.UserServiceDryModeImplementation;
+import tech.cassandre.trading.bot.service.intern.GainAggregator;
+import tech.cassandre.trading.bot.service.intern.PendingOrderRegistry;
 import tech.cassandre.trading.bot.service.xchange.ExchangeServiceXChangeImplementation;
 import tech.cassandre.trading.bot.service.xchange.MarketServiceXChangeImplementation;
 import tech.cassandre.trading.bot.service.xchange.TradeServiceXChangeImplementation;
+import tech.cassandre.trading.bot.service.xchange.UserReferencePolicy;
 import tech.cassandre.trading.bot.service.xchange.UserServiceXChangeImplementation;
+import tech.cassandre.trading.bot.strategy.intern.StrategyRecovery;
 import tech.cassandre.trading.bot.util.base.BaseConfiguration;
+import tech.cassandre.trading.bot.util.cache.ExchangeMetaDataCache;
+import tech.cassandre.trading.bot.util.concurrent.ExchangeExecutor;
+import tech.cassandre.trading.bot.util.concurrent.ExponentialBackoff;
+import tech.cassandre.trading.bot.util.concurrent.HashedWheelTimer;
 import tech.cassandre.trading.bot.util.exception.ConfigurationException;
+import tech.cassandre.trading.bot.util.journal.EventJournal;
+import tech.cassandre.trading.bot.util.parameters.DatabaseParameters;
 import tech.cassandre.trading.bot.util.parameters.ExchangeParameters;
+import tech.cassandre.trading.bot.util.ratelimit.ExchangeRequestScheduler;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.StringJoiner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static tech.cassandre.trading.bot.util.journal.EventType.ACCOUNT;
+import static tech.cassandre.trading.bot.util.journal.EventType.ORDER;
+import static tech.cassandre.trading.bot.util.journal.EventType.POSITION;
+import static tech.cassandre.trading.bot.util.journal.EventType.TICKER;
+import static tech.cassandre.trading.bot.util.journal.EventType.TRADE;
 
 /**
  * ExchangeConfiguration configures the exchange connection.
  */
 @Configuration
-@EnableConfigurationProperties(ExchangeParameters.class)
+@EnableConfigurationProperties({ExchangeParameters.class, DatabaseParameters.class})
 public class ExchangeAutoConfiguration extends BaseConfiguration {
 
     /** XChange user sandbox parameter. */
@@ -54,6 +84,9 @@ public class ExchangeAutoConfiguration extends BaseConfiguration {
     /** XChange passphrase parameter. */
     private static final String PASSPHRASE_PARAMETER = "passphrase";
 
+    /** Delay between two deletions of the tickers older than the retention period. */
+    private static final Duration TICKERS_RETENTION_INTERVAL = Duration.ofHours(1);
+
     /** Unauthorized http status code. */
     public static final int UNAUTHORIZED_STATUS_CODE = 401;
 
@@ -63,6 +96,39 @@ public class ExchangeAutoConfiguration extends BaseConfiguration {
     /** Exchange parameters. */
     private final ExchangeParameters exchangeParameters;
 
+    /** Database parameters. */
+    private final DatabaseParameters databaseParameters;
+
+    /** Exchange request scheduler. */
+    private ExchangeRequestScheduler requestScheduler;
+
+    /** Exchange executor. */
+    private ExchangeExecutor exchangeExecutor;
+
+    /** Timer shared by the services. */
+    private final HashedWheelTimer timer = new HashedWheelTimer();
+
+    /** Exchange metadata refresh (null if the metadata cache is not used). */
+    private ScheduledExecutorService metaDataRefresh;
+
+    /** Positions prices checkpoint (null if prices are written on every update). */
+    private ScheduledExecutorService positionsCheckpoint;
+
+    /** Ticker writer (null if tickers are not saved). */
+    private TickerWriter tickerWriter;
+
+    /** Tickers history writes and retention (null if tickers are not saved). */
+    private ScheduledExecutorService tickersHistory;
+
+    /** Event journal (null if the journal is disabled). */
+    private EventJournal eventJournal;
+
+    /** Journal snapshots (null if the journal or its snapshots are disabled). */
+    private ScheduledExecutorService journalSnapshots;
+
+    /** Strategy recovery. */
+    private StrategyRecovery strategyRecovery;
+
     /** Exchange service. */
     private ExchangeService exchangeService;
 
@@ -81,6 +147,12 @@ public class ExchangeAutoConfiguration extends BaseConfiguration {
     /** Ticker flux. */
     private TickerFlux tickerFlux;
 
+    /** Order book flux. */
+    private OrderBookFlux orderBookFlux;
+
+    /** Public trade flux. */
+    private PublicTradeFlux publicTradeFlux;
+
     /** Order flux. */
     private OrderFlux orderFlux;
 
@@ -102,28 +174,50 @@ public class ExchangeAutoConfiguration extends BaseConfiguration {
     /** Position repository. */
     private final PositionRepository positionRepository;
 
+    /** Gain repository. */
+    private final GainRepository gainRepository;
+
+    /** Ticker repository. */
+    private final TickerRepository tickerRepository;
+
+    /** Transaction manager. */
+    private final PlatformTransactionManager transactionManager;
+
     /**
      * Constructor.
      *
      * @param newApplicationContext        application context
      * @param newExchangeParameters        exchange parameters
+     * @param newDatabaseParameters        database parameters
      * @param newExchangeAccountRepository exchange account repository
      * @param newOrderRepository           order repository
      * @param newTradeRepository           trade repository
      * @param newPositionRepository        position repository
+     * @param newGainRepository            gain repository
+     * @param newTickerRepository          ticker repository
+     * @param newTransactionManager        transaction manager
      */
+    @SuppressWarnings("checkstyle:ParameterNumber")
     public ExchangeAutoConfiguration(final ApplicationContext newApplicationContext,
                                      final ExchangeParameters newExchangeParameters,
+                                     final DatabaseParameters newDatabaseParameters,
                                      final ExchangeAccountRepository newExchangeAccountRepository,
                                      final OrderRepository newOrderRepository,
                                      final TradeRepository newTradeRepository,
-                                     final PositionRepository newPositionRepository) {
+                                     final PositionRepository newPositionRepository,
+                                     final GainRepository newGainRepository,
+                                     final TickerRepository newTickerRepository,
+                                     final PlatformTransactionManager newTransactionManager) {
         this.applicationContext = newApplicationContext;
         this.exchangeParameters = newExchangeParameters;
+        this.databaseParameters = newDatabaseParameters;
         this.exchangeAccountRepository = newExchangeAccountRepository;
         this.orderRepository = newOrderRepository;
         this.tradeRepository = newTradeRepository;
         this.positionRepository = newPositionRepository;
+        this.gainRepository = newGainRepository;
+        this.tickerRepository = newTickerRepository;
+        this.transactionManager = newTransactionManager;
     }
 
     /**
@@ -151,6 +245,10 @@ public class ExchangeAutoConfiguration extends BaseConfiguration {
                 exchangeSpecification.setProxyPort(exchangeParameters.getProxyPort());
             }
 
+            // If a valid metadata cache exists, XChange loads it instead of calling the exchange.
+            final ExchangeMetaDataCache metaDataCache = getMetaDataCache();
+            final boolean startedFromCache = useMetaDataCache(metaDataCache, exchangeSpecification);
+
             // Creates XChange services.
             final Exchange xChangeExchange = ExchangeFactory.INSTANCE.createExchange(exchangeSpecification);
             final AccountService xChangeAccountService = xChangeExchange.getAccountService();
@@ -162,33 +260,68 @@ public class ExchangeAutoConfiguration extends BaseConfiguration {
             long tickerRate = getRateValue(exchangeParameters.getRates().getTicker());
             long tradeRate = getRateValue(exchangeParameters.getRates().getTrade());
 
+            // Creates the request scheduler shared by all services of the exchange account.
+            long globalWeight = 0;
+            if (exchangeParameters.getRates().getGlobalWeight() != null) {
+                globalWeight = exchangeParameters.getRates().getGlobalWeight();
+            }
+            Duration globalPeriod = Duration.ofMillis(getRateValue(exchangeParameters.getRates().getGlobalPeriod()));
+            requestScheduler = new ExchangeRequestScheduler(accountRate, tickerRate, tradeRate, globalWeight, globalPeriod);
+
+            // Creates the executor running asynchronous exchange requests.
+            exchangeExecutor = createExchangeExecutor();
+            if (exchangeExecutor.isVirtual()) {
+                logger.info("ExchangeConfiguration - Exchange I/O runs on virtual threads");
+            }
+
             // Creates Cassandre services.
+            final ExchangeServiceXChangeImplementation xChangeExchangeService = new ExchangeServiceXChangeImplementation(xChangeExchange, metaDataCache);
             UserServiceDryModeImplementation userServiceDryMode;
             TradeServiceDryModeImplementation tradeServiceDryMode = null;
             if (!exchangeParameters.getModes().getDry()) {
                 // Normal mode.
                 logger.info("ExchangeConfiguration - Dry mode is OFF");
-                this.exchangeService = new ExchangeServiceXChangeImplementation(xChangeExchange);
-                this.userService = new UserServiceXChangeImplementation(accountRate, xChangeAccountService);
-                this.marketService = new MarketServiceXChangeImplementation(tickerRate, xChangeMarketDataService);
-                this.tradeService = new TradeServiceXChangeImplementation(tradeRate, xChangeTradeService);
+                this.exchangeService = xChangeExchangeService;
+                this.userService = new UserServiceXChangeImplementation(requestScheduler, exchangeExecutor, xChangeAccountService);
+                this.marketService = new MarketServiceXChangeImplementation(requestScheduler, exchangeExecutor, xChangeMarketDataService);
+                this.tradeService = new TradeServiceXChangeImplementation(requestScheduler,
+                        exchangeExecutor,
+                        xChangeTradeService,
+                        new PendingOrderRegistry(),
+                        new ExponentialBackoff(),
+                        UserReferencePolicy.forExchange(exchangeParameters.getName()));
             } else {
                 // Dry mode.
                 logger.info("ExchangeConfiguration - Dry mode is ON");
                 this.exchangeService = new ExchangeServiceDryModeImplementation(applicationContext);
                 userServiceDryMode = new UserServiceDryModeImplementation();
                 this.userService = userServiceDryMode;
-                this.marketService = new MarketServiceXChangeImplementation(tickerRate, xChangeMarketDataService);
-                tradeServiceDryMode = new TradeServiceDryModeImplementation(userServiceDryMode, tradeRepository, orderRepository);
+                this.marketService = new MarketServiceXChangeImplementation(requestScheduler, exchangeExecutor, xChangeMarketDataService);
+                tradeServiceDryMode = new TradeServiceDryModeImplementation(userServiceDryMode, tradeRepository, orderRepository, exchangeExecutor, timer);
                 this.tradeService = tradeServiceDryMode;
             }
 
             // Creates Cassandre flux.
             accountFlux = new AccountFlux(userService);
-            tickerFlux = new TickerFlux(marketService);
+            if (exchangeExecutor.isVirtual()) {
+                // With virtual threads, all tickers are retrieved concurrently.
+                tickerFlux = new TickerFlux(marketService, exchangeExecutor);
+            } else {
+                tickerFlux = new TickerFlux(marketService);
+            }
+            orderBookFlux = new OrderBookFlux(marketService);
+            publicTradeFlux = new PublicTradeFlux(marketService);
             orderFlux = new OrderFlux(tradeService, orderRepository);
             tradeFlux = new TradeFlux(tradeService, orderRepository, tradeRepository);
-            positionFlux = new PositionFlux(positionRepository, orderRepository);
+            startPositionsCheckpoint();
+            startTickersHistory();
+            startJournal();
+            strategyRecovery = new StrategyRecovery(positionRepository,
+                    tickerRepository,
+                    eventJournal,
+                    databaseParameters.getRecovery().isEnabled(),
+                    Duration.ofMillis(getRateValue(databaseParameters.getRecovery().getMaximumDuration())),
+                    Duration.ofMillis(getRateValue(databaseParameters.getRecovery().getWarmUpPeriod())));
 
             // Force login to check credentials.
             xChangeAccountService.getAccountInfo();
@@ -199,6 +332,11 @@ public class ExchangeAutoConfiguration extends BaseConfiguration {
             exchangeService.getAvailableCurrencyPairs().forEach(currencyPairDTO -> currencyPairList.add(currencyPairDTO.toString()));
             logger.info("ExchangeConfiguration - Supported currency pairs : {} ", currencyPairList);
 
+            // Metadata cache - saved now if it was loaded from the exchange, then refreshed in background.
+            if (metaDataCache != null) {
+                startMetaDataRefresh(metaDataCache, startedFromCache, xChangeExchange, xChangeExchangeService);
+            }
+
             // if in dry mode, we set dependencies.
             if (tradeService instanceof TradeServiceDryModeImplementation) {
                 assert tradeServiceDryMode != null;
@@ -259,6 +397,214 @@ public class ExchangeAutoConfiguration extends BaseConfiguration {
                 .concat(xChangeCLassSuffix);                                            // Adding exchange (Exchange).
     }
 
+    /**
+     * Returns the exchange metadata cache.
+     *
+     * @return metadata cache or null if the cache is not used
+     */
+    private ExchangeMetaDataCache getMetaDataCache() {
+        if (exchangeParameters.getMetadata().isCache()) {
+            return new ExchangeMetaDataCache(Paths.get(exchangeParameters.getMetadata().getCacheDirectory()),
+                    getMetaDataCacheKey(),
+                    Duration.ofMillis(getRateValue(exchangeParameters.getMetadata().getCacheTtl())));
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Creates the executor running asynchronous exchange requests.
+     *
+     * @return exchange executor
+     */
+    private ExchangeExecutor createExchangeExecutor() {
+        Duration ioTimeout = Duration.ofMillis(getRateValue(exchangeParameters.getIo().getTimeout()));
+        Duration coalescingWindow = null;
+        if (exchangeParameters.getIo().isCoalescing()) {
+            coalescingWindow = Duration.ofMillis(getRateValue(exchangeParameters.getIo().getCoalescingWindow()));
+        }
+        Duration hedgingMinimumDelay = null;
+        if (exchangeParameters.getIo().isHedging()) {
+            hedgingMinimumDelay = Duration.ofMillis(getRateValue(exchangeParameters.getIo().getHedgingMinimumDelay()));
+        }
+        int circuitBreakerFailures = 0;
+        if (exchangeParameters.getIo().isCircuitBreaker()) {
+            circuitBreakerFailures = exchangeParameters.getIo().getCircuitBreakerFailures();
+        }
+        return new ExchangeExecutor(exchangeParameters.getIo().getThreads(),
+                ioTimeout,
+                exchangeParameters.getIo().isVirtualThreads(),
+                coalescingWindow,
+                hedgingMinimumDelay,
+                circuitBreakerFailures,
+                Duration.ofMillis(getRateValue(exchangeParameters.getIo().getCircuitBreakerOpenDuration())));
+    }
+
+    /**
+     * Makes XChange load the cached metadata instead of calling the exchange (if the cache is valid).
+     *
+     * @param metaDataCache         metadata cache
+     * @param exchangeSpecification exchange specification
+     * @return true if the cached metadata is used
+     */
+    private boolean useMetaDataCache(final ExchangeMetaDataCache metaDataCache, final ExchangeSpecification exchangeSpecification) {
+        if (metaDataCache == null) {
+            return false;
+        }
+        final Optional<Path> cachedMetaData = metaDataCache.getValidFile();
+        if (cachedMetaData.isPresent()) {
+            exchangeSpecification.setMetaDataJsonFileOverride(cachedMetaData.get().toString());
+            exchangeSpecification.setShouldLoadRemoteMetaData(false);
+            logger.info("ExchangeConfiguration - Using cached exchange metadata {}", cachedMetaData.get());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Saves the metadata loaded from the exchange and starts the background refresh.
+     * When the bot started from cached metadata, the first refresh runs immediately to reconcile it with the exchange.
+     *
+     * @param metaDataCache    metadata cache
+     * @param startedFromCache true if the bot started from cached metadata
+     * @param xChangeExchange  XChange exchange
+     * @param service          exchange service
+     */
+    private void startMetaDataRefresh(final ExchangeMetaDataCache metaDataCache,
+                                      final boolean startedFromCache,
+                                      final Exchange xChangeExchange,
+                                      final ExchangeServiceXChangeImplementation service) {
+        long refreshDelay = metaDataCache.getTtl().toMillis();
+        if (startedFromCache) {
+            refreshDelay = 0;
+        } else {
+            metaDataCache.save(xChangeExchange.getExchangeMetaData());
+        }
+        metaDataRefresh = Executors.newSingleThreadScheduledExecutor(exchangeExecutor.getThreadFactory("cassandre-metadata"));
+        metaDataRefresh.scheduleWithFixedDelay(service::refreshMetaData,
+                refreshDelay,
+                metaDataCache.getTtl().toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the key of the exchange metadata cache.
+     *
+     * @return cache key
+     */
+    private String getMetaDataCacheKey() {
+        if (exchangeParameters.getModes().getSandbox()) {
+            return exchangeParameters.getName() + "-sandbox";
+        } else {
+            return exchangeParameters.getName();
+        }
+    }
+
+    /**
+     * Creates the position flux and starts the checkpoint writing positions prices.
+     */
+    private void startPositionsCheckpoint() {
+        final Duration checkpointInterval = Duration.ofMillis(getRateValue(databaseParameters.getPositions().getCheckpointInterval()));
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        positionFlux = new PositionFlux(positionRepository,
+                orderRepository,
+                new GainAggregator(gainRepository, positionRepository, transactionTemplate),
+                checkpointInterval,
+                transactionTemplate);
+        if (!checkpointInterval.isZero()) {
+            positionsCheckpoint = Executors.newSingleThreadScheduledExecutor(exchangeExecutor.getThreadFactory("cassandre-checkpoint"));
+            positionsCheckpoint.scheduleWithFixedDelay(positionFlux::checkpoint,
+                    checkpointInterval.toMillis(),
+                    checkpointInterval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Makes the ticker flux save tickers in background and starts the writes and the retention.
+     */
+    private void startTickersHistory() {
+        final DatabaseParameters.Tickers tickersParameters = databaseParameters.getTickers();
+        if (tickersParameters.isEnabled()) {
+            tickerWriter = new TickerWriter(tickerRepository,
+                    tickersParameters.getQueueCapacity(),
+                    tickersParameters.getBatchSize(),
+                    Duration.ofMillis(getRateValue(tickersParameters.getRetention())));
+            tickerFlux.setTickerWriter(tickerWriter);
+            final long flushInterval = getRateValue(tickersParameters.getFlushInterval());
+            tickersHistory = Executors.newSingleThreadScheduledExecutor(exchangeExecutor.getThreadFactory("cassandre-tickers"));
+            tickersHistory.scheduleWithFixedDelay(tickerWriter::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+            if (!tickerWriter.getRetention().isZero()) {
+                tickersHistory.scheduleWithFixedDelay(tickerWriter::applyRetention,
+                        0,
+                        TICKERS_RETENTION_INTERVAL.toMillis(),
+                        TimeUnit.MILLISECONDS);
+            }
+            logger.info("ExchangeConfiguration - Tickers are saved in database (retention : {})", tickersParameters.getRetention());
+        }
+    }
+
+    /**
+     * Opens the event journal, makes all flux record their values in it and starts the snapshots.
+     */
+    private void startJournal() {
+        final DatabaseParameters.Journal journalParameters = databaseParameters.getJournal();
+        if (journalParameters.isEnabled()) {
+            eventJournal = new EventJournal(Paths.get(journalParameters.getDirectory()),
+                    journalParameters.getSegmentSize(),
+                    journalParameters.isForceWrites());
+            accountFlux.setJournal(account -> eventJournal.append(ACCOUNT, account));
+            tickerFlux.setJournal(ticker -> eventJournal.append(TICKER, ticker));
+            orderFlux.setJournal(order -> eventJournal.append(ORDER, order));
+            tradeFlux.setJournal(trade -> eventJournal.append(TRADE, trade));
+            positionFlux.setJournal(position -> eventJournal.append(POSITION, position));
+            final long snapshotInterval = getRateValue(journalParameters.getSnapshotInterval());
+            if (snapshotInterval > 0) {
+                journalSnapshots = Executors.newSingleThreadScheduledExecutor(exchangeExecutor.getThreadFactory("cassandre-journal"));
+                journalSnapshots.scheduleWithFixedDelay(this::writeJournalSnapshot,
+                        snapshotInterval,
+                        snapshotInterval,
+                        TimeUnit.MILLISECONDS);
+            }
+            logger.info("ExchangeConfiguration - Events are recorded in journal {}", journalParameters.getDirectory());
+        }
+    }
+
+    /**
+     * Writes a journal snapshot (an error is only logged, the next snapshot will try again).
+     */
+    private void writeJournalSnapshot() {
+        try {
+            eventJournal.writeSnapshot();
+        } catch (RuntimeException e) {
+            logger.error("ExchangeConfiguration - Error writing journal snapshot : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the exchange metadata refresh, writes the positions prices not written yet and closes the journal.
+     */
+    @PreDestroy
+    public void stopBackgroundTasks() {
+        if (metaDataRefresh != null) {
+            metaDataRefresh.shutdownNow();
+        }
+        if (positionsCheckpoint != null) {
+            positionsCheckpoint.shutdown();
+            positionFlux.checkpoint();
+        }
+        if (tickersHistory != null) {
+            tickersHistory.shutdownNow();
+            tickerWriter.flush();
+        }
+        if (journalSnapshots != null) {
+            journalSnapshots.shutdownNow();
+        }
+        if (eventJournal != null) {
+            eventJournal.close();
+        }
+    }
+
     /**
      * Return rate value in ms.
      *
@@ -273,6 +619,36 @@ public class ExchangeAutoConfiguration extends BaseConfiguration {
         }
     }
 
+    /**
+     * Getter for requestScheduler.
+     *
+     * @return requestScheduler
+     */
+    @Bean
+    public ExchangeRequestScheduler getExchangeRequestScheduler() {
+        return requestScheduler;
+    }
+
+    /**
+     * Getter for exchangeExecutor.
+     *
+     * @return exchangeExecutor
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExchangeExecutor getExchangeExecutor() {
+        return exchangeExecutor;
+    }
+
+    /**
+     * Getter for timer.
+     *
+     * @return timer
+     */
+    @Bean(destroyMethod = "stop")
+    public HashedWheelTimer getTimer() {
+        return timer;
+    }
+
     /**
      * Getter for exchangeService.
      *
@@ -333,6 +709,26 @@ public class ExchangeAutoConfiguration extends BaseConfiguration {
         return tickerFlux;
     }
 
+    /**
+     * Getter for orderBookFlux.
+     *
+     * @return orderBookFlux
+     */
+    @Bean
+    public OrderBookFlux getOrderBookFlux() {
+        return orderBookFlux;
+    }
+
+    /**
+     * Getter for publicTradeFlux.
+     *
+     * @return publicTradeFlux
+     */
+    @Bean
+    public PublicTradeFlux getPublicTradeFlux() {
+        return publicTradeFlux;
+    }
+
     /**
      * Getter for orderFlux.
      *
@@ -363,4 +759,14 @@ public class ExchangeAutoConfiguration extends BaseConfiguration {
         return positionFlux;
     }
 
+    /**
+     * Getter for strategyRecovery.
+     *
+     * @return strategyRecovery
+     */
+    @Bean
+    public StrategyRecovery getStrategyRecovery() {
+        return strategyRecovery;
+    }
+
 }
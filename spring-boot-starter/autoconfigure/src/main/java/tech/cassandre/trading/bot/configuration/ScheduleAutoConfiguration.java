@@ -1,21 +1,41 @@
 package tech.cassandre.trading.bot.configuration;
 
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import tech.cassandre.trading.bot.batch.AccountFlux;
+import tech.cassandre.trading.bot.batch.OrderBookFlux;
 import tech.cassandre.trading.bot.batch.OrderFlux;
+import tech.cassandre.trading.bot.batch.PublicTradeFlux;
 import tech.cassandre.trading.bot.batch.TickerFlux;
 import tech.cassandre.trading.bot.batch.TradeFlux;
+import tech.cassandre.trading.bot.util.concurrent.ExchangeExecutor;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * ScheduleAutoConfiguration configures the flux calls.
+ * Each scheduled flux update (account, ticker, order book, public trades, orders and trades) has its own thread, so a
+ * slow order book or public trades request never delays the tickers and the orders : the fluxes are polled
+ * concurrently and still wait for their own request scheduler bucket. Those threads are virtual threads in virtual
+ * threads mode. The values are delivered to the strategies one at a time by a single thread shared by all the fluxes,
+ * so strategy callbacks never run in parallel.
  */
 @Configuration
 @Profile("!schedule-disabled")
 @EnableScheduling
-public class ScheduleAutoConfiguration {
+public class ScheduleAutoConfiguration implements SchedulingConfigurer {
+
+    /** Number of scheduled flux updates (one thread per flux update). */
+    private static final int SCHEDULED_TASKS = 5;
+
+    /** Flux scheduler thread name prefix. */
+    private static final String FLUX_THREAD_NAME_PREFIX = "cassandre-flux";
 
     /** Account flux. */
     private final AccountFlux accountFlux;
@@ -23,28 +43,61 @@ public class ScheduleAutoConfiguration {
     /** Ticker flux. */
     private final TickerFlux tickerFlux;
 
+    /** Order book flux. */
+    private final OrderBookFlux orderBookFlux;
+
+    /** Public trade flux. */
+    private final PublicTradeFlux publicTradeFlux;
+
     /** Order flux. */
     private final OrderFlux orderFlux;
 
     /** Trade flux. */
     private final TradeFlux tradeFlux;
 
+    /** Exchange executor. */
+    private final ExchangeExecutor exchangeExecutor;
+
     /**
      * Constructor.
      *
-     * @param newAccountFlux account flux
-     * @param newTickerFlux  ticker flux
-     * @param newOrderFlux   order flux
-     * @param newTradeFlux   trade flux
+     * @param newAccountFlux      account flux
+     * @param newTickerFlux       ticker flux
+     * @param newOrderBookFlux    order book flux
+     * @param newPublicTradeFlux  public trade flux
+     * @param newOrderFlux        order flux
+     * @param newTradeFlux        trade flux
+     * @param newExchangeExecutor exchange executor
      */
     public ScheduleAutoConfiguration(final AccountFlux newAccountFlux,
                                      final TickerFlux newTickerFlux,
+                                     final OrderBookFlux newOrderBookFlux,
+                                     final PublicTradeFlux newPublicTradeFlux,
                                      final OrderFlux newOrderFlux,
-                                     final TradeFlux newTradeFlux) {
+                                     final TradeFlux newTradeFlux,
+                                     final ExchangeExecutor newExchangeExecutor) {
         this.accountFlux = newAccountFlux;
         this.tickerFlux = newTickerFlux;
+        this.orderBookFlux = newOrderBookFlux;
+        this.publicTradeFlux = newPublicTradeFlux;
         this.orderFlux = newOrderFlux;
         this.tradeFlux = newTradeFlux;
+        this.exchangeExecutor = newExchangeExecutor;
+    }
+
+    @Override
+    public final void configureTasks(final ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.setScheduler(getFluxScheduler());
+    }
+
+    /**
+     * Returns the scheduler running the flux updates (shut down with the application context).
+     *
+     * @return flux scheduler
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService getFluxScheduler() {
+        return Executors.newScheduledThreadPool(SCHEDULED_TASKS, exchangeExecutor.getThreadFactory(FLUX_THREAD_NAME_PREFIX));
     }
 
     /**
@@ -57,6 +110,8 @@ public class ScheduleAutoConfiguration {
 
     /**
      * Recurrent calls the ticker flux.
+     * In virtual threads mode, the tickers of all requested currency pairs are requested at the ticker pace but their
+     * latencies overlap.
      */
     @Scheduled(fixedDelay = 1)
     public void tickerFluxUpdate() {
@@ -64,7 +119,23 @@ public class ScheduleAutoConfiguration {
     }
 
     /**
-     * Recurrent calls the trade flux.
+     * Recurrent calls the order book flux.
+     */
+    @Scheduled(fixedDelay = 1)
+    public void orderBookFluxUpdate() {
+        orderBookFlux.update();
+    }
+
+    /**
+     * Recurrent calls the public trade flux.
+     */
+    @Scheduled(fixedDelay = 1)
+    public void publicTradeFluxUpdate() {
+        publicTradeFlux.update();
+    }
+
+    /**
+     * Recurrent calls the order and trade fluxes (trades are retrieved after the orders they belong to).
      */
     @Scheduled(fixedDelay = 1)
     public void tradeFluxUpdate() {
@@ -5,8 +5,10 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import reactor.core.publisher.ConnectableFlux;
 import tech.cassandre.trading.bot.batch.AccountFlux;
+import tech.cassandre.trading.bot.batch.OrderBookFlux;
 import tech.cassandre.trading.bot.batch.OrderFlux;
 import tech.cassandre.trading.bot.batch.PositionFlux;
+import tech.cassandre.trading.bot.batch.PublicTradeFlux;
 import tech.cassandre.trading.bot.batch.TickerFlux;
 import tech.cassandre.trading.bot.batch.TradeFlux;
 import tech.cassandre.trading.bot.domain.ExchangeAccount;
@@ -22,29 +24,40 @@ import tech.cassandre.trading.bot.repository.OrderRepository;
 import tech.cassandre.trading.bot.repository.PositionRepository;
 import tech.cassandre.trading.bot.repository.StrategyRepository;
 import tech.cassandre.trading.bot.repository.TradeRepository;
+import tech.cassandre.trading.bot.service.ExecutionService;
 import tech.cassandre.trading.bot.service.PositionService;
 import tech.cassandre.trading.bot.service.TradeService;
 import tech.cassandre.trading.bot.service.UserService;
 import tech.cassandre.trading.bot.service.dry.TradeServiceDryModeImplementation;
 import tech.cassandre.trading.bot.service.dry.UserServiceDryModeImplementation;
+import tech.cassandre.trading.bot.service.intern.ExecutionServiceImplementation;
 import tech.cassandre.trading.bot.service.intern.PositionServiceImplementation;
 import tech.cassandre.trading.bot.strategy.BasicCassandreStrategy;
 import tech.cassandre.trading.bot.strategy.BasicTa4jCassandreStrategy;
 import tech.cassandre.trading.bot.strategy.CassandreStrategy;
 import tech.cassandre.trading.bot.strategy.CassandreStrategyInterface;
 import tech.cassandre.trading.bot.strategy.GenericCassandreStrategy;
+import tech.cassandre.trading.bot.strategy.MultiTa4jCassandreStrategy;
+import tech.cassandre.trading.bot.strategy.intern.RecoverableStrategy;
+import tech.cassandre.trading.bot.strategy.intern.StrategyRecovery;
 import tech.cassandre.trading.bot.util.base.BaseConfiguration;
+import tech.cassandre.trading.bot.util.concurrent.HashedWheelTimer;
 import tech.cassandre.trading.bot.util.exception.ConfigurationException;
 import tech.cassandre.trading.bot.util.parameters.ExchangeParameters;
 
 import javax.annotation.PostConstruct;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.StringJoiner;
 
 import static tech.cassandre.trading.bot.dto.strategy.StrategyTypeDTO.BASIC_STRATEGY;
 import static tech.cassandre.trading.bot.dto.strategy.StrategyTypeDTO.BASIC_TA4J_STRATEGY;
+import static tech.cassandre.trading.bot.dto.strategy.StrategyTypeDTO.MULTI_TA4J_STRATEGY;
+import static tech.cassandre.trading.bot.service.intern.ExecutionServiceImplementation.TWAP_ORDER_PREFIX;
+import static tech.cassandre.trading.bot.service.intern.ExecutionServiceImplementation.VWAP_ORDER_PREFIX;
 
 /**
  * StrategyAutoConfiguration configures the strategy.
@@ -64,6 +77,12 @@ public class StrategyAutoConfiguration extends BaseConfiguration {
     /** Position service. */
     private PositionService positionService;
 
+    /** Execution service. */
+    private ExecutionServiceImplementation executionService;
+
+    /** Timer. */
+    private final HashedWheelTimer timer;
+
     /** User service. */
     private final UserService userService;
 
@@ -73,6 +92,12 @@ public class StrategyAutoConfiguration extends BaseConfiguration {
     /** Ticker flux. */
     private final TickerFlux tickerFlux;
 
+    /** Order book flux. */
+    private final OrderBookFlux orderBookFlux;
+
+    /** Public trade flux. */
+    private final PublicTradeFlux publicTradeFlux;
+
     /** Order flux. */
     private final OrderFlux orderFlux;
 
@@ -97,6 +122,9 @@ public class StrategyAutoConfiguration extends BaseConfiguration {
     /** Position flux. */
     private final PositionFlux positionFlux;
 
+    /** Strategy recovery. */
+    private final StrategyRecovery strategyRecovery;
+
     /**
      * Constructor.
      *
@@ -106,6 +134,8 @@ public class StrategyAutoConfiguration extends BaseConfiguration {
      * @param newTradeService              trade service
      * @param newAccountFlux               account flux
      * @param newTickerFlux                ticker flux
+     * @param newOrderBookFlux             order book flux
+     * @param newPublicTradeFlux           public trade flux
      * @param newOrderFlux                 order flux
      * @param newTradeFlux                 trade flux
      * @param newExchangeAccountRepository exchange account repository
@@ -114,6 +144,8 @@ public class StrategyAutoConfiguration extends BaseConfiguration {
      * @param newTradeRepository           trade repository
      * @param newPositionRepository        position repository
      * @param newPositionFlux              position flux
+     * @param newStrategyRecovery          strategy recovery
+     * @param newTimer                     timer
      */
     @SuppressWarnings("checkstyle:ParameterNumber")
     public StrategyAutoConfiguration(final ApplicationContext newApplicationContext,
@@ -122,6 +154,8 @@ public class StrategyAutoConfiguration extends BaseConfiguration {
                                      final TradeService newTradeService,
                                      final AccountFlux newAccountFlux,
                                      final TickerFlux newTickerFlux,
+                                     final OrderBookFlux newOrderBookFlux,
+                                     final PublicTradeFlux newPublicTradeFlux,
                                      final OrderFlux newOrderFlux,
                                      final TradeFlux newTradeFlux,
                                      final ExchangeAccountRepository newExchangeAccountRepository,
@@ -129,13 +163,17 @@ public class StrategyAutoConfiguration extends BaseConfiguration {
                                      final OrderRepository newOrderRepository,
                                      final TradeRepository newTradeRepository,
                                      final PositionRepository newPositionRepository,
-                                     final PositionFlux newPositionFlux) {
+                                     final PositionFlux newPositionFlux,
+                                     final StrategyRecovery newStrategyRecovery,
+                                     final HashedWheelTimer newTimer) {
         this.applicationContext = newApplicationContext;
         this.exchangeParameters = newExchangeParameters;
         this.userService = newUserService;
         this.tradeService = newTradeService;
         this.accountFlux = newAccountFlux;
         this.tickerFlux = newTickerFlux;
+        this.orderBookFlux = newOrderBookFlux;
+        this.publicTradeFlux = newPublicTradeFlux;
         this.orderFlux = newOrderFlux;
         this.tradeFlux = newTradeFlux;
         this.exchangeAccountRepository = newExchangeAccountRepository;
@@ -144,6 +182,8 @@ public class StrategyAutoConfiguration extends BaseConfiguration {
         this.tradeRepository = newTradeRepository;
         this.positionRepository = newPositionRepository;
         this.positionFlux = newPositionFlux;
+        this.strategyRecovery = newStrategyRecovery;
+        this.timer = newTimer;
     }
 
     /**
@@ -175,8 +215,8 @@ public class StrategyAutoConfiguration extends BaseConfiguration {
         // Check if the strategy extends CassandreStrategy.
         Object o = strategyBeans.values().iterator().next();
         if (!(o instanceof CassandreStrategyInterface)) {
-            throw new ConfigurationException("Your strategy doesn't extend BasicCassandreStrategy or BasicTa4jCassandreStrategy",
-                    o.getClass() + " must extend BasicCassandreStrategy or BasicTa4jCassandreStrategy");
+            throw new ConfigurationException("Your strategy doesn't extend BasicCassandreStrategy, BasicTa4jCassandreStrategy or MultiTa4jCassandreStrategy",
+                    o.getClass() + " must extend BasicCassandreStrategy, BasicTa4jCassandreStrategy or MultiTa4jCassandreStrategy");
         }
 
         // Check that the trading account the strategy asks for really exists.
@@ -211,6 +251,10 @@ public class StrategyAutoConfiguration extends BaseConfiguration {
         // Setting up position service.
         this.positionService = new PositionServiceImplementation(positionRepository, tradeService, positionFlux);
 
+        // Setting up execution service.
+        this.executionService = new ExecutionServiceImplementation(tradeService, orderFlux, timer);
+        closeInterruptedExecutions();
+
         // =============================================================================================================
         // Setting up strategy.
 
@@ -237,6 +281,9 @@ public class StrategyAutoConfiguration extends BaseConfiguration {
             if (o instanceof BasicTa4jCassandreStrategy) {
                 newStrategy.setType(BASIC_TA4J_STRATEGY);
             }
+            if (o instanceof MultiTa4jCassandreStrategy) {
+                newStrategy.setType(MULTI_TA4J_STRATEGY);
+            }
             strategyRepository.save(newStrategy);
             logger.debug("StrategyConfiguration - strategy saved in database {}", newStrategy);
             strategy.setStrategyDTO(strategyMapper.mapToStrategyDTO(newStrategy));
@@ -247,7 +294,16 @@ public class StrategyAutoConfiguration extends BaseConfiguration {
         strategy.setTradeRepository(tradeRepository);
         strategy.setTradeService(tradeService);
         strategy.setPositionService(positionService);
+        strategy.setExecutionService(executionService);
+        strategy.setTimer(timer);
         strategy.setPositionRepository(positionRepository);
+        strategy.setPositionFlux(positionFlux);
+
+        // Restoring the state saved before the restart (before the fluxes are connected).
+        if (strategy instanceof RecoverableStrategy) {
+            ((RecoverableStrategy) strategy).restoreState(strategyRecovery.recover(strategy.getRequestedCurrencyPairs(),
+                    user.get().getAccounts().values()));
+        }
 
         // Account flux.
         final ConnectableFlux<AccountDTO> connectableAccountFlux = accountFlux.getFlux().publish();
@@ -259,17 +315,8 @@ public class StrategyAutoConfiguration extends BaseConfiguration {
         connectablePositionFlux.subscribe(strategy::positionUpdate);        // For strategy.
         connectablePositionFlux.connect();
 
-        // Order flux.
-        final ConnectableFlux<OrderDTO> connectableOrderFlux = orderFlux.getFlux().publish();
-        connectableOrderFlux.subscribe(strategy::orderUpdate);              // For strategy.
-        connectableOrderFlux.subscribe(positionService::orderUpdate);       // For position service.
-        connectableOrderFlux.connect();
-
-        // Trade flux to strategy.
-        final ConnectableFlux<TradeDTO> connectableTradeFlux = tradeFlux.getFlux().publish();
-        connectableTradeFlux.subscribe(strategy::tradeUpdate);              // For strategy.
-        connectableTradeFlux.subscribe(positionService::tradeUpdate);       // For position service.
-        connectableTradeFlux.connect();
+        // Order & trade flux.
+        connectOrderAndTradeFlux(strategy);
 
         // Ticker flux.
         tickerFlux.updateRequestedCurrencyPairs(strategy.getRequestedCurrencyPairs());
@@ -282,12 +329,60 @@ public class StrategyAutoConfiguration extends BaseConfiguration {
         connectableTickerFlux.subscribe(positionService::tickerUpdate);     // For position service.
         connectableTickerFlux.connect();
 
+        // Order book & public trade flux.
+        connectMarketDataFlux(strategy);
+
         // If in dry mode, we setup dependencies.
         if (userService instanceof UserServiceDryModeImplementation) {
             ((UserServiceDryModeImplementation) userService).setDependencies((GenericCassandreStrategy) strategy);
         }
     }
 
+    /**
+     * Closes the parent orders (TWAP and VWAP) that were running when the bot stopped.
+     */
+    private void closeInterruptedExecutions() {
+        final List<OrderDTO> parentOrders = new ArrayList<>();
+        orderRepository.findByOrderIdStartingWith(TWAP_ORDER_PREFIX).forEach(order -> parentOrders.add(orderMapper.mapToOrderDTO(order)));
+        orderRepository.findByOrderIdStartingWith(VWAP_ORDER_PREFIX).forEach(order -> parentOrders.add(orderMapper.mapToOrderDTO(order)));
+        executionService.closeInterruptedExecutions(parentOrders);
+    }
+
+    /**
+     * Connects the order and trade flux to the strategy and to the services.
+     *
+     * @param strategy strategy
+     */
+    private void connectOrderAndTradeFlux(final CassandreStrategyInterface strategy) {
+        // Order flux.
+        final ConnectableFlux<OrderDTO> connectableOrderFlux = orderFlux.getFlux().publish();
+        connectableOrderFlux.subscribe(strategy::orderUpdate);              // For strategy.
+        connectableOrderFlux.subscribe(positionService::orderUpdate);       // For position service.
+        connectableOrderFlux.subscribe(executionService::orderUpdate);      // For execution service.
+        connectableOrderFlux.connect();
+
+        // Trade flux to strategy.
+        final ConnectableFlux<TradeDTO> connectableTradeFlux = tradeFlux.getFlux().publish();
+        connectableTradeFlux.subscribe(strategy::tradeUpdate);              // For strategy.
+        connectableTradeFlux.subscribe(positionService::tradeUpdate);       // For position service.
+        connectableTradeFlux.connect();
+    }
+
+    /**
+     * Connects the order book and public trade flux to the strategy (only the strategy subscribes to them).
+     *
+     * @param strategy strategy
+     */
+    private void connectMarketDataFlux(final CassandreStrategyInterface strategy) {
+        // Order book flux (a single subscriber, so the flux stays conflated).
+        orderBookFlux.updateRequestedCurrencyPairs(strategy.getRequestedOrderBooks());
+        orderBookFlux.getFlux().subscribe(strategy::orderBookUpdate);
+
+        // Public trade flux.
+        publicTradeFlux.updateRequestedCurrencyPairs(strategy.getRequestedPublicTrades());
+        publicTradeFlux.getFlux().subscribe(strategy::publicTradeUpdate);
+    }
+
     /**
      * Getter for positionService.
      *
@@ -298,4 +393,14 @@ public class StrategyAutoConfiguration extends BaseConfiguration {
         return positionService;
     }
 
+    /**
+     * Getter for executionService.
+     *
+     * @return executionService
+     */
+    @Bean
+    public ExecutionService getExecutionService() {
+        return executionService;
+    }
+
 }
@@ -0,0 +1,73 @@
+package tech.cassandre.trading.bot.domain;
+
+import lombok.Data;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import tech.cassandre.trading.bot.util.base.BaseDomain;
+import tech.cassandre.trading.bot.util.java.EqualsBuilder;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+
+import static javax.persistence.GenerationType.IDENTITY;
+
+/**
+ * Gain - running totals of the closed positions for a quote currency.
+ */
+@Data
+@Entity
+@Table(name = "GAINS")
+public class Gain extends BaseDomain {
+
+    /** Technical ID. */
+    @Id
+    @Column(name = "ID")
+    @GeneratedValue(strategy = IDENTITY)
+    private Long id;
+
+    /** Quote currency of the closed positions. */
+    @Column(name = "CURRENCY")
+    private String currency;
+
+    /** Total amount bought by the opening orders. */
+    @Column(name = "BOUGHT_VALUE")
+    private BigDecimal bought;
+
+    /** Total amount sold by the closing orders. */
+    @Column(name = "SOLD_VALUE")
+    private BigDecimal sold;
+
+    /** Total fees of the opening and closing orders. */
+    @Column(name = "FEES_VALUE")
+    private BigDecimal fees;
+
+    /** Number of closed positions. */
+    @Column(name = "CLOSED_POSITIONS")
+    private long closedPositions;
+
+    @Override
+    public final boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final Gain that = (Gain) o;
+        return new EqualsBuilder()
+                .append(this.id, that.id)
+                .append(this.currency, that.currency)
+                .isEquals();
+    }
+
+    @Override
+    public final int hashCode() {
+        return new HashCodeBuilder()
+                .append(id)
+                .toHashCode();
+    }
+
+}
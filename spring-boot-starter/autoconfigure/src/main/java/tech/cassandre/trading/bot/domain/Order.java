@@ -18,6 +18,8 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
 import javax.persistence.OrderBy;
 import javax.persistence.Table;
@@ -26,15 +28,19 @@ import java.util.LinkedHashSet;
 import java.util.Set;
 
 import static javax.persistence.EnumType.STRING;
-import static javax.persistence.FetchType.EAGER;
+import static javax.persistence.FetchType.LAZY;
 import static javax.persistence.GenerationType.IDENTITY;
 
 /**
  * Order.
+ * Strategy and trades are loaded lazily : repository methods returning orders for mapping use the "Order.withTrades"
+ * entity graph to fetch them in the same query.
  */
 @Data
 @Entity
 @Table(name = "ORDERS")
+@NamedEntityGraph(name = "Order.withTrades",
+        attributeNodes = {@NamedAttributeNode("strategy"), @NamedAttributeNode("trades")})
 public class Order extends BaseDomain {
 
     /** Technical ID. */
@@ -53,7 +59,7 @@ public class Order extends BaseDomain {
     private OrderTypeDTO type;
 
     /** The strategy that created the order. */
-    @ManyToOne(fetch = EAGER)
+    @ManyToOne(fetch = LAZY)
     @JoinColumn(name = "FK_STRATEGY_ID", updatable = false)
     private Strategy strategy;
 
@@ -111,7 +117,7 @@ public class Order extends BaseDomain {
     private ZonedDateTime timestamp;
 
     /** All trades related to order. */
-    @OneToMany(fetch = EAGER)
+    @OneToMany(fetch = LAZY)
     @OrderBy("timestamp")
     @JoinColumn(name = "FK_ORDER_ID", updatable = false)
     private Set<Trade> trades = new LinkedHashSet<>();
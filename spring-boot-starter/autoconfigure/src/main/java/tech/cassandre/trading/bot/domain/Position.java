@@ -18,20 +18,33 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedSubgraph;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
 
 import static javax.persistence.CascadeType.ALL;
 import static javax.persistence.EnumType.STRING;
-import static javax.persistence.FetchType.EAGER;
+import static javax.persistence.FetchType.LAZY;
 import static javax.persistence.GenerationType.IDENTITY;
 
 /**
  * Position.
+ * Strategy and orders are loaded lazily : repository methods returning positions for mapping use the
+ * "Position.withOrders" entity graph to fetch them (with the orders trades) in the same query.
  */
 @Data
 @Entity
 @Table(name = "POSITIONS")
+@NamedEntityGraph(name = "Position.withOrders",
+        attributeNodes = {
+                @NamedAttributeNode("strategy"),
+                @NamedAttributeNode(value = "openingOrder", subgraph = "order"),
+                @NamedAttributeNode(value = "closingOrder", subgraph = "order")
+        },
+        subgraphs = @NamedSubgraph(name = "order",
+                attributeNodes = {@NamedAttributeNode("strategy"), @NamedAttributeNode("trades")}))
 public class Position extends BaseDomain {
 
     /** Technical ID. */
@@ -50,7 +63,7 @@ public class Position extends BaseDomain {
     private PositionTypeDTO type;
 
     /** The strategy that created the position. */
-    @ManyToOne(fetch = EAGER)
+    @ManyToOne(fetch = LAZY)
     @JoinColumn(name = "FK_STRATEGY_ID", updatable = false)
     private Strategy strategy;
 
@@ -80,12 +93,12 @@ public class Position extends BaseDomain {
     private PositionStatusDTO status;
 
     /** The order created to open the position. */
-    @OneToOne(fetch = EAGER, cascade = ALL)
+    @OneToOne(fetch = LAZY, cascade = ALL)
     @JoinColumn(name = "FK_OPENING_ORDER_ID")
     private Order openingOrder;
 
     /** The order created to close the position. */
-    @OneToOne(fetch = EAGER, cascade = ALL)
+    @OneToOne(fetch = LAZY, cascade = ALL)
     @JoinColumn(name = "FK_CLOSING_ORDER_ID")
     private Order closingOrder;
 
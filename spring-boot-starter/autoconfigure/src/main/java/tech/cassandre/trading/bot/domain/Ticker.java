@@ -0,0 +1,107 @@
+package tech.cassandre.trading.bot.domain;
+
+import lombok.Data;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import tech.cassandre.trading.bot.util.base.BaseDomain;
+import tech.cassandre.trading.bot.util.java.EqualsBuilder;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+import static javax.persistence.GenerationType.IDENTITY;
+
+/**
+ * Ticker (history of the tickers received).
+ */
+@Data
+@Entity
+@Table(name = "TICKERS")
+public class Ticker extends BaseDomain {
+
+    /** Technical ID. */
+    @Id
+    @Column(name = "ID")
+    @GeneratedValue(strategy = IDENTITY)
+    private Long id;
+
+    /** Currency pair. */
+    @Column(name = "CURRENCY_PAIR")
+    private String currencyPair;
+
+    /** The timestamp of the ticker. */
+    @Column(name = "TIMESTAMP")
+    private ZonedDateTime timestamp;
+
+    /** The opening price. */
+    @Column(name = "OPEN_PRICE")
+    private BigDecimal open;
+
+    /** The most recent price. */
+    @Column(name = "LAST_PRICE")
+    private BigDecimal last;
+
+    /** The price of the highest bid. */
+    @Column(name = "BID_PRICE")
+    private BigDecimal bid;
+
+    /** The price of the lowest ask. */
+    @Column(name = "ASK_PRICE")
+    private BigDecimal ask;
+
+    /** The highest price. */
+    @Column(name = "HIGH_PRICE")
+    private BigDecimal high;
+
+    /** The lowest price. */
+    @Column(name = "LOW_PRICE")
+    private BigDecimal low;
+
+    /** Volume-weighted average price. */
+    @Column(name = "VWAP")
+    private BigDecimal vwap;
+
+    /** Volume in base currency. */
+    @Column(name = "VOLUME")
+    private BigDecimal volume;
+
+    /** Volume in quote currency. */
+    @Column(name = "QUOTE_VOLUME")
+    private BigDecimal quoteVolume;
+
+    /** The instantaneous size at the bid price. */
+    @Column(name = "BID_SIZE")
+    private BigDecimal bidSize;
+
+    /** The instantaneous size at the ask price. */
+    @Column(name = "ASK_SIZE")
+    private BigDecimal askSize;
+
+    @Override
+    public final boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final Ticker that = (Ticker) o;
+        return new EqualsBuilder()
+                .append(this.id, that.id)
+                .append(this.currencyPair, that.currencyPair)
+                .append(this.timestamp, that.timestamp)
+                .isEquals();
+    }
+
+    @Override
+    public final int hashCode() {
+        return new HashCodeBuilder()
+                .append(id)
+                .toHashCode();
+    }
+
+}
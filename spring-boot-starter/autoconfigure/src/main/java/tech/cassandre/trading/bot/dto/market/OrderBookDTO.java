@@ -0,0 +1,57 @@
+package tech.cassandre.trading.bot.dto.market;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * DTO representing an order book (price levels of a currency pair).
+ * Bids are sorted from the highest price and asks from the lowest price : the first level of each side is the best.
+ */
+@Value
+@Builder
+@AllArgsConstructor(access = PRIVATE)
+@SuppressWarnings("checkstyle:VisibilityModifier")
+public class OrderBookDTO {
+
+    /** Currency pair. */
+    CurrencyPairDTO currencyPair;
+
+    /** Buy price levels (best first). */
+    @Singular
+    List<OrderBookEntryDTO> bids;
+
+    /** Sell price levels (best first). */
+    @Singular
+    List<OrderBookEntryDTO> asks;
+
+    /** Information timestamp. */
+    ZonedDateTime timestamp;
+
+    /**
+     * Returns the best bid.
+     *
+     * @return best bid
+     */
+    public Optional<OrderBookEntryDTO> getBestBid() {
+        return bids.stream().findFirst();
+    }
+
+    /**
+     * Returns the best ask.
+     *
+     * @return best ask
+     */
+    public Optional<OrderBookEntryDTO> getBestAsk() {
+        return asks.stream().findFirst();
+    }
+
+}
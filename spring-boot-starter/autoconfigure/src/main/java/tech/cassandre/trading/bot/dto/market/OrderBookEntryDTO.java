@@ -0,0 +1,26 @@
+package tech.cassandre.trading.bot.dto.market;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * DTO representing a price level of an order book.
+ */
+@Value
+@Builder
+@AllArgsConstructor(access = PRIVATE)
+@SuppressWarnings("checkstyle:VisibilityModifier")
+public class OrderBookEntryDTO {
+
+    /** Price. */
+    BigDecimal price;
+
+    /** Total amount offered at this price. */
+    BigDecimal amount;
+
+}
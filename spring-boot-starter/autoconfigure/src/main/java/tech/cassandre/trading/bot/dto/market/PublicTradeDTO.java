@@ -0,0 +1,41 @@
+package tech.cassandre.trading.bot.dto.market;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import tech.cassandre.trading.bot.dto.trade.OrderTypeDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * DTO representing a public trade (a trade made by any market participant).
+ */
+@Value
+@Builder
+@AllArgsConstructor(access = PRIVATE)
+@SuppressWarnings("checkstyle:VisibilityModifier")
+public class PublicTradeDTO {
+
+    /** Trade id given by the exchange. */
+    String id;
+
+    /** Currency pair. */
+    CurrencyPairDTO currencyPair;
+
+    /** Taker side : BID if the taker was buying, ASK if the taker was selling. */
+    OrderTypeDTO type;
+
+    /** Price. */
+    BigDecimal price;
+
+    /** Amount (in base currency). */
+    BigDecimal amount;
+
+    /** Trade timestamp. */
+    ZonedDateTime timestamp;
+
+}
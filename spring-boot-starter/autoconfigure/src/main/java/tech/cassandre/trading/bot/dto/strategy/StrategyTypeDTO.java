@@ -9,6 +9,9 @@ public enum StrategyTypeDTO {
     BASIC_STRATEGY,
 
     /** Basic Ta4j strategy. */
-    BASIC_TA4J_STRATEGY
+    BASIC_TA4J_STRATEGY,
+
+    /** Multi currency pairs ta4j strategy. */
+    MULTI_TA4J_STRATEGY
 
 }
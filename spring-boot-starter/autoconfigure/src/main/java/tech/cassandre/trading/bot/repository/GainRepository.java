@@ -0,0 +1,63 @@
+package tech.cassandre.trading.bot.repository;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import tech.cassandre.trading.bot.domain.Gain;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Gain repository.
+ */
+@Repository
+public interface GainRepository extends CrudRepository<Gain, Long> {
+
+    /**
+     * Find the gain of a currency.
+     *
+     * @param currency currency
+     * @return gain
+     */
+    Optional<Gain> findByCurrency(String currency);
+
+    /**
+     * Find all gains (sorted by id).
+     *
+     * @return gains
+     */
+    List<Gain> findByOrderById();
+
+    /**
+     * Returns the number of closed positions counted in the gains.
+     *
+     * @return number of closed positions
+     */
+    @Query("SELECT COALESCE(SUM(g.closedPositions), 0) FROM Gain g")
+    long sumClosedPositions();
+
+    /**
+     * Adds a closed position to the gain of a currency (in a single update statement).
+     *
+     * @param currency currency
+     * @param bought   amount bought by the opening order
+     * @param sold     amount sold by the closing order
+     * @param fees     fees of the opening and closing orders
+     * @return number of rows updated (0 if there is no gain yet for this currency)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Gain g SET g.bought = g.bought + :bought, g.sold = g.sold + :sold, g.fees = g.fees + :fees,"
+            + " g.closedPositions = g.closedPositions + 1"
+            + " WHERE g.currency = :currency")
+    int addClosedPosition(@Param("currency") String currency,
+                          @Param("bought") BigDecimal bought,
+                          @Param("sold") BigDecimal sold,
+                          @Param("fees") BigDecimal fees);
+
+}
@@ -1,5 +1,6 @@
 package tech.cassandre.trading.bot.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 import tech.cassandre.trading.bot.domain.Order;
@@ -7,6 +8,8 @@ import tech.cassandre.trading.bot.domain.Order;
 import java.util.List;
 import java.util.Optional;
 
+import static org.springframework.data.jpa.repository.EntityGraph.EntityGraphType.LOAD;
+
 /**
  * Order repository.
  */
@@ -14,18 +17,29 @@ import java.util.Optional;
 public interface OrderRepository extends CrudRepository<Order, Long> {
 
     /**
-     * Find by order id.
+     * Find by order id (with strategy and trades).
      *
      * @param orderId order id
      * @return order
      */
+    @EntityGraph(value = "Order.withTrades", type = LOAD)
     Optional<Order> findByOrderId(String orderId);
 
     /**
-     * Find all orders by timestamp.
+     * Find all orders by timestamp (with strategy and trades).
      *
      * @return positions
      */
+    @EntityGraph(value = "Order.withTrades", type = LOAD)
     List<Order> findByOrderByTimestampAsc();
 
+    /**
+     * Find the orders whose order id starts with a prefix (with strategy and trades).
+     *
+     * @param prefix order id prefix
+     * @return orders
+     */
+    @EntityGraph(value = "Order.withTrades", type = LOAD)
+    List<Order> findByOrderIdStartingWith(String prefix);
+
 }
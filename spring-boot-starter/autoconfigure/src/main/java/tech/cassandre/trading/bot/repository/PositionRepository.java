@@ -1,48 +1,127 @@
 package tech.cassandre.trading.bot.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import tech.cassandre.trading.bot.domain.Position;
 import tech.cassandre.trading.bot.dto.position.PositionStatusDTO;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
+import static org.springframework.data.jpa.repository.EntityGraph.EntityGraphType.LOAD;
+
 /**
  * Position repository.
+ * Methods returning positions fetch their strategy and orders (full detail) as positions are mapped to DTOs.
  */
 @Repository
 public interface PositionRepository extends CrudRepository<Position, Long> {
 
     /**
-     * Find a position by its id.
+     * Find a position by its technical id (with strategy and orders).
+     *
+     * @param id technical id
+     * @return position
+     */
+    @Override
+    @EntityGraph(value = "Position.withOrders", type = LOAD)
+    Optional<Position> findById(Long id);
+
+    /**
+     * Find a position by its id (with strategy and orders).
      *
      * @param positionId position id
      * @return positions
      */
+    @EntityGraph(value = "Position.withOrders", type = LOAD)
     Optional<Position> findByPositionId(long positionId);
 
     /**
-     * Find all position (sorted by id).
+     * Find all position (sorted by id, with strategy and orders).
      *
      * @return positions
      */
+    @EntityGraph(value = "Position.withOrders", type = LOAD)
     List<Position> findByOrderById();
 
     /**
-     * Find all positions by status.
+     * Find all positions by status (with strategy and orders).
      *
      * @param status status
      * @return list of positions
      */
+    @EntityGraph(value = "Position.withOrders", type = LOAD)
     List<Position> findByStatus(PositionStatusDTO status);
 
     /**
-     * Find all positions not having a specific status.
+     * Returns the number of positions having a specific status.
+     *
+     * @param status status
+     * @return number of positions
+     */
+    long countByStatus(PositionStatusDTO status);
+
+    /**
+     * Find all positions by status on a currency pair (with strategy and orders).
+     *
+     * @param status       status
+     * @param currencyPair currency pair
+     * @return list of positions
+     */
+    @EntityGraph(value = "Position.withOrders", type = LOAD)
+    List<Position> findByStatusAndCurrencyPair(PositionStatusDTO status, String currencyPair);
+
+    /**
+     * Find all positions not having a specific status (with strategy and orders).
      *
      * @param status status
      * @return list of positions
      */
+    @EntityGraph(value = "Position.withOrders", type = LOAD)
     List<Position> findByStatusNot(PositionStatusDTO status);
 
+    /**
+     * Find the status of all positions not having a specific status (status only - no strategy, no order loaded).
+     *
+     * @param status status
+     * @return list of position status
+     */
+    @Query("SELECT p.id AS id, p.positionId AS positionId, p.status AS status,"
+            + " o.orderId AS openingOrderId, c.orderId AS closingOrderId"
+            + " FROM Position p LEFT JOIN p.openingOrder o LEFT JOIN p.closingOrder c"
+            + " WHERE p.status <> :status ORDER BY p.id")
+    List<PositionStatusView> findStatusByStatusNot(@Param("status") PositionStatusDTO status);
+
+    /**
+     * Updates the prices of a position (and nothing else).
+     *
+     * @param id                   technical id
+     * @param lowestPriceValue     lowest price value
+     * @param lowestPriceCurrency  lowest price currency
+     * @param highestPriceValue    highest price value
+     * @param highestPriceCurrency highest price currency
+     * @param latestPriceValue     latest price value
+     * @param latestPriceCurrency  latest price currency
+     * @return number of rows updated
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Position p SET p.lowestPrice.value = :lowestPriceValue, p.lowestPrice.currency = :lowestPriceCurrency,"
+            + " p.highestPrice.value = :highestPriceValue, p.highestPrice.currency = :highestPriceCurrency,"
+            + " p.latestPrice.value = :latestPriceValue, p.latestPrice.currency = :latestPriceCurrency"
+            + " WHERE p.id = :id")
+    int updatePrices(@Param("id") long id,
+                     @Param("lowestPriceValue") BigDecimal lowestPriceValue,
+                     @Param("lowestPriceCurrency") String lowestPriceCurrency,
+                     @Param("highestPriceValue") BigDecimal highestPriceValue,
+                     @Param("highestPriceCurrency") String highestPriceCurrency,
+                     @Param("latestPriceValue") BigDecimal latestPriceValue,
+                     @Param("latestPriceCurrency") String latestPriceCurrency);
+
 }
@@ -0,0 +1,57 @@
+package tech.cassandre.trading.bot.repository;
+
+import tech.cassandre.trading.bot.dto.position.PositionStatusDTO;
+
+import java.util.Objects;
+
+/**
+ * Position status projection - only the status and the ids of the orders used by a position.
+ */
+public interface PositionStatusView {
+
+    /**
+     * Getter for id.
+     *
+     * @return id
+     */
+    Long getId();
+
+    /**
+     * Getter for positionId.
+     *
+     * @return positionId
+     */
+    Long getPositionId();
+
+    /**
+     * Getter for status.
+     *
+     * @return status
+     */
+    PositionStatusDTO getStatus();
+
+    /**
+     * Getter for openingOrderId.
+     *
+     * @return openingOrderId
+     */
+    String getOpeningOrderId();
+
+    /**
+     * Getter for closingOrderId.
+     *
+     * @return closingOrderId
+     */
+    String getClosingOrderId();
+
+    /**
+     * Returns true if the position uses the order as opening or closing order.
+     *
+     * @param orderId order id
+     * @return true if the order is used by the position
+     */
+    default boolean isUsingOrder(final String orderId) {
+        return orderId != null && (Objects.equals(orderId, getOpeningOrderId()) || Objects.equals(orderId, getClosingOrderId()));
+    }
+
+}
@@ -0,0 +1,41 @@
+package tech.cassandre.trading.bot.repository;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import tech.cassandre.trading.bot.domain.Ticker;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Ticker repository.
+ */
+@Repository
+public interface TickerRepository extends CrudRepository<Ticker, Long> {
+
+    /**
+     * Find the tickers of a currency pair received during a period (sorted by timestamp).
+     *
+     * @param currencyPair currency pair
+     * @param from         start of the period
+     * @param to           end of the period
+     * @return tickers
+     */
+    List<Ticker> findByCurrencyPairAndTimestampBetweenOrderByTimestamp(String currencyPair, ZonedDateTime from, ZonedDateTime to);
+
+    /**
+     * Deletes the tickers older than a timestamp (in a single delete statement).
+     *
+     * @param timestamp timestamp
+     * @return number of tickers deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Ticker t WHERE t.timestamp < :timestamp")
+    int deleteByTimestampBefore(@Param("timestamp") ZonedDateTime timestamp);
+
+}
@@ -0,0 +1,75 @@
+package tech.cassandre.trading.bot.service;
+
+import tech.cassandre.trading.bot.dto.strategy.StrategyDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderCreationResultDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderTypeDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service executing large orders with execution algorithms.
+ * A parent order is sliced into child market orders sent over time ; the parent order (with the aggregated fill state
+ * of its child orders) is pushed to the strategy through the order flux.
+ */
+public interface ExecutionService {
+
+    /**
+     * Creates a TWAP (time-weighted average price) order : the amount is split in equal slices sent at regular
+     * intervals over the duration.
+     *
+     * @param strategy     strategy
+     * @param type         order type
+     * @param currencyPair currency pair
+     * @param amount       amount
+     * @param duration     duration of the execution
+     * @param slices       number of child orders
+     * @return order creation result (parent order)
+     */
+    OrderCreationResultDTO createTwapOrder(StrategyDTO strategy,
+                                           OrderTypeDTO type,
+                                           CurrencyPairDTO currencyPair,
+                                           BigDecimal amount,
+                                           Duration duration,
+                                           int slices);
+
+    /**
+     * Creates a VWAP (volume-weighted average price) order : the amount is split following a volume profile (the
+     * expected volume of each interval) and the slices are sent at regular intervals over the duration.
+     *
+     * @param strategy      strategy
+     * @param type          order type
+     * @param currencyPair  currency pair
+     * @param amount        amount
+     * @param duration      duration of the execution
+     * @param volumeProfile expected volume of each interval (one child order per interval)
+     * @return order creation result (parent order)
+     */
+    OrderCreationResultDTO createVwapOrder(StrategyDTO strategy,
+                                           OrderTypeDTO type,
+                                           CurrencyPairDTO currencyPair,
+                                           BigDecimal amount,
+                                           Duration duration,
+                                           List<BigDecimal> volumeProfile);
+
+    /**
+     * Cancels the child orders of a parent order that have not been sent yet.
+     *
+     * @param parentOrderId parent order id
+     * @return true if the execution was running and has been canceled
+     */
+    boolean cancelExecution(String parentOrderId);
+
+    /**
+     * Returns a running parent order with its aggregated fill state.
+     *
+     * @param parentOrderId parent order id
+     * @return parent order
+     */
+    Optional<OrderDTO> getExecution(String parentOrderId);
+
+}
@@ -1,8 +1,11 @@
 package tech.cassandre.trading.bot.service;
 
+import tech.cassandre.trading.bot.dto.market.OrderBookDTO;
+import tech.cassandre.trading.bot.dto.market.PublicTradeDTO;
 import tech.cassandre.trading.bot.dto.market.TickerDTO;
 import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -18,4 +21,20 @@ public interface MarketService {
      */
     Optional<TickerDTO> getTicker(CurrencyPairDTO currencyPair);
 
+    /**
+     * Returns the order book of a currency pair.
+     *
+     * @param currencyPair currency pair
+     * @return order book
+     */
+    Optional<OrderBookDTO> getOrderBook(CurrencyPairDTO currencyPair);
+
+    /**
+     * Returns the last public trades of a currency pair (sorted by timestamp).
+     *
+     * @param currencyPair currency pair
+     * @return public trades (empty if they could not be retrieved)
+     */
+    List<PublicTradeDTO> getPublicTrades(CurrencyPairDTO currencyPair);
+
 }
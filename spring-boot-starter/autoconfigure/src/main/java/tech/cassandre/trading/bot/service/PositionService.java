@@ -1,5 +1,6 @@
 package tech.cassandre.trading.bot.service;
 
+import reactor.core.publisher.Mono;
 import tech.cassandre.trading.bot.dto.market.TickerDTO;
 import tech.cassandre.trading.bot.dto.position.PositionCreationResultDTO;
 import tech.cassandre.trading.bot.dto.position.PositionDTO;
@@ -10,6 +11,7 @@ import tech.cassandre.trading.bot.dto.trade.TradeDTO;
 import tech.cassandre.trading.bot.dto.util.CurrencyDTO;
 import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
 import tech.cassandre.trading.bot.dto.util.GainDTO;
+import tech.cassandre.trading.bot.util.concurrent.ExchangeExecutor;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
@@ -35,6 +37,30 @@ public interface PositionService {
                                                  BigDecimal amount,
                                                  PositionRulesDTO rules);
 
+    /**
+     * Returns the executor running the exchange requests (asynchronous calls run on it, with its timeout).
+     *
+     * @return exchange executor
+     */
+    ExchangeExecutor getExchangeExecutor();
+
+    /**
+     * Creates a long position with its associated rules without blocking the calling thread.
+     * The opening order is sent on the exchange executor when the mono is subscribed (call toFuture() to get a CompletableFuture).
+     *
+     * @param strategy     strategy
+     * @param currencyPair currency pair
+     * @param amount       amount
+     * @param rules        rules
+     * @return position creation result
+     */
+    default Mono<PositionCreationResultDTO> createLongPositionAsync(final StrategyDTO strategy,
+                                                                    final CurrencyPairDTO currencyPair,
+                                                                    final BigDecimal amount,
+                                                                    final PositionRulesDTO rules) {
+        return getExchangeExecutor().execute(() -> createLongPosition(strategy, currencyPair, amount, rules));
+    }
+
     /**
      * Get positions.
      *
@@ -1,10 +1,12 @@
 package tech.cassandre.trading.bot.service;
 
+import reactor.core.publisher.Mono;
 import tech.cassandre.trading.bot.dto.strategy.StrategyDTO;
 import tech.cassandre.trading.bot.dto.trade.OrderCreationResultDTO;
 import tech.cassandre.trading.bot.dto.trade.OrderDTO;
 import tech.cassandre.trading.bot.dto.trade.TradeDTO;
 import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.util.concurrent.ExchangeExecutor;
 
 import java.math.BigDecimal;
 import java.util.Set;
@@ -74,6 +76,88 @@ public interface TradeService {
      */
     boolean cancelOrder(String orderId);
 
+    /**
+     * Returns the executor running the exchange requests (asynchronous calls run on it, with its timeout).
+     *
+     * @return exchange executor
+     */
+    ExchangeExecutor getExchangeExecutor();
+
+    /**
+     * Creates a buy market order without blocking the calling thread.
+     * The order is sent on the exchange executor when the mono is subscribed (call toFuture() to get a CompletableFuture).
+     *
+     * @param strategy     strategy
+     * @param currencyPair currency pair
+     * @param amount       amount
+     * @return order result (order id or error)
+     */
+    default Mono<OrderCreationResultDTO> createBuyMarketOrderAsync(final StrategyDTO strategy,
+                                                                   final CurrencyPairDTO currencyPair,
+                                                                   final BigDecimal amount) {
+        return getExchangeExecutor().execute(() -> createBuyMarketOrder(strategy, currencyPair, amount));
+    }
+
+    /**
+     * Creates a sell market order without blocking the calling thread.
+     * The order is sent on the exchange executor when the mono is subscribed (call toFuture() to get a CompletableFuture).
+     *
+     * @param strategy     strategy
+     * @param currencyPair currency pair
+     * @param amount       amount
+     * @return order result (order id or error)
+     */
+    default Mono<OrderCreationResultDTO> createSellMarketOrderAsync(final StrategyDTO strategy,
+                                                                    final CurrencyPairDTO currencyPair,
+                                                                    final BigDecimal amount) {
+        return getExchangeExecutor().execute(() -> createSellMarketOrder(strategy, currencyPair, amount));
+    }
+
+    /**
+     * Creates a buy limit order without blocking the calling thread.
+     * The order is sent on the exchange executor when the mono is subscribed (call toFuture() to get a CompletableFuture).
+     *
+     * @param strategy     strategy
+     * @param currencyPair currency pair
+     * @param amount       amount
+     * @param limitPrice   the highest acceptable price
+     * @return order result (order id or error)
+     */
+    default Mono<OrderCreationResultDTO> createBuyLimitOrderAsync(final StrategyDTO strategy,
+                                                                  final CurrencyPairDTO currencyPair,
+                                                                  final BigDecimal amount,
+                                                                  final BigDecimal limitPrice) {
+        return getExchangeExecutor().execute(() -> createBuyLimitOrder(strategy, currencyPair, amount, limitPrice));
+    }
+
+    /**
+     * Creates a sell limit order without blocking the calling thread.
+     * The order is sent on the exchange executor when the mono is subscribed (call toFuture() to get a CompletableFuture).
+     *
+     * @param strategy     strategy
+     * @param currencyPair currency pair
+     * @param amount       amount
+     * @param limitPrice   the lowest acceptable price
+     * @return order result (order id or error)
+     */
+    default Mono<OrderCreationResultDTO> createSellLimitOrderAsync(final StrategyDTO strategy,
+                                                                   final CurrencyPairDTO currencyPair,
+                                                                   final BigDecimal amount,
+                                                                   final BigDecimal limitPrice) {
+        return getExchangeExecutor().execute(() -> createSellLimitOrder(strategy, currencyPair, amount, limitPrice));
+    }
+
+    /**
+     * Cancel order without blocking the calling thread.
+     * The cancel request is sent on the exchange executor when the mono is subscribed (call toFuture() to get a CompletableFuture).
+     *
+     * @param orderId order id
+     * @return true if cancelled
+     */
+    default Mono<Boolean> cancelOrderAsync(final String orderId) {
+        return getExchangeExecutor().execute(() -> cancelOrder(orderId));
+    }
+
     /**
      * Get orders from exchange.
      *
@@ -1,5 +1,6 @@
 package tech.cassandre.trading.bot.service.dry;
 
+import reactor.core.publisher.Mono;
 import tech.cassandre.trading.bot.batch.OrderFlux;
 import tech.cassandre.trading.bot.batch.TradeFlux;
 import tech.cassandre.trading.bot.domain.Order;
@@ -18,15 +19,20 @@ import tech.cassandre.trading.bot.repository.OrderRepository;
 import tech.cassandre.trading.bot.repository.TradeRepository;
 import tech.cassandre.trading.bot.service.TradeService;
 import tech.cassandre.trading.bot.util.base.BaseService;
+import tech.cassandre.trading.bot.util.concurrent.ExchangeExecutor;
+import tech.cassandre.trading.bot.util.concurrent.HashedWheelTimer;
+import tech.cassandre.trading.bot.util.concurrent.SingleFlight;
+import tech.cassandre.trading.bot.util.ratelimit.ExchangeRequestScheduler;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -40,7 +46,7 @@ import static tech.cassandre.trading.bot.dto.trade.OrderTypeDTO.BID;
 public class TradeServiceDryModeImplementation extends BaseService implements TradeService {
 
     /** Waiting time before sending orders and trades to flux. */
-    private static final long WAITING_TIME = 500L;
+    private static final Duration WAITING_TIME = Duration.ofMillis(500);
 
     /** Dry order prefix. */
     private static final String DRY_ORDER_PREFIX = "DRY_ORDER_";
@@ -75,19 +81,36 @@ public class TradeServiceDryModeImplementation extends BaseService implements Tr
     /** User service - dry mode. */
     private final UserServiceDryModeImplementation userService;
 
+    /** Timer sending orders and trades to flux. */
+    private final HashedWheelTimer timer;
+
+    /** Coalesced order requests (as in normal mode). */
+    private final SingleFlight<Set<OrderDTO>> ordersRequests;
+
+    /** Coalesced trade requests (as in normal mode). */
+    private final SingleFlight<Set<TradeDTO>> tradesRequests;
+
     /**
      * Constructor.
      *
-     * @param newUserService     user service
-     * @param newTradeRepository trade repository
-     * @param newOrderRepository order repository
+     * @param newUserService      user service
+     * @param newTradeRepository  trade repository
+     * @param newOrderRepository  order repository
+     * @param newExchangeExecutor exchange executor
+     * @param newTimer            timer
      */
     public TradeServiceDryModeImplementation(final UserServiceDryModeImplementation newUserService,
                                              final TradeRepository newTradeRepository,
-                                             final OrderRepository newOrderRepository) {
+                                             final OrderRepository newOrderRepository,
+                                             final ExchangeExecutor newExchangeExecutor,
+                                             final HashedWheelTimer newTimer) {
+        super(new ExchangeRequestScheduler(), newExchangeExecutor);
         this.userService = newUserService;
         this.tradeRepository = newTradeRepository;
         this.orderRepository = newOrderRepository;
+        this.timer = newTimer;
+        this.ordersRequests = newExchangeExecutor.newSingleFlight();
+        this.tradesRequests = newExchangeExecutor.newSingleFlight();
     }
 
     /**
@@ -206,21 +229,9 @@ public class TradeServiceDryModeImplementation extends BaseService implements Tr
                     .timestamp(ZonedDateTime.now())
                     .build();
 
-            // Sending the results after the method returns the result.
-            Executors.newFixedThreadPool(1).submit(() -> {
-                try {
-                    TimeUnit.MILLISECONDS.sleep(WAITING_TIME);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-                orderFlux.emitValue(order);
-                try {
-                    TimeUnit.MILLISECONDS.sleep(WAITING_TIME);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-                tradeFlux.emitValue(trade);
-            });
+            // Sending the results after the method returns the result (saved in database outside the timer thread).
+            timer.schedule(() -> getExchangeExecutor().getScheduler().schedule(() -> orderFlux.emitValue(order)), WAITING_TIME);
+            timer.schedule(() -> getExchangeExecutor().getScheduler().schedule(() -> tradeFlux.emitValue(trade)), WAITING_TIME.multipliedBy(2));
 
             // We update the balances of the account with the values of the trade.
             if (orderTypeDTO.equals(BID)) {
@@ -269,20 +280,75 @@ public class TradeServiceDryModeImplementation extends BaseService implements Tr
         }
     }
 
+    @Override
+    public final Mono<OrderCreationResultDTO> createBuyMarketOrderAsync(final StrategyDTO strategy, final CurrencyPairDTO currencyPair, final BigDecimal amount) {
+        return createOrderAsync(() -> createBuyMarketOrder(strategy, currencyPair, amount));
+    }
+
+    @Override
+    public final Mono<OrderCreationResultDTO> createSellMarketOrderAsync(final StrategyDTO strategy, final CurrencyPairDTO currencyPair, final BigDecimal amount) {
+        return createOrderAsync(() -> createSellMarketOrder(strategy, currencyPair, amount));
+    }
+
+    @Override
+    public final Mono<OrderCreationResultDTO> createBuyLimitOrderAsync(final StrategyDTO strategy, final CurrencyPairDTO currencyPair, final BigDecimal amount, final BigDecimal limitPrice) {
+        return createOrderAsync(() -> createBuyLimitOrder(strategy, currencyPair, amount, limitPrice));
+    }
+
+    @Override
+    public final Mono<OrderCreationResultDTO> createSellLimitOrderAsync(final StrategyDTO strategy, final CurrencyPairDTO currencyPair, final BigDecimal amount, final BigDecimal limitPrice) {
+        return createOrderAsync(() -> createSellLimitOrder(strategy, currencyPair, amount, limitPrice));
+    }
+
+    @Override
+    public final Mono<Boolean> cancelOrderAsync(final String orderId) {
+        return getExchangeExecutor().execute(() -> cancelOrder(orderId))
+                .onErrorResume(throwable -> {
+                    logger.error("TradeService - Error canceling order {} asynchronously : {}", orderId, throwable.getMessage());
+                    return Mono.just(false);
+                });
+    }
+
+    /**
+     * Runs an order creation on the exchange executor, with the executor timeout.
+     *
+     * @param orderCreation order creation
+     * @return order creation result
+     */
+    private Mono<OrderCreationResultDTO> createOrderAsync(final Callable<OrderCreationResultDTO> orderCreation) {
+        return getExchangeExecutor().execute(orderCreation)
+                .onErrorResume(throwable -> {
+                    logger.error("TradeService - Error creating order asynchronously : {}", throwable.getMessage());
+                    return Mono.just(new OrderCreationResultDTO("TradeService - Error creating order asynchronously : " + throwable.getMessage(), new Exception(throwable)));
+                });
+    }
+
     @Override
     public final Set<OrderDTO> getOrders() {
-        return orderRepository.findByOrderByTimestampAsc()
-                .stream()
-                .map(orderMapper::mapToOrderDTO)
-                .collect(Collectors.toSet());
+        try {
+            // Concurrent callers share the same request (and the same result, that can't be modified).
+            return ordersRequests.execute(() -> orderRepository.findByOrderByTimestampAsc()
+                    .stream()
+                    .map(orderMapper::mapToOrderDTO)
+                    .collect(Collectors.toUnmodifiableSet()));
+        } catch (Exception e) {
+            logger.error("TradeService - Error retrieving orders : {}", e.getMessage());
+            return Collections.emptySet();
+        }
     }
 
     @Override
     public final Set<TradeDTO> getTrades() {
-        return tradeRepository.findByOrderByTimestampAsc()
-                .stream()
-                .map(tradeMapper::mapToTradeDTO)
-                .collect(Collectors.toSet());
+        try {
+            // Concurrent callers share the same request (and the same result, that can't be modified).
+            return tradesRequests.execute(() -> tradeRepository.findByOrderByTimestampAsc()
+                    .stream()
+                    .map(tradeMapper::mapToTradeDTO)
+                    .collect(Collectors.toUnmodifiableSet()));
+        } catch (Exception e) {
+            logger.error("TradeService - Error retrieving trades : {}", e.getMessage());
+            return Collections.emptySet();
+        }
     }
 
     /**
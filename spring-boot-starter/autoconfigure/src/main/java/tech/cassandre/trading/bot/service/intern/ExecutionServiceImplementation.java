@@ -0,0 +1,550 @@
+package tech.cassandre.trading.bot.service.intern;
+
+import reactor.core.publisher.Mono;
+import tech.cassandre.trading.bot.batch.OrderFlux;
+import tech.cassandre.trading.bot.dto.strategy.StrategyDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderCreationResultDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderStatusDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderTypeDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyAmountDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.service.ExecutionService;
+import tech.cassandre.trading.bot.service.TradeService;
+import tech.cassandre.trading.bot.util.base.Base;
+import tech.cassandre.trading.bot.util.concurrent.HashedWheelTimer;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.CANCELED;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.FILLED;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.NEW;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.PARTIALLY_CANCELED;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.PARTIALLY_FILLED;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.REJECTED;
+import static tech.cassandre.trading.bot.dto.trade.OrderTypeDTO.BID;
+
+/**
+ * Execution service implementation.
+ * Child orders are scheduled on the shared timer wheel and sent with the asynchronous methods of the trade service, so
+ * many parent orders run concurrently without a thread each. Child order updates (received from the order flux)
+ * update the fill state of their parent order, which is then pushed to the order flux. A child order id is only known
+ * once the exchange answered : while child orders are sent, updates of unknown orders are kept and applied when their
+ * child order is registered. Parent order ids are unique across restarts as they are persisted with the orders ; the
+ * parent orders still running when the bot stopped are closed at startup.
+ */
+public class ExecutionServiceImplementation extends Base implements ExecutionService {
+
+    /** TWAP parent order id prefix. */
+    public static final String TWAP_ORDER_PREFIX = "TWAP_";
+
+    /** VWAP parent order id prefix. */
+    public static final String VWAP_ORDER_PREFIX = "VWAP_";
+
+    /** Minimum scale of slice amounts and average prices. */
+    private static final int MINIMUM_SCALE = 8;
+
+    /** Trade service. */
+    private final TradeService tradeService;
+
+    /** Order flux. */
+    private final OrderFlux orderFlux;
+
+    /** Timer. */
+    private final HashedWheelTimer timer;
+
+    /** Running parent orders by id. */
+    private final Map<String, ParentOrder> executions = new ConcurrentHashMap<>();
+
+    /** Running parent orders by child order id (guarded by itself). */
+    private final Map<String, ParentOrder> childOrders = new HashMap<>();
+
+    /** Number of child orders sent whose creation result is not received yet (guarded by childOrders). */
+    private int placementsInFlight;
+
+    /** Updates of unknown orders received while child orders are sent (guarded by childOrders). */
+    private final Map<String, OrderDTO> unknownOrderUpdates = new HashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param newTradeService trade service
+     * @param newOrderFlux    order flux
+     * @param newTimer        timer
+     */
+    public ExecutionServiceImplementation(final TradeService newTradeService,
+                                          final OrderFlux newOrderFlux,
+                                          final HashedWheelTimer newTimer) {
+        this.tradeService = newTradeService;
+        this.orderFlux = newOrderFlux;
+        this.timer = newTimer;
+    }
+
+    @Override
+    public final OrderCreationResultDTO createTwapOrder(final StrategyDTO strategy,
+                                                  final OrderTypeDTO type,
+                                                  final CurrencyPairDTO currencyPair,
+                                                  final BigDecimal amount,
+                                                  final Duration duration,
+                                                  final int slices) {
+        if (slices <= 0) {
+            return error("Number of slices must be positive");
+        }
+        return createExecution(TWAP_ORDER_PREFIX, strategy, type, currencyPair, amount, duration, Collections.nCopies(slices, BigDecimal.ONE));
+    }
+
+    @Override
+    public final OrderCreationResultDTO createVwapOrder(final StrategyDTO strategy,
+                                                  final OrderTypeDTO type,
+                                                  final CurrencyPairDTO currencyPair,
+                                                  final BigDecimal amount,
+                                                  final Duration duration,
+                                                  final List<BigDecimal> volumeProfile) {
+        if (volumeProfile == null || volumeProfile.isEmpty()) {
+            return error("Volume profile is empty");
+        }
+        if (volumeProfile.stream().anyMatch(volume -> volume == null || volume.signum() < 0)
+                || volumeProfile.stream().allMatch(volume -> volume.signum() == 0)) {
+            return error("Volume profile must contain positive volumes");
+        }
+        return createExecution(VWAP_ORDER_PREFIX, strategy, type, currencyPair, amount, duration, volumeProfile);
+    }
+
+    @Override
+    public final boolean cancelExecution(final String parentOrderId) {
+        final ParentOrder parent = executions.get(parentOrderId);
+        if (parent == null) {
+            return false;
+        }
+        logger.debug("ExecutionService - Canceling execution {}", parentOrderId);
+        parent.cancel();
+        publish(parent);
+        return true;
+    }
+
+    @Override
+    public final Optional<OrderDTO> getExecution(final String parentOrderId) {
+        return Optional.ofNullable(executions.get(parentOrderId)).map(ParentOrder::getOrder);
+    }
+
+    /**
+     * Closes the parent orders saved by a previous run and not in a final status.
+     * Executions only live in memory : after a restart, the child orders of a running parent order are not followed
+     * anymore, so the parent order is closed with the amount filled when it was last saved (partially canceled) or
+     * canceled if nothing was filled. Orders that are not parent orders are ignored.
+     *
+     * @param orders orders saved
+     * @return parent orders closed
+     */
+    public final List<OrderDTO> closeInterruptedExecutions(final Collection<OrderDTO> orders) {
+        final List<OrderDTO> closedOrders = new ArrayList<>();
+        orders.stream()
+                .filter(order -> order.getOrderId().startsWith(TWAP_ORDER_PREFIX) || order.getOrderId().startsWith(VWAP_ORDER_PREFIX))
+                .filter(order -> order.getStatus() == null || !order.getStatus().isFinal())
+                .filter(order -> !executions.containsKey(order.getOrderId()))
+                .forEach(order -> {
+                    OrderStatusDTO status = CANCELED;
+                    if (order.getCumulativeAmount() != null && order.getCumulativeAmount().getValue() != null
+                            && order.getCumulativeAmount().getValue().signum() > 0) {
+                        status = PARTIALLY_CANCELED;
+                    }
+                    final OrderDTO closedOrder = OrderDTO.builder()
+                            .id(order.getId())
+                            .orderId(order.getOrderId())
+                            .type(order.getType())
+                            .strategy(order.getStrategy())
+                            .currencyPair(order.getCurrencyPair())
+                            .amount(order.getAmount())
+                            .averagePrice(order.getAveragePrice())
+                            .cumulativeAmount(order.getCumulativeAmount())
+                            .status(status)
+                            .timestamp(order.getTimestamp())
+                            .build();
+                    logger.warn("ExecutionService - Execution {} interrupted by a restart : {}", order.getOrderId(), status);
+                    // Saved only : strategies are not connected to the order flux yet.
+                    orderFlux.saveValue(closedOrder);
+                    closedOrders.add(closedOrder);
+                });
+        return closedOrders;
+    }
+
+    /**
+     * Method called by streams on every order update - updates the parent of a child order.
+     *
+     * @param order order
+     */
+    public final void orderUpdate(final OrderDTO order) {
+        final ParentOrder parent;
+        synchronized (childOrders) {
+            parent = childOrders.get(order.getOrderId());
+            if (parent == null && placementsInFlight > 0) {
+                // The update may be for a child order whose creation result is not received yet.
+                unknownOrderUpdates.put(order.getOrderId(), order);
+            }
+        }
+        if (parent != null && parent.childUpdate(order)) {
+            publish(parent);
+        }
+    }
+
+    /**
+     * Creates a parent order and schedules its child orders.
+     *
+     * @param prefix        parent order id prefix
+     * @param strategy      strategy
+     * @param type          order type
+     * @param currencyPair  currency pair
+     * @param amount        amount
+     * @param duration      duration of the execution
+     * @param volumeProfile weight of each child order
+     * @return order creation result (parent order)
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private OrderCreationResultDTO createExecution(final String prefix,
+                                                   final StrategyDTO strategy,
+                                                   final OrderTypeDTO type,
+                                                   final CurrencyPairDTO currencyPair,
+                                                   final BigDecimal amount,
+                                                   final Duration duration,
+                                                   final List<BigDecimal> volumeProfile) {
+        if (amount == null || amount.signum() <= 0) {
+            return error("Amount must be positive");
+        }
+        if (duration == null || duration.isNegative()) {
+            return error("Duration must not be negative");
+        }
+
+        // Parent order.
+        final OrderDTO order = OrderDTO.builder()
+                .orderId(prefix.concat(UUID.randomUUID().toString()))
+                .type(type)
+                .strategy(strategy)
+                .currencyPair(currencyPair)
+                .amount(new CurrencyAmountDTO(amount, currencyPair.getBaseCurrency()))
+                .cumulativeAmount(new CurrencyAmountDTO(BigDecimal.ZERO, currencyPair.getBaseCurrency()))
+                .status(NEW)
+                .timestamp(ZonedDateTime.now())
+                .build();
+        final List<BigDecimal> slices = getSlices(amount, volumeProfile);
+        final ParentOrder parent = new ParentOrder(order, slices.size());
+        executions.put(order.getOrderId(), parent);
+        logger.debug("ExecutionService - Execution {} created with {} slices over {}", order.getOrderId(), slices.size(), duration);
+        publish(parent);
+
+        // Child orders.
+        final Duration interval = duration.dividedBy(slices.size());
+        for (int i = 0; i < slices.size(); i++) {
+            final BigDecimal sliceAmount = slices.get(i);
+            if (sliceAmount.signum() > 0) {
+                parent.addTimeout(timer.schedule(() -> sendSlice(parent, sliceAmount), interval.multipliedBy(i)));
+            } else {
+                parent.sliceDone();
+            }
+        }
+        return new OrderCreationResultDTO(parent.getOrder());
+    }
+
+    /**
+     * Splits an amount following weights (the last slice receives the rounding remainder).
+     *
+     * @param amount  amount
+     * @param weights weights
+     * @return slice amounts
+     */
+    private List<BigDecimal> getSlices(final BigDecimal amount, final List<BigDecimal> weights) {
+        final int scale = Math.max(amount.scale(), MINIMUM_SCALE);
+        final BigDecimal totalWeight = weights.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        final List<BigDecimal> slices = new ArrayList<>(weights.size());
+        BigDecimal remaining = amount;
+        for (int i = 0; i < weights.size() - 1; i++) {
+            final BigDecimal slice = amount.multiply(weights.get(i)).divide(totalWeight, scale, RoundingMode.DOWN);
+            slices.add(slice);
+            remaining = remaining.subtract(slice);
+        }
+        slices.add(remaining);
+        return slices;
+    }
+
+    /**
+     * Sends a child order (called by the timer thread - the order is sent on the exchange executor).
+     *
+     * @param parent parent order
+     * @param amount child order amount
+     */
+    private void sendSlice(final ParentOrder parent, final BigDecimal amount) {
+        synchronized (childOrders) {
+            placementsInFlight++;
+        }
+        final OrderDTO order = parent.getOrder();
+        final Mono<OrderCreationResultDTO> creation;
+        if (order.getType() == BID) {
+            creation = tradeService.createBuyMarketOrderAsync(order.getStrategy(), order.getCurrencyPair(), amount);
+        } else {
+            creation = tradeService.createSellMarketOrderAsync(order.getStrategy(), order.getCurrencyPair(), amount);
+        }
+        creation.subscribe(result -> childCreated(parent, result),
+                throwable -> childCreated(parent, new OrderCreationResultDTO(throwable.getMessage(), new Exception(throwable))));
+    }
+
+    /**
+     * Registers a child order once created.
+     *
+     * @param parent parent order
+     * @param result child order creation result
+     */
+    private void childCreated(final ParentOrder parent, final OrderCreationResultDTO result) {
+        final OrderDTO update;
+        synchronized (childOrders) {
+            if (result.isSuccessful()) {
+                childOrders.put(result.getOrderId(), parent);
+            }
+            update = unknownOrderUpdates.remove(result.getOrderId());
+            placementsInFlight--;
+            if (placementsInFlight == 0) {
+                unknownOrderUpdates.clear();
+            }
+        }
+        if (result.isSuccessful()) {
+            logger.debug("ExecutionService - Child order {} sent for {}", result.getOrderId(), parent.getOrderId());
+            parent.childCreated(result.getOrderId(), result.getOrder());
+            if (update != null) {
+                parent.childUpdate(update);
+            }
+        } else {
+            logger.error("ExecutionService - Child order of {} failed : {}", parent.getOrderId(), result.getErrorMessage());
+            parent.sliceDone();
+        }
+        publish(parent);
+    }
+
+    /**
+     * Pushes a parent order to the order flux if it changed and forgets it once its status is final.
+     *
+     * @param parent parent order
+     */
+    private void publish(final ParentOrder parent) {
+        synchronized (parent) {
+            final Optional<OrderDTO> order = parent.getOrderToPublish();
+            if (order.isPresent()) {
+                orderFlux.emitValue(order.get());
+                if (order.get().getStatus().isFinal()) {
+                    logger.debug("ExecutionService - Execution {} ended : {}", order.get().getOrderId(), order.get().getStatus());
+                    executions.remove(order.get().getOrderId());
+                    synchronized (childOrders) {
+                        parent.getChildOrderIds().forEach(childOrders::remove);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns an order creation error.
+     *
+     * @param errorMessage error message
+     * @return order creation result
+     */
+    private OrderCreationResultDTO error(final String errorMessage) {
+        logger.error("ExecutionService - {}", errorMessage);
+        return new OrderCreationResultDTO(errorMessage, new IllegalArgumentException(errorMessage));
+    }
+
+    /**
+     * Parent order - aggregated fill state of its child orders.
+     */
+    private static final class ParentOrder {
+
+        /** Parent order as created. */
+        private final OrderDTO template;
+
+        /** Number of slices. */
+        private final int slices;
+
+        /** Timeouts of the slices not sent yet. */
+        private final List<HashedWheelTimer.Timeout> timeouts = new ArrayList<>();
+
+        /** Last update of each child order by id. */
+        private final Map<String, OrderDTO> children = new LinkedHashMap<>();
+
+        /** Number of slices sent, failed or canceled. */
+        private int slicesDone;
+
+        /** True if the execution was canceled. */
+        private boolean canceled;
+
+        /** Last parent order published. */
+        private OrderDTO published;
+
+        /**
+         * Constructor.
+         *
+         * @param newTemplate parent order as created
+         * @param newSlices   number of slices
+         */
+        private ParentOrder(final OrderDTO newTemplate, final int newSlices) {
+            this.template = newTemplate;
+            this.slices = newSlices;
+        }
+
+        /**
+         * Getter parent order id.
+         *
+         * @return parent order id
+         */
+        private String getOrderId() {
+            return template.getOrderId();
+        }
+
+        /**
+         * Adds the timeout of a slice.
+         *
+         * @param timeout timeout
+         */
+        private synchronized void addTimeout(final HashedWheelTimer.Timeout timeout) {
+            if (canceled) {
+                timeout.cancel();
+                slicesDone++;
+            } else {
+                timeouts.add(timeout);
+            }
+        }
+
+        /**
+         * A slice was sent, failed or skipped.
+         */
+        private synchronized void sliceDone() {
+            slicesDone++;
+        }
+
+        /**
+         * A child order has been created.
+         *
+         * @param orderId child order id
+         * @param order   child order (may be null)
+         */
+        private synchronized void childCreated(final String orderId, final OrderDTO order) {
+            slicesDone++;
+            if (order != null) {
+                children.putIfAbsent(orderId, order);
+            } else {
+                children.putIfAbsent(orderId, OrderDTO.builder().orderId(orderId).build());
+            }
+        }
+
+        /**
+         * A child order has been updated.
+         *
+         * @param order child order
+         * @return true if the parent order must be published
+         */
+        private synchronized boolean childUpdate(final OrderDTO order) {
+            children.put(order.getOrderId(), order);
+            return true;
+        }
+
+        /**
+         * Cancels the slices not sent yet.
+         */
+        private synchronized void cancel() {
+            canceled = true;
+            timeouts.stream()
+                    .filter(HashedWheelTimer.Timeout::cancel)
+                    .forEach(timeout -> slicesDone++);
+            timeouts.clear();
+        }
+
+        /**
+         * Returns the ids of the child orders.
+         *
+         * @return child order ids
+         */
+        private synchronized List<String> getChildOrderIds() {
+            return new ArrayList<>(children.keySet());
+        }
+
+        /**
+         * Returns the parent order if it changed since it was last published.
+         *
+         * @return parent order to publish
+         */
+        private synchronized Optional<OrderDTO> getOrderToPublish() {
+            final OrderDTO order = getOrder();
+            if (published != null && (published.getStatus().isFinal() || published.equals(order))) {
+                return Optional.empty();
+            }
+            published = order;
+            return Optional.of(order);
+        }
+
+        /**
+         * Returns the parent order with the aggregated fill state of its child orders.
+         *
+         * @return parent order
+         */
+        private synchronized OrderDTO getOrder() {
+            BigDecimal filled = BigDecimal.ZERO;
+            BigDecimal notional = BigDecimal.ZERO;
+            boolean childrenFinal = true;
+            for (OrderDTO child : children.values()) {
+                if (child.getCumulativeAmount() != null && child.getCumulativeAmount().getValue() != null) {
+                    filled = filled.add(child.getCumulativeAmount().getValue());
+                    if (child.getAveragePrice() != null && child.getAveragePrice().getValue() != null) {
+                        notional = notional.add(child.getCumulativeAmount().getValue().multiply(child.getAveragePrice().getValue()));
+                    }
+                }
+                childrenFinal = childrenFinal && child.getStatus() != null && child.getStatus().isFinal();
+            }
+
+            // Status.
+            final boolean ended = slicesDone >= slices && childrenFinal;
+            final OrderStatusDTO status;
+            if (filled.compareTo(template.getAmount().getValue()) >= 0) {
+                status = FILLED;
+            } else if (ended && filled.signum() > 0) {
+                status = PARTIALLY_CANCELED;
+            } else if (ended && canceled) {
+                status = CANCELED;
+            } else if (ended) {
+                status = REJECTED;
+            } else if (filled.signum() > 0) {
+                status = PARTIALLY_FILLED;
+            } else {
+                status = NEW;
+            }
+
+            // Average price.
+            CurrencyAmountDTO averagePrice = null;
+            if (filled.signum() > 0 && notional.signum() > 0) {
+                final int scale = Math.max(notional.scale(), MINIMUM_SCALE);
+                averagePrice = new CurrencyAmountDTO(notional.divide(filled, scale, RoundingMode.HALF_UP), template.getCurrencyPair().getQuoteCurrency());
+            }
+
+            return OrderDTO.builder()
+                    .orderId(template.getOrderId())
+                    .type(template.getType())
+                    .strategy(template.getStrategy())
+                    .currencyPair(template.getCurrencyPair())
+                    .amount(template.getAmount())
+                    .averagePrice(averagePrice)
+                    .cumulativeAmount(new CurrencyAmountDTO(filled, template.getCurrencyPair().getBaseCurrency()))
+                    .status(status)
+                    .timestamp(template.getTimestamp())
+                    .build();
+        }
+
+    }
+
+}
@@ -0,0 +1,289 @@
+package tech.cassandre.trading.bot.service.intern;
+
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.cassandre.trading.bot.domain.Gain;
+import tech.cassandre.trading.bot.domain.Position;
+import tech.cassandre.trading.bot.dto.position.PositionDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyAmountDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyDTO;
+import tech.cassandre.trading.bot.dto.util.GainDTO;
+import tech.cassandre.trading.bot.repository.GainRepository;
+import tech.cassandre.trading.bot.repository.PositionRepository;
+import tech.cassandre.trading.bot.util.base.Base;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static java.math.BigDecimal.ZERO;
+import static java.math.RoundingMode.HALF_UP;
+import static tech.cassandre.trading.bot.dto.position.PositionStatusDTO.CLOSED;
+
+/**
+ * Gain aggregator - maintains, by quote currency, the totals bought, sold and paid in fees by closed positions.
+ * Totals are updated each time a position is closed so gains are read without scanning closed positions.
+ * The closed position and its totals are written in the same transaction. If totals don't match the closed positions
+ * (new database...), they are rebuilt from closed positions the first time gains are read.
+ * The value of each position is rounded to the scale stored in database before being added : totals are the exact
+ * sums of these values, so they never drift from the gains calculated by scanning closed positions.
+ */
+public class GainAggregator extends Base {
+
+    /** Scale of the gain ratio and of the totals (scale of amount x price stored in database). */
+    private static final int RATIO_SCALE = 16;
+
+    /** One hundred. */
+    private static final BigDecimal ONE_HUNDRED = new BigDecimal("100");
+
+    /** Gain repository. */
+    private final GainRepository gainRepository;
+
+    /** Position repository. */
+    private final PositionRepository positionRepository;
+
+    /** Transaction template (null to write without transaction). */
+    private final TransactionTemplate transactionTemplate;
+
+    /** Lock preventing a rebuild from running while a closed position is being counted. */
+    private final Object lock = new Object();
+
+    /** True once totals were checked against closed positions. */
+    private volatile boolean checked;
+
+    /**
+     * Constructor.
+     *
+     * @param newGainRepository     gain repository
+     * @param newPositionRepository position repository
+     */
+    public GainAggregator(final GainRepository newGainRepository, final PositionRepository newPositionRepository) {
+        this(newGainRepository, newPositionRepository, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param newGainRepository     gain repository
+     * @param newPositionRepository position repository
+     * @param newTransactionTemplate transaction template
+     */
+    public GainAggregator(final GainRepository newGainRepository,
+                          final PositionRepository newPositionRepository,
+                          final TransactionTemplate newTransactionTemplate) {
+        this.gainRepository = newGainRepository;
+        this.positionRepository = newPositionRepository;
+        this.transactionTemplate = newTransactionTemplate;
+    }
+
+    /**
+     * Saves a position that has just been closed and adds it to the totals of its quote currency.
+     *
+     * @param closedPosition closed position (with its orders and trades)
+     * @param savePosition   saves the closed position
+     */
+    public final void positionClosed(final Position closedPosition, final Runnable savePosition) {
+        synchronized (lock) {
+            inTransaction(() -> {
+                savePosition.run();
+                final PositionDTO position = positionMapper.mapToPositionDTO(closedPosition);
+                if (position.getOpeningOrder() == null || position.getClosingOrder() == null) {
+                    logger.error("GainAggregator - Position {} closed without its orders, gains will be rebuilt", position.getPositionId());
+                    checked = false;
+                    return;
+                }
+                final Totals totals = new Totals();
+                totals.add(position);
+                final String currency = currencyMapper.mapToCurrencyString(position.getCurrencyPair().getQuoteCurrency());
+                if (gainRepository.addClosedPosition(currency, totals.bought, totals.sold, totals.fees) == 0) {
+                    gainRepository.save(totals.toGain(currency));
+                }
+                logger.debug("GainAggregator - Position {} added to {} gains", position.getPositionId(), currency);
+            });
+        }
+    }
+
+    /**
+     * Rebuilds the totals from all closed positions.
+     */
+    public final void rebuild() {
+        synchronized (lock) {
+            final Map<CurrencyDTO, Totals> totals = aggregate(positionRepository.findByStatus(CLOSED));
+            inTransaction(() -> {
+                gainRepository.deleteAll();
+                totals.forEach((currency, t) -> gainRepository.save(t.toGain(currencyMapper.mapToCurrencyString(currency))));
+            });
+            checked = true;
+            logger.info("GainAggregator - Gains rebuilt for {} currencies", totals.size());
+        }
+    }
+
+    /**
+     * Runs the writes in a transaction.
+     *
+     * @param writes writes
+     */
+    private void inTransaction(final Runnable writes) {
+        if (transactionTemplate != null) {
+            transactionTemplate.executeWithoutResult(status -> writes.run());
+        } else {
+            writes.run();
+        }
+    }
+
+    /**
+     * Returns gains by quote currency (reads one row per currency).
+     *
+     * @return gains
+     */
+    public final HashMap<CurrencyDTO, GainDTO> getGains() {
+        if (!checked) {
+            synchronized (lock) {
+                if (gainRepository.sumClosedPositions() != positionRepository.countByStatus(CLOSED)) {
+                    rebuild();
+                }
+                checked = true;
+            }
+        }
+        HashMap<CurrencyDTO, GainDTO> gains = new LinkedHashMap<>();
+        gainRepository.findByOrderById()
+                .forEach(g -> {
+                    final CurrencyDTO currency = currencyMapper.mapToCurrencyDTO(g.getCurrency());
+                    gains.put(currency, getGain(currency, g.getBought(), g.getSold(), g.getFees()));
+                });
+        return gains;
+    }
+
+    /**
+     * Calculates gains by scanning closed positions (used when no aggregator is available).
+     *
+     * @param closedPositions closed positions
+     * @return gains
+     */
+    public static HashMap<CurrencyDTO, GainDTO> getGains(final Collection<PositionDTO> closedPositions) {
+        HashMap<CurrencyDTO, GainDTO> gains = new LinkedHashMap<>();
+        aggregateDTOs(closedPositions.stream())
+                .forEach((currency, t) -> gains.put(currency, getGain(currency, t.bought, t.sold, t.fees)));
+        return gains;
+    }
+
+    /**
+     * Aggregates closed positions by quote currency.
+     *
+     * @param closedPositions closed positions
+     * @return totals by currency
+     */
+    private Map<CurrencyDTO, Totals> aggregate(final Collection<Position> closedPositions) {
+        return aggregateDTOs(closedPositions.stream().map(positionMapper::mapToPositionDTO));
+    }
+
+    /**
+     * Aggregates closed positions by quote currency.
+     *
+     * @param closedPositions closed positions
+     * @return totals by currency
+     */
+    private static Map<CurrencyDTO, Totals> aggregateDTOs(final Stream<PositionDTO> closedPositions) {
+        Map<CurrencyDTO, Totals> totals = new LinkedHashMap<>();
+        closedPositions.filter(p -> CLOSED.equals(p.getStatus()))
+                .forEach(p -> totals.computeIfAbsent(p.getCurrencyPair().getQuoteCurrency(), c -> new Totals()).add(p));
+        return totals;
+    }
+
+    /**
+     * Calculates a gain from the totals of a currency.
+     *
+     * @param currency currency
+     * @param bought   total bought
+     * @param sold     total sold
+     * @param fees     total fees
+     * @return gain
+     */
+    private static GainDTO getGain(final CurrencyDTO currency,
+                                   final BigDecimal bought,
+                                   final BigDecimal sold,
+                                   final BigDecimal fees) {
+        BigDecimal gainAmount = sold.subtract(bought);
+        BigDecimal gainPercentage = ((sold.subtract(bought)).divide(bought, RATIO_SCALE, HALF_UP)).multiply(ONE_HUNDRED);
+
+        return GainDTO.builder()
+                .percentage(gainPercentage.setScale(2, HALF_UP).doubleValue())
+                .amount(CurrencyAmountDTO.builder()
+                        .value(gainAmount)
+                        .currency(currency)
+                        .build())
+                .fees(CurrencyAmountDTO.builder()
+                        .value(fees)
+                        .currency(currency)
+                        .build())
+                .build();
+    }
+
+    /**
+     * Totals of closed positions.
+     */
+    private static final class Totals {
+
+        /** Amount bought by opening orders. */
+        private BigDecimal bought = ZERO;
+
+        /** Amount sold by closing orders. */
+        private BigDecimal sold = ZERO;
+
+        /** Fees of opening and closing orders. */
+        private BigDecimal fees = ZERO;
+
+        /** Number of closed positions. */
+        private long closedPositions;
+
+        /**
+         * Adds a closed position.
+         *
+         * @param position closed position
+         */
+        private void add(final PositionDTO position) {
+            bought = bought.add(getValue(position.getOpeningOrder()));
+            sold = sold.add(getValue(position.getClosingOrder()));
+            fees = fees.add(Stream.concat(position.getOpeningOrder().getTrades().stream(), position.getClosingOrder().getTrades().stream())
+                    .map(t -> t.getFee().getValue())
+                    .reduce(ZERO, BigDecimal::add)
+                    .setScale(RATIO_SCALE, HALF_UP));
+            closedPositions++;
+        }
+
+        /**
+         * Returns the value (amount x price) of the trades of an order, rounded to the scale stored in database.
+         *
+         * @param order order
+         * @return value
+         */
+        private static BigDecimal getValue(final OrderDTO order) {
+            return order.getTrades()
+                    .stream()
+                    .map(t -> t.getAmount().getValue().multiply(t.getPrice().getValue()))
+                    .reduce(ZERO, BigDecimal::add)
+                    .setScale(RATIO_SCALE, HALF_UP);
+        }
+
+        /**
+         * Returns the gain entity for these totals.
+         *
+         * @param currency currency
+         * @return gain
+         */
+        private Gain toGain(final String currency) {
+            Gain gain = new Gain();
+            gain.setCurrency(currency);
+            gain.setBought(bought);
+            gain.setSold(sold);
+            gain.setFees(fees);
+            gain.setClosedPositions(closedPositions);
+            return gain;
+        }
+
+    }
+
+}
@@ -0,0 +1,155 @@
+package tech.cassandre.trading.bot.service.intern;
+
+import tech.cassandre.trading.bot.dto.trade.OrderDTO;
+import tech.cassandre.trading.bot.dto.trade.TradeDTO;
+import tech.cassandre.trading.bot.util.base.Base;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pending order registry - orders created locally and not yet seen on the exchange.
+ * Orders are added by the threads creating them and read by the thread polling orders. An order leaves the registry
+ * when it is seen in the exchange open orders, when one of its trades is seen in the trade history (orders filled
+ * immediately are never seen open) or when it has been pending longer than the time to live. The registry never holds
+ * more than its maximum size, the oldest orders being evicted first. Orders are kept in creation order in a single
+ * linked map, so a removed order leaves no trace. The registry is synchronized : each call holds the lock briefly.
+ */
+public class PendingOrderRegistry extends Base {
+
+    /** Default time to live of a pending order. */
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofHours(1);
+
+    /** Default maximum number of pending orders. */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    /** Time to live in nanoseconds. */
+    private final long timeToLive;
+
+    /** Maximum number of pending orders. */
+    private final int maximumSize;
+
+    /** Pending orders by order id, in creation order. */
+    private final Map<String, PendingOrder> orders = new LinkedHashMap<>();
+
+    /**
+     * Constructor with default time to live and maximum size.
+     */
+    public PendingOrderRegistry() {
+        this(DEFAULT_TIME_TO_LIVE, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param newTimeToLive time to live of a pending order
+     * @param newMaximumSize maximum number of pending orders
+     */
+    public PendingOrderRegistry(final Duration newTimeToLive, final int newMaximumSize) {
+        this.timeToLive = newTimeToLive.toNanos();
+        this.maximumSize = newMaximumSize;
+    }
+
+    /**
+     * Adds an order created locally.
+     *
+     * @param order order
+     */
+    public synchronized void add(final OrderDTO order) {
+        // An order with the same id is moved to the end of the creation order.
+        orders.remove(order.getOrderId());
+        orders.put(order.getOrderId(), new PendingOrder(order, System.nanoTime()));
+        evict();
+    }
+
+    /**
+     * Removes an order seen on the exchange.
+     *
+     * @param orderId order id
+     */
+    public synchronized void remove(final String orderId) {
+        if (orderId != null) {
+            orders.remove(orderId);
+        }
+    }
+
+    /**
+     * Removes the orders having a trade in the trades retrieved from the exchange.
+     *
+     * @param trades trades
+     */
+    public synchronized void reconcile(final Collection<TradeDTO> trades) {
+        if (!orders.isEmpty()) {
+            trades.forEach(trade -> remove(trade.getOrderId()));
+        }
+        evict();
+    }
+
+    /**
+     * Returns the pending orders (orders older than the time to live are evicted first).
+     *
+     * @return pending orders
+     */
+    public synchronized Set<OrderDTO> getOrders() {
+        evict();
+        final Set<OrderDTO> results = new LinkedHashSet<>();
+        orders.values().forEach(pendingOrder -> results.add(pendingOrder.order));
+        return results;
+    }
+
+    /**
+     * Returns the number of pending orders.
+     *
+     * @return number of pending orders
+     */
+    public synchronized int size() {
+        return orders.size();
+    }
+
+    /**
+     * Evicts the orders older than the time to live and the oldest orders above the maximum size.
+     * Only the oldest orders are examined, so the work done is proportional to the orders evicted.
+     */
+    private void evict() {
+        final long now = System.nanoTime();
+        final Iterator<PendingOrder> iterator = orders.values().iterator();
+        while (iterator.hasNext()) {
+            final PendingOrder oldest = iterator.next();
+            if (now - oldest.creation <= timeToLive && orders.size() <= maximumSize) {
+                return;
+            }
+            logger.warn("PendingOrderRegistry - Order {} evicted without being seen on the exchange", oldest.order.getOrderId());
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Pending order and its creation time.
+     */
+    private static final class PendingOrder {
+
+        /** Order. */
+        private final OrderDTO order;
+
+        /** Creation time (nanoseconds). */
+        private final long creation;
+
+        /**
+         * Constructor.
+         *
+         * @param newOrder    order
+         * @param newCreation creation time
+         */
+        private PendingOrder(final OrderDTO newOrder, final long newCreation) {
+            this.order = newOrder;
+            this.creation = newCreation;
+        }
+
+    }
+
+}
@@ -1,5 +1,6 @@
 package tech.cassandre.trading.bot.service.intern;
 
+import reactor.core.publisher.Mono;
 import tech.cassandre.trading.bot.batch.PositionFlux;
 import tech.cassandre.trading.bot.domain.Position;
 import tech.cassandre.trading.bot.dto.market.TickerDTO;
@@ -10,7 +11,6 @@ import tech.cassandre.trading.bot.dto.strategy.StrategyDTO;
 import tech.cassandre.trading.bot.dto.trade.OrderCreationResultDTO;
 import tech.cassandre.trading.bot.dto.trade.OrderDTO;
 import tech.cassandre.trading.bot.dto.trade.TradeDTO;
-import tech.cassandre.trading.bot.dto.util.CurrencyAmountDTO;
 import tech.cassandre.trading.bot.dto.util.CurrencyDTO;
 import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
 import tech.cassandre.trading.bot.dto.util.GainDTO;
@@ -18,18 +18,15 @@ import tech.cassandre.trading.bot.repository.PositionRepository;
 import tech.cassandre.trading.bot.service.PositionService;
 import tech.cassandre.trading.bot.service.TradeService;
 import tech.cassandre.trading.bot.util.base.BaseService;
+import tech.cassandre.trading.bot.util.ratelimit.ExchangeRequestScheduler;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
-import static java.math.BigDecimal.ZERO;
-import static java.math.RoundingMode.HALF_UP;
 import static tech.cassandre.trading.bot.dto.position.PositionStatusDTO.CLOSED;
 import static tech.cassandre.trading.bot.dto.position.PositionStatusDTO.OPENED;
 
@@ -57,6 +54,7 @@ public class PositionServiceImplementation extends BaseService implements Positi
     public PositionServiceImplementation(final PositionRepository newPositionRepository,
                                          final TradeService newTradeService,
                                          final PositionFlux newPositionFlux) {
+        super(new ExchangeRequestScheduler(), newTradeService.getExchangeExecutor());
         this.positionRepository = newPositionRepository;
         this.tradeService = newTradeService;
         this.positionFlux = newPositionFlux;
@@ -69,7 +67,31 @@ public class PositionServiceImplementation extends BaseService implements Positi
         // =============================================================================================================
         // Creates the order.
         final OrderCreationResultDTO orderCreationResult = tradeService.createBuyMarketOrder(strategy, currencyPair, amount);
+        return createPosition(strategy, currencyPair, amount, rules, orderCreationResult);
+    }
+
+    @Override
+    public final Mono<PositionCreationResultDTO> createLongPositionAsync(final StrategyDTO strategy, final CurrencyPairDTO currencyPair, final BigDecimal amount, final PositionRulesDTO rules) {
+        logger.debug("PositionService - Creating asynchronously a position for {} on {} with the rules : {}", amount, currencyPair, rules);
+        return tradeService.createBuyMarketOrderAsync(strategy, currencyPair, amount)
+                .map(orderCreationResult -> createPosition(strategy, currencyPair, amount, rules, orderCreationResult));
+    }
 
+    /**
+     * Creates the position once the opening order creation result is known.
+     *
+     * @param strategy            strategy
+     * @param currencyPair        currency pair
+     * @param amount              amount
+     * @param rules               rules
+     * @param orderCreationResult opening order creation result
+     * @return position creation result
+     */
+    private PositionCreationResultDTO createPosition(final StrategyDTO strategy,
+                                                     final CurrencyPairDTO currencyPair,
+                                                     final BigDecimal amount,
+                                                     final PositionRulesDTO rules,
+                                                     final OrderCreationResultDTO orderCreationResult) {
         // If it works, creates the position.
         if (orderCreationResult.isSuccessful()) {
             // =========================================================================================================
@@ -100,6 +122,7 @@ public class PositionServiceImplementation extends BaseService implements Positi
         logger.debug("PositionService - Retrieving all positions");
         return positionRepository.findByOrderById()
                 .stream()
+                .map(positionFlux::withPendingPrices)
                 .map(positionMapper::mapToPositionDTO)
                 .collect(Collectors.toCollection(LinkedHashSet::new));
     }
@@ -108,14 +131,18 @@ public class PositionServiceImplementation extends BaseService implements Positi
     public final Optional<PositionDTO> getPositionById(final long id) {
         logger.debug("PositionService - Retrieving position {}", id);
         final Optional<Position> position = positionRepository.findById(id);
-        return position.map(positionMapper::mapToPositionDTO);
+        return position.map(positionFlux::withPendingPrices).map(positionMapper::mapToPositionDTO);
     }
 
     @Override
     public final void orderUpdate(final OrderDTO order) {
         logger.debug("PositionService - Updating position with order {}", order);
-        positionRepository.findByStatusNot(CLOSED)
+        positionRepository.findStatusByStatusNot(CLOSED)
                 .stream()
+                .filter(status -> status.isUsingOrder(order.getOrderId()))
+                .map(status -> positionRepository.findById(status.getId()))
+                .flatMap(Optional::stream)
+                .map(positionFlux::withPendingPrices)
                 .map(positionMapper::mapToPositionDTO)
                 .forEach(p -> {
                     if (p.orderUpdate(order)) {
@@ -128,8 +155,12 @@ public class PositionServiceImplementation extends BaseService implements Positi
     @Override
     public final void tradeUpdate(final TradeDTO trade) {
         logger.debug("PositionService - Updating position with trade {}", trade);
-        positionRepository.findByStatusNot(CLOSED)
+        positionRepository.findStatusByStatusNot(CLOSED)
                 .stream()
+                .filter(status -> status.isUsingOrder(trade.getOrderId()))
+                .map(status -> positionRepository.findById(status.getId()))
+                .flatMap(Optional::stream)
+                .map(positionFlux::withPendingPrices)
                 .map(positionMapper::mapToPositionDTO)
                 .forEach(p -> {
                     if (p.tradeUpdate(trade)) {
@@ -143,8 +174,9 @@ public class PositionServiceImplementation extends BaseService implements Positi
     public final void tickerUpdate(final TickerDTO ticker) {
         // With the ticker received, we check for every position, if it should be closed.
         logger.debug("PositionService - Updating position with ticker {}", ticker);
-        positionRepository.findByStatus(OPENED)
+        positionRepository.findByStatusAndCurrencyPair(OPENED, currencyMapper.mapToCurrencyPairString(ticker.getCurrencyPair()))
                 .stream()
+                .map(positionFlux::withPendingPrices)
                 .map(positionMapper::mapToPositionDTO)
                 .filter(p -> p.tickerUpdate(ticker))
                 .peek(p -> logger.debug("PositionService - Position {} updated with ticker {}", p.getPositionId(), ticker))
@@ -163,65 +195,15 @@ public class PositionServiceImplementation extends BaseService implements Positi
 
     @Override
     public final HashMap<CurrencyDTO, GainDTO> getGains() {
-        HashMap<CurrencyDTO, BigDecimal> totalBought = new LinkedHashMap<>();
-        HashMap<CurrencyDTO, BigDecimal> totalSold = new LinkedHashMap<>();
-        HashMap<CurrencyDTO, BigDecimal> totalFees = new LinkedHashMap<>();
-        HashMap<CurrencyDTO, GainDTO> gains = new LinkedHashMap<>();
-
-        // We calculate, by currency, the amount bought & sold.
-        positionRepository.findByStatus(CLOSED)
+        final GainAggregator gainAggregator = positionFlux.getGainAggregator();
+        if (gainAggregator != null) {
+            return gainAggregator.getGains();
+        }
+        // Without aggregator, we calculate gains from closed positions.
+        return GainAggregator.getGains(positionRepository.findByStatus(CLOSED)
                 .stream()
-                .filter(p -> CLOSED.equals(p.getStatus()))
                 .map(positionMapper::mapToPositionDTO)
-                .forEach(p -> {
-                    // We retrieve the currency and initiate the maps if they are empty
-                    CurrencyDTO currency = p.getCurrencyPair().getQuoteCurrency();
-                    gains.putIfAbsent(currency, null);
-                    totalBought.putIfAbsent(currency, ZERO);
-                    totalSold.putIfAbsent(currency, ZERO);
-                    totalFees.putIfAbsent(currency, ZERO);
-
-                    // We calculate the amounts bought and amount sold.
-                    totalBought.put(currency, p.getOpeningOrder().getTrades()
-                            .stream()
-                            .map(t -> t.getAmount().getValue().multiply(t.getPrice().getValue()))
-                            .reduce(totalBought.get(currency), BigDecimal::add));
-                    totalSold.put(currency, p.getClosingOrder().getTrades()
-                            .stream()
-                            .map(t -> t.getAmount().getValue().multiply(t.getPrice().getValue()))
-                            .reduce(totalSold.get(currency), BigDecimal::add));
-
-                    // And now the feeds.
-                    final BigDecimal fees = Stream.concat(p.getOpeningOrder().getTrades().stream(),
-                            p.getClosingOrder().getTrades().stream())
-                            .map(t -> t.getFee().getValue())
-                            .reduce(totalFees.get(currency), BigDecimal::add);
-                    totalFees.put(currency, fees);
-                });
-
-        gains.keySet()
-                .forEach(currency -> {
-                    // We make the calculation.
-                    BigDecimal bought = totalBought.get(currency);
-                    BigDecimal sold = totalSold.get(currency);
-                    BigDecimal fees = totalFees.get(currency);
-                    BigDecimal gainAmount = sold.subtract(bought);
-                    BigDecimal gainPercentage = ((sold.subtract(bought)).divide(bought, HALF_UP)).multiply(new BigDecimal("100"));
-
-                    GainDTO g = GainDTO.builder()
-                            .percentage(gainPercentage.setScale(2, HALF_UP).doubleValue())
-                            .amount(CurrencyAmountDTO.builder()
-                                    .value(gainAmount)
-                                    .currency(currency)
-                                    .build())
-                            .fees(CurrencyAmountDTO.builder()
-                                    .value(fees)
-                                    .currency(currency)
-                                    .build())
-                            .build();
-                    gains.put(currency, g);
-                });
-        return gains;
+                .collect(Collectors.toList()));
     }
 
 }
@@ -4,7 +4,10 @@ import org.knowm.xchange.Exchange;
 import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
 import tech.cassandre.trading.bot.service.ExchangeService;
 import tech.cassandre.trading.bot.util.base.BaseService;
+import tech.cassandre.trading.bot.util.cache.ExchangeMetaDataCache;
 
+import java.io.IOException;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -17,25 +20,89 @@ public class ExchangeServiceXChangeImplementation extends BaseService implements
     /** XChange service. */
     private final Exchange exchange;
 
+    /** Exchange metadata cache (null if the cache is not used). */
+    private final ExchangeMetaDataCache metaDataCache;
+
+    /** Available currency pairs (computed from the exchange metadata). */
+    private volatile Set<CurrencyPairDTO> availableCurrencyPairs;
+
     /**
      * Constructor.
      *
      * @param newExchange exchange
      */
     public ExchangeServiceXChangeImplementation(final Exchange newExchange) {
+        this(newExchange, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param newExchange      exchange
+     * @param newMetaDataCache exchange metadata cache
+     */
+    public ExchangeServiceXChangeImplementation(final Exchange newExchange, final ExchangeMetaDataCache newMetaDataCache) {
         this.exchange = newExchange;
+        this.metaDataCache = newMetaDataCache;
     }
 
     @Override
     public final Set<CurrencyPairDTO> getAvailableCurrencyPairs() {
+        Set<CurrencyPairDTO> currencyPairs = availableCurrencyPairs;
+        if (currencyPairs == null) {
+            currencyPairs = retrieveAvailableCurrencyPairs();
+            availableCurrencyPairs = currencyPairs;
+        }
+        return currencyPairs;
+    }
+
+    /**
+     * Retrieves the available currency pairs from the exchange metadata.
+     *
+     * @return currency pairs
+     */
+    private Set<CurrencyPairDTO> retrieveAvailableCurrencyPairs() {
         logger.debug("ExchangeService - Retrieving available currency pairs");
-        return exchange.getExchangeMetaData()
+        final Set<CurrencyPairDTO> currencyPairs = exchange.getExchangeMetaData()
                 .getCurrencyPairs()
                 .keySet()
                 .stream()
                 .peek(cp -> logger.debug("ExchangeService - Adding currency pair {} ", cp))
                 .map(currencyMapper::mapToCurrencyPairDTO)
                 .collect(Collectors.toCollection(LinkedHashSet::new));
+        return Collections.unmodifiableSet(currencyPairs);
+    }
+
+    /**
+     * Reloads the exchange metadata from the exchange, saves it in the cache and reconciles the available currency pairs.
+     *
+     * @return true if the metadata was reloaded
+     */
+    public final boolean refreshMetaData() {
+        try {
+            exchange.remoteInit();
+        } catch (IOException | RuntimeException e) {
+            logger.error("ExchangeService - Error refreshing exchange metadata : {}", e.getMessage());
+            return false;
+        }
+
+        // We reconcile the currency pairs known before the refresh with the new ones.
+        final Set<CurrencyPairDTO> previousCurrencyPairs = availableCurrencyPairs;
+        final Set<CurrencyPairDTO> currencyPairs = retrieveAvailableCurrencyPairs();
+        availableCurrencyPairs = currencyPairs;
+        if (previousCurrencyPairs != null) {
+            currencyPairs.stream()
+                    .filter(cp -> !previousCurrencyPairs.contains(cp))
+                    .forEach(cp -> logger.info("ExchangeService - New currency pair {}", cp));
+            previousCurrencyPairs.stream()
+                    .filter(cp -> !currencyPairs.contains(cp))
+                    .forEach(cp -> logger.warn("ExchangeService - Currency pair {} no longer available", cp));
+        }
+
+        if (metaDataCache != null) {
+            metaDataCache.save(exchange.getExchangeMetaData());
+        }
+        return true;
     }
 
 }
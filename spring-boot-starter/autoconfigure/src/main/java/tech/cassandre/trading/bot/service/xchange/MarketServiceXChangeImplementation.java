@@ -1,13 +1,31 @@
 package tech.cassandre.trading.bot.service.xchange;
 
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.Ticker;
+import org.knowm.xchange.dto.marketdata.Trades;
 import org.knowm.xchange.service.marketdata.MarketDataService;
+import tech.cassandre.trading.bot.dto.market.OrderBookDTO;
+import tech.cassandre.trading.bot.dto.market.PublicTradeDTO;
 import tech.cassandre.trading.bot.dto.market.TickerDTO;
 import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
 import tech.cassandre.trading.bot.service.MarketService;
 import tech.cassandre.trading.bot.util.base.BaseService;
+import tech.cassandre.trading.bot.util.concurrent.CircuitBreaker;
+import tech.cassandre.trading.bot.util.concurrent.ExchangeExecutor;
+import tech.cassandre.trading.bot.util.concurrent.HedgedRequest;
+import tech.cassandre.trading.bot.util.ratelimit.ExchangeRequestScheduler;
 
 import java.io.IOException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static tech.cassandre.trading.bot.util.ratelimit.RequestPriority.TICKER;
 
 /**
  * Market service - XChange implementation.
@@ -17,29 +35,67 @@ public class MarketServiceXChangeImplementation extends BaseService implements M
     /** XChange service. */
     private final MarketDataService marketDataService;
 
+    /** Ticker requests. */
+    private final HedgedRequest<Ticker> tickerRequests;
+
+    /** Ticker endpoint circuit breaker. */
+    private final CircuitBreaker tickerCircuitBreaker;
+
+    /** Order book requests. */
+    private final HedgedRequest<OrderBook> orderBookRequests;
+
+    /** Order book endpoint circuit breaker. */
+    private final CircuitBreaker orderBookCircuitBreaker;
+
+    /** Public trades requests. */
+    private final HedgedRequest<Trades> tradesRequests;
+
+    /** Public trades endpoint circuit breaker. */
+    private final CircuitBreaker tradesCircuitBreaker;
+
     /**
      * Constructor.
      *
-     * @param rate                 rate in ms
+     * @param newRequestScheduler  exchange request scheduler
+     * @param newExchangeExecutor  exchange executor
      * @param newMarketDataService market data service
      */
-    public MarketServiceXChangeImplementation(final long rate, final MarketDataService newMarketDataService) {
-        super(rate);
+    public MarketServiceXChangeImplementation(final ExchangeRequestScheduler newRequestScheduler,
+                                              final ExchangeExecutor newExchangeExecutor,
+                                              final MarketDataService newMarketDataService) {
+        super(newRequestScheduler, newExchangeExecutor);
         this.marketDataService = newMarketDataService;
+        this.tickerRequests = newExchangeExecutor.newHedgedRequest();
+        this.tickerCircuitBreaker = newExchangeExecutor.newCircuitBreaker("getTicker");
+        this.orderBookRequests = newExchangeExecutor.newHedgedRequest();
+        this.orderBookCircuitBreaker = newExchangeExecutor.newCircuitBreaker("getOrderBook");
+        this.tradesRequests = newExchangeExecutor.newHedgedRequest();
+        this.tradesCircuitBreaker = newExchangeExecutor.newCircuitBreaker("getTrades");
     }
 
     @Override
     public final Optional<TickerDTO> getTicker(final CurrencyPairDTO currencyPair) {
         try {
-            // Consume a token from the token bucket.
-            // If a token is not available this method will block until the refill adds one to the bucket.
-            getBucket().asScheduler().consume(1);
+            // Requests are shed while the exchange endpoint is failing.
+            if (!tickerCircuitBreaker.allowRequest()) {
+                logger.debug("MarketService - Ticker request for {} shed by the circuit breaker", currencyPair);
+                return Optional.empty();
+            }
+
+            // Wait for our turn in the exchange request scheduler.
+            if (!getRequestScheduler().acquire(TICKER)) {
+                logger.warn("MarketService - Ticker request for {} rejected by the request scheduler", currencyPair);
+                return Optional.empty();
+            }
 
             logger.debug("MarketService - Getting ticker for {}", currencyPair);
-            TickerDTO t = tickerMapper.mapToTickerDTO(marketDataService.getTicker(currencyMapper.mapToCurrencyPair(currencyPair)));
+            TickerDTO t = tickerMapper.mapToTickerDTO(read(tickerCircuitBreaker,
+                    tickerRequests,
+                    TICKER,
+                    () -> marketDataService.getTicker(currencyMapper.mapToCurrencyPair(currencyPair))));
             logger.debug("MarketService - Retrieved value is : {}", t);
             return Optional.ofNullable(t);
-        } catch (IOException e) {
+        } catch (IOException | TimeoutException e) {
             logger.error("MarketService - Error retrieving ticker about {} : {}", currencyPair, e.getMessage());
             return Optional.empty();
         } catch (InterruptedException e) {
@@ -48,4 +104,85 @@ public class MarketServiceXChangeImplementation extends BaseService implements M
         }
     }
 
+    @Override
+    public final Optional<OrderBookDTO> getOrderBook(final CurrencyPairDTO currencyPair) {
+        try {
+            // Requests are shed while the exchange endpoint is failing.
+            if (!orderBookCircuitBreaker.allowRequest()) {
+                logger.debug("MarketService - Order book request for {} shed by the circuit breaker", currencyPair);
+                return Optional.empty();
+            }
+
+            // Wait for our turn in the exchange request scheduler (order books share the market data pace).
+            if (!getRequestScheduler().acquire(TICKER)) {
+                logger.warn("MarketService - Order book request for {} rejected by the request scheduler", currencyPair);
+                return Optional.empty();
+            }
+
+            logger.debug("MarketService - Getting order book for {}", currencyPair);
+            final OrderBook orderBook = read(orderBookCircuitBreaker,
+                    orderBookRequests,
+                    TICKER,
+                    () -> marketDataService.getOrderBook(currencyMapper.mapToCurrencyPair(currencyPair)));
+            if (orderBook == null) {
+                return Optional.empty();
+            }
+            final OrderBookDTO.OrderBookDTOBuilder builder = OrderBookDTO.builder().currencyPair(currencyPair);
+            if (orderBook.getTimeStamp() != null) {
+                builder.timestamp(ZonedDateTime.ofInstant(orderBook.getTimeStamp().toInstant(), ZoneId.systemDefault()));
+            }
+            orderBook.getBids().forEach(bid -> builder.bid(tickerMapper.mapToOrderBookEntryDTO(bid)));
+            orderBook.getAsks().forEach(ask -> builder.ask(tickerMapper.mapToOrderBookEntryDTO(ask)));
+            final OrderBookDTO o = builder.build();
+            logger.debug("MarketService - Retrieved order book for {} : {} bids, {} asks", currencyPair, o.getBids().size(), o.getAsks().size());
+            return Optional.of(o);
+        } catch (IOException | TimeoutException e) {
+            logger.error("MarketService - Error retrieving order book about {} : {}", currencyPair, e.getMessage());
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            logger.error("MarketService - InterruptedException {} : {}", currencyPair, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public final List<PublicTradeDTO> getPublicTrades(final CurrencyPairDTO currencyPair) {
+        try {
+            // Requests are shed while the exchange endpoint is failing.
+            if (!tradesCircuitBreaker.allowRequest()) {
+                logger.debug("MarketService - Public trades request for {} shed by the circuit breaker", currencyPair);
+                return Collections.emptyList();
+            }
+
+            // Wait for our turn in the exchange request scheduler (public trades share the market data pace).
+            if (!getRequestScheduler().acquire(TICKER)) {
+                logger.warn("MarketService - Public trades request for {} rejected by the request scheduler", currencyPair);
+                return Collections.emptyList();
+            }
+
+            logger.debug("MarketService - Getting public trades for {}", currencyPair);
+            final Trades trades = read(tradesCircuitBreaker,
+                    tradesRequests,
+                    TICKER,
+                    () -> marketDataService.getTrades(currencyMapper.mapToCurrencyPair(currencyPair)));
+            if (trades == null) {
+                return Collections.emptyList();
+            }
+            final List<PublicTradeDTO> t = trades.getTrades()
+                    .stream()
+                    .map(tickerMapper::mapToPublicTradeDTO)
+                    .filter(trade -> trade.getTimestamp() != null)
+                    .sorted(Comparator.comparing(PublicTradeDTO::getTimestamp))
+                    .collect(Collectors.toList());
+            logger.debug("MarketService - {} public trades retrieved for {}", t.size(), currencyPair);
+            return t;
+        } catch (IOException | TimeoutException e) {
+            logger.error("MarketService - Error retrieving public trades about {} : {}", currencyPair, e.getMessage());
+            return Collections.emptyList();
+        } catch (InterruptedException e) {
+            logger.error("MarketService - InterruptedException {} : {}", currencyPair, e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
 }
@@ -1,87 +1,196 @@
 package tech.cassandre.trading.bot.service.xchange;
 
 import org.apache.commons.lang3.time.DateUtils;
+import org.knowm.xchange.dto.Order;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.MarketOrder;
+import org.knowm.xchange.dto.trade.OpenOrders;
+import org.knowm.xchange.dto.trade.UserTrade;
+import org.knowm.xchange.exceptions.ExchangeUnavailableException;
+import org.knowm.xchange.exceptions.InternalServerException;
+import org.knowm.xchange.exceptions.OperationTimeoutException;
 import org.knowm.xchange.service.trade.params.TradeHistoryParamsAll;
+import reactor.core.publisher.Mono;
 import tech.cassandre.trading.bot.dto.strategy.StrategyDTO;
 import tech.cassandre.trading.bot.dto.trade.OrderCreationResultDTO;
 import tech.cassandre.trading.bot.dto.trade.OrderDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderStatusDTO;
 import tech.cassandre.trading.bot.dto.trade.OrderTypeDTO;
 import tech.cassandre.trading.bot.dto.trade.TradeDTO;
 import tech.cassandre.trading.bot.dto.util.CurrencyAmountDTO;
 import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
 import tech.cassandre.trading.bot.service.TradeService;
+import tech.cassandre.trading.bot.service.intern.PendingOrderRegistry;
 import tech.cassandre.trading.bot.util.base.BaseService;
+import tech.cassandre.trading.bot.util.concurrent.CircuitBreaker;
+import tech.cassandre.trading.bot.util.concurrent.ExchangeExecutor;
+import tech.cassandre.trading.bot.util.concurrent.ExponentialBackoff;
+import tech.cassandre.trading.bot.util.concurrent.HedgedRequest;
+import tech.cassandre.trading.bot.util.concurrent.SingleFlight;
+import tech.cassandre.trading.bot.util.ratelimit.ExchangeRequestScheduler;
 
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.CANCELED;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.FILLED;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.PARTIALLY_CANCELED;
 import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.PENDING_NEW;
 import static tech.cassandre.trading.bot.dto.trade.OrderTypeDTO.ASK;
 import static tech.cassandre.trading.bot.dto.trade.OrderTypeDTO.BID;
+import static tech.cassandre.trading.bot.util.ratelimit.RequestPriority.HISTORY;
+import static tech.cassandre.trading.bot.util.ratelimit.RequestPriority.ORDER_PLACEMENT;
+import static tech.cassandre.trading.bot.util.ratelimit.RequestPriority.ORDER_STATUS;
 
 /**
  * Trade service - XChange implementation.
  */
 public class TradeServiceXChangeImplementation extends BaseService implements TradeService {
 
+    /** Maximum number of order ids sent in one order status request. */
+    public static final int ORDER_STATUS_BATCH_SIZE = 20;
+
+    /** Number of polls in a row an order in flight must be missing from before it is closed. */
+    public static final int MISSED_POLLS_BEFORE_CLOSE = 3;
+
     /** XChange service. */
     private final org.knowm.xchange.service.trade.TradeService tradeService;
 
-    /** Hashmap used to store orders created locally. */
-    private final HashMap<String, OrderDTO> localOrders = new HashMap<>();
+    /** Orders created locally and not yet seen on the exchange. */
+    private final PendingOrderRegistry pendingOrders;
+
+    /** Orders in flight (seen on the exchange with a non final status) by id. */
+    private final Map<String, OrderDTO> inFlightOrders = new ConcurrentHashMap<>();
+
+    /** Number of polls in a row each order in flight was missing from, by id. */
+    private final Map<String, Integer> missedPolls = new ConcurrentHashMap<>();
+
+    /** True once open orders have been scanned to find the orders in flight. */
+    private volatile boolean openOrdersScanned = false;
+
+    /** False if the exchange can't return the status of an order by id. */
+    private volatile boolean orderStatusQuerySupported = true;
+
+    /** Backoff between order placement attempts. */
+    private final ExponentialBackoff placementBackoff;
+
+    /** User reference (client order id) policy of the exchange. */
+    private final UserReferencePolicy userReferencePolicy;
+
+    /** Coalesced order requests. */
+    private final SingleFlight<Set<OrderDTO>> ordersRequests;
+
+    /** Coalesced trade requests. */
+    private final SingleFlight<Set<TradeDTO>> tradesRequests;
+
+    /** Open orders requests. */
+    private final HedgedRequest<OpenOrders> openOrdersRequests;
+
+    /** Open orders endpoint circuit breaker. */
+    private final CircuitBreaker openOrdersCircuitBreaker;
+
+    /** Order status requests. */
+    private final HedgedRequest<Collection<Order>> orderStatusRequests;
+
+    /** Order status endpoint circuit breaker. */
+    private final CircuitBreaker orderStatusCircuitBreaker;
 
     /**
      * Constructor.
      *
-     * @param rate            rate in ms
-     * @param newTradeService market data service
+     * @param newRequestScheduler exchange request scheduler
+     * @param newExchangeExecutor exchange executor
+     * @param newTradeService     market data service
      */
-    public TradeServiceXChangeImplementation(final long rate,
+    public TradeServiceXChangeImplementation(final ExchangeRequestScheduler newRequestScheduler,
+                                             final ExchangeExecutor newExchangeExecutor,
                                              final org.knowm.xchange.service.trade.TradeService newTradeService) {
-        super(rate);
+        this(newRequestScheduler, newExchangeExecutor, newTradeService, new PendingOrderRegistry());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param newRequestScheduler exchange request scheduler
+     * @param newExchangeExecutor exchange executor
+     * @param newTradeService     market data service
+     * @param newPendingOrders    registry of the orders created locally and not yet seen on the exchange
+     */
+    public TradeServiceXChangeImplementation(final ExchangeRequestScheduler newRequestScheduler,
+                                             final ExchangeExecutor newExchangeExecutor,
+                                             final org.knowm.xchange.service.trade.TradeService newTradeService,
+                                             final PendingOrderRegistry newPendingOrders) {
+        this(newRequestScheduler, newExchangeExecutor, newTradeService, newPendingOrders, new ExponentialBackoff(), UserReferencePolicy.DEFAULT);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param newRequestScheduler        exchange request scheduler
+     * @param newExchangeExecutor        exchange executor
+     * @param newTradeService            market data service
+     * @param newPendingOrders           registry of the orders created locally and not yet seen on the exchange
+     * @param newPlacementBackoff        backoff between order placement attempts
+     * @param newUserReferencePolicy     user reference (client order id) policy of the exchange
+     */
+    public TradeServiceXChangeImplementation(final ExchangeRequestScheduler newRequestScheduler,
+                                             final ExchangeExecutor newExchangeExecutor,
+                                             final org.knowm.xchange.service.trade.TradeService newTradeService,
+                                             final PendingOrderRegistry newPendingOrders,
+                                             final ExponentialBackoff newPlacementBackoff,
+                                             final UserReferencePolicy newUserReferencePolicy) {
+        super(newRequestScheduler, newExchangeExecutor);
         this.tradeService = newTradeService;
+        this.pendingOrders = newPendingOrders;
+        this.placementBackoff = newPlacementBackoff;
+        this.userReferencePolicy = newUserReferencePolicy;
+        this.ordersRequests = newExchangeExecutor.newSingleFlight();
+        this.tradesRequests = newExchangeExecutor.newSingleFlight();
+        this.openOrdersRequests = newExchangeExecutor.newHedgedRequest();
+        this.openOrdersCircuitBreaker = newExchangeExecutor.newCircuitBreaker("getOpenOrders");
+        this.orderStatusRequests = newExchangeExecutor.newHedgedRequest();
+        this.orderStatusCircuitBreaker = newExchangeExecutor.newCircuitBreaker("getOrder");
     }
 
     /**
      * Creates market order.
      *
-     * @param orderTypeDTO order type
-     * @param currencyPair currency pair
-     * @param amount       amount
+     * @param orderTypeDTO  order type
+     * @param currencyPair  currency pair
+     * @param amount        amount
+     * @param userReference user reference
      * @return order creation result
      */
-    private OrderCreationResultDTO createMarketOrder(final OrderTypeDTO orderTypeDTO, final CurrencyPairDTO currencyPair, final BigDecimal amount) {
+    private OrderCreationResultDTO createMarketOrder(final OrderTypeDTO orderTypeDTO, final CurrencyPairDTO currencyPair, final BigDecimal amount, final String userReference) {
         try {
             // Making the order.
-            MarketOrder m = new MarketOrder(utilMapper.mapToOrderType(orderTypeDTO),
-                    amount,
-                    currencyMapper.mapToCurrencyPair(currencyPair));
-            logger.debug("TradeService - Sending market order : {} - {} - {}", orderTypeDTO, currencyPair, amount);
+            MarketOrder m = new MarketOrder.Builder(utilMapper.mapToOrderType(orderTypeDTO), currencyMapper.mapToCurrencyPair(currencyPair))
+                    .originalAmount(amount)
+                    .userReference(userReference)
+                    .build();
+            logger.debug("TradeService - Sending market order : {} - {} - {} - {}", orderTypeDTO, currencyPair, amount, userReference);
 
             // Sending the order.
-            final String orderId = tradeService.placeMarketOrder(m);
-            OrderDTO openingOrder = OrderDTO.builder()
-                    .orderId(orderId)
-                    .timestamp(ZonedDateTime.now())
-                    .type(orderTypeDTO)
-                    .amount(CurrencyAmountDTO.builder()
-                            .value(amount)
-                            .currency(currencyPair.getBaseCurrency())
-                            .build())
-                    .currencyPair(currencyPair)
-                    .status(PENDING_NEW)
-                    .build();
-            localOrders.put(orderId, openingOrder);
-            final OrderCreationResultDTO result = new OrderCreationResultDTO(openingOrder);
+            final String orderId = placeOrder(() -> tradeService.placeMarketOrder(m), userReference);
+            final OrderCreationResultDTO result = created(getOpeningOrder(orderId, userReference, orderTypeDTO, currencyPair, amount, null));
             logger.debug("TradeService - Order created : {}", result);
             return result;
         } catch (Exception e) {
@@ -93,42 +202,30 @@ public class TradeServiceXChangeImplementation extends BaseService implements Tr
     /**
      * Creates limit order.
      *
-     * @param orderTypeDTO order type
-     * @param currencyPair currency pair
-     * @param amount       amount
-     * @param limitPrice   In a BID this is the highest acceptable price, in an ASK this is the lowest acceptable price
+     * @param orderTypeDTO  order type
+     * @param currencyPair  currency pair
+     * @param amount        amount
+     * @param limitPrice    In a BID this is the highest acceptable price, in an ASK this is the lowest acceptable price
+     * @param userReference user reference
      * @return order creation result
      */
-    private OrderCreationResultDTO createLimitOrder(final OrderTypeDTO orderTypeDTO, final CurrencyPairDTO currencyPair, final BigDecimal amount, final BigDecimal limitPrice) {
+    private OrderCreationResultDTO createLimitOrder(final OrderTypeDTO orderTypeDTO,
+                                                    final CurrencyPairDTO currencyPair,
+                                                    final BigDecimal amount,
+                                                    final BigDecimal limitPrice,
+                                                    final String userReference) {
         try {
             // Making the order.
-            LimitOrder l = new LimitOrder(utilMapper.mapToOrderType(orderTypeDTO),
-                    amount,
-                    currencyMapper.mapToCurrencyPair(currencyPair),
-                    null,
-                    null,
-                    limitPrice);
-            logger.debug("TradeService - Sending market order : {} - {} - {}", orderTypeDTO, currencyPair, amount);
+            LimitOrder l = new LimitOrder.Builder(utilMapper.mapToOrderType(orderTypeDTO), currencyMapper.mapToCurrencyPair(currencyPair))
+                    .originalAmount(amount)
+                    .limitPrice(limitPrice)
+                    .userReference(userReference)
+                    .build();
+            logger.debug("TradeService - Sending limit order : {} - {} - {} - {}", orderTypeDTO, currencyPair, amount, userReference);
 
             // Sending & creating the order.
-            final String orderId = tradeService.placeLimitOrder(l);
-            OrderDTO openingOrder = OrderDTO.builder()
-                    .orderId(orderId)
-                    .timestamp(ZonedDateTime.now())
-                    .type(orderTypeDTO)
-                    .amount(CurrencyAmountDTO.builder()
-                            .value(amount)
-                            .currency(currencyPair.getBaseCurrency())
-                            .build())
-                    .currencyPair(currencyPair)
-                    .status(PENDING_NEW)
-                    .limitPrice(CurrencyAmountDTO.builder()
-                            .value(limitPrice)
-                            .currency(currencyPair.getQuoteCurrency())
-                            .build())
-                    .build();
-            localOrders.put(orderId, openingOrder);
-            final OrderCreationResultDTO result = new OrderCreationResultDTO(openingOrder);
+            final String orderId = placeOrder(() -> tradeService.placeLimitOrder(l), userReference);
+            final OrderCreationResultDTO result = created(getOpeningOrder(orderId, userReference, orderTypeDTO, currencyPair, amount, limitPrice));
             logger.debug("TradeService - Order creation result : {}", result);
             return result;
         } catch (Exception e) {
@@ -137,24 +234,175 @@ public class TradeServiceXChangeImplementation extends BaseService implements Tr
         }
     }
 
+    /**
+     * Returns the local order of an order placed on the exchange.
+     *
+     * @param orderId       order id
+     * @param userReference user reference
+     * @param orderTypeDTO  order type
+     * @param currencyPair  currency pair
+     * @param amount        amount
+     * @param limitPrice    limit price (null for a market order)
+     * @return order
+     */
+    private OrderDTO getOpeningOrder(final String orderId,
+                                     final String userReference,
+                                     final OrderTypeDTO orderTypeDTO,
+                                     final CurrencyPairDTO currencyPair,
+                                     final BigDecimal amount,
+                                     final BigDecimal limitPrice) {
+        CurrencyAmountDTO limitPriceAmount = null;
+        if (limitPrice != null) {
+            limitPriceAmount = CurrencyAmountDTO.builder()
+                    .value(limitPrice)
+                    .currency(currencyPair.getQuoteCurrency())
+                    .build();
+        }
+        return OrderDTO.builder()
+                .orderId(orderId)
+                .userReference(userReference)
+                .timestamp(ZonedDateTime.now())
+                .type(orderTypeDTO)
+                .amount(CurrencyAmountDTO.builder()
+                        .value(amount)
+                        .currency(currencyPair.getBaseCurrency())
+                        .build())
+                .currencyPair(currencyPair)
+                .status(PENDING_NEW)
+                .limitPrice(limitPriceAmount)
+                .build();
+    }
+
+    /**
+     * Registers an order placed on the exchange as pending (until it's seen on the exchange).
+     *
+     * @param openingOrder order placed
+     * @return order creation result
+     */
+    private OrderCreationResultDTO created(final OrderDTO openingOrder) {
+        pendingOrders.add(openingOrder);
+        return new OrderCreationResultDTO(openingOrder);
+    }
+
+    /**
+     * Places an order on the exchange.
+     * When the outcome of a placement is unknown (timeout, exchange unavailable...), the order may exist : after a
+     * backoff delay, it is searched by its user reference where the exchange returns it (see {@link UserReferencePolicy}).
+     * It's only sent again if it was not found in the open orders and in the trades ; if the exchange doesn't return the
+     * user reference in both, the order is searched again on the next attempts and the failure is reported if it's never
+     * found. No attempt starts once the exchange executor timeout has elapsed since the first one ; an asynchronous
+     * creation still running at that timeout is interrupted and resolved by its user reference.
+     *
+     * @param placement     order placement (returns the order id)
+     * @param userReference user reference of the order
+     * @return order id
+     * @throws Exception order not placed
+     */
+    private String placeOrder(final Callable<String> placement, final String userReference) throws Exception {
+        final long deadline = System.nanoTime() + getExchangeExecutor().getTimeout().toNanos();
+        Exception lastException = null;
+        boolean outcomeUnknown = false;
+        for (int attempt = 1; attempt <= placementBackoff.getMaximumAttempts(); attempt++) {
+            if (outcomeUnknown) {
+                // The previous attempt may have created the order : we search for it before sending it again.
+                final long delay = placementBackoff.getDelay(attempt - 1).toNanos();
+                if (System.nanoTime() + delay >= deadline) {
+                    logger.warn("TradeService - Order {} not sent again, exchange executor timeout reached", userReference);
+                    break;
+                }
+                TimeUnit.NANOSECONDS.sleep(delay);
+                try {
+                    final Optional<String> orderId = findOrderIdByUserReference(userReference);
+                    if (orderId.isPresent()) {
+                        logger.info("TradeService - Order {} found with user reference {} after an error", orderId.get(), userReference);
+                        return orderId.get();
+                    }
+                    if (!userReferencePolicy.isRoundTrip()) {
+                        // Not found in the open orders but it may have been filled : it can't be sent again.
+                        continue;
+                    }
+                    outcomeUnknown = false;
+                } catch (IOException | RuntimeException e) {
+                    logger.error("TradeService - Error searching order {} : {}", userReference, e.getMessage());
+                    lastException = e;
+                    continue;
+                }
+            }
+
+            // Order placement requests are never rejected by the scheduler.
+            getRequestScheduler().acquire(ORDER_PLACEMENT);
+            try {
+                return placement.call();
+            } catch (IOException | OperationTimeoutException | ExchangeUnavailableException | InternalServerException e) {
+                if (!userReferencePolicy.isSearchable()) {
+                    // The order can't be searched : sending it again could place it twice.
+                    logger.error("TradeService - Order outcome unknown, not sent again : {}", e.getMessage());
+                    throw e;
+                }
+                logger.warn("TradeService - Order {} outcome unknown (attempt {}) : {}", userReference, attempt, e.getMessage());
+                lastException = e;
+                outcomeUnknown = true;
+            }
+        }
+        throw lastException;
+    }
+
+    /**
+     * Searches an order by its user reference in the open orders and in the trade history (if the exchange returns it).
+     *
+     * @param userReference user reference
+     * @return order id
+     * @throws IOException          exchange error
+     * @throws InterruptedException interrupted while waiting for the request scheduler
+     * @throws RejectedExecutionException request rejected by the request scheduler (the order must not be sent again)
+     */
+    private Optional<String> findOrderIdByUserReference(final String userReference) throws IOException, InterruptedException {
+        if (userReferencePolicy.isReturnedWithOpenOrders()) {
+            if (!getRequestScheduler().acquire(ORDER_STATUS)) {
+                throw new RejectedExecutionException("Open orders request rejected by the request scheduler");
+            }
+            final Optional<String> openOrderId = tradeService.getOpenOrders()
+                    .getOpenOrders()
+                    .stream()
+                    .filter(order -> userReference.equals(order.getUserReference()))
+                    .map(Order::getId)
+                    .findFirst();
+            if (openOrderId.isPresent()) {
+                return openOrderId;
+            }
+        }
+        if (!userReferencePolicy.isReturnedWithTrades()) {
+            return Optional.empty();
+        }
+        if (!getRequestScheduler().acquire(ORDER_STATUS)) {
+            throw new RejectedExecutionException("Trade history request rejected by the request scheduler");
+        }
+        return tradeService.getTradeHistory(tradeService.createTradeHistoryParams())
+                .getUserTrades()
+                .stream()
+                .filter(trade -> userReference.equals(trade.getOrderUserReference()))
+                .map(UserTrade::getOrderId)
+                .findFirst();
+    }
+
     @Override
     public final OrderCreationResultDTO createBuyMarketOrder(final StrategyDTO strategy, final CurrencyPairDTO currencyPair, final BigDecimal amount) {
-        return createMarketOrder(BID, currencyPair, amount);
+        return createMarketOrder(BID, currencyPair, amount, userReferencePolicy.newUserReference());
     }
 
     @Override
     public final OrderCreationResultDTO createSellMarketOrder(final StrategyDTO strategy, final CurrencyPairDTO currencyPair, final BigDecimal amount) {
-        return createMarketOrder(ASK, currencyPair, amount);
+        return createMarketOrder(ASK, currencyPair, amount, userReferencePolicy.newUserReference());
     }
 
     @Override
     public final OrderCreationResultDTO createBuyLimitOrder(final StrategyDTO strategy, final CurrencyPairDTO currencyPair, final BigDecimal amount, final BigDecimal limitPrice) {
-        return createLimitOrder(BID, currencyPair, amount, limitPrice);
+        return createLimitOrder(BID, currencyPair, amount, limitPrice, userReferencePolicy.newUserReference());
     }
 
     @Override
     public final OrderCreationResultDTO createSellLimitOrder(final StrategyDTO strategy, final CurrencyPairDTO currencyPair, final BigDecimal amount, final BigDecimal limitPrice) {
-        return createLimitOrder(ASK, currencyPair, amount, limitPrice);
+        return createLimitOrder(ASK, currencyPair, amount, limitPrice, userReferencePolicy.newUserReference());
     }
 
     @Override
@@ -162,6 +410,7 @@ public class TradeServiceXChangeImplementation extends BaseService implements Tr
         logger.debug("TradeService - Canceling order {}", orderId);
         if (orderId != null) {
             try {
+                getRequestScheduler().acquire(ORDER_PLACEMENT);
                 logger.debug("TradeService - Successfully canceled order {}", orderId);
                 return tradeService.cancelOrder(orderId);
             } catch (Exception e) {
@@ -174,62 +423,431 @@ public class TradeServiceXChangeImplementation extends BaseService implements Tr
         }
     }
 
+    @Override
+    public final Mono<OrderCreationResultDTO> createBuyMarketOrderAsync(final StrategyDTO strategy, final CurrencyPairDTO currencyPair, final BigDecimal amount) {
+        final String userReference = userReferencePolicy.newUserReference();
+        return createOrderAsync(() -> createMarketOrder(BID, currencyPair, amount, userReference),
+                orderId -> getOpeningOrder(orderId, userReference, BID, currencyPair, amount, null),
+                userReference);
+    }
+
+    @Override
+    public final Mono<OrderCreationResultDTO> createSellMarketOrderAsync(final StrategyDTO strategy, final CurrencyPairDTO currencyPair, final BigDecimal amount) {
+        final String userReference = userReferencePolicy.newUserReference();
+        return createOrderAsync(() -> createMarketOrder(ASK, currencyPair, amount, userReference),
+                orderId -> getOpeningOrder(orderId, userReference, ASK, currencyPair, amount, null),
+                userReference);
+    }
+
+    @Override
+    public final Mono<OrderCreationResultDTO> createBuyLimitOrderAsync(final StrategyDTO strategy, final CurrencyPairDTO currencyPair, final BigDecimal amount, final BigDecimal limitPrice) {
+        final String userReference = userReferencePolicy.newUserReference();
+        return createOrderAsync(() -> createLimitOrder(BID, currencyPair, amount, limitPrice, userReference),
+                orderId -> getOpeningOrder(orderId, userReference, BID, currencyPair, amount, limitPrice),
+                userReference);
+    }
+
+    @Override
+    public final Mono<OrderCreationResultDTO> createSellLimitOrderAsync(final StrategyDTO strategy, final CurrencyPairDTO currencyPair, final BigDecimal amount, final BigDecimal limitPrice) {
+        final String userReference = userReferencePolicy.newUserReference();
+        return createOrderAsync(() -> createLimitOrder(ASK, currencyPair, amount, limitPrice, userReference),
+                orderId -> getOpeningOrder(orderId, userReference, ASK, currencyPair, amount, limitPrice),
+                userReference);
+    }
+
+    @Override
+    public final Mono<Boolean> cancelOrderAsync(final String orderId) {
+        return getExchangeExecutor().execute(() -> cancelOrder(orderId))
+                .onErrorResume(throwable -> {
+                    logger.error("TradeService - Error canceling order {} asynchronously : {}", orderId, throwable.getMessage());
+                    return Mono.just(false);
+                });
+    }
+
+    /**
+     * Runs an order creation on the exchange executor, with the executor timeout.
+     * A creation still running at the timeout is interrupted and the order, that may exist, is searched by its user
+     * reference : it's reported as created if it's found and as failed otherwise (or if the exchange doesn't return
+     * user references).
+     *
+     * @param orderCreation order creation
+     * @param openingOrder  local order of an order found on the exchange (by order id)
+     * @param userReference user reference of the order
+     * @return order creation result
+     */
+    private Mono<OrderCreationResultDTO> createOrderAsync(final Callable<OrderCreationResultDTO> orderCreation,
+                                                          final Function<String, OrderDTO> openingOrder,
+                                                          final String userReference) {
+        return getExchangeExecutor().execute(orderCreation)
+                .onErrorResume(TimeoutException.class, e -> {
+                    logger.warn("TradeService - Order {} creation timed out, searching it by its user reference", userReference);
+                    return getExchangeExecutor().execute(() -> findTimedOutOrder(openingOrder, userReference));
+                })
+                .onErrorResume(throwable -> {
+                    logger.error("TradeService - Error creating order asynchronously : {}", throwable.getMessage());
+                    return Mono.just(new OrderCreationResultDTO("TradeService - Error creating order asynchronously : " + throwable.getMessage(), new Exception(throwable)));
+                });
+    }
+
+    /**
+     * Searches an order whose creation timed out by its user reference, with a backoff delay between attempts.
+     *
+     * @param openingOrder  local order of an order found on the exchange (by order id)
+     * @param userReference user reference of the order
+     * @return order creation result
+     * @throws Exception search failed
+     */
+    private OrderCreationResultDTO findTimedOutOrder(final Function<String, OrderDTO> openingOrder, final String userReference) throws Exception {
+        if (!userReferencePolicy.isSearchable()) {
+            logger.error("TradeService - Order {} outcome unknown, the exchange doesn't return user references", userReference);
+            return new OrderCreationResultDTO("TradeService - Order creation timed out, outcome unknown", new TimeoutException());
+        }
+        for (int attempt = 1; attempt <= placementBackoff.getMaximumAttempts(); attempt++) {
+            final Optional<String> orderId = findOrderIdByUserReference(userReference);
+            if (orderId.isPresent()) {
+                logger.info("TradeService - Order {} found with user reference {} after a timeout", orderId.get(), userReference);
+                return created(openingOrder.apply(orderId.get()));
+            }
+            if (attempt < placementBackoff.getMaximumAttempts()) {
+                TimeUnit.MILLISECONDS.sleep(placementBackoff.getDelay(attempt).toMillis());
+            }
+        }
+        logger.error("TradeService - Order {} not found by its user reference after a timeout", userReference);
+        return new OrderCreationResultDTO("TradeService - Order creation timed out, order not found", new TimeoutException());
+    }
+
     @Override
     public final Set<OrderDTO> getOrders() {
-        logger.debug("TradeService - Getting open orders from exchange");
+        logger.debug("TradeService - Getting orders from exchange");
         try {
-            // Consume a token from the token bucket.
-            // If a token is not available this method will block until the refill adds one to the bucket.
-            getBucket().asScheduler().consume(1);
-
-            // We add the local orders to orders received.
-            Set<OrderDTO> results = new LinkedHashSet<>(localOrders.values());
-            tradeService.getOpenOrders()
-                    .getOpenOrders()
-                    .forEach(order -> {
-                        results.add(orderMapper.mapToOrderDTO(order));
-                        // If we received the order from server, we remove local order.
-                        localOrders.remove(order.getId());
-                    });
-            logger.debug("TradeService - {} order(s) found", results.size());
-            return results;
+            // Concurrent callers share the same request (and the same result, that can't be modified).
+            return ordersRequests.execute(() -> Collections.unmodifiableSet(retrieveOrders()));
         } catch (IOException e) {
             logger.error("TradeService - Error retrieving open orders : {}", e.getMessage());
             return Collections.emptySet();
         } catch (InterruptedException e) {
             logger.error("TradeService - InterruptedException : {}", e.getMessage());
             return Collections.emptySet();
+        } catch (Exception e) {
+            logger.error("TradeService - Error retrieving open orders : {}", e.getMessage());
+            return Collections.emptySet();
+        }
+    }
+
+    /**
+     * Retrieves the orders in flight and adds the local orders.
+     * The first call scans the open orders to find the orders already in flight ; then, only the status of the orders
+     * in flight is requested (by batches of {@link #ORDER_STATUS_BATCH_SIZE} ids) and no request is sent when there is
+     * no order in flight. If the exchange can't return the status of an order by id, open orders are scanned instead.
+     *
+     * @return orders
+     * @throws IOException          exchange error
+     * @throws InterruptedException interrupted while waiting for the request scheduler
+     * @throws TimeoutException     no response received from the exchange
+     */
+    private Set<OrderDTO> retrieveOrders() throws IOException, InterruptedException, TimeoutException {
+        // We add the pending local orders to orders received.
+        Set<OrderDTO> results = new LinkedHashSet<>(pendingOrders.getOrders());
+        if (!openOrdersScanned || !orderStatusQuerySupported) {
+            return scanOpenOrders(results);
+        }
+
+        // Orders to query : the orders in flight and the local orders (they may already be filled).
+        final List<String> orderIds = new ArrayList<>(inFlightOrders.keySet());
+        results.stream()
+                .map(OrderDTO::getOrderId)
+                .filter(orderId -> !inFlightOrders.containsKey(orderId))
+                .forEach(orderIds::add);
+        if (orderIds.isEmpty()) {
+            logger.debug("TradeService - No order in flight");
+            return results;
+        }
+
+        final List<OrderDTO> notFound = new ArrayList<>();
+        for (int i = 0; i < orderIds.size(); i += ORDER_STATUS_BATCH_SIZE) {
+            final List<String> batch = orderIds.subList(i, Math.min(i + ORDER_STATUS_BATCH_SIZE, orderIds.size()));
+            // Requests are shed while the exchange endpoint is failing.
+            if (!orderStatusCircuitBreaker.allowRequest()) {
+                logger.debug("TradeService - Order status request shed by the circuit breaker");
+                ordersRequests.discardResult();
+                return results;
+            }
+            // Wait for our turn in the exchange request scheduler.
+            if (!getRequestScheduler().acquire(ORDER_STATUS)) {
+                logger.warn("TradeService - Order status request rejected by the request scheduler");
+                ordersRequests.discardResult();
+                return results;
+            }
+            final Collection<Order> orders;
+            try {
+                orders = read(orderStatusCircuitBreaker,
+                        orderStatusRequests,
+                        ORDER_STATUS,
+                        () -> tradeService.getOrder(batch.toArray(new String[0])));
+            } catch (UnsupportedOperationException e) {
+                logger.warn("TradeService - Order status by id not supported by the exchange, scanning open orders");
+                orderStatusQuerySupported = false;
+                return scanOpenOrders(results);
+            }
+            final Set<String> found = new LinkedHashSet<>();
+            orders.forEach(order -> {
+                final OrderDTO orderDTO = keepUserReference(mapToOrderDTO(order), results);
+                // The order received replaces the local order.
+                results.removeIf(o -> o.getOrderId().equals(order.getId()));
+                results.add(orderDTO);
+                found.add(order.getId());
+                track(orderDTO);
+            });
+            batch.stream()
+                    .filter(orderId -> !found.contains(orderId))
+                    .map(inFlightOrders::get)
+                    .filter(Objects::nonNull)
+                    .forEach(notFound::add);
+        }
+        // An order in flight unknown to the exchange is closed.
+        closeOrders(notFound, results);
+        logger.debug("TradeService - {} order(s) found", results.size());
+        return results;
+    }
+
+    /**
+     * Scans the open orders on the exchange.
+     *
+     * @param results orders already retrieved
+     * @return orders
+     * @throws IOException          exchange error
+     * @throws InterruptedException interrupted while waiting for the request scheduler
+     * @throws TimeoutException     no response received from the exchange
+     */
+    private Set<OrderDTO> scanOpenOrders(final Set<OrderDTO> results) throws IOException, InterruptedException, TimeoutException {
+        // Requests are shed while the exchange endpoint is failing.
+        if (!openOrdersCircuitBreaker.allowRequest()) {
+            logger.debug("TradeService - Open orders request shed by the circuit breaker");
+            ordersRequests.discardResult();
+            return results;
+        }
+
+        // Wait for our turn in the exchange request scheduler.
+        if (!getRequestScheduler().acquire(ORDER_STATUS)) {
+            logger.warn("TradeService - Open orders request rejected by the request scheduler");
+            ordersRequests.discardResult();
+            return results;
+        }
+
+        final Set<String> found = new LinkedHashSet<>();
+        read(openOrdersCircuitBreaker, openOrdersRequests, ORDER_STATUS, tradeService::getOpenOrders)
+                .getOpenOrders()
+                .forEach(order -> {
+                    final OrderDTO orderDTO = keepUserReference(orderMapper.mapToOrderDTO(order), results);
+                    // The order received replaces the local order.
+                    results.removeIf(o -> o.getOrderId().equals(orderDTO.getOrderId()));
+                    results.add(orderDTO);
+                    found.add(orderDTO.getOrderId());
+                    track(orderDTO);
+                });
+        openOrdersScanned = true;
+        // An order in flight not open anymore is closed.
+        closeOrders(inFlightOrders.values()
+                .stream()
+                .filter(order -> !found.contains(order.getOrderId()))
+                .collect(Collectors.toList()), results);
+        logger.debug("TradeService - {} order(s) found", results.size());
+        return results;
+    }
+
+    /**
+     * Returns an order received from the exchange with the user reference it was sent with (most exchanges don't
+     * return it).
+     *
+     * @param order   order received from the exchange
+     * @param results orders already retrieved (including the local orders)
+     * @return order with its user reference
+     */
+    private OrderDTO keepUserReference(final OrderDTO order, final Set<OrderDTO> results) {
+        if (order.getUserReference() != null) {
+            return order;
+        }
+        final Optional<String> userReference = Optional.ofNullable(inFlightOrders.get(order.getOrderId()))
+                .or(() -> results.stream().filter(o -> order.getOrderId().equals(o.getOrderId())).findFirst())
+                .map(OrderDTO::getUserReference);
+        if (userReference.isEmpty()) {
+            return order;
+        }
+        return copy(order, order.getStatus(), order.getCumulativeAmount(), userReference.get());
+    }
+
+    /**
+     * Tracks an order received from the exchange (in flight until its status is final).
+     *
+     * @param order order
+     */
+    private void track(final OrderDTO order) {
+        // If we received the order from server, it's not pending anymore.
+        pendingOrders.remove(order.getOrderId());
+        missedPolls.remove(order.getOrderId());
+        if (order.getStatus() != null && order.getStatus().isFinal()) {
+            inFlightOrders.remove(order.getOrderId());
+        } else {
+            inFlightOrders.put(order.getOrderId(), order);
+        }
+    }
+
+    /**
+     * Closes orders in flight that the exchange doesn't return anymore (they're not open or unknown).
+     * An order can be missing from one answer while the exchange catches up : it's only closed once missing from
+     * {@link #MISSED_POLLS_BEFORE_CLOSE} polls in a row. Its final status is deduced from its trades : filled, partially
+     * canceled or canceled. If the trade history can't be requested, the orders stay in flight and are closed by a next
+     * call.
+     *
+     * @param orders  orders in flight not returned by the exchange
+     * @param results orders retrieved (the closed orders are added)
+     * @throws IOException          exchange error
+     * @throws InterruptedException interrupted while waiting for the request scheduler
+     */
+    private void closeOrders(final List<OrderDTO> orders, final Set<OrderDTO> results) throws IOException, InterruptedException {
+        final List<OrderDTO> missingOrders = orders.stream()
+                .filter(order -> missedPolls.merge(order.getOrderId(), 1, Integer::sum) >= MISSED_POLLS_BEFORE_CLOSE)
+                .collect(Collectors.toList());
+        if (missingOrders.isEmpty()) {
+            return;
+        }
+        if (!getRequestScheduler().acquire(HISTORY)) {
+            logger.warn("TradeService - Trade history request rejected by the request scheduler, orders not closed");
+            ordersRequests.discardResult();
+            return;
+        }
+        final Map<String, BigDecimal> filledAmounts = getTradeHistory()
+                .stream()
+                .filter(trade -> trade.getOrderId() != null && trade.getAmount() != null)
+                .collect(Collectors.toMap(TradeDTO::getOrderId, trade -> trade.getAmount().getValue(), BigDecimal::add));
+        missingOrders.forEach(order -> {
+            final OrderDTO closedOrder = close(order, filledAmounts.getOrDefault(order.getOrderId(), BigDecimal.ZERO));
+            logger.debug("TradeService - Order {} not open anymore : {}", order.getOrderId(), closedOrder.getStatus());
+            results.removeIf(o -> o.getOrderId().equals(order.getOrderId()));
+            results.add(closedOrder);
+            track(closedOrder);
+        });
+    }
+
+    /**
+     * Returns a copy of an order with a final status deduced from the amount filled.
+     *
+     * @param order        order
+     * @param filledAmount amount filled
+     * @return closed order
+     */
+    private OrderDTO close(final OrderDTO order, final BigDecimal filledAmount) {
+        OrderStatusDTO status = CANCELED;
+        if (order.getAmount() != null && filledAmount.compareTo(order.getAmount().getValue()) >= 0) {
+            status = FILLED;
+        } else if (filledAmount.signum() > 0) {
+            status = PARTIALLY_CANCELED;
+        }
+        CurrencyAmountDTO cumulativeAmount = order.getCumulativeAmount();
+        if (order.getAmount() != null) {
+            cumulativeAmount = new CurrencyAmountDTO(filledAmount, order.getAmount().getCurrency());
+        }
+        return copy(order, status, cumulativeAmount, order.getUserReference());
+    }
+
+    /**
+     * Returns a copy of an order.
+     *
+     * @param order            order
+     * @param status           status of the copy
+     * @param cumulativeAmount cumulative amount of the copy
+     * @param userReference    user reference of the copy
+     * @return copy
+     */
+    private OrderDTO copy(final OrderDTO order, final OrderStatusDTO status, final CurrencyAmountDTO cumulativeAmount, final String userReference) {
+        return OrderDTO.builder()
+                .id(order.getId())
+                .orderId(order.getOrderId())
+                .type(order.getType())
+                .strategy(order.getStrategy())
+                .currencyPair(order.getCurrencyPair())
+                .amount(order.getAmount())
+                .averagePrice(order.getAveragePrice())
+                .limitPrice(order.getLimitPrice())
+                .leverage(order.getLeverage())
+                .status(status)
+                .cumulativeAmount(cumulativeAmount)
+                .userReference(userReference)
+                .timestamp(order.getTimestamp())
+                .trades(order.getTrades())
+                .build();
+    }
+
+    /**
+     * Maps an XChange order (limit or market) to an order DTO.
+     *
+     * @param order XChange order
+     * @return order DTO
+     */
+    private OrderDTO mapToOrderDTO(final Order order) {
+        if (order instanceof LimitOrder) {
+            return orderMapper.mapToOrderDTO((LimitOrder) order);
         }
+        return orderMapper.mapToOrderDTO(LimitOrder.Builder.from(order).build());
     }
 
     @Override
     public final Set<TradeDTO> getTrades() {
         logger.debug("TradeService - Getting trades from exchange");
         try {
-            // Consume a token from the token bucket.
-            // If a token is not available this method will block until the refill adds one to the bucket.
-            getBucket().asScheduler().consume(1);
-
-            // Query 1 week of trades.
-            TradeHistoryParamsAll params = new TradeHistoryParamsAll();
-            Date startDate = DateUtils.addWeeks(new Date(), -1);
-            Date endDate = new Date();
-            params.setStartTime(startDate);
-            params.setEndTime(endDate);
-            final Set<TradeDTO> results = tradeService.getTradeHistory(params)
-                    .getUserTrades()
-                    .stream()
-                    .map(tradeMapper::mapToTradeDTO)
-                    .collect(Collectors.toSet());
-            logger.debug("TradeService - {} trade(s) found", results.size());
-            return results;
+            // Concurrent callers share the same request (and the same result, that can't be modified).
+            return tradesRequests.execute(() -> Collections.unmodifiableSet(retrieveTrades()));
         } catch (IOException e) {
             logger.error("TradeService - Error retrieving trades : {}", e.getMessage());
             return Collections.emptySet();
         } catch (InterruptedException e) {
             logger.error("TradeService - InterruptedException : {}", e.getMessage());
             return Collections.emptySet();
+        } catch (Exception e) {
+            logger.error("TradeService - Error retrieving trades : {}", e.getMessage());
+            return Collections.emptySet();
         }
     }
 
+    /**
+     * Retrieves one week of trades from the exchange.
+     *
+     * @return trades
+     * @throws IOException          exchange error
+     * @throws InterruptedException interrupted while waiting for the request scheduler
+     */
+    private Set<TradeDTO> retrieveTrades() throws IOException, InterruptedException {
+        // Wait for our turn in the exchange request scheduler.
+        if (!getRequestScheduler().acquire(HISTORY)) {
+            logger.warn("TradeService - Trade history request rejected by the request scheduler");
+            tradesRequests.discardResult();
+            return Collections.emptySet();
+        }
+
+        final Set<TradeDTO> results = getTradeHistory();
+        // Orders filled immediately are never seen open : their trades tell us they are not pending anymore.
+        pendingOrders.reconcile(results);
+        logger.debug("TradeService - {} trade(s) found", results.size());
+        return results;
+    }
+
+    /**
+     * Requests one week of trades to the exchange.
+     *
+     * @return trades
+     * @throws IOException exchange error
+     */
+    private Set<TradeDTO> getTradeHistory() throws IOException {
+        TradeHistoryParamsAll params = new TradeHistoryParamsAll();
+        Date startDate = DateUtils.addWeeks(new Date(), -1);
+        Date endDate = new Date();
+        params.setStartTime(startDate);
+        params.setEndTime(endDate);
+        return tradeService.getTradeHistory(params)
+                .getUserTrades()
+                .stream()
+                .map(tradeMapper::mapToTradeDTO)
+                .collect(Collectors.toSet());
+    }
+
 }
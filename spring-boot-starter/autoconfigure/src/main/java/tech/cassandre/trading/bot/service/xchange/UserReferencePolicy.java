@@ -0,0 +1,114 @@
+package tech.cassandre.trading.bot.service.xchange;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * User reference (client order id) policy of an exchange.
+ * Every order is sent with a user reference generated in the exchange format and saved with the order. It tells where
+ * the exchange adapter returns it : an order whose placement outcome is unknown is searched by its user reference in
+ * the open orders and in the trades that carry it. The order is only sent again if it was searched in both, as an order
+ * filled immediately is never open ; otherwise the failure is reported.
+ */
+public class UserReferencePolicy {
+
+    /** Default : UUID user references, not returned by the exchange adapter. */
+    public static final UserReferencePolicy DEFAULT = new UserReferencePolicy(() -> UUID.randomUUID().toString(), false, false);
+
+    /** Kraken : 32 bits integer user references, returned with the open orders. */
+    public static final UserReferencePolicy KRAKEN = new UserReferencePolicy(() -> Integer.toString(ThreadLocalRandom.current().nextInt(1, Integer.MAX_VALUE)), true, false);
+
+    /** User reference generator. */
+    private final Supplier<String> generator;
+
+    /** True if the exchange adapter returns the user reference with the open orders. */
+    private final boolean returnedWithOpenOrders;
+
+    /** True if the exchange adapter returns the user reference with the trades. */
+    private final boolean returnedWithTrades;
+
+    /**
+     * Constructor.
+     *
+     * @param newGenerator user reference generator
+     * @param newRoundTrip true if the exchange adapter returns the user reference with the open orders and the trades
+     */
+    public UserReferencePolicy(final Supplier<String> newGenerator, final boolean newRoundTrip) {
+        this(newGenerator, newRoundTrip, newRoundTrip);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param newGenerator              user reference generator
+     * @param newReturnedWithOpenOrders true if the exchange adapter returns the user reference with the open orders
+     * @param newReturnedWithTrades     true if the exchange adapter returns the user reference with the trades
+     */
+    public UserReferencePolicy(final Supplier<String> newGenerator, final boolean newReturnedWithOpenOrders, final boolean newReturnedWithTrades) {
+        this.generator = newGenerator;
+        this.returnedWithOpenOrders = newReturnedWithOpenOrders;
+        this.returnedWithTrades = newReturnedWithTrades;
+    }
+
+    /**
+     * Returns the policy of an exchange.
+     * Only the adapters known to map the user reference back are searched : XChange kucoin ignores it and XChange
+     * coinbasePro sends it but never reads it back.
+     *
+     * @param exchangeName exchange name (as in the configuration)
+     * @return policy
+     */
+    public static UserReferencePolicy forExchange(final String exchangeName) {
+        if ("kraken".equalsIgnoreCase(exchangeName)) {
+            return KRAKEN;
+        }
+        return DEFAULT;
+    }
+
+    /**
+     * Returns a new user reference.
+     *
+     * @return user reference
+     */
+    public final String newUserReference() {
+        return generator.get();
+    }
+
+    /**
+     * Returns true if the exchange adapter returns the user reference with the open orders.
+     *
+     * @return true if open orders can be searched by user reference
+     */
+    public final boolean isReturnedWithOpenOrders() {
+        return returnedWithOpenOrders;
+    }
+
+    /**
+     * Returns true if the exchange adapter returns the user reference with the trades.
+     *
+     * @return true if trades can be searched by user reference
+     */
+    public final boolean isReturnedWithTrades() {
+        return returnedWithTrades;
+    }
+
+    /**
+     * Returns true if an order can be searched by its user reference (in its open orders or in its trades).
+     *
+     * @return true if orders can be searched by user reference
+     */
+    public final boolean isSearchable() {
+        return returnedWithOpenOrders || returnedWithTrades;
+    }
+
+    /**
+     * Returns true if an order not found by its user reference can be sent again (open orders and trades searched).
+     *
+     * @return true if the order can be sent again
+     */
+    public final boolean isRoundTrip() {
+        return returnedWithOpenOrders && returnedWithTrades;
+    }
+
+}
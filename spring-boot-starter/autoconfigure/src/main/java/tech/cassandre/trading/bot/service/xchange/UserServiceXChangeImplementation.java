@@ -3,10 +3,15 @@ package tech.cassandre.trading.bot.service.xchange;
 import tech.cassandre.trading.bot.dto.user.UserDTO;
 import tech.cassandre.trading.bot.service.UserService;
 import tech.cassandre.trading.bot.util.base.BaseService;
+import tech.cassandre.trading.bot.util.concurrent.ExchangeExecutor;
+import tech.cassandre.trading.bot.util.concurrent.SingleFlight;
+import tech.cassandre.trading.bot.util.ratelimit.ExchangeRequestScheduler;
 
 import java.io.IOException;
 import java.util.Optional;
 
+import static tech.cassandre.trading.bot.util.ratelimit.RequestPriority.ACCOUNT;
+
 /**
  * User service - XChange implementation.
  */
@@ -15,35 +20,60 @@ public class UserServiceXChangeImplementation extends BaseService implements Use
     /** XChange service. */
     private final org.knowm.xchange.service.account.AccountService xChangeAccountService;
 
+    /** Coalesced user requests. */
+    private final SingleFlight<Optional<UserDTO>> userRequests;
+
     /**
      * Constructor.
      *
-     * @param rate                     rate in ms
+     * @param newRequestScheduler      exchange request scheduler
+     * @param newExchangeExecutor      exchange executor
      * @param newXChangeAccountService xchange account service
      */
-    public UserServiceXChangeImplementation(final long rate, final org.knowm.xchange.service.account.AccountService newXChangeAccountService) {
-        super(rate);
+    public UserServiceXChangeImplementation(final ExchangeRequestScheduler newRequestScheduler,
+                                            final ExchangeExecutor newExchangeExecutor,
+                                            final org.knowm.xchange.service.account.AccountService newXChangeAccountService) {
+        super(newRequestScheduler, newExchangeExecutor);
         this.xChangeAccountService = newXChangeAccountService;
+        this.userRequests = newExchangeExecutor.newSingleFlight();
     }
 
     @Override
     public final Optional<UserDTO> getUser() {
         try {
-            // Consume a token from the token bucket.
-            // If a token is not available this method will block until the refill adds one to the bucket.
-            getBucket().asScheduler().consume(1);
-
-            logger.debug("UserService - Retrieving account information");
-            final UserDTO user = accountMapper.mapToUserDTO(xChangeAccountService.getAccountInfo());
-            logger.debug("UserService - Account information retrieved " + user);
-            return Optional.ofNullable(user);
+            // Concurrent callers share the same request.
+            return userRequests.execute(this::retrieveUser);
         } catch (IOException e) {
             logger.error("UserService - Error retrieving account information : {}", e.getMessage());
             return Optional.empty();
         } catch (InterruptedException e) {
             logger.error("UserService - InterruptedException : {}", e.getMessage());
             return Optional.empty();
+        } catch (Exception e) {
+            logger.error("UserService - Error retrieving account information : {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Retrieves user information from the exchange.
+     *
+     * @return user
+     * @throws IOException          exchange error
+     * @throws InterruptedException interrupted while waiting for the request scheduler
+     */
+    private Optional<UserDTO> retrieveUser() throws IOException, InterruptedException {
+        // Wait for our turn in the exchange request scheduler.
+        if (!getRequestScheduler().acquire(ACCOUNT)) {
+            logger.warn("UserService - Account information request rejected by the request scheduler");
+            userRequests.discardResult();
+            return Optional.empty();
         }
+
+        logger.debug("UserService - Retrieving account information");
+        final UserDTO user = accountMapper.mapToUserDTO(xChangeAccountService.getAccountInfo());
+        logger.debug("UserService - Account information retrieved " + user);
+        return Optional.ofNullable(user);
     }
 
 }
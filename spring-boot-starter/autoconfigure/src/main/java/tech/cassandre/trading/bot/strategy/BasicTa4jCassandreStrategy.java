@@ -2,12 +2,13 @@ package tech.cassandre.trading.bot.strategy;
 
 import com.google.common.base.MoreObjects;
 import org.ta4j.core.BarSeries;
-import org.ta4j.core.BaseBarSeriesBuilder;
 import org.ta4j.core.Strategy;
-import org.ta4j.core.num.DoubleNum;
 import tech.cassandre.trading.bot.dto.market.TickerDTO;
 import tech.cassandre.trading.bot.dto.user.AccountDTO;
 import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.strategy.intern.StrategyState;
+import tech.cassandre.trading.bot.util.ta4j.BarAggregator;
+import tech.cassandre.trading.bot.util.ta4j.RingBarSeries;
 
 import java.math.BigDecimal;
 import java.time.Duration;
@@ -22,12 +23,15 @@ import java.util.Set;
 @SuppressWarnings("unused")
 public abstract class BasicTa4jCassandreStrategy extends GenericCassandreStrategy {
 
-    /** Timestamp of the last added bar. */
-    private ZonedDateTime lastAddedBarTimestamp;
-
     /** Series. */
     private final BarSeries series;
 
+    /** Bar aggregator (builds the bars of the series from the tickers - null if bar aggregation is disabled). */
+    private final BarAggregator barAggregator;
+
+    /** Timestamp of the last added bar (used when bar aggregation is disabled). */
+    private ZonedDateTime lastAddedBarTimestamp;
+
     /** Ta4j Strategy. */
     private final Strategy strategy;
 
@@ -36,11 +40,12 @@ public abstract class BasicTa4jCassandreStrategy extends GenericCassandreStrateg
      */
     public BasicTa4jCassandreStrategy() {
         // Build the series.
-        series = new BaseBarSeriesBuilder()
-                .withNumTypeOf(DoubleNum.class)
-                .withName(getRequestedCurrencyPair().toString())
-                .build();
-        series.setMaximumBarCount(getMaximumBarCount());
+        series = new RingBarSeries(getRequestedCurrencyPair().toString(), getMaximumBarCount());
+        if (isBarAggregationEnabled()) {
+            barAggregator = new BarAggregator(series, getDelayBetweenTwoBars());
+        } else {
+            barAggregator = null;
+        }
 
         // Build the strategy.
         strategy = getStrategy();
@@ -68,6 +73,19 @@ public abstract class BasicTa4jCassandreStrategy extends GenericCassandreStrateg
      */
     public abstract Duration getDelayBetweenTwoBars();
 
+    /**
+     * Tells if tickers are aggregated into bars.
+     * By default, each bar is a true OHLCV bar built from all the tickers received during the delay between two bars
+     * (bars are aligned on time boundaries) and your strategy is called each time a bar is closed. Override this method
+     * and return false to get the previous behavior : a bar is a copy of the first ticker received after the delay and
+     * your strategy is called each time a bar is added.
+     *
+     * @return true to aggregate tickers into bars
+     */
+    public boolean isBarAggregationEnabled() {
+        return true;
+    }
+
     /**
      * Implements this method to tell the bot which strategy to apply.
      *
@@ -82,23 +100,20 @@ public abstract class BasicTa4jCassandreStrategy extends GenericCassandreStrateg
     }
 
     @Override
-    public final void tickerUpdate(final TickerDTO ticker) {
-        getLastTickers().put(ticker.getCurrencyPair(), ticker);
-        // If there is no bar or if the duration between the last bar and the ticker is enough.
-        if (lastAddedBarTimestamp == null
-                || ticker.getTimestamp().isEqual(lastAddedBarTimestamp.plus(getDelayBetweenTwoBars()))
-                || ticker.getTimestamp().isAfter(lastAddedBarTimestamp.plus(getDelayBetweenTwoBars()))) {
-
-            // Add the ticker to the series.
-            Number openPrice = MoreObjects.firstNonNull(ticker.getOpen(), 0);
-            Number highPrice = MoreObjects.firstNonNull(ticker.getHigh(), 0);
-            Number lowPrice = MoreObjects.firstNonNull(ticker.getLow(), 0);
-            Number closePrice = MoreObjects.firstNonNull(ticker.getLast(), 0);
-            Number volume = MoreObjects.firstNonNull(ticker.getVolume(), 0);
-            series.addBar(ticker.getTimestamp(), openPrice, highPrice, lowPrice, closePrice, volume);
-            lastAddedBarTimestamp = ticker.getTimestamp();
+    public final void restoreState(final StrategyState state) {
+        super.restoreState(state);
+        // Bars are rebuilt from the tickers received before the restart (without asking the strategy what to do).
+        state.getTickers()
+                .stream()
+                .filter(ticker -> getRequestedCurrencyPair().equals(ticker.getCurrencyPair()))
+                .forEach(this::addBar);
+    }
 
-            // Ask what to do to the strategy.
+    @Override
+    public final void tickerUpdate(final TickerDTO ticker) {
+        updateLastTicker(ticker);
+        if (addBar(ticker)) {
+            // A bar was added, we ask what to do to the strategy.
             int endIndex = series.getEndIndex();
             if (strategy.shouldEnter(endIndex)) {
                 // Our strategy should enter.
@@ -111,6 +126,34 @@ public abstract class BasicTa4jCassandreStrategy extends GenericCassandreStrateg
         onTickerUpdate(ticker);
     }
 
+    /**
+     * Adds a ticker to the bar series.
+     *
+     * @param ticker ticker
+     * @return true if a bar was added to the series
+     */
+    private boolean addBar(final TickerDTO ticker) {
+        if (barAggregator != null) {
+            return barAggregator.addTicker(ticker) > 0;
+        }
+
+        // If there is no bar or if the duration between the last bar and the ticker is enough.
+        if (ticker.getTimestamp() != null
+                && (lastAddedBarTimestamp == null
+                || ticker.getTimestamp().isEqual(lastAddedBarTimestamp.plus(getDelayBetweenTwoBars()))
+                || ticker.getTimestamp().isAfter(lastAddedBarTimestamp.plus(getDelayBetweenTwoBars())))) {
+            Number openPrice = MoreObjects.firstNonNull(ticker.getOpen(), 0);
+            Number highPrice = MoreObjects.firstNonNull(ticker.getHigh(), 0);
+            Number lowPrice = MoreObjects.firstNonNull(ticker.getLow(), 0);
+            Number closePrice = MoreObjects.firstNonNull(ticker.getLast(), 0);
+            Number volume = MoreObjects.firstNonNull(ticker.getVolume(), 0);
+            series.addBar(ticker.getTimestamp(), openPrice, highPrice, lowPrice, closePrice, volume);
+            lastAddedBarTimestamp = ticker.getTimestamp();
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Returns true if we have enough assets to buy.
      *
@@ -1,5 +1,8 @@
 package tech.cassandre.trading.bot.strategy;
 
+import tech.cassandre.trading.bot.batch.PositionFlux;
+import tech.cassandre.trading.bot.dto.market.OrderBookDTO;
+import tech.cassandre.trading.bot.dto.market.PublicTradeDTO;
 import tech.cassandre.trading.bot.dto.market.TickerDTO;
 import tech.cassandre.trading.bot.dto.position.PositionDTO;
 import tech.cassandre.trading.bot.dto.strategy.StrategyDTO;
@@ -10,8 +13,10 @@ import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
 import tech.cassandre.trading.bot.repository.OrderRepository;
 import tech.cassandre.trading.bot.repository.PositionRepository;
 import tech.cassandre.trading.bot.repository.TradeRepository;
+import tech.cassandre.trading.bot.service.ExecutionService;
 import tech.cassandre.trading.bot.service.PositionService;
 import tech.cassandre.trading.bot.service.TradeService;
+import tech.cassandre.trading.bot.util.concurrent.HashedWheelTimer;
 
 import java.util.Optional;
 import java.util.Set;
@@ -51,6 +56,13 @@ public interface CassandreStrategyInterface {
      */
     void setPositionRepository(PositionRepository newPositionRepository);
 
+    /**
+     * Setter positionFlux.
+     *
+     * @param newPositionFlux the positionFlux to set
+     */
+    void setPositionFlux(PositionFlux newPositionFlux);
+
     /**
      * Setter for tradeService.
      *
@@ -65,6 +77,20 @@ public interface CassandreStrategyInterface {
      */
     void setPositionService(PositionService newPositionService);
 
+    /**
+     * Setter for executionService.
+     *
+     * @param newExecutionService execution service
+     */
+    void setExecutionService(ExecutionService newExecutionService);
+
+    /**
+     * Setter for timer.
+     *
+     * @param newTimer timer
+     */
+    void setTimer(HashedWheelTimer newTimer);
+
     /**
      * Method called by streams at every account update.
      *
@@ -79,6 +105,20 @@ public interface CassandreStrategyInterface {
      */
     void tickerUpdate(TickerDTO ticker);
 
+    /**
+     * Method called by streams at every order book update.
+     *
+     * @param orderBook order book
+     */
+    void orderBookUpdate(OrderBookDTO orderBook);
+
+    /**
+     * Method called by streams on every public trade received.
+     *
+     * @param trade public trade
+     */
+    void publicTradeUpdate(PublicTradeDTO trade);
+
     /**
      * Method called by streams on every order update.
      *
@@ -107,6 +147,20 @@ public interface CassandreStrategyInterface {
      */
     Set<CurrencyPairDTO> getRequestedCurrencyPairs();
 
+    /**
+     * Implements this method to tell the bot which currency pairs order books your strategy will receive.
+     *
+     * @return the list of currency pairs order books you want to receive
+     */
+    Set<CurrencyPairDTO> getRequestedOrderBooks();
+
+    /**
+     * Implements this method to tell the bot which currency pairs public trades your strategy will receive.
+     *
+     * @return the list of currency pairs public trades you want to receive
+     */
+    Set<CurrencyPairDTO> getRequestedPublicTrades();
+
     /**
      * Implements this method to tell the bot which account from the accounts you own is the trading one.
      *
@@ -136,6 +190,20 @@ public interface CassandreStrategyInterface {
      */
     void onTickerUpdate(TickerDTO ticker);
 
+    /**
+     * Method triggered at every order book update.
+     *
+     * @param orderBook order book
+     */
+    void onOrderBookUpdate(OrderBookDTO orderBook);
+
+    /**
+     * Method triggered on every public trade received.
+     *
+     * @param trade public trade
+     */
+    void onPublicTradeUpdate(PublicTradeDTO trade);
+
     /**
      * Method triggered on every order update.
      *
@@ -1,6 +1,12 @@
 package tech.cassandre.trading.bot.strategy;
 
 import org.mapstruct.factory.Mappers;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import tech.cassandre.trading.bot.batch.PositionFlux;
+import tech.cassandre.trading.bot.domain.Position;
+import tech.cassandre.trading.bot.dto.market.OrderBookDTO;
+import tech.cassandre.trading.bot.dto.market.PublicTradeDTO;
 import tech.cassandre.trading.bot.dto.market.TickerDTO;
 import tech.cassandre.trading.bot.dto.position.PositionCreationResultDTO;
 import tech.cassandre.trading.bot.dto.position.PositionDTO;
@@ -9,6 +15,7 @@ import tech.cassandre.trading.bot.dto.position.PositionStatusDTO;
 import tech.cassandre.trading.bot.dto.strategy.StrategyDTO;
 import tech.cassandre.trading.bot.dto.trade.OrderCreationResultDTO;
 import tech.cassandre.trading.bot.dto.trade.OrderDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderTypeDTO;
 import tech.cassandre.trading.bot.dto.trade.TradeDTO;
 import tech.cassandre.trading.bot.dto.user.AccountDTO;
 import tech.cassandre.trading.bot.dto.user.BalanceDTO;
@@ -19,20 +26,32 @@ import tech.cassandre.trading.bot.dto.util.GainDTO;
 import tech.cassandre.trading.bot.repository.OrderRepository;
 import tech.cassandre.trading.bot.repository.PositionRepository;
 import tech.cassandre.trading.bot.repository.TradeRepository;
+import tech.cassandre.trading.bot.service.ExecutionService;
 import tech.cassandre.trading.bot.service.PositionService;
 import tech.cassandre.trading.bot.service.TradeService;
+import tech.cassandre.trading.bot.strategy.intern.RecoverableStrategy;
+import tech.cassandre.trading.bot.strategy.intern.StrategyReadModel;
+import tech.cassandre.trading.bot.strategy.intern.StrategyState;
+import tech.cassandre.trading.bot.util.concurrent.HashedWheelTimer;
+import tech.cassandre.trading.bot.util.indicator.StreamingIndicator;
+import tech.cassandre.trading.bot.util.indicator.TickerIndicators;
+import tech.cassandre.trading.bot.util.market.RollingTradeAggregates;
 import tech.cassandre.trading.bot.util.mapper.CurrencyMapper;
 import tech.cassandre.trading.bot.util.mapper.OrderMapper;
 import tech.cassandre.trading.bot.util.mapper.PositionMapper;
 import tech.cassandre.trading.bot.util.mapper.TradeMapper;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static java.math.BigDecimal.ZERO;
 
@@ -40,7 +59,7 @@ import static java.math.BigDecimal.ZERO;
  * Generic Cassandre strategy implementation.
  */
 @SuppressWarnings("checkstyle:DesignForExtension")
-public abstract class GenericCassandreStrategy implements CassandreStrategyInterface {
+public abstract class GenericCassandreStrategy implements CassandreStrategyInterface, RecoverableStrategy {
 
     /** Currency mapper. */
     protected final CurrencyMapper currencyMapper = Mappers.getMapper(CurrencyMapper.class);
@@ -66,20 +85,41 @@ public abstract class GenericCassandreStrategy implements CassandreStrategyInter
     /** Position repository. */
     private PositionRepository positionRepository;
 
+    /** Position flux (gives the positions prices not written yet - null if not set). */
+    private PositionFlux positionFlux;
+
     /** Trade service. */
     private TradeService tradeService;
 
     /** Position service. */
     private PositionService positionService;
 
-    /** The accounts owned by the user. */
-    private final Map<String, AccountDTO> accounts = new LinkedHashMap<>();
+    /** Execution service. */
+    private ExecutionService executionService;
+
+    /** Timer. */
+    private HashedWheelTimer timer;
+
+    /** Read model of orders, trades & positions (created on first use). */
+    private volatile StrategyReadModel readModel;
+
+    /** The accounts owned by the user (concurrent as ta4j strategies can read it from their evaluation threads). */
+    private final Map<String, AccountDTO> accounts = new ConcurrentHashMap<>();
+
+    /** Positions previous status (concurrent as it is shared by the flux threads and the ta4j evaluation threads). */
+    private final Map<Long, PositionStatusDTO> previousPositionsStatus = new ConcurrentHashMap<>();
+
+    /** Last ticker received (concurrent as ta4j strategies can read it from their evaluation threads). */
+    private final Map<CurrencyPairDTO, TickerDTO> lastTickers = new ConcurrentHashMap<>();
+
+    /** Last order book received. */
+    private final Map<CurrencyPairDTO, OrderBookDTO> lastOrderBooks = new ConcurrentHashMap<>();
 
-    /** Positions previous status. */
-    private final Map<Long, PositionStatusDTO> previousPositionsStatus = new LinkedHashMap<>();
+    /** Rolling aggregates updated with the public trades received. */
+    private final Map<CurrencyPairDTO, List<RollingTradeAggregates>> tradeAggregates = new ConcurrentHashMap<>();
 
-    /** Last ticker received. */
-    private final Map<CurrencyPairDTO, TickerDTO> lastTickers = new LinkedHashMap<>();
+    /** Streaming indicators updated with the tickers received. */
+    private final TickerIndicators indicators = new TickerIndicators();
 
     // =================================================================================================================
     // Internal methods to setup dependencies.
@@ -103,6 +143,11 @@ public abstract class GenericCassandreStrategy implements CassandreStrategyInter
         this.positionRepository = newPositionRepository;
     }
 
+    @Override
+    public final void setPositionFlux(final PositionFlux newPositionFlux) {
+        this.positionFlux = newPositionFlux;
+    }
+
     @Override
     public final void setOrderRepository(final OrderRepository newOrderRepository) {
         this.orderRepository = newOrderRepository;
@@ -123,9 +168,27 @@ public abstract class GenericCassandreStrategy implements CassandreStrategyInter
         this.positionService = newPositionService;
     }
 
+    @Override
+    public final void setExecutionService(final ExecutionService newExecutionService) {
+        this.executionService = newExecutionService;
+    }
+
+    @Override
+    public final void setTimer(final HashedWheelTimer newTimer) {
+        this.timer = newTimer;
+    }
+
     // =================================================================================================================
     // Internal methods for event management.
 
+    @Override
+    public void restoreState(final StrategyState state) {
+        accounts.putAll(state.getAccounts());
+        lastTickers.putAll(state.getLastTickers());
+        previousPositionsStatus.putAll(state.getPositionsStatus());
+        state.getTickers().forEach(indicators::tickerUpdate);
+    }
+
     @Override
     public void accountUpdate(final AccountDTO account) {
         accounts.put(account.getAccountId(), account);
@@ -134,32 +197,85 @@ public abstract class GenericCassandreStrategy implements CassandreStrategyInter
 
     @Override
     public void tickerUpdate(final TickerDTO ticker) {
-        lastTickers.put(ticker.getCurrencyPair(), ticker);
+        updateLastTicker(ticker);
         onTickerUpdate(ticker);
     }
 
+    @Override
+    public void orderBookUpdate(final OrderBookDTO orderBook) {
+        lastOrderBooks.put(orderBook.getCurrencyPair(), orderBook);
+        onOrderBookUpdate(orderBook);
+    }
+
+    @Override
+    public void publicTradeUpdate(final PublicTradeDTO trade) {
+        final List<RollingTradeAggregates> aggregates = tradeAggregates.get(trade.getCurrencyPair());
+        if (aggregates != null) {
+            aggregates.forEach(aggregate -> aggregate.add(trade));
+        }
+        onPublicTradeUpdate(trade);
+    }
+
+    /**
+     * Saves the last ticker received and updates the streaming indicators of its currency pair.
+     *
+     * @param ticker ticker
+     */
+    protected final void updateLastTicker(final TickerDTO ticker) {
+        lastTickers.put(ticker.getCurrencyPair(), ticker);
+        indicators.tickerUpdate(ticker);
+    }
+
     @Override
     public void orderUpdate(final OrderDTO order) {
+        if (readModel != null) {
+            readModel.orderUpdate(order);
+        }
         onOrderUpdate(order);
     }
 
     @Override
     public void tradeUpdate(final TradeDTO trade) {
+        if (readModel != null) {
+            readModel.tradeUpdate(trade);
+        }
         onTradeUpdate(trade);
     }
 
     @Override
     public void positionUpdate(final PositionDTO position) {
+        if (readModel != null) {
+            readModel.positionUpdate(position);
+        }
+
         // For every position update.
         onPositionUpdate(position);
 
         // For every position status update.
-        if (previousPositionsStatus.get(position.getId()) != position.getStatus()) {
-            previousPositionsStatus.put(position.getId(), position.getStatus());
+        if (previousPositionsStatus.put(position.getId(), position.getStatus()) != position.getStatus()) {
             onPositionStatusUpdate(position);
         }
     }
 
+    /**
+     * Returns the read model of orders, trades & positions (created on first use).
+     *
+     * @return read model
+     */
+    private StrategyReadModel getReadModel() {
+        StrategyReadModel model = readModel;
+        if (model == null) {
+            synchronized (this) {
+                model = readModel;
+                if (model == null) {
+                    model = new StrategyReadModel(orderRepository, tradeRepository, positionRepository, positionFlux);
+                    readModel = model;
+                }
+            }
+        }
+        return model;
+    }
+
     // =================================================================================================================
     // Related to accounts.
 
@@ -203,6 +319,28 @@ public abstract class GenericCassandreStrategy implements CassandreStrategyInter
         return lastTickers;
     }
 
+    /**
+     * Attaches a streaming indicator to a currency pair - it will be updated with each ticker received for this pair,
+     * before {@code onTickerUpdate()} is called.
+     *
+     * @param currencyPair currency pair
+     * @param indicator    indicator
+     * @param <T>          indicator type
+     * @return the indicator
+     */
+    public final <T extends StreamingIndicator> T addIndicator(final CurrencyPairDTO currencyPair, final T indicator) {
+        return indicators.add(currencyPair, indicator);
+    }
+
+    /**
+     * Returns the streaming indicators attached to currency pairs.
+     *
+     * @return indicators
+     */
+    public final TickerIndicators getIndicators() {
+        return indicators;
+    }
+
     /**
      * Return the last ticker for a currency pair.
      *
@@ -231,6 +369,59 @@ public abstract class GenericCassandreStrategy implements CassandreStrategyInter
         }
     }
 
+    // =================================================================================================================
+    // Related to order books.
+
+    @Override
+    public Set<CurrencyPairDTO> getRequestedOrderBooks() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Return last received order books.
+     *
+     * @return order books
+     */
+    public final Map<CurrencyPairDTO, OrderBookDTO> getLastOrderBooks() {
+        return lastOrderBooks;
+    }
+
+    /**
+     * Return the last order book for a currency pair.
+     *
+     * @param currencyPair currency pair
+     * @return last order book received
+     */
+    public final Optional<OrderBookDTO> getLastOrderBookByCurrencyPair(final CurrencyPairDTO currencyPair) {
+        if (currencyPair == null) {
+            return Optional.empty();
+        } else {
+            return Optional.ofNullable(lastOrderBooks.get(currencyPair));
+        }
+    }
+
+    // =================================================================================================================
+    // Related to public trades.
+
+    @Override
+    public Set<CurrencyPairDTO> getRequestedPublicTrades() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Creates rolling aggregates of the public trades of a currency pair - they will be updated with each public trade
+     * received for this pair, before {@code onPublicTradeUpdate()} is called.
+     *
+     * @param currencyPair currency pair
+     * @param window       window
+     * @return rolling aggregates
+     */
+    public final RollingTradeAggregates addTradeAggregates(final CurrencyPairDTO currencyPair, final Duration window) {
+        final RollingTradeAggregates aggregates = new RollingTradeAggregates(window);
+        tradeAggregates.computeIfAbsent(currencyPair, cp -> new CopyOnWriteArrayList<>()).add(aggregates);
+        return aggregates;
+    }
+
     // =================================================================================================================
     // Related to orders.
 
@@ -240,10 +431,16 @@ public abstract class GenericCassandreStrategy implements CassandreStrategyInter
      * @return orders
      */
     public final Map<String, OrderDTO> getOrders() {
-        return orderRepository.findByOrderByTimestampAsc()
-                .stream()
-                .map(orderMapper::mapToOrderDTO)
-                .collect(Collectors.toMap(OrderDTO::getOrderId, orderDTO -> orderDTO));
+        return getReadModel().getOrders();
+    }
+
+    /**
+     * Returns list of orders that are not in a final status.
+     *
+     * @return open orders
+     */
+    public final Map<String, OrderDTO> getOpenOrders() {
+        return getReadModel().getOpenOrders();
     }
 
     /**
@@ -265,10 +462,7 @@ public abstract class GenericCassandreStrategy implements CassandreStrategyInter
      * @return trades
      */
     public final Map<String, TradeDTO> getTrades() {
-        return tradeRepository.findByOrderByTimestampAsc()
-                .stream()
-                .map(tradeMapper::mapToTradeDTO)
-                .collect(Collectors.toMap(TradeDTO::getTradeId, tradeDTO -> tradeDTO));
+        return getReadModel().getTrades();
     }
 
     /**
@@ -290,10 +484,17 @@ public abstract class GenericCassandreStrategy implements CassandreStrategyInter
      * @return positions
      */
     public final Map<Long, PositionDTO> getPositions() {
-        return positionRepository.findByOrderById()
-                .stream()
-                .map(positionMapper::mapToPositionDTO)
-                .collect(Collectors.toMap(PositionDTO::getId, positionDTO -> positionDTO));
+        return getReadModel().getPositions();
+    }
+
+    /**
+     * Returns list of positions on a currency pair.
+     *
+     * @param currencyPair currency pair
+     * @return positions
+     */
+    public final Map<Long, PositionDTO> getPositionsByCurrencyPair(final CurrencyPairDTO currencyPair) {
+        return getReadModel().getPositionsByCurrencyPair(currencyPair);
     }
 
     /**
@@ -303,7 +504,11 @@ public abstract class GenericCassandreStrategy implements CassandreStrategyInter
      * @return position
      */
     public final Optional<PositionDTO> getPositionByPositionId(final long positionId) {
-        return positionRepository.findByPositionId(positionId).map(positionMapper::mapToPositionDTO);
+        Optional<Position> position = positionRepository.findByPositionId(positionId);
+        if (positionFlux != null) {
+            position = position.map(positionFlux::withPendingPrices);
+        }
+        return position.map(positionMapper::mapToPositionDTO);
     }
 
     /**
@@ -384,6 +589,188 @@ public abstract class GenericCassandreStrategy implements CassandreStrategyInter
         return positionService.createLongPosition(strategyDTO, currencyPair, amount, rules);
     }
 
+    /**
+     * Creates a TWAP order : the amount is split in equal market orders sent at regular intervals over the duration.
+     * The parent order and its fill state are received by onOrderUpdate().
+     *
+     * @param type         order type
+     * @param currencyPair currency pair
+     * @param amount       amount
+     * @param duration     duration of the execution
+     * @param slices       number of child orders
+     * @return order creation result (parent order)
+     */
+    public OrderCreationResultDTO createTwapOrder(final OrderTypeDTO type,
+                                                  final CurrencyPairDTO currencyPair,
+                                                  final BigDecimal amount,
+                                                  final Duration duration,
+                                                  final int slices) {
+        return executionService.createTwapOrder(strategyDTO, type, currencyPair, amount, duration, slices);
+    }
+
+    /**
+     * Creates a VWAP order : the amount is split following a volume profile in market orders sent at regular
+     * intervals over the duration. The parent order and its fill state are received by onOrderUpdate().
+     *
+     * @param type          order type
+     * @param currencyPair  currency pair
+     * @param amount        amount
+     * @param duration      duration of the execution
+     * @param volumeProfile expected volume of each interval (one child order per interval)
+     * @return order creation result (parent order)
+     */
+    public OrderCreationResultDTO createVwapOrder(final OrderTypeDTO type,
+                                                  final CurrencyPairDTO currencyPair,
+                                                  final BigDecimal amount,
+                                                  final Duration duration,
+                                                  final List<BigDecimal> volumeProfile) {
+        return executionService.createVwapOrder(strategyDTO, type, currencyPair, amount, duration, volumeProfile);
+    }
+
+    /**
+     * Cancels the child orders of a TWAP or VWAP order that have not been sent yet.
+     *
+     * @param parentOrderId parent order id
+     * @return true if cancelled
+     */
+    public boolean cancelExecution(final String parentOrderId) {
+        return executionService.cancelExecution(parentOrderId);
+    }
+
+    /**
+     * Cancel order.
+     *
+     * @param orderId order id
+     * @return true if cancelled
+     */
+    public boolean cancelOrder(final String orderId) {
+        return tradeService.cancelOrder(orderId);
+    }
+
+    // =================================================================================================================
+    // Asynchronous methods related to creating of orders & positions.
+    // The requests are sent on the exchange executor when the returned mono is subscribed.
+
+    /**
+     * Creates a buy market order without blocking the calling thread.
+     *
+     * @param currencyPair currency pair
+     * @param amount       amount
+     * @return order result (order id or error)
+     */
+    public Mono<OrderCreationResultDTO> createBuyMarketOrderAsync(final CurrencyPairDTO currencyPair,
+                                                                  final BigDecimal amount) {
+        return tradeService.createBuyMarketOrderAsync(strategyDTO, currencyPair, amount);
+    }
+
+    /**
+     * Creates a sell market order without blocking the calling thread.
+     *
+     * @param currencyPair currency pair
+     * @param amount       amount
+     * @return order result (order id or error)
+     */
+    public Mono<OrderCreationResultDTO> createSellMarketOrderAsync(final CurrencyPairDTO currencyPair,
+                                                                   final BigDecimal amount) {
+        return tradeService.createSellMarketOrderAsync(strategyDTO, currencyPair, amount);
+    }
+
+    /**
+     * Creates a buy limit order without blocking the calling thread.
+     *
+     * @param currencyPair currency pair
+     * @param amount       amount
+     * @param limitPrice   the highest acceptable price
+     * @return order result (order id or error)
+     */
+    public Mono<OrderCreationResultDTO> createBuyLimitOrderAsync(final CurrencyPairDTO currencyPair,
+                                                                 final BigDecimal amount,
+                                                                 final BigDecimal limitPrice) {
+        return tradeService.createBuyLimitOrderAsync(strategyDTO, currencyPair, amount, limitPrice);
+    }
+
+    /**
+     * Creates a sell limit order without blocking the calling thread.
+     *
+     * @param currencyPair currency pair
+     * @param amount       amount
+     * @param limitPrice   the lowest acceptable price
+     * @return order result (order id or error)
+     */
+    public Mono<OrderCreationResultDTO> createSellLimitOrderAsync(final CurrencyPairDTO currencyPair,
+                                                                  final BigDecimal amount,
+                                                                  final BigDecimal limitPrice) {
+        return tradeService.createSellLimitOrderAsync(strategyDTO, currencyPair, amount, limitPrice);
+    }
+
+    /**
+     * Creates a position with its associated rules without blocking the calling thread.
+     *
+     * @param currencyPair currency pair
+     * @param amount       amount
+     * @param rules        rules
+     * @return position creation result
+     */
+    public Mono<PositionCreationResultDTO> createLongPositionAsync(final CurrencyPairDTO currencyPair,
+                                                                   final BigDecimal amount,
+                                                                   final PositionRulesDTO rules) {
+        return positionService.createLongPositionAsync(strategyDTO, currencyPair, amount, rules);
+    }
+
+    /**
+     * Cancel order without blocking the calling thread.
+     *
+     * @param orderId order id
+     * @return true if cancelled
+     */
+    public Mono<Boolean> cancelOrderAsync(final String orderId) {
+        return tradeService.cancelOrderAsync(orderId);
+    }
+
+    // =================================================================================================================
+    // Timers.
+    // Tasks are scheduled on the shared timer and run on a reactor scheduler (not on the timer thread).
+
+    /**
+     * Runs a task once after a delay.
+     *
+     * @param task  task
+     * @param delay delay
+     * @return timeout (allowing to cancel the task)
+     */
+    public HashedWheelTimer.Timeout schedule(final Runnable task, final Duration delay) {
+        return timer.schedule(() -> Schedulers.boundedElastic().schedule(task), delay);
+    }
+
+    /**
+     * Runs a task periodically (for example, to rebalance a portfolio).
+     *
+     * @param task         task
+     * @param initialDelay delay before the first run
+     * @param period       period between two runs
+     * @return timeout (allowing to cancel the next runs)
+     */
+    public HashedWheelTimer.Timeout scheduleAtFixedRate(final Runnable task, final Duration initialDelay, final Duration period) {
+        return timer.scheduleAtFixedRate(() -> Schedulers.boundedElastic().schedule(task), initialDelay, period);
+    }
+
+    /**
+     * Cancels an order if it's not in a final status (filled, canceled...) after a delay.
+     * The order status is read on a reactor scheduler as the read model may load it from the database.
+     *
+     * @param orderId order id
+     * @param delay   delay
+     * @return timeout (allowing to keep the order)
+     */
+    public HashedWheelTimer.Timeout cancelOrderAfter(final String orderId, final Duration delay) {
+        return schedule(() -> {
+            final OrderDTO order = getReadModel().getOrders().get(orderId);
+            if (order == null || order.getStatus() == null || !order.getStatus().isFinal()) {
+                tradeService.cancelOrderAsync(orderId).subscribe();
+            }
+        }, delay);
+    }
+
     // =================================================================================================================
     // Methods that can be implemented by strategies.
 
@@ -397,6 +784,16 @@ public abstract class GenericCassandreStrategy implements CassandreStrategyInter
 
     }
 
+    @Override
+    public void onOrderBookUpdate(final OrderBookDTO orderBook) {
+
+    }
+
+    @Override
+    public void onPublicTradeUpdate(final PublicTradeDTO trade) {
+
+    }
+
     @Override
     public void onOrderUpdate(final OrderDTO order) {
 
@@ -0,0 +1,341 @@
+package tech.cassandre.trading.bot.strategy;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Strategy;
+import tech.cassandre.trading.bot.dto.market.TickerDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.strategy.intern.StrategyState;
+import tech.cassandre.trading.bot.util.ta4j.BarAggregator;
+import tech.cassandre.trading.bot.util.ta4j.RingBarSeries;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ta4j strategy trading several currency pairs with several timeframes.
+ * <p>
+ * One bar series is built for each currency pair and each timeframe (its size is limited by
+ * {@link #getMaximumBarCount()}) and one ta4j strategy is created for each series. Tickers are routed to the series
+ * of their currency pair and each strategy is evaluated when a bar of its series is closed.
+ * <p>
+ * Currency pairs are evaluated in parallel : {@link #shouldEnter(CurrencyPairDTO, Duration)} and
+ * {@link #shouldExit(CurrencyPairDTO, Duration)} are called from a pool of threads. Calls for the same currency pair are
+ * never concurrent and keep the tickers order but calls for different currency pairs can be, so what these methods
+ * share must be thread safe. Every ticker is added to the series : if the evaluations of a currency pair can't keep up
+ * with its tickers, the tickers waiting are all added to the series at once and each strategy with a closed bar is only
+ * evaluated on its latest bar (the evaluations skipped are counted by {@link #getCoalescedEvaluations()}).
+ */
+@SuppressWarnings("unused")
+public abstract class MultiTa4jCassandreStrategy extends GenericCassandreStrategy {
+
+    /** Evaluation threads name prefix. */
+    private static final String THREAD_NAME_PREFIX = "cassandre-ta4j";
+
+    /** Pool running the evaluations. */
+    private final ExecutorService evaluationPool;
+
+    /** Currency pairs evaluation. */
+    private final Map<CurrencyPairDTO, PairEvaluation> pairs = new LinkedHashMap<>();
+
+    /** Number of evaluations skipped because a more recent bar was closed before they ran. */
+    private final AtomicLong coalescedEvaluations = new AtomicLong();
+
+    /**
+     * Constructor.
+     */
+    public MultiTa4jCassandreStrategy() {
+        // Build the pool (one thread per currency pair at most).
+        final Set<CurrencyPairDTO> currencyPairs = getRequestedCurrencyPairs();
+        final AtomicInteger threadCounter = new AtomicInteger();
+        final int threads = Math.max(1, Math.min(currencyPairs.size(), Runtime.getRuntime().availableProcessors()));
+        evaluationPool = Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + "-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Build the series and the strategies.
+        currencyPairs.forEach(currencyPair -> pairs.put(currencyPair, new PairEvaluation(currencyPair)));
+    }
+
+    /**
+     * Implements this method to tell the bot which timeframes (bar durations) you want for each currency pair.
+     *
+     * @return timeframes
+     */
+    public abstract Set<Duration> getTimeframes();
+
+    /**
+     * Implements this method to tell the bot how many bars you want to keep in each bar series.
+     *
+     * @return maximum bar count.
+     */
+    @SuppressWarnings("SameReturnValue")
+    public abstract int getMaximumBarCount();
+
+    /**
+     * Implements this method to tell the bot which strategy to apply on a bar series.
+     *
+     * @param currencyPair currency pair
+     * @param timeframe    timeframe
+     * @param series       bar series of the currency pair with this timeframe
+     * @return strategy
+     */
+    public abstract Strategy getStrategy(CurrencyPairDTO currencyPair, Duration timeframe, BarSeries series);
+
+    @Override
+    public final void restoreState(final StrategyState state) {
+        super.restoreState(state);
+        // Bars are rebuilt from the tickers received before the restart (without asking the strategies what to do).
+        state.getTickers().forEach(ticker -> Optional.ofNullable(pairs.get(ticker.getCurrencyPair()))
+                .ifPresent(pairEvaluation -> pairEvaluation.addTicker(ticker)));
+    }
+
+    @Override
+    public final void tickerUpdate(final TickerDTO ticker) {
+        updateLastTicker(ticker);
+        final PairEvaluation pairEvaluation = pairs.get(ticker.getCurrencyPair());
+        if (pairEvaluation != null) {
+            pairEvaluation.submit(ticker);
+        }
+        onTickerUpdate(ticker);
+    }
+
+    /**
+     * Returns true if all the tickers received have been evaluated.
+     *
+     * @return true if there is no evaluation waiting or running
+     */
+    public final boolean isEvaluationDone() {
+        return pairs.values().stream().allMatch(PairEvaluation::isIdle);
+    }
+
+    /**
+     * Returns the number of evaluations skipped because a more recent bar of the same series was closed before they
+     * ran (the bars are all in the series).
+     *
+     * @return number of evaluations skipped
+     */
+    public final long getCoalescedEvaluations() {
+        return coalescedEvaluations.get();
+    }
+
+    /**
+     * Stops the evaluation threads.
+     */
+    @PreDestroy
+    public final void stopEvaluation() {
+        evaluationPool.shutdownNow();
+    }
+
+    /**
+     * Called when the strategy of a currency pair and timeframe says you should enter.
+     *
+     * @param currencyPair currency pair
+     * @param timeframe    timeframe
+     */
+    public abstract void shouldEnter(CurrencyPairDTO currencyPair, Duration timeframe);
+
+    /**
+     * Called when the strategy of a currency pair and timeframe says you should exit.
+     *
+     * @param currencyPair currency pair
+     * @param timeframe    timeframe
+     */
+    public abstract void shouldExit(CurrencyPairDTO currencyPair, Duration timeframe);
+
+    /**
+     * Getter for the series of a currency pair and a timeframe.
+     *
+     * @param currencyPair currency pair
+     * @param timeframe    timeframe
+     * @return series (empty if the currency pair or the timeframe is not requested) - updated by the evaluation threads
+     */
+    public final Optional<BarSeries> getSeries(final CurrencyPairDTO currencyPair, final Duration timeframe) {
+        return Optional.ofNullable(pairs.get(currencyPair))
+                .flatMap(pairEvaluation -> pairEvaluation.getTimeframe(timeframe))
+                .map(TimeframeEvaluation::getSeries);
+    }
+
+    /**
+     * Evaluation of a currency pair (one bar series and one strategy per timeframe).
+     */
+    private final class PairEvaluation {
+
+        /** Evaluation of each timeframe. */
+        private final List<TimeframeEvaluation> timeframes = new ArrayList<>();
+
+        /** Currency pair. */
+        private final CurrencyPairDTO currencyPair;
+
+        /** Tickers received and not added to the series yet. */
+        private final Queue<TickerDTO> tickers = new ConcurrentLinkedQueue<>();
+
+        /** True if an evaluation of the tickers waiting is submitted to the pool or running. */
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        /**
+         * Constructor.
+         *
+         * @param newCurrencyPair currency pair
+         */
+        PairEvaluation(final CurrencyPairDTO newCurrencyPair) {
+            this.currencyPair = newCurrencyPair;
+            getTimeframes().forEach(timeframe -> timeframes.add(new TimeframeEvaluation(newCurrencyPair, timeframe)));
+        }
+
+        /**
+         * Submits a ticker - it's added to the series and evaluated by the pool, after the tickers already waiting.
+         *
+         * @param ticker ticker
+         */
+        void submit(final TickerDTO ticker) {
+            tickers.add(ticker);
+            if (scheduled.compareAndSet(false, true)) {
+                evaluationPool.execute(this::evaluate);
+            }
+        }
+
+        /**
+         * Returns true if there is no ticker waiting and no evaluation running.
+         *
+         * @return true if idle
+         */
+        boolean isIdle() {
+            return !scheduled.get() && tickers.isEmpty();
+        }
+
+        /**
+         * Adds a ticker to the series without evaluating the strategies.
+         *
+         * @param ticker ticker
+         */
+        void addTicker(final TickerDTO ticker) {
+            timeframes.forEach(timeframeEvaluation -> timeframeEvaluation.getAggregator().addTicker(ticker));
+        }
+
+        /**
+         * Adds the tickers waiting to the series and evaluates the strategies of the series with a closed bar, once on
+         * their latest bar. The pool thread is then given back : tickers received meanwhile are evaluated by a new task.
+         */
+        void evaluate() {
+            final Map<TimeframeEvaluation, Integer> closedBars = new LinkedHashMap<>();
+            TickerDTO ticker = tickers.poll();
+            while (ticker != null) {
+                for (TimeframeEvaluation timeframeEvaluation : timeframes) {
+                    if (timeframeEvaluation.getAggregator().addTicker(ticker) > 0) {
+                        closedBars.merge(timeframeEvaluation, 1, Integer::sum);
+                    }
+                }
+                ticker = tickers.poll();
+            }
+            closedBars.forEach((timeframeEvaluation, closes) -> {
+                // A bar was closed, we ask what to do to the strategy.
+                coalescedEvaluations.addAndGet(closes - 1);
+                final int endIndex = timeframeEvaluation.getSeries().getEndIndex();
+                if (timeframeEvaluation.getStrategy().shouldEnter(endIndex)) {
+                    shouldEnter(currencyPair, timeframeEvaluation.getTimeframe());
+                } else if (timeframeEvaluation.getStrategy().shouldExit(endIndex)) {
+                    shouldExit(currencyPair, timeframeEvaluation.getTimeframe());
+                }
+            });
+            scheduled.set(false);
+            if (!tickers.isEmpty() && scheduled.compareAndSet(false, true)) {
+                evaluationPool.execute(this::evaluate);
+            }
+        }
+
+        /**
+         * Returns the evaluation of a timeframe.
+         *
+         * @param timeframe timeframe
+         * @return timeframe evaluation
+         */
+        Optional<TimeframeEvaluation> getTimeframe(final Duration timeframe) {
+            return timeframes.stream().filter(timeframeEvaluation -> timeframeEvaluation.getTimeframe().equals(timeframe)).findFirst();
+        }
+
+    }
+
+    /**
+     * Evaluation of a currency pair with a timeframe.
+     */
+    private final class TimeframeEvaluation {
+
+        /** Timeframe. */
+        private final Duration timeframe;
+
+        /** Series. */
+        private final BarSeries series;
+
+        /** Bar aggregator. */
+        private final BarAggregator aggregator;
+
+        /** Ta4j strategy. */
+        private final Strategy strategy;
+
+        /**
+         * Constructor.
+         *
+         * @param currencyPair currency pair
+         * @param newTimeframe timeframe
+         */
+        TimeframeEvaluation(final CurrencyPairDTO currencyPair, final Duration newTimeframe) {
+            this.timeframe = newTimeframe;
+            this.series = new RingBarSeries(currencyPair + " " + newTimeframe, getMaximumBarCount());
+            this.aggregator = new BarAggregator(series, newTimeframe);
+            this.strategy = MultiTa4jCassandreStrategy.this.getStrategy(currencyPair, newTimeframe, series);
+        }
+
+        /**
+         * Getter timeframe.
+         *
+         * @return timeframe
+         */
+        Duration getTimeframe() {
+            return timeframe;
+        }
+
+        /**
+         * Getter series.
+         *
+         * @return series
+         */
+        BarSeries getSeries() {
+            return series;
+        }
+
+        /**
+         * Getter aggregator.
+         *
+         * @return aggregator
+         */
+        BarAggregator getAggregator() {
+            return aggregator;
+        }
+
+        /**
+         * Getter strategy.
+         *
+         * @return strategy
+         */
+        Strategy getStrategy() {
+            return strategy;
+        }
+
+    }
+
+}
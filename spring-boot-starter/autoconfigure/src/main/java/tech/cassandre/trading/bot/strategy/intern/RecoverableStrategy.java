@@ -0,0 +1,16 @@
+package tech.cassandre.trading.bot.strategy.intern;
+
+/**
+ * Internal hook implemented by strategies able to restore the state saved before a restart.
+ * It's called by the strategy configuration before the fluxes are connected and is not part of the strategy API.
+ */
+public interface RecoverableStrategy {
+
+    /**
+     * Restores the state saved before a restart.
+     *
+     * @param state state
+     */
+    void restoreState(StrategyState state);
+
+}
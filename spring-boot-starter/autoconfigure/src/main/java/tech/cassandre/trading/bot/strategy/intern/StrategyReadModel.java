@@ -0,0 +1,344 @@
+package tech.cassandre.trading.bot.strategy.intern;
+
+import tech.cassandre.trading.bot.batch.PositionFlux;
+import tech.cassandre.trading.bot.domain.Position;
+import tech.cassandre.trading.bot.dto.position.PositionDTO;
+import tech.cassandre.trading.bot.dto.strategy.StrategyDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderDTO;
+import tech.cassandre.trading.bot.dto.trade.TradeDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.repository.OrderRepository;
+import tech.cassandre.trading.bot.repository.PositionRepository;
+import tech.cassandre.trading.bot.repository.TradeRepository;
+import tech.cassandre.trading.bot.util.base.Base;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory read model of the orders, trades and positions used by a strategy.
+ * The model is loaded from database on first access, then the orders, trades and positions received from the fluxes
+ * are applied to it directly : an update only changes the entries it concerns (and the secondary views using them),
+ * without querying the database or copying the model. Readers get read-only views that always show the latest state.
+ */
+public class StrategyReadModel extends Base {
+
+    /** Order repository. */
+    private final OrderRepository orderRepository;
+
+    /** Trade repository. */
+    private final TradeRepository tradeRepository;
+
+    /** Position repository. */
+    private final PositionRepository positionRepository;
+
+    /** Position flux (gives the positions prices not written yet when loading - null if not set). */
+    private final PositionFlux positionFlux;
+
+    /** Lock (held by writers, readers use the views). */
+    private final Object lock = new Object();
+
+    /** True when the model has been loaded from database. */
+    private volatile boolean loaded = false;
+
+    /** Orders. */
+    private final Map<String, OrderDTO> orders = new ConcurrentHashMap<>();
+
+    /** Orders that are not in a final status. */
+    private final Map<String, OrderDTO> openOrders = new ConcurrentHashMap<>();
+
+    /** Trades. */
+    private final Map<String, TradeDTO> trades = new ConcurrentHashMap<>();
+
+    /** Trades by order id (guarded by lock). */
+    private final Map<String, Map<String, TradeDTO>> tradesByOrderId = new HashMap<>();
+
+    /** Positions. */
+    private final Map<Long, PositionDTO> positions = new ConcurrentHashMap<>();
+
+    /** Positions by currency pair. */
+    private final Map<CurrencyPairDTO, Map<Long, PositionDTO>> positionsByCurrencyPair = new ConcurrentHashMap<>();
+
+    /** Read-only views of the positions by currency pair. */
+    private final Map<CurrencyPairDTO, Map<Long, PositionDTO>> positionsByCurrencyPairViews = new ConcurrentHashMap<>();
+
+    /** Read-only view of the orders. */
+    private final Map<String, OrderDTO> ordersView = Collections.unmodifiableMap(orders);
+
+    /** Read-only view of the open orders. */
+    private final Map<String, OrderDTO> openOrdersView = Collections.unmodifiableMap(openOrders);
+
+    /** Read-only view of the trades. */
+    private final Map<String, TradeDTO> tradesView = Collections.unmodifiableMap(trades);
+
+    /** Read-only view of the positions. */
+    private final Map<Long, PositionDTO> positionsView = Collections.unmodifiableMap(positions);
+
+    /**
+     * Constructor.
+     *
+     * @param newOrderRepository    order repository
+     * @param newTradeRepository    trade repository
+     * @param newPositionRepository position repository
+     */
+    public StrategyReadModel(final OrderRepository newOrderRepository,
+                             final TradeRepository newTradeRepository,
+                             final PositionRepository newPositionRepository) {
+        this(newOrderRepository, newTradeRepository, newPositionRepository, null);
+    }
+
+    /**
+     * Constructor with the position flux giving the positions prices not written yet.
+     *
+     * @param newOrderRepository    order repository
+     * @param newTradeRepository    trade repository
+     * @param newPositionRepository position repository
+     * @param newPositionFlux       position flux
+     */
+    public StrategyReadModel(final OrderRepository newOrderRepository,
+                             final TradeRepository newTradeRepository,
+                             final PositionRepository newPositionRepository,
+                             final PositionFlux newPositionFlux) {
+        this.orderRepository = newOrderRepository;
+        this.tradeRepository = newTradeRepository;
+        this.positionRepository = newPositionRepository;
+        this.positionFlux = newPositionFlux;
+    }
+
+    // =================================================================================================================
+    // Views.
+
+    /**
+     * Returns all orders.
+     *
+     * @return orders
+     */
+    public final Map<String, OrderDTO> getOrders() {
+        load();
+        return ordersView;
+    }
+
+    /**
+     * Returns orders that are not in a final status.
+     *
+     * @return open orders
+     */
+    public final Map<String, OrderDTO> getOpenOrders() {
+        load();
+        return openOrdersView;
+    }
+
+    /**
+     * Returns all trades.
+     *
+     * @return trades
+     */
+    public final Map<String, TradeDTO> getTrades() {
+        load();
+        return tradesView;
+    }
+
+    /**
+     * Returns all positions.
+     *
+     * @return positions
+     */
+    public final Map<Long, PositionDTO> getPositions() {
+        load();
+        return positionsView;
+    }
+
+    /**
+     * Returns the positions of a currency pair.
+     *
+     * @param currencyPair currency pair
+     * @return positions
+     */
+    public final Map<Long, PositionDTO> getPositionsByCurrencyPair(final CurrencyPairDTO currencyPair) {
+        load();
+        return positionsByCurrencyPairViews.getOrDefault(currencyPair, Collections.emptyMap());
+    }
+
+    // =================================================================================================================
+    // Updates.
+
+    /**
+     * Method called when an order is updated.
+     * The exchange doesn't return the technical id, the strategy and the trades of an order : they are kept from the
+     * order already known.
+     *
+     * @param order order
+     */
+    public final void orderUpdate(final OrderDTO order) {
+        synchronized (lock) {
+            if (loaded) {
+                putOrder(withKnownValues(order, orders.get(order.getOrderId())));
+            }
+        }
+    }
+
+    /**
+     * Method called when a trade is updated (the trade is also added to its order).
+     *
+     * @param trade trade
+     */
+    public final void tradeUpdate(final TradeDTO trade) {
+        synchronized (lock) {
+            if (loaded) {
+                putTrade(trade);
+                final OrderDTO order = orders.get(trade.getOrderId());
+                if (order != null) {
+                    putOrder(withKnownValues(order, order));
+                }
+            }
+        }
+    }
+
+    /**
+     * Method called when a position is updated.
+     *
+     * @param position position
+     */
+    public final void positionUpdate(final PositionDTO position) {
+        synchronized (lock) {
+            if (loaded) {
+                putPosition(position);
+            }
+        }
+    }
+
+    /**
+     * Puts an order in the model and in the open orders view (lock must be held).
+     *
+     * @param order order
+     */
+    private void putOrder(final OrderDTO order) {
+        orders.put(order.getOrderId(), order);
+        if (order.getStatus() == null || !order.getStatus().isFinal()) {
+            openOrders.put(order.getOrderId(), order);
+        } else {
+            openOrders.remove(order.getOrderId());
+        }
+    }
+
+    /**
+     * Puts a trade in the model (lock must be held).
+     *
+     * @param trade trade
+     */
+    private void putTrade(final TradeDTO trade) {
+        trades.put(trade.getTradeId(), trade);
+        if (trade.getOrderId() != null) {
+            tradesByOrderId.computeIfAbsent(trade.getOrderId(), orderId -> new LinkedHashMap<>()).put(trade.getTradeId(), trade);
+        }
+    }
+
+    /**
+     * Puts a position in the model and in the positions by currency pair view (lock must be held).
+     *
+     * @param position position
+     */
+    private void putPosition(final PositionDTO position) {
+        positions.put(position.getId(), position);
+        if (position.getCurrencyPair() != null) {
+            positionsByCurrencyPair.computeIfAbsent(position.getCurrencyPair(), currencyPair -> {
+                final Map<Long, PositionDTO> currencyPairPositions = new ConcurrentHashMap<>();
+                positionsByCurrencyPairViews.put(currencyPair, Collections.unmodifiableMap(currencyPairPositions));
+                return currencyPairPositions;
+            }).put(position.getId(), position);
+        }
+    }
+
+    /**
+     * Returns an order with the values the exchange doesn't return (technical id, strategy and trades) taken from the
+     * order already known (lock must be held).
+     *
+     * @param order      order received
+     * @param knownOrder order already known (null if there is none)
+     * @return order with all its values
+     */
+    private OrderDTO withKnownValues(final OrderDTO order, final OrderDTO knownOrder) {
+        final Map<String, TradeDTO> knownTrades = tradesByOrderId.get(order.getOrderId());
+        if (knownOrder == null && knownTrades == null) {
+            return order;
+        }
+        final Map<String, TradeDTO> orderTrades = new LinkedHashMap<>();
+        if (order.getTrades() != null) {
+            order.getTrades().forEach(t -> orderTrades.put(t.getTradeId(), t));
+        }
+        if (knownTrades != null) {
+            orderTrades.putAll(knownTrades);
+        }
+        Long id = order.getId();
+        StrategyDTO strategy = order.getStrategy();
+        if (knownOrder != null) {
+            if (id == null) {
+                id = knownOrder.getId();
+            }
+            if (strategy == null) {
+                strategy = knownOrder.getStrategy();
+            }
+        }
+        return OrderDTO.builder()
+                .id(id)
+                .orderId(order.getOrderId())
+                .type(order.getType())
+                .strategy(strategy)
+                .currencyPair(order.getCurrencyPair())
+                .amount(order.getAmount())
+                .averagePrice(order.getAveragePrice())
+                .limitPrice(order.getLimitPrice())
+                .leverage(order.getLeverage())
+                .status(order.getStatus())
+                .cumulativeAmount(order.getCumulativeAmount())
+                .userReference(order.getUserReference())
+                .timestamp(order.getTimestamp())
+                .trades(orderTrades.values())
+                .build();
+    }
+
+    /**
+     * Sets, on a position read from database, the prices not written yet.
+     *
+     * @param position position read from database
+     * @return position with its latest prices
+     */
+    private Position withPendingPrices(final Position position) {
+        if (positionFlux != null) {
+            return positionFlux.withPendingPrices(position);
+        }
+        return position;
+    }
+
+    /**
+     * Loads the model from database the first time it is read.
+     */
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        synchronized (lock) {
+            if (!loaded) {
+                logger.debug("StrategyReadModel - Loading orders, trades & positions from database");
+                tradeRepository.findByOrderByTimestampAsc()
+                        .stream()
+                        .map(tradeMapper::mapToTradeDTO)
+                        .forEach(this::putTrade);
+                orderRepository.findByOrderByTimestampAsc()
+                        .stream()
+                        .map(orderMapper::mapToOrderDTO)
+                        .forEach(this::putOrder);
+                positionRepository.findByOrderById()
+                        .stream()
+                        .map(this::withPendingPrices)
+                        .map(positionMapper::mapToPositionDTO)
+                        .forEach(this::putPosition);
+                loaded = true;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,210 @@
+package tech.cassandre.trading.bot.strategy.intern;
+
+import tech.cassandre.trading.bot.dto.market.TickerDTO;
+import tech.cassandre.trading.bot.dto.position.PositionStatusDTO;
+import tech.cassandre.trading.bot.dto.user.AccountDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.repository.PositionRepository;
+import tech.cassandre.trading.bot.repository.TickerRepository;
+import tech.cassandre.trading.bot.util.base.Base;
+import tech.cassandre.trading.bot.util.journal.EventJournal;
+import tech.cassandre.trading.bot.util.journal.JournalState;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static tech.cassandre.trading.bot.dto.position.PositionStatusDTO.CLOSED;
+import static tech.cassandre.trading.bot.util.journal.EventType.TICKER;
+
+/**
+ * Strategy recovery - rebuilds, after a restart, the state a strategy keeps in memory.
+ * Positions status are read from database. Tickers history (used to rebuild bar series) is read from the tickers table
+ * over the warm-up period, then completed with the more recent tickers found in the event journal. When the event
+ * journal is enabled, accounts and last tickers are also read from it. Accounts retrieved from the exchange at startup
+ * replace the ones found in the journal.
+ * Database and journal are only read once : the result is kept and shared by the strategies. Tickers found after the
+ * maximum recovery duration are not kept and a warning is logged.
+ */
+public class StrategyRecovery extends Base {
+
+    /** Position repository. */
+    private final PositionRepository positionRepository;
+
+    /** Ticker repository (null if tickers history is not read from database). */
+    private final TickerRepository tickerRepository;
+
+    /** Event journal (null if the journal is disabled). */
+    private final EventJournal eventJournal;
+
+    /** True if the state is recovered. */
+    private final boolean enabled;
+
+    /** Maximum recovery duration. */
+    private final Duration maximumDuration;
+
+    /** Period of tickers history read from the tickers table. */
+    private final Duration warmUpPeriod;
+
+    /** Positions status read from database (null until the first recovery, guarded by this). */
+    private Map<Long, PositionStatusDTO> positionsStatus;
+
+    /** Journal state (null until the first recovery or if the journal is disabled, guarded by this). */
+    private JournalState journalState;
+
+    /** Tickers found in the journal by currency pair, oldest first (guarded by this). */
+    private final Map<CurrencyPairDTO, List<TickerDTO>> journalTickers = new LinkedHashMap<>();
+
+    /** Tickers history by currency pair, oldest first (guarded by this). */
+    private final Map<CurrencyPairDTO, List<TickerDTO>> tickersHistory = new LinkedHashMap<>();
+
+    /** Time the recovery deadline is reached (nano time, guarded by this). */
+    private long deadline;
+
+    /** True if tickers were not kept because the maximum recovery duration was reached (guarded by this). */
+    private boolean truncated;
+
+    /**
+     * Constructor.
+     *
+     * @param newPositionRepository position repository
+     * @param newTickerRepository   ticker repository (null if tickers history is not read from database)
+     * @param newEventJournal       event journal (null if the journal is disabled)
+     * @param newEnabled            true if the state is recovered
+     * @param newMaximumDuration    maximum recovery duration
+     * @param newWarmUpPeriod       period of tickers history read from the tickers table
+     */
+    public StrategyRecovery(final PositionRepository newPositionRepository,
+                            final TickerRepository newTickerRepository,
+                            final EventJournal newEventJournal,
+                            final boolean newEnabled,
+                            final Duration newMaximumDuration,
+                            final Duration newWarmUpPeriod) {
+        this.positionRepository = newPositionRepository;
+        this.tickerRepository = newTickerRepository;
+        this.eventJournal = newEventJournal;
+        this.enabled = newEnabled;
+        this.maximumDuration = newMaximumDuration;
+        this.warmUpPeriod = newWarmUpPeriod;
+    }
+
+    /**
+     * Recovers the state of a strategy.
+     *
+     * @param currencyPairs currency pairs requested by the strategy
+     * @param accounts      accounts retrieved from the exchange at startup
+     * @return state
+     */
+    public final synchronized StrategyState recover(final Set<CurrencyPairDTO> currencyPairs, final Collection<AccountDTO> accounts) {
+        final long start = System.nanoTime();
+        final StrategyState.StrategyStateBuilder state = StrategyState.builder();
+        if (enabled) {
+            replay(start);
+
+            // Accounts & last tickers from the journal.
+            if (journalState != null) {
+                journalState.getAccounts().forEach(state::account);
+                journalState.getTickers().forEach((currencyPair, ticker) -> {
+                    if (currencyPairs.contains(currencyPair)) {
+                        state.lastTicker(currencyPair, ticker);
+                    }
+                });
+            }
+
+            // Positions status & tickers history.
+            state.positionsStatus(positionsStatus);
+            currencyPairs.forEach(currencyPair -> {
+                final List<TickerDTO> tickers = getTickersHistory(currencyPair);
+                state.tickers(tickers);
+                if (journalState == null && !tickers.isEmpty()) {
+                    state.lastTicker(currencyPair, tickers.get(tickers.size() - 1));
+                }
+            });
+            if (truncated) {
+                logger.warn("StrategyRecovery - Tickers history truncated after {} ms (reduce the warm-up period)",
+                        maximumDuration.toMillis());
+            }
+        }
+
+        // Accounts from the exchange are more recent.
+        accounts.forEach(account -> state.account(account.getAccountId(), account));
+        final long recoveryTime = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        final StrategyState recoveredState = state.recoveryTime(recoveryTime).build();
+        logger.info("StrategyRecovery - State recovered in {} ms ({} accounts, {} last tickers, {} positions, {} tickers history)",
+                recoveryTime,
+                recoveredState.getAccounts().size(),
+                recoveredState.getLastTickers().size(),
+                recoveredState.getPositionsStatus().size(),
+                recoveredState.getTickers().size());
+        if (recoveryTime > maximumDuration.toMillis()) {
+            logger.warn("StrategyRecovery - Recovery took {} ms, more than the maximum of {} ms", recoveryTime, maximumDuration.toMillis());
+        }
+        return recoveredState;
+    }
+
+    /**
+     * Reads positions status from database and replays the journal (only done at the first recovery).
+     *
+     * @param start time the recovery started (nano time)
+     */
+    private void replay(final long start) {
+        if (positionsStatus != null) {
+            return;
+        }
+        deadline = start + maximumDuration.toNanos();
+        positionsStatus = new LinkedHashMap<>();
+        positionRepository.findStatusByStatusNot(CLOSED).forEach(p -> positionsStatus.put(p.getId(), p.getStatus()));
+        if (eventJournal != null) {
+            journalState = eventJournal.recover(event -> {
+                if (event.getType() == TICKER) {
+                    if (System.nanoTime() < deadline) {
+                        final TickerDTO ticker = (TickerDTO) event.getValue();
+                        journalTickers.computeIfAbsent(ticker.getCurrencyPair(), currencyPair -> new ArrayList<>()).add(ticker);
+                    } else {
+                        truncated = true;
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the tickers history of a currency pair : tickers from the tickers table over the warm-up period, followed
+     * by the more recent tickers found in the journal.
+     *
+     * @param currencyPair currency pair
+     * @return tickers, oldest first
+     */
+    private List<TickerDTO> getTickersHistory(final CurrencyPairDTO currencyPair) {
+        return tickersHistory.computeIfAbsent(currencyPair, cp -> {
+            final List<TickerDTO> tickers = new ArrayList<>();
+            if (tickerRepository != null && !warmUpPeriod.isZero()) {
+                if (System.nanoTime() < deadline) {
+                    final ZonedDateTime now = ZonedDateTime.now();
+                    tickerRepository.findByCurrencyPairAndTimestampBetweenOrderByTimestamp(cp.toString(), now.minus(warmUpPeriod), now)
+                            .stream()
+                            .map(tickerMapper::mapToTickerDTO)
+                            .forEach(tickers::add);
+                } else {
+                    truncated = true;
+                }
+            }
+
+            // Tickers saved in the journal after the last ticker saved in the table.
+            final Optional<ZonedDateTime> lastTimestamp = tickers.stream().reduce((first, second) -> second).map(TickerDTO::getTimestamp);
+            journalTickers.getOrDefault(cp, Collections.emptyList())
+                    .stream()
+                    .filter(ticker -> lastTimestamp.isEmpty() || ticker.getTimestamp().isAfter(lastTimestamp.get()))
+                    .forEach(tickers::add);
+            return Collections.unmodifiableList(tickers);
+        });
+    }
+
+}
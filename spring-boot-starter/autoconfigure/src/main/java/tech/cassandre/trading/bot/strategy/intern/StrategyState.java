@@ -0,0 +1,45 @@
+package tech.cassandre.trading.bot.strategy.intern;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+import tech.cassandre.trading.bot.dto.market.TickerDTO;
+import tech.cassandre.trading.bot.dto.position.PositionStatusDTO;
+import tech.cassandre.trading.bot.dto.user.AccountDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+
+import java.util.List;
+import java.util.Map;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Strategy state restored after a restart, before the fluxes are connected.
+ */
+@Value
+@Builder
+@AllArgsConstructor(access = PRIVATE)
+@SuppressWarnings("checkstyle:VisibilityModifier")
+public class StrategyState {
+
+    /** Accounts by account id. */
+    @Singular
+    Map<String, AccountDTO> accounts;
+
+    /** Last ticker by currency pair. */
+    @Singular
+    Map<CurrencyPairDTO, TickerDTO> lastTickers;
+
+    /** Status of the positions not closed, by position technical id. */
+    @Singular("positionStatus")
+    Map<Long, PositionStatusDTO> positionsStatus;
+
+    /** Tickers received before the restart, oldest first (used to rebuild bar series). */
+    @Singular("ticker")
+    List<TickerDTO> tickers;
+
+    /** Time spent to recover the state (milliseconds). */
+    long recoveryTime;
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Strategy intern implementation.
+ */
+package tech.cassandre.trading.bot.strategy.intern;
@@ -1,11 +1,15 @@
 package tech.cassandre.trading.bot.util.base;
 
+import reactor.core.publisher.BufferOverflowStrategy;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
-import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
 
-import java.util.Set;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
+import static reactor.core.publisher.FluxSink.OverflowStrategy.BUFFER;
 import static reactor.core.publisher.FluxSink.OverflowStrategy.LATEST;
 
 /**
@@ -15,18 +19,32 @@ import static reactor.core.publisher.FluxSink.OverflowStrategy.LATEST;
  */
 public abstract class BaseExternalFlux<T> extends Base {
 
+    /** Number of values dropped between two warnings. */
+    private static final long DROPS_LOG_INTERVAL = 1000;
+
     /** Flux. */
     private final Flux<T> flux;
 
     /** Flux sink. */
     private FluxSink<T> fluxSink;
 
+    /** Journal recording each value before it is saved (null if values are not journaled). */
+    private Consumer<T> journal;
+
+    /** Number of values dropped because the subscribers were too slow (bounded buffer only). */
+    private final AtomicLong droppedValues = new AtomicLong();
+
     /**
      * Constructor.
+     * Values are delivered to the subscribers on a single thread shared by all the fluxes. With the BUFFER overflow
+     * strategy and a buffer size, the oldest values are dropped when the buffer is full and each drop is counted.
      */
     public BaseExternalFlux() {
         Flux<T> fluxTemp = Flux.create(newFluxSink -> this.fluxSink = newFluxSink, getOverflowStrategy());
-        flux = fluxTemp.publishOn(Schedulers.elastic());
+        if (getOverflowStrategy() == BUFFER && getBufferSize() > 0) {
+            fluxTemp = fluxTemp.onBackpressureBuffer(getBufferSize(), this::valueDropped, BufferOverflowStrategy.DROP_OLDEST);
+        }
+        flux = fluxTemp.publishOn(FluxSchedulers.SUBSCRIBERS, getPrefetch());
     }
 
     /**
@@ -39,12 +57,33 @@ public abstract class BaseExternalFlux<T> extends Base {
         return LATEST;
     }
 
+    /**
+     * Set the number of values waiting for the subscribers - override to change it.
+     *
+     * @return number of values waiting for the subscribers
+     */
+    @SuppressWarnings("SameReturnValue")
+    protected int getPrefetch() {
+        return Queues.SMALL_BUFFER_SIZE;
+    }
+
+    /**
+     * Set the maximum number of values buffered for slow subscribers with the BUFFER overflow strategy - override to
+     * bound the buffer (0, the default, means unbounded).
+     *
+     * @return buffer size
+     */
+    @SuppressWarnings("SameReturnValue")
+    protected int getBufferSize() {
+        return 0;
+    }
+
     /**
      * Implements this method to return all the new values. Those values will be sent to the strategy.
      *
-     * @return list of new values
+     * @return list of new values (usually a set, a list if equal values are different events)
      */
-    protected abstract Set<T> getNewValues();
+    protected abstract Collection<T> getNewValues();
 
     /**
      * Method executed when values must be updated (usually called by the Scheduler).
@@ -69,10 +108,56 @@ public abstract class BaseExternalFlux<T> extends Base {
      */
     public void emitValue(final T newValue) {
         logger.debug("{} flux emits a new value : {}", this.getClass().getName(), newValue);
+        journalValue(newValue);
         saveValue(newValue);
         fluxSink.next(newValue);
     }
 
+    /**
+     * Records a value in the journal (an error is logged, the value is still saved and emitted).
+     *
+     * @param newValue new value
+     */
+    private void journalValue(final T newValue) {
+        if (journal != null) {
+            try {
+                journal.accept(newValue);
+            } catch (RuntimeException e) {
+                logger.error("{} - Error writing value in journal : {}", this.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Counts a value dropped from a full buffer (logged on the first drop, then every {@link #DROPS_LOG_INTERVAL} drops).
+     *
+     * @param droppedValue value dropped
+     */
+    private void valueDropped(final T droppedValue) {
+        final long drops = droppedValues.incrementAndGet();
+        if (drops % DROPS_LOG_INTERVAL == 1) {
+            logger.warn("{} - Subscribers too slow, {} value(s) dropped so far (last : {})", this.getClass().getSimpleName(), drops, droppedValue);
+        }
+    }
+
+    /**
+     * Returns the number of values dropped because the subscribers were too slow (bounded buffer only).
+     *
+     * @return number of values dropped
+     */
+    public final long getDroppedValues() {
+        return droppedValues.get();
+    }
+
+    /**
+     * Setter for journal.
+     *
+     * @param newJournal journal recording each value before it is saved
+     */
+    public final void setJournal(final Consumer<T> newJournal) {
+        this.journal = newJournal;
+    }
+
     /**
      * Getter for flux.
      *
@@ -2,7 +2,8 @@ package tech.cassandre.trading.bot.util.base;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
-import reactor.core.scheduler.Schedulers;
+
+import java.util.function.Consumer;
 
 import static reactor.core.publisher.FluxSink.OverflowStrategy.LATEST;
 
@@ -19,12 +20,16 @@ public abstract class BaseInternalFlux<T> extends Base {
     /** Flux sink. */
     private FluxSink<T> fluxSink;
 
+    /** Journal recording each value before it is saved (null if values are not journaled). */
+    private Consumer<T> journal;
+
     /**
      * Constructor.
+     * Values are delivered to the subscribers on a single thread shared by all the fluxes.
      */
     public BaseInternalFlux() {
         Flux<T> fluxTemp = Flux.create(newFluxSink -> this.fluxSink = newFluxSink, getOverflowStrategy());
-        flux = fluxTemp.publishOn(Schedulers.elastic());
+        flux = fluxTemp.publishOn(FluxSchedulers.SUBSCRIBERS);
     }
 
     /**
@@ -54,11 +59,36 @@ public abstract class BaseInternalFlux<T> extends Base {
     public void emitValue(final T newValue) {
         logger.debug("{} flux emits a new value : {}", this.getClass().getName(), newValue);
         if (newValue != null) {
+            journalValue(newValue);
             saveValue(newValue);
             fluxSink.next(newValue);
         }
     }
 
+    /**
+     * Records a value in the journal (an error is logged, the value is still saved and emitted).
+     *
+     * @param newValue new value
+     */
+    private void journalValue(final T newValue) {
+        if (journal != null) {
+            try {
+                journal.accept(newValue);
+            } catch (RuntimeException e) {
+                logger.error("{} - Error writing value in journal : {}", this.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Setter for journal.
+     *
+     * @param newJournal journal recording each value before it is saved
+     */
+    public final void setJournal(final Consumer<T> newJournal) {
+        this.journal = newJournal;
+    }
+
     /**
      * Getter for flux.
      *
@@ -1,44 +1,107 @@
 package tech.cassandre.trading.bot.util.base;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Bucket4j;
+import tech.cassandre.trading.bot.util.concurrent.CircuitBreaker;
+import tech.cassandre.trading.bot.util.concurrent.ExchangeExecutor;
+import tech.cassandre.trading.bot.util.concurrent.HedgedRequest;
+import tech.cassandre.trading.bot.util.ratelimit.ExchangeRequestScheduler;
+import tech.cassandre.trading.bot.util.ratelimit.RequestPriority;
 
-import java.time.Duration;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Base service.
  */
 public abstract class BaseService extends Base {
 
-    /** Bucket. */
-    private final Bucket bucket;
+    /** Exchange request scheduler. */
+    private final ExchangeRequestScheduler requestScheduler;
+
+    /** Exchange executor (null if the service doesn't run asynchronous exchange requests). */
+    private final ExchangeExecutor exchangeExecutor;
 
     /**
-     * Construct a base service without rate limit.
+     * Construct a base service without rate limit and without exchange executor.
      */
     public BaseService() {
-        Bandwidth limit = Bandwidth.simple(1, Duration.ofMillis(1));
-        bucket = Bucket4j.builder().addLimit(limit).build();
+        requestScheduler = new ExchangeRequestScheduler();
+        exchangeExecutor = null;
+    }
+
+    /**
+     * Constructs a base service sharing the exchange request scheduler, without exchange executor.
+     *
+     * @param newRequestScheduler exchange request scheduler
+     */
+    public BaseService(final ExchangeRequestScheduler newRequestScheduler) {
+        requestScheduler = newRequestScheduler;
+        exchangeExecutor = null;
+    }
+
+    /**
+     * Constructs a base service sharing the exchange request scheduler and the exchange executor.
+     *
+     * @param newRequestScheduler exchange request scheduler
+     * @param newExchangeExecutor exchange executor
+     */
+    public BaseService(final ExchangeRequestScheduler newRequestScheduler, final ExchangeExecutor newExchangeExecutor) {
+        requestScheduler = newRequestScheduler;
+        exchangeExecutor = newExchangeExecutor;
+    }
+
+    /**
+     * Getter for requestScheduler.
+     *
+     * @return requestScheduler
+     */
+    public final ExchangeRequestScheduler getRequestScheduler() {
+        return requestScheduler;
     }
 
     /**
-     * Constructs a base service with a rate limit.
+     * Getter for exchangeExecutor.
+     * Services running asynchronous exchange requests are constructed with the executor shared by the exchange
+     * account : services are never given an executor of their own, as nothing would shut it down.
      *
-     * @param rate rate in ms
+     * @return exchangeExecutor (null if the service was constructed without one)
      */
-    public BaseService(final long rate) {
-        Bandwidth limit = Bandwidth.simple(1, Duration.ofMillis(rate));
-        bucket = Bucket4j.builder().addLimit(limit).build();
+    public final ExchangeExecutor getExchangeExecutor() {
+        return exchangeExecutor;
     }
 
     /**
-     * Getter for bucket.
+     * Sends an idempotent read request to an exchange endpoint, with a duplicate request if it's slow.
+     * The result is reported to the circuit breaker of the endpoint ; the caller must check the circuit breaker allows
+     * the request and acquire the request scheduler before calling it (a duplicate request acquires it too).
      *
-     * @return bucket
+     * @param circuitBreaker circuit breaker of the endpoint
+     * @param hedgedRequest  hedged request of the endpoint
+     * @param priority       request priority
+     * @param request        request
+     * @param <T>            result type
+     * @return result
+     * @throws IOException          exchange error
+     * @throws InterruptedException interrupted while waiting for the request scheduler
+     * @throws TimeoutException     no response received before the timeout
      */
-    public final Bucket getBucket() {
-        return bucket;
+    protected final <T> T read(final CircuitBreaker circuitBreaker,
+                               final HedgedRequest<T> hedgedRequest,
+                               final RequestPriority priority,
+                               final Callable<T> request) throws IOException, InterruptedException, TimeoutException {
+        try {
+            final T result = hedgedRequest.execute(request, () -> requestScheduler.acquire(priority));
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (IOException | TimeoutException e) {
+            circuitBreaker.onFailure();
+            throw e;
+        } catch (InterruptedException | RuntimeException e) {
+            // Not an exchange failure (a trial request not reported is replaced after the open duration).
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
     }
 
 }
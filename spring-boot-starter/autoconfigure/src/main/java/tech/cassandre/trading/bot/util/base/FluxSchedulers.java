@@ -0,0 +1,24 @@
+package tech.cassandre.trading.bot.util.base;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Schedulers shared by the fluxes.
+ */
+final class FluxSchedulers {
+
+    /**
+     * Scheduler delivering the values of all the fluxes to their subscribers, one value at a time.
+     * Fluxes may be polled concurrently (virtual threads mode) but strategies are written for callbacks that never run
+     * in parallel : this single thread is the only one calling them.
+     */
+    static final Scheduler SUBSCRIBERS = Schedulers.newSingle("cassandre-flux-subscribers", true);
+
+    /**
+     * Private constructor.
+     */
+    private FluxSchedulers() {
+    }
+
+}
@@ -0,0 +1,134 @@
+package tech.cassandre.trading.bot.util.cache;
+
+import org.knowm.xchange.dto.meta.ExchangeMetaData;
+import org.knowm.xchange.utils.ObjectMapperHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * On-disk cache of the exchange metadata (currency pairs, fees, scales...).
+ * The metadata is stored in the XChange JSON format so XChange can load it instead of calling the exchange at startup.
+ * The file name contains the cache format version : a new version ignores the files written by previous versions.
+ */
+public class ExchangeMetaDataCache {
+
+    /** Cache format version. */
+    public static final int CACHE_VERSION = 1;
+
+    /** Logger. */
+    private final Logger logger = LoggerFactory.getLogger(ExchangeMetaDataCache.class);
+
+    /** Cache file. */
+    private final Path file;
+
+    /** Time during which the cached metadata can be used. */
+    private final Duration ttl;
+
+    /**
+     * Constructor.
+     *
+     * @param directory cache directory
+     * @param key       cache key (exchange name, sandbox...)
+     * @param newTtl    time during which the cached metadata can be used
+     */
+    public ExchangeMetaDataCache(final Path directory, final String key, final Duration newTtl) {
+        this.file = directory.resolve(key.toLowerCase() + "-metadata-v" + CACHE_VERSION + ".json");
+        this.ttl = newTtl;
+    }
+
+    /**
+     * Returns the cached metadata file if it exists, has not expired and can be read.
+     *
+     * @return cache file
+     */
+    public final Optional<Path> getValidFile() {
+        final Optional<Duration> age = getAge();
+        if (age.isEmpty()) {
+            logger.info("ExchangeMetaDataCache - No cached metadata in {}", file);
+            return Optional.empty();
+        }
+        if (age.get().compareTo(ttl) >= 0) {
+            logger.info("ExchangeMetaDataCache - Cached metadata expired ({} old)", age.get());
+            return Optional.empty();
+        }
+        try {
+            final ExchangeMetaData metaData = ObjectMapperHelper.readValue(Files.readString(file), ExchangeMetaData.class);
+            if (metaData == null || metaData.getCurrencyPairs() == null || metaData.getCurrencyPairs().isEmpty()) {
+                logger.warn("ExchangeMetaDataCache - Cached metadata has no currency pair, ignoring {}", file);
+                return Optional.empty();
+            }
+            return Optional.of(file);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("ExchangeMetaDataCache - Invalid cached metadata in {} : {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Saves the metadata in the cache file (the file is replaced atomically).
+     *
+     * @param metaData exchange metadata
+     * @return true if saved
+     */
+    public final boolean save(final ExchangeMetaData metaData) {
+        if (metaData == null) {
+            return false;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            final Path temporaryFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            Files.writeString(temporaryFile, ObjectMapperHelper.toJSON(metaData), StandardCharsets.UTF_8);
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("ExchangeMetaDataCache - Metadata saved in {}", file);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("ExchangeMetaDataCache - Impossible to save metadata in {} : {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns the age of the cached metadata.
+     *
+     * @return age or empty if there is no cached metadata
+     */
+    public final Optional<Duration> getAge() {
+        try {
+            if (!Files.isRegularFile(file)) {
+                return Optional.empty();
+            }
+            final Instant lastUpdate = Files.getLastModifiedTime(file).toInstant();
+            return Optional.of(Duration.between(lastUpdate, Instant.now()));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Getter for file.
+     *
+     * @return file
+     */
+    public final Path getFile() {
+        return file;
+    }
+
+    /**
+     * Getter for ttl.
+     *
+     * @return ttl
+     */
+    public final Duration getTtl() {
+        return ttl;
+    }
+
+}
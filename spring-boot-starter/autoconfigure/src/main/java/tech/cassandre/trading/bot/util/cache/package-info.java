@@ -0,0 +1,4 @@
+/**
+ * Exchange data caches.
+ */
+package tech.cassandre.trading.bot.util.cache;
@@ -0,0 +1,167 @@
+package tech.cassandre.trading.bot.util.concurrent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker of an exchange endpoint.
+ * After a number of consecutive failures, the circuit opens and requests are rejected (load shedding) during the open
+ * duration ; then, a single trial request is allowed : if it succeeds, the circuit closes, if not, it opens again.
+ */
+public class CircuitBreaker {
+
+    /** Circuit breaker state. */
+    public enum State {
+
+        /** Requests are allowed. */
+        CLOSED,
+
+        /** Requests are rejected. */
+        OPEN,
+
+        /** A trial request is allowed. */
+        HALF_OPEN
+
+    }
+
+    /** Logger. */
+    private final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    /** Endpoint name. */
+    private final String endpoint;
+
+    /** True if the circuit breaker is enabled (if not, requests are always allowed). */
+    private final boolean enabled;
+
+    /** Number of consecutive failures opening the circuit. */
+    private final int failureThreshold;
+
+    /** Time during which the circuit stays open (nanoseconds). */
+    private final long openDuration;
+
+    /** State (guarded by this). */
+    private State state = State.CLOSED;
+
+    /** Consecutive failures (guarded by this). */
+    private int failures;
+
+    /** Time the circuit was opened or the trial request was sent (nano time, guarded by this). */
+    private long openedAt;
+
+    /** True if the trial request is in flight (guarded by this). */
+    private boolean trialInFlight;
+
+    /**
+     * Constructs a disabled circuit breaker (requests are always allowed).
+     *
+     * @param newEndpoint endpoint name
+     */
+    public CircuitBreaker(final String newEndpoint) {
+        this.endpoint = newEndpoint;
+        this.enabled = false;
+        this.failureThreshold = 0;
+        this.openDuration = 0;
+    }
+
+    /**
+     * Constructs a circuit breaker.
+     *
+     * @param newEndpoint         endpoint name
+     * @param newFailureThreshold number of consecutive failures opening the circuit
+     * @param newOpenDuration     time during which the circuit stays open
+     */
+    public CircuitBreaker(final String newEndpoint, final int newFailureThreshold, final Duration newOpenDuration) {
+        if (newFailureThreshold <= 0) {
+            throw new IllegalArgumentException("Failure threshold must be positive");
+        }
+        this.endpoint = newEndpoint;
+        this.enabled = true;
+        this.failureThreshold = newFailureThreshold;
+        this.openDuration = newOpenDuration.toNanos();
+    }
+
+    /**
+     * Returns true if a request can be sent to the endpoint.
+     * When it returns true, the result of the request must be reported with {@link #onSuccess()} or
+     * {@link #onFailure()} ; a trial request never reported is replaced by a new one after the open duration.
+     *
+     * @return true if the request is allowed, false if it must be shed
+     */
+    public final synchronized boolean allowRequest() {
+        if (!enabled) {
+            return true;
+        }
+        switch (state) {
+            case OPEN:
+                if (System.nanoTime() - openedAt < openDuration) {
+                    return false;
+                }
+                logger.info("CircuitBreaker - {} half open, sending a trial request", endpoint);
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                openedAt = System.nanoTime();
+                return true;
+            case HALF_OPEN:
+                if (trialInFlight && System.nanoTime() - openedAt < openDuration) {
+                    return false;
+                }
+                trialInFlight = true;
+                openedAt = System.nanoTime();
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Reports a successful request.
+     */
+    public final synchronized void onSuccess() {
+        if (!enabled) {
+            return;
+        }
+        if (state != State.CLOSED) {
+            logger.info("CircuitBreaker - {} closed", endpoint);
+        }
+        state = State.CLOSED;
+        failures = 0;
+        trialInFlight = false;
+    }
+
+    /**
+     * Reports a failed request.
+     */
+    public final synchronized void onFailure() {
+        if (!enabled) {
+            return;
+        }
+        failures++;
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && failures >= failureThreshold)) {
+            logger.warn("CircuitBreaker - {} open after {} consecutive failure(s)", endpoint, failures);
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Getter for state.
+     *
+     * @return state
+     */
+    public final synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Getter for endpoint.
+     *
+     * @return endpoint name
+     */
+    public final String getEndpoint() {
+        return endpoint;
+    }
+
+}
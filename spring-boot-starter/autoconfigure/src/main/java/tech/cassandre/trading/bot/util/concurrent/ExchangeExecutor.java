@@ -0,0 +1,368 @@
+package tech.cassandre.trading.bot.util.concurrent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Executor running exchange I/O requests with a timeout.
+ * By default, requests run on a bounded pool of platform threads. In virtual threads mode (Java 21+), each request
+ * runs on its own virtual thread.
+ */
+public class ExchangeExecutor {
+
+    /** Default request timeout. */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    /** Default number of threads. */
+    private static final int DEFAULT_THREADS = 10;
+
+    /** Maximum number of tasks waiting for a thread. */
+    private static final int MAXIMUM_QUEUED_TASKS = 10_000;
+
+    /** Time an idle thread is kept alive (seconds). */
+    private static final int THREAD_TIME_TO_LIVE = 60;
+
+    /** Thread name prefix. */
+    private static final String THREAD_NAME_PREFIX = "cassandre-exchange-io";
+
+    /** Hedged requests thread name prefix. */
+    private static final String HEDGING_THREAD_NAME_PREFIX = "cassandre-exchange-hedging";
+
+    /** Logger. */
+    private final Logger logger = LoggerFactory.getLogger(ExchangeExecutor.class);
+
+    /** Executor service running the requests. */
+    private final ExecutorService executorService;
+
+    /** Reactor scheduler running the requests. */
+    private final Scheduler scheduler;
+
+    /** Request timeout. */
+    private final Duration timeout;
+
+    /** True if requests run on virtual threads. */
+    private final boolean virtual;
+
+    /** Freshness window of coalesced read requests (null if coalescing is disabled). */
+    private final Duration coalescingWindow;
+
+    /** Executor service running hedged read requests (null if hedging is disabled). */
+    private final ExecutorService hedgingExecutorService;
+
+    /** Minimum time to wait before sending a duplicate read request. */
+    private final Duration hedgingMinimumDelay;
+
+    /** Number of consecutive failures opening the circuit of an endpoint (0 if circuit breakers are disabled). */
+    private final int circuitBreakerFailures;
+
+    /** Time during which the circuit of an endpoint stays open. */
+    private final Duration circuitBreakerOpenDuration;
+
+    /**
+     * Constructs an executor with the default number of threads and the default timeout.
+     */
+    public ExchangeExecutor() {
+        this(DEFAULT_THREADS, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Constructs an executor with a bounded pool of platform threads.
+     *
+     * @param threads    maximum number of threads
+     * @param newTimeout request timeout
+     */
+    public ExchangeExecutor(final int threads, final Duration newTimeout) {
+        this(threads, newTimeout, false);
+    }
+
+    /**
+     * Constructs an executor.
+     *
+     * @param threads           maximum number of threads (platform threads mode)
+     * @param newTimeout        request timeout
+     * @param useVirtualThreads true to run requests on virtual threads if the JVM supports them
+     */
+    public ExchangeExecutor(final int threads, final Duration newTimeout, final boolean useVirtualThreads) {
+        this(threads, newTimeout, useVirtualThreads, null);
+    }
+
+    /**
+     * Constructs an executor.
+     *
+     * @param threads             maximum number of threads (platform threads mode)
+     * @param newTimeout          request timeout
+     * @param useVirtualThreads   true to run requests on virtual threads if the JVM supports them
+     * @param newCoalescingWindow freshness window of coalesced read requests (null to disable coalescing)
+     */
+    public ExchangeExecutor(final int threads, final Duration newTimeout, final boolean useVirtualThreads, final Duration newCoalescingWindow) {
+        this(threads, newTimeout, useVirtualThreads, newCoalescingWindow, null, 0, null);
+    }
+
+    /**
+     * Constructs an executor.
+     *
+     * @param threads                       maximum number of threads (platform threads mode)
+     * @param newTimeout                    request timeout
+     * @param useVirtualThreads             true to run requests on virtual threads if the JVM supports them
+     * @param newCoalescingWindow           freshness window of coalesced read requests (null to disable coalescing)
+     * @param newHedgingMinimumDelay        minimum time to wait before sending a duplicate read request (null to disable hedging)
+     * @param newCircuitBreakerFailures     number of consecutive failures opening the circuit of an endpoint (0 to disable circuit breakers)
+     * @param newCircuitBreakerOpenDuration time during which the circuit of an endpoint stays open
+     */
+    public ExchangeExecutor(final int threads,
+                            final Duration newTimeout,
+                            final boolean useVirtualThreads,
+                            final Duration newCoalescingWindow,
+                            final Duration newHedgingMinimumDelay,
+                            final int newCircuitBreakerFailures,
+                            final Duration newCircuitBreakerOpenDuration) {
+        this.timeout = newTimeout;
+        this.coalescingWindow = newCoalescingWindow;
+        this.hedgingMinimumDelay = newHedgingMinimumDelay;
+        this.circuitBreakerFailures = newCircuitBreakerFailures;
+        this.circuitBreakerOpenDuration = newCircuitBreakerOpenDuration;
+        Optional<ExecutorService> virtualExecutor = Optional.empty();
+        if (useVirtualThreads) {
+            virtualExecutor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+            if (virtualExecutor.isEmpty()) {
+                logger.warn("ExchangeExecutor - Virtual threads require Java 21 or later, using {} platform threads", threads);
+            }
+        }
+        if (virtualExecutor.isPresent()) {
+            this.executorService = virtualExecutor.get();
+            this.virtual = true;
+        } else {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads,
+                    threads,
+                    THREAD_TIME_TO_LIVE,
+                    TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(MAXIMUM_QUEUED_TASKS),
+                    new PlatformThreadFactory());
+            pool.allowCoreThreadTimeOut(true);
+            this.executorService = pool;
+            this.virtual = false;
+        }
+        this.scheduler = Schedulers.fromExecutorService(executorService, THREAD_NAME_PREFIX);
+
+        // Hedged requests have their own threads : callers may already run on the I/O threads (fan-out).
+        if (newHedgingMinimumDelay == null) {
+            this.hedgingExecutorService = null;
+        } else if (virtual) {
+            this.hedgingExecutorService = VirtualThreads.newVirtualThreadPerTaskExecutor().orElseThrow();
+        } else {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads * 2,
+                    threads * 2,
+                    THREAD_TIME_TO_LIVE,
+                    TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(MAXIMUM_QUEUED_TASKS),
+                    new PlatformThreadFactory(HEDGING_THREAD_NAME_PREFIX));
+            pool.allowCoreThreadTimeOut(true);
+            this.hedgingExecutorService = pool;
+        }
+    }
+
+    /**
+     * Returns a mono executing the call on the executor, failing with a TimeoutException if it takes too long.
+     * The call is only executed when the mono is subscribed.
+     *
+     * @param call call
+     * @param <T>  result type
+     * @return mono
+     */
+    public final <T> Mono<T> execute(final Callable<T> call) {
+        return Mono.fromCallable(call)
+                .subscribeOn(scheduler)
+                .timeout(timeout);
+    }
+
+    /**
+     * Runs the function on each input concurrently and waits for all of them (structured fan-out).
+     * The calling thread is blocked until all calls are finished or until the timeout ; calls not finished at the
+     * timeout are cancelled and calls that failed are not in the result.
+     *
+     * @param inputs   inputs
+     * @param function function to call on each input
+     * @param <I>      input type
+     * @param <R>      result type
+     * @return results by input (same order as inputs)
+     */
+    public final <I, R> Map<I, R> fanOut(final Collection<I> inputs, final Function<I, R> function) {
+        final List<I> orderedInputs = new ArrayList<>(inputs);
+        final List<Callable<R>> tasks = new ArrayList<>(orderedInputs.size());
+        orderedInputs.forEach(input -> tasks.add(() -> function.apply(input)));
+
+        final Map<I, R> results = new LinkedHashMap<>();
+        try {
+            final List<Future<R>> futures = executorService.invokeAll(tasks, timeout.toMillis(), TimeUnit.MILLISECONDS);
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    final R result = futures.get(i).get();
+                    if (result != null) {
+                        results.put(orderedInputs.get(i), result);
+                    }
+                } catch (ExecutionException | CancellationException e) {
+                    logger.error("ExchangeExecutor - Call for {} failed : {}", orderedInputs.get(i), e.getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            logger.error("ExchangeExecutor - Fan-out interrupted : {}", e.getMessage());
+            Thread.currentThread().interrupt();
+        }
+        return results;
+    }
+
+    /**
+     * Returns a new single-flight used to coalesce concurrent calls of a read request.
+     *
+     * @param <T> result type
+     * @return single-flight (disabled if coalescing is disabled)
+     */
+    public final <T> SingleFlight<T> newSingleFlight() {
+        if (coalescingWindow != null) {
+            return new SingleFlight<>(coalescingWindow);
+        } else {
+            return new SingleFlight<>();
+        }
+    }
+
+    /**
+     * Returns a new hedged request used to send a duplicate of a slow idempotent read request.
+     *
+     * @param <T> result type
+     * @return hedged request (disabled if hedging is disabled)
+     */
+    public final <T> HedgedRequest<T> newHedgedRequest() {
+        if (hedgingExecutorService != null) {
+            return new HedgedRequest<>(hedgingExecutorService, hedgingMinimumDelay, timeout);
+        } else {
+            return new HedgedRequest<>();
+        }
+    }
+
+    /**
+     * Returns a new circuit breaker for an exchange endpoint.
+     *
+     * @param endpoint endpoint name
+     * @return circuit breaker (disabled if circuit breakers are disabled)
+     */
+    public final CircuitBreaker newCircuitBreaker(final String endpoint) {
+        if (circuitBreakerFailures > 0) {
+            return new CircuitBreaker(endpoint, circuitBreakerFailures, circuitBreakerOpenDuration);
+        } else {
+            return new CircuitBreaker(endpoint);
+        }
+    }
+
+    /**
+     * Returns a thread factory matching the executor mode (virtual or platform threads).
+     *
+     * @param prefix thread name prefix
+     * @return thread factory
+     */
+    public final ThreadFactory getThreadFactory(final String prefix) {
+        if (virtual) {
+            final Optional<ThreadFactory> factory = VirtualThreads.newThreadFactory(prefix);
+            if (factory.isPresent()) {
+                return factory.get();
+            }
+        }
+        return new PlatformThreadFactory(prefix);
+    }
+
+    /**
+     * Getter for scheduler.
+     *
+     * @return scheduler
+     */
+    public final Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Getter for timeout.
+     *
+     * @return timeout
+     */
+    public final Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Returns true if requests run on virtual threads.
+     *
+     * @return true if virtual threads are used
+     */
+    public final boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Releases the threads of the executor.
+     */
+    public final void shutdown() {
+        scheduler.dispose();
+        executorService.shutdown();
+        if (hedgingExecutorService != null) {
+            hedgingExecutorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Platform daemon thread factory.
+     */
+    private static final class PlatformThreadFactory implements ThreadFactory {
+
+        /** Thread counter. */
+        private final AtomicInteger counter = new AtomicInteger();
+
+        /** Thread name prefix. */
+        private final String prefix;
+
+        /**
+         * Constructor with the default prefix.
+         */
+        PlatformThreadFactory() {
+            this(THREAD_NAME_PREFIX);
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param newPrefix thread name prefix
+         */
+        PlatformThreadFactory(final String newPrefix) {
+            this.prefix = newPrefix;
+        }
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+}
@@ -0,0 +1,78 @@
+package tech.cassandre.trading.bot.util.concurrent;
+
+import java.time.Duration;
+
+/**
+ * Bounded exponential backoff - the delay doubles after each attempt, up to a maximum delay and a maximum number of
+ * attempts.
+ */
+public class ExponentialBackoff {
+
+    /** Default maximum number of attempts. */
+    public static final int DEFAULT_MAXIMUM_ATTEMPTS = 3;
+
+    /** Default delay after the first attempt. */
+    public static final Duration DEFAULT_INITIAL_DELAY = Duration.ofMillis(250);
+
+    /** Default maximum delay. */
+    public static final Duration DEFAULT_MAXIMUM_DELAY = Duration.ofSeconds(2);
+
+    /** Maximum number of attempts. */
+    private final int maximumAttempts;
+
+    /** Delay after the first attempt. */
+    private final Duration initialDelay;
+
+    /** Maximum delay. */
+    private final Duration maximumDelay;
+
+    /**
+     * Constructs a backoff with the default values.
+     */
+    public ExponentialBackoff() {
+        this(DEFAULT_MAXIMUM_ATTEMPTS, DEFAULT_INITIAL_DELAY, DEFAULT_MAXIMUM_DELAY);
+    }
+
+    /**
+     * Constructs a backoff.
+     *
+     * @param newMaximumAttempts maximum number of attempts
+     * @param newInitialDelay    delay after the first attempt
+     * @param newMaximumDelay    maximum delay
+     */
+    public ExponentialBackoff(final int newMaximumAttempts, final Duration newInitialDelay, final Duration newMaximumDelay) {
+        if (newMaximumAttempts <= 0) {
+            throw new IllegalArgumentException("Maximum attempts must be positive");
+        }
+        this.maximumAttempts = newMaximumAttempts;
+        this.initialDelay = newInitialDelay;
+        this.maximumDelay = newMaximumDelay;
+    }
+
+    /**
+     * Returns the delay to wait after an attempt.
+     *
+     * @param attempt attempt number (starting at 1)
+     * @return delay
+     */
+    public Duration getDelay(final int attempt) {
+        Duration delay = initialDelay;
+        for (int i = 1; i < attempt && delay.compareTo(maximumDelay) < 0; i++) {
+            delay = delay.multipliedBy(2);
+        }
+        if (delay.compareTo(maximumDelay) > 0) {
+            return maximumDelay;
+        }
+        return delay;
+    }
+
+    /**
+     * Getter maximumAttempts.
+     *
+     * @return maximum number of attempts
+     */
+    public int getMaximumAttempts() {
+        return maximumAttempts;
+    }
+
+}
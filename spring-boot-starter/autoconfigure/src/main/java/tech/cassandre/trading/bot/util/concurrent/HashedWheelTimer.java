@@ -0,0 +1,497 @@
+package tech.cassandre.trading.bot.util.concurrent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hashed wheel timer - runs delayed tasks on a single thread.
+ * A timeout is added to a queue when scheduled and moved to a bucket of the wheel (deadline / tick duration) by the
+ * timer thread, so scheduling and canceling are O(1) whatever the number of pending timeouts. Tasks are run with a
+ * precision of one tick on the timer thread : they must be short and must not block (send slow work to an executor).
+ * A single timer thread handles hundreds of thousands of pending timeouts.
+ */
+public class HashedWheelTimer {
+
+    /** Default tick duration. */
+    public static final Duration DEFAULT_TICK_DURATION = Duration.ofMillis(10);
+
+    /** Default number of buckets in the wheel. */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    /** Maximum number of timeouts moved from the queue to the wheel at each tick. */
+    private static final int MAXIMUM_TRANSFERS_PER_TICK = 100_000;
+
+    /** Thread name. */
+    private static final String THREAD_NAME = "cassandre-timer";
+
+    /** Timeout waiting to be run. */
+    private static final int STATE_INIT = 0;
+
+    /** Timeout canceled. */
+    private static final int STATE_CANCELED = 1;
+
+    /** Timeout expired (task run). */
+    private static final int STATE_EXPIRED = 2;
+
+    /** Logger. */
+    private final Logger logger = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    /** Tick duration in nanoseconds. */
+    private final long tickDuration;
+
+    /** Wheel buckets. */
+    private final Bucket[] wheel;
+
+    /** Mask used to find a bucket (wheel size - 1). */
+    private final int mask;
+
+    /** Timeouts scheduled and not yet added to the wheel. */
+    private final Queue<TimeoutImplementation> scheduledTimeouts = new ConcurrentLinkedQueue<>();
+
+    /** Timeouts canceled and not yet removed from the wheel. */
+    private final Queue<TimeoutImplementation> canceledTimeouts = new ConcurrentLinkedQueue<>();
+
+    /** Number of pending timeouts. */
+    private final AtomicLong pendingTimeouts = new AtomicLong();
+
+    /** Start time of the timer (nanoseconds). */
+    private final long startTime;
+
+    /** Timer thread. */
+    private final Thread worker;
+
+    /** True while the timer is running. */
+    private volatile boolean running = true;
+
+    /** Number of ticks since start (only used by the timer thread). */
+    private long tick;
+
+    /**
+     * Constructs a timer with the default tick duration and wheel size.
+     */
+    public HashedWheelTimer() {
+        this(DEFAULT_TICK_DURATION, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * Constructs a timer.
+     *
+     * @param newTickDuration tick duration (precision of the timer)
+     * @param newWheelSize    number of buckets in the wheel (rounded up to a power of two)
+     */
+    public HashedWheelTimer(final Duration newTickDuration, final int newWheelSize) {
+        if (newTickDuration.isNegative() || newTickDuration.isZero()) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (newWheelSize <= 0) {
+            throw new IllegalArgumentException("Wheel size must be positive");
+        }
+        this.tickDuration = newTickDuration.toNanos();
+        int size = 1;
+        while (size < newWheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, THREAD_NAME);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Schedules a task to be run once after a delay.
+     *
+     * @param task  task
+     * @param delay delay
+     * @return timeout (allowing to cancel the task)
+     */
+    public Timeout schedule(final Runnable task, final Duration delay) {
+        return schedule(task, System.nanoTime() - startTime + Math.max(0, delay.toNanos()));
+    }
+
+    /**
+     * Schedules a task to be run periodically - the next runs are scheduled from the previous deadline (not from the
+     * end of the previous run), so the period does not drift.
+     *
+     * @param task         task
+     * @param initialDelay delay before the first run
+     * @param period       period between two runs
+     * @return timeout (allowing to cancel the next runs)
+     */
+    public Timeout scheduleAtFixedRate(final Runnable task, final Duration initialDelay, final Duration period) {
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        final PeriodicTimeout timeout = new PeriodicTimeout(task, period.toNanos());
+        timeout.scheduleNext(System.nanoTime() - startTime + Math.max(0, initialDelay.toNanos()));
+        return timeout;
+    }
+
+    /**
+     * Schedules a task to be run once at a deadline.
+     *
+     * @param task     task
+     * @param deadline deadline (nanoseconds since timer start)
+     * @return timeout
+     */
+    private TimeoutImplementation schedule(final Runnable task, final long deadline) {
+        if (!running) {
+            throw new IllegalStateException("Timer stopped");
+        }
+        final TimeoutImplementation timeout = new TimeoutImplementation(task, deadline);
+        pendingTimeouts.incrementAndGet();
+        scheduledTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Returns the number of pending timeouts.
+     *
+     * @return number of pending timeouts
+     */
+    public long getPendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    /**
+     * Stops the timer - pending timeouts are not run.
+     */
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    /**
+     * Timer thread loop.
+     */
+    private void run() {
+        while (running) {
+            final long now = waitForNextTick();
+            if (now < 0) {
+                break;
+            }
+            final Bucket bucket = wheel[(int) (tick & mask)];
+            removeCanceledTimeouts();
+            transferScheduledTimeouts();
+            bucket.expireTimeouts(now);
+            tick++;
+        }
+        logger.debug("HashedWheelTimer - Timer stopped");
+    }
+
+    /**
+     * Waits for the next tick.
+     *
+     * @return time since start (nanoseconds) or -1 if the timer was stopped
+     */
+    private long waitForNextTick() {
+        final long deadline = tickDuration * (tick + 1);
+        while (true) {
+            final long now = System.nanoTime() - startTime;
+            final long sleepTime = deadline - now;
+            if (sleepTime <= 0) {
+                return now;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepTime);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the scheduled timeouts to their bucket.
+     */
+    private void transferScheduledTimeouts() {
+        for (int i = 0; i < MAXIMUM_TRANSFERS_PER_TICK; i++) {
+            final TimeoutImplementation timeout = scheduledTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() == STATE_INIT) {
+                final long deadlineTick = Math.max(timeout.deadline / tickDuration, tick);
+                timeout.remainingRounds = (deadlineTick - tick) / wheel.length;
+                wheel[(int) (deadlineTick & mask)].add(timeout);
+            }
+        }
+    }
+
+    /**
+     * Removes the canceled timeouts from their bucket.
+     */
+    private void removeCanceledTimeouts() {
+        TimeoutImplementation timeout = canceledTimeouts.poll();
+        while (timeout != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+            timeout = canceledTimeouts.poll();
+        }
+    }
+
+    /**
+     * Timeout returned when a task is scheduled.
+     */
+    public interface Timeout {
+
+        /**
+         * Cancels the task (no effect if it has already been run).
+         *
+         * @return true if the task was canceled
+         */
+        boolean cancel();
+
+        /**
+         * Returns true if the task has been canceled.
+         *
+         * @return true if canceled
+         */
+        boolean isCanceled();
+
+        /**
+         * Returns true if the task has been run.
+         *
+         * @return true if expired
+         */
+        boolean isExpired();
+
+    }
+
+    /**
+     * Timeout implementation - a node of the bucket linked list.
+     */
+    private final class TimeoutImplementation implements Timeout {
+
+        /** Task. */
+        private final Runnable task;
+
+        /** Deadline (nanoseconds since timer start). */
+        private final long deadline;
+
+        /** State. */
+        private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+
+        /** Number of wheel rounds before the deadline (only used by the timer thread). */
+        private long remainingRounds;
+
+        /** Bucket (only used by the timer thread). */
+        private Bucket bucket;
+
+        /** Next timeout in the bucket. */
+        private TimeoutImplementation next;
+
+        /** Previous timeout in the bucket. */
+        private TimeoutImplementation previous;
+
+        /**
+         * Constructor.
+         *
+         * @param newTask     task
+         * @param newDeadline deadline (nanoseconds since timer start)
+         */
+        private TimeoutImplementation(final Runnable newTask, final long newDeadline) {
+            this.task = newTask;
+            this.deadline = newDeadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (state.compareAndSet(STATE_INIT, STATE_CANCELED)) {
+                pendingTimeouts.decrementAndGet();
+                canceledTimeouts.add(this);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return state.get() == STATE_CANCELED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.get() == STATE_EXPIRED;
+        }
+
+        /**
+         * Runs the task.
+         */
+        private void expire() {
+            if (state.compareAndSet(STATE_INIT, STATE_EXPIRED)) {
+                pendingTimeouts.decrementAndGet();
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    logger.error("HashedWheelTimer - Error running task : {}", e.getMessage());
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Periodic timeout - each run schedules the next one.
+     */
+    private final class PeriodicTimeout implements Timeout {
+
+        /** Task. */
+        private final Runnable task;
+
+        /** Period in nanoseconds. */
+        private final long period;
+
+        /** Timeout of the next run. */
+        private volatile TimeoutImplementation next;
+
+        /** True if canceled. */
+        private volatile boolean canceled;
+
+        /**
+         * Constructor.
+         *
+         * @param newTask   task
+         * @param newPeriod period in nanoseconds
+         */
+        private PeriodicTimeout(final Runnable newTask, final long newPeriod) {
+            this.task = newTask;
+            this.period = newPeriod;
+        }
+
+        /**
+         * Schedules the next run.
+         *
+         * @param deadline deadline (nanoseconds since timer start)
+         */
+        private void scheduleNext(final long deadline) {
+            next = schedule(() -> {
+                try {
+                    task.run();
+                } finally {
+                    if (!canceled && running) {
+                        scheduleNext(deadline + period);
+                    }
+                }
+            }, deadline);
+            // Canceled while the next run was being scheduled.
+            if (canceled) {
+                next.cancel();
+            }
+        }
+
+        @Override
+        public boolean cancel() {
+            if (canceled) {
+                return false;
+            }
+            canceled = true;
+            next.cancel();
+            return true;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return false;
+        }
+
+    }
+
+    /**
+     * Wheel bucket - a doubly linked list of timeouts (only used by the timer thread).
+     */
+    private static final class Bucket {
+
+        /** First timeout. */
+        private TimeoutImplementation head;
+
+        /** Last timeout. */
+        private TimeoutImplementation tail;
+
+        /**
+         * Adds a timeout.
+         *
+         * @param timeout timeout
+         */
+        private void add(final TimeoutImplementation timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = timeout;
+                tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        /**
+         * Removes a timeout.
+         *
+         * @param timeout timeout
+         * @return next timeout
+         */
+        private TimeoutImplementation remove(final TimeoutImplementation timeout) {
+            final TimeoutImplementation next = timeout.next;
+            if (timeout.previous != null) {
+                timeout.previous.next = next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            return next;
+        }
+
+        /**
+         * Runs the timeouts whose deadline is reached and decrements the rounds of the others.
+         *
+         * @param now time since timer start (nanoseconds)
+         */
+        private void expireTimeouts(final long now) {
+            TimeoutImplementation timeout = head;
+            while (timeout != null) {
+                if (timeout.isCanceled()) {
+                    timeout = remove(timeout);
+                } else if (timeout.remainingRounds <= 0 && timeout.deadline <= now) {
+                    final TimeoutImplementation expired = timeout;
+                    timeout = remove(timeout);
+                    expired.expire();
+                } else {
+                    if (timeout.remainingRounds > 0) {
+                        timeout.remainingRounds--;
+                    }
+                    timeout = timeout.next;
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,246 @@
+package tech.cassandre.trading.bot.util.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hedged idempotent read request.
+ * The request is sent and, if it's not answered within the 95th percentile of the latencies observed, a duplicate
+ * request is sent : the first response received is used and the other request is cancelled. Both requests run on a
+ * dedicated executor and the caller waits at most the request timeout.
+ *
+ * @param <T> result type
+ */
+public class HedgedRequest<T> {
+
+    /** Percentile of the latencies after which a duplicate request is sent. */
+    public static final int HEDGING_PERCENTILE = 95;
+
+    /** Number of latencies kept. */
+    private static final int LATENCY_SAMPLES = 128;
+
+    /** Number of latencies required before sending duplicate requests. */
+    private static final int MINIMUM_SAMPLES = 20;
+
+    /** Percent. */
+    private static final int PERCENT = 100;
+
+    /** Executor service running the requests (null if hedging is disabled). */
+    private final ExecutorService executorService;
+
+    /** Minimum time to wait before sending a duplicate request (nanoseconds). */
+    private final long minimumDelay;
+
+    /** Request timeout (nanoseconds). */
+    private final long timeout;
+
+    /** Last latencies (ring buffer, guarded by itself). */
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+
+    /** Number of latencies recorded (guarded by latencies). */
+    private int latencyCount;
+
+    /** Number of duplicate requests sent. */
+    private final AtomicLong hedges = new AtomicLong();
+
+    /**
+     * Constructs a disabled hedged request (the request is executed by the caller).
+     */
+    public HedgedRequest() {
+        this.executorService = null;
+        this.minimumDelay = 0;
+        this.timeout = 0;
+    }
+
+    /**
+     * Constructs a hedged request.
+     *
+     * @param newExecutorService executor service running the requests
+     * @param newMinimumDelay    minimum time to wait before sending a duplicate request
+     * @param newTimeout         request timeout
+     */
+    public HedgedRequest(final ExecutorService newExecutorService, final Duration newMinimumDelay, final Duration newTimeout) {
+        this.executorService = newExecutorService;
+        this.minimumDelay = newMinimumDelay.toNanos();
+        this.timeout = newTimeout.toNanos();
+    }
+
+    /**
+     * Executes the request, sending a duplicate request if the first one is slow.
+     *
+     * @param request        request (must be idempotent)
+     * @param hedgeAdmission called before sending a duplicate request (the duplicate is not sent if it returns false)
+     * @return result of the first request answered
+     * @throws Exception exception raised by the requests (if both failed) or TimeoutException
+     */
+    public final T execute(final Callable<T> request, final Callable<Boolean> hedgeAdmission) throws Exception {
+        if (executorService == null) {
+            return request.call();
+        }
+
+        final long start = System.nanoTime();
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final AtomicInteger running = new AtomicInteger(1);
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        final List<Future<?>> calls = new ArrayList<>(2);
+        try {
+            calls.add(submit(request, result, running, failure));
+        } catch (RejectedExecutionException e) {
+            // No thread available, the caller executes the request.
+            final T value = request.call();
+            recordLatency(System.nanoTime() - start);
+            return value;
+        }
+
+        try {
+            final Optional<Long> delay = getHedgingDelayInNanos();
+            if (delay.isPresent()) {
+                try {
+                    return waitFor(result, start, delay.get());
+                } catch (TimeoutException e) {
+                    // The request is slow, we send a duplicate.
+                    running.incrementAndGet();
+                    try {
+                        calls.add(submit(() -> {
+                            if (result.isDone() || !hedgeAdmission.call()) {
+                                throw new RejectedExecutionException("Duplicate request not sent");
+                            }
+                            hedges.incrementAndGet();
+                            return request.call();
+                        }, result, running, failure));
+                    } catch (RejectedExecutionException rejected) {
+                        if (running.decrementAndGet() == 0 && failure.get() != null) {
+                            result.completeExceptionally(failure.get());
+                        }
+                    }
+                }
+            }
+            try {
+                return waitFor(result, start, timeout);
+            } catch (TimeoutException e) {
+                recordLatency(timeout);
+                throw e;
+            }
+        } finally {
+            calls.forEach(call -> call.cancel(true));
+        }
+    }
+
+    /**
+     * Submits a request completing the result.
+     *
+     * @param request request
+     * @param result  result
+     * @param running number of requests running
+     * @param failure last failure
+     * @return future of the request
+     */
+    private Future<?> submit(final Callable<T> request,
+                             final CompletableFuture<T> result,
+                             final AtomicInteger running,
+                             final AtomicReference<Exception> failure) {
+        return executorService.submit(() -> {
+            try {
+                result.complete(request.call());
+            } catch (Exception e) {
+                // The duplicate request was not sent : we keep the failure of the request sent.
+                if (!(e instanceof RejectedExecutionException) || failure.get() == null) {
+                    failure.set(e);
+                }
+            } finally {
+                if (running.decrementAndGet() == 0 && failure.get() != null) {
+                    result.completeExceptionally(failure.get());
+                }
+            }
+        });
+    }
+
+    /**
+     * Waits for the result and records its latency.
+     *
+     * @param result result
+     * @param start  time the request was sent (nano time)
+     * @param delay  time to wait from the start (nanoseconds)
+     * @return result
+     * @throws Exception exception raised by the requests or TimeoutException
+     */
+    private T waitFor(final CompletableFuture<T> result, final long start, final long delay) throws Exception {
+        try {
+            final T value = result.get(Math.max(start + delay - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            recordLatency(System.nanoTime() - start);
+            return value;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Records the latency of a request.
+     *
+     * @param latency latency (nanoseconds)
+     */
+    private void recordLatency(final long latency) {
+        synchronized (latencies) {
+            latencies[latencyCount % LATENCY_SAMPLES] = latency;
+            latencyCount++;
+        }
+    }
+
+    /**
+     * Returns the time to wait before sending a duplicate request : the 95th percentile of the latencies observed (or
+     * the minimum delay if it's longer).
+     *
+     * @return delay in nanoseconds (empty if not enough latencies were observed)
+     */
+    private Optional<Long> getHedgingDelayInNanos() {
+        final long[] samples;
+        synchronized (latencies) {
+            if (latencyCount < MINIMUM_SAMPLES) {
+                return Optional.empty();
+            }
+            samples = Arrays.copyOf(latencies, Math.min(latencyCount, LATENCY_SAMPLES));
+        }
+        Arrays.sort(samples);
+        final long percentile = samples[(samples.length * HEDGING_PERCENTILE - 1) / PERCENT];
+        return Optional.of(Math.min(Math.max(percentile, minimumDelay), timeout));
+    }
+
+    /**
+     * Returns the time to wait before sending a duplicate request.
+     *
+     * @return delay (empty if not enough latencies were observed or if hedging is disabled)
+     */
+    public final Optional<Duration> getHedgingDelay() {
+        if (executorService == null) {
+            return Optional.empty();
+        }
+        return getHedgingDelayInNanos().map(Duration::ofNanos);
+    }
+
+    /**
+     * Returns the number of duplicate requests sent.
+     *
+     * @return number of duplicate requests
+     */
+    public final long getHedges() {
+        return hedges.get();
+    }
+
+}
@@ -0,0 +1,124 @@
+package tech.cassandre.trading.bot.util.concurrent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serial executor - runs its tasks one after the other, in submission order, on a shared executor.
+ * Several serial executors can share the same pool : tasks of different serial executors run in parallel while tasks
+ * of the same serial executor never do. A serial executor gives its thread back to the pool after a batch of tasks
+ * so that a busy serial executor doesn't prevent the others from running.
+ * The number of tasks waiting can be bounded : when it's reached, new tasks are rejected.
+ */
+public class SerialExecutor implements Executor {
+
+    /** Maximum number of tasks run before giving the thread back to the pool. */
+    private static final int BATCH_SIZE = 64;
+
+    /** Logger. */
+    private final Logger logger = LoggerFactory.getLogger(SerialExecutor.class);
+
+    /** Shared executor. */
+    private final Executor executor;
+
+    /** Tasks waiting to be run. */
+    private final BlockingQueue<Runnable> tasks;
+
+    /** True if a batch of tasks is submitted to the shared executor or running. */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Constructor (the number of tasks waiting is not bounded).
+     *
+     * @param newExecutor shared executor
+     */
+    public SerialExecutor(final Executor newExecutor) {
+        this(newExecutor, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param newExecutor shared executor
+     * @param newCapacity maximum number of tasks waiting to be run
+     */
+    public SerialExecutor(final Executor newExecutor, final int newCapacity) {
+        if (newCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.executor = newExecutor;
+        this.tasks = new LinkedBlockingQueue<>(newCapacity);
+    }
+
+    /**
+     * Submits a task.
+     *
+     * @param task task
+     * @throws RejectedExecutionException if the maximum number of tasks waiting is reached
+     */
+    @Override
+    public final void execute(final Runnable task) {
+        if (!tasks.offer(task)) {
+            throw new RejectedExecutionException("Too many tasks waiting");
+        }
+        schedule();
+    }
+
+    /**
+     * Returns true if there is no task waiting or running.
+     *
+     * @return true if idle
+     */
+    public final boolean isIdle() {
+        return !scheduled.get() && tasks.isEmpty();
+    }
+
+    /**
+     * Submits a batch to the shared executor if none is submitted or running.
+     */
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::runBatch);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                tasks.clear();
+                logger.error("SerialExecutor - Tasks rejected : {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Runs a batch of tasks.
+     */
+    private void runBatch() {
+        try {
+            Runnable task = tasks.poll();
+            for (int i = 0; task != null; i++) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    logger.error("SerialExecutor - Task failed : {}", e.getMessage(), e);
+                }
+                if (i + 1 < BATCH_SIZE) {
+                    task = tasks.poll();
+                } else {
+                    task = null;
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            // Tasks added during the batch or not run yet.
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+}
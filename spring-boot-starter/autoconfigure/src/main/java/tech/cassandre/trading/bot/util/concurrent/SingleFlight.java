@@ -0,0 +1,143 @@
+package tech.cassandre.trading.bot.util.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Single-flight request coalescing.
+ * Concurrent callers share the result of the request in flight instead of sending the same request again. A result
+ * is also reused by callers arriving during the freshness window that follows its reception, unless the request
+ * called {@link #discardResult()} (for example, because it was not sent to the exchange). Results are shared between
+ * callers : they must be immutable.
+ *
+ * @param <T> result type
+ */
+public class SingleFlight<T> {
+
+    /** True if coalescing is enabled (if not, each call is executed). */
+    private final boolean enabled;
+
+    /** Freshness window in nanoseconds. */
+    private final long freshness;
+
+    /** Lock. */
+    private final Object lock = new Object();
+
+    /** Request in flight (guarded by lock). */
+    private CompletableFuture<T> inFlight;
+
+    /** Last result received (guarded by lock). */
+    private T lastResult;
+
+    /** Time of the last result (nano time, guarded by lock). */
+    private long lastResultTime;
+
+    /** True if there is a last result (guarded by lock). */
+    private boolean hasLastResult;
+
+    /** True if the result of the request in flight must not be reused (guarded by lock). */
+    private boolean resultDiscarded;
+
+    /**
+     * Constructs a disabled single-flight (each call is executed).
+     */
+    public SingleFlight() {
+        this.enabled = false;
+        this.freshness = 0;
+    }
+
+    /**
+     * Constructs a single-flight.
+     *
+     * @param freshnessWindow time during which a result is reused (zero to only share requests in flight)
+     */
+    public SingleFlight(final Duration freshnessWindow) {
+        this.enabled = true;
+        this.freshness = freshnessWindow.toNanos();
+    }
+
+    /**
+     * Executes the request or waits for the result of the same request already in flight.
+     *
+     * @param request request
+     * @return result
+     * @throws Exception exception raised by the request
+     */
+    public final T execute(final Callable<T> request) throws Exception {
+        if (!enabled) {
+            return request.call();
+        }
+
+        // Fresh result or request in flight.
+        final CompletableFuture<T> future;
+        final boolean leader;
+        synchronized (lock) {
+            if (hasLastResult && System.nanoTime() - lastResultTime < freshness) {
+                return lastResult;
+            }
+            leader = inFlight == null;
+            if (leader) {
+                inFlight = new CompletableFuture<>();
+            }
+            future = inFlight;
+        }
+        if (!leader) {
+            return join(future);
+        }
+
+        // We are the leader, we execute the request.
+        try {
+            final T result = request.call();
+            synchronized (lock) {
+                hasLastResult = !resultDiscarded;
+                if (hasLastResult) {
+                    lastResult = result;
+                    lastResultTime = System.nanoTime();
+                }
+            }
+            future.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // Errors included : callers waiting for the request must never wait forever.
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            synchronized (lock) {
+                inFlight = null;
+                resultDiscarded = false;
+            }
+        }
+    }
+
+    /**
+     * Makes the result of the request in flight not reusable by callers arriving after it (callers already waiting
+     * still receive it). Called by the request executed.
+     */
+    public final void discardResult() {
+        synchronized (lock) {
+            resultDiscarded = true;
+        }
+    }
+
+    /**
+     * Waits for the result of the request in flight.
+     *
+     * @param future request in flight
+     * @return result
+     * @throws Exception exception raised by the request
+     */
+    private T join(final CompletableFuture<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException | CompletionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package tech.cassandre.trading.bot.util.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual threads support.
+ * Cassandre is compiled for Java 11 so virtual threads are obtained by reflection : they are only available when the
+ * bot runs on Java 21 or later.
+ */
+public final class VirtualThreads {
+
+    /**
+     * Private constructor.
+     */
+    private VirtualThreads() {
+    }
+
+    /**
+     * Returns an executor starting a new virtual thread for each task.
+     *
+     * @return executor or empty if virtual threads are not supported
+     */
+    public static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+        try {
+            final Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return Optional.of((ExecutorService) method.invoke(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns a factory creating virtual threads named prefix-0, prefix-1...
+     *
+     * @param prefix thread name prefix
+     * @return thread factory or empty if virtual threads are not supported
+     */
+    public static Optional<ThreadFactory> newThreadFactory(final String prefix) {
+        try {
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix + "-", 0L);
+            return Optional.of((ThreadFactory) builderClass.getMethod("factory").invoke(builder));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Concurrency utils.
+ */
+package tech.cassandre.trading.bot.util.concurrent;
\ No newline at end of file
@@ -0,0 +1,16 @@
+package tech.cassandre.trading.bot.util.indicator;
+
+/**
+ * Streaming indicator computed from the close price only.
+ */
+public abstract class AbstractPriceIndicator implements StreamingIndicator {
+
+    @Override
+    public final void update(final double high, final double low, final double close, final double volume) {
+        update(close);
+    }
+
+    @Override
+    public abstract void update(double price);
+
+}
@@ -0,0 +1,103 @@
+package tech.cassandre.trading.bot.util.indicator;
+
+/**
+ * Rolling extremum of the last values, computed with a monotonic queue (amortized constant time per value).
+ */
+public abstract class AbstractRollingExtremum extends AbstractPriceIndicator {
+
+    /** Number of values of the period. */
+    private final int barCount;
+
+    /** Candidate values (ring buffer, from the extremum to the most recent value). */
+    private final double[] values;
+
+    /** Sequence number of each candidate value. */
+    private final long[] sequences;
+
+    /** Position of the first candidate. */
+    private int head;
+
+    /** Number of candidates. */
+    private int size;
+
+    /** Number of values received. */
+    private long received;
+
+    /**
+     * Constructor.
+     *
+     * @param newBarCount number of values of the period
+     */
+    protected AbstractRollingExtremum(final int newBarCount) {
+        this.barCount = newBarCount;
+        this.values = new double[newBarCount];
+        this.sequences = new long[newBarCount];
+    }
+
+    /**
+     * Returns true if the new value replaces an existing candidate.
+     *
+     * @param newValue new value
+     * @param existing existing candidate
+     * @return true if the existing candidate can't be the extremum anymore
+     */
+    protected abstract boolean replaces(double newValue, double existing);
+
+    @Override
+    public final void update(final double price) {
+        // Removes the candidate out of the period.
+        if (size > 0 && sequences[head] <= received - barCount) {
+            head = next(head);
+            size--;
+        }
+        // Removes the candidates replaced by the new value.
+        while (size > 0 && replaces(price, values[slot(size - 1)])) {
+            size--;
+        }
+        values[slot(size)] = price;
+        sequences[slot(size)] = received;
+        size++;
+        received++;
+    }
+
+    @Override
+    public final double getValue() {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        return values[head];
+    }
+
+    @Override
+    public final boolean isReady() {
+        return received >= barCount;
+    }
+
+    /**
+     * Returns the position of a candidate in the ring buffer.
+     *
+     * @param index candidate index
+     * @return position
+     */
+    private int slot(final int index) {
+        final int slot = head + index;
+        if (slot >= values.length) {
+            return slot - values.length;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the next position in the ring buffer.
+     *
+     * @param slot position
+     * @return next position
+     */
+    private int next(final int slot) {
+        if (slot + 1 == values.length) {
+            return 0;
+        }
+        return slot + 1;
+    }
+
+}
@@ -0,0 +1,43 @@
+package tech.cassandre.trading.bot.util.indicator;
+
+/**
+ * Average true range (Wilder's smoothing of the true range).
+ */
+public class AverageTrueRange implements StreamingIndicator {
+
+    /** Average of the true range. */
+    private final ModifiedMovingAverage average;
+
+    /** Previous close price (NaN before the first value). */
+    private double previousClose = Double.NaN;
+
+    /**
+     * Constructor.
+     *
+     * @param barCount number of values of the period
+     */
+    public AverageTrueRange(final int barCount) {
+        this.average = new ModifiedMovingAverage(barCount);
+    }
+
+    @Override
+    public final void update(final double high, final double low, final double close, final double volume) {
+        double trueRange = Math.abs(high - low);
+        if (!Double.isNaN(previousClose)) {
+            trueRange = Math.max(trueRange, Math.max(Math.abs(high - previousClose), Math.abs(previousClose - low)));
+        }
+        average.update(trueRange);
+        previousClose = close;
+    }
+
+    @Override
+    public final double getValue() {
+        return average.getValue();
+    }
+
+    @Override
+    public final boolean isReady() {
+        return average.isReady();
+    }
+
+}
@@ -0,0 +1,127 @@
+package tech.cassandre.trading.bot.util.indicator;
+
+/**
+ * Bollinger bands : simple moving average (middle band) plus and minus a multiple of the standard deviation.
+ * The value of the indicator is the middle band.
+ */
+public class BollingerBands extends AbstractPriceIndicator {
+
+    /** Default standard deviation multiple. */
+    public static final double DEFAULT_MULTIPLE = 2;
+
+    /** Standard deviation multiple. */
+    private final double multiple;
+
+    /** Last values (ring buffer). */
+    private final double[] values;
+
+    /** Position of the next value in the ring buffer. */
+    private int position;
+
+    /** Number of values in the ring buffer. */
+    private int count;
+
+    /** Sum of the values. */
+    private double sum;
+
+    /** Sum of the squares of the values. */
+    private double sumOfSquares;
+
+    /**
+     * Constructor (bands at two standard deviations).
+     *
+     * @param barCount number of values of the period
+     */
+    public BollingerBands(final int barCount) {
+        this(barCount, DEFAULT_MULTIPLE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param barCount    number of values of the period
+     * @param newMultiple standard deviation multiple
+     */
+    public BollingerBands(final int barCount, final double newMultiple) {
+        this.values = new double[barCount];
+        this.multiple = newMultiple;
+    }
+
+    @Override
+    public final void update(final double price) {
+        if (count == values.length) {
+            sum -= values[position];
+            sumOfSquares -= values[position] * values[position];
+        } else {
+            count++;
+        }
+        values[position] = price;
+        sum += price;
+        sumOfSquares += price * price;
+        position++;
+        if (position == values.length) {
+            position = 0;
+            // Sums computed again once per period to avoid rounding errors accumulation.
+            sum = 0;
+            sumOfSquares = 0;
+            for (int i = 0; i < count; i++) {
+                sum += values[i];
+                sumOfSquares += values[i] * values[i];
+            }
+        }
+    }
+
+    @Override
+    public final double getValue() {
+        return getMiddle();
+    }
+
+    /**
+     * Returns the middle band.
+     *
+     * @return middle band
+     */
+    public final double getMiddle() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        return sum / count;
+    }
+
+    /**
+     * Returns the standard deviation of the values of the period.
+     *
+     * @return standard deviation
+     */
+    public final double getStandardDeviation() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        final double mean = sum / count;
+        return Math.sqrt(Math.max(0, sumOfSquares / count - mean * mean));
+    }
+
+    /**
+     * Returns the upper band.
+     *
+     * @return upper band
+     */
+    public final double getUpper() {
+        return getMiddle() + multiple * getStandardDeviation();
+    }
+
+    /**
+     * Returns the lower band.
+     *
+     * @return lower band
+     */
+    public final double getLower() {
+        return getMiddle() - multiple * getStandardDeviation();
+    }
+
+    @Override
+    public final boolean isReady() {
+        return count == values.length;
+    }
+
+}
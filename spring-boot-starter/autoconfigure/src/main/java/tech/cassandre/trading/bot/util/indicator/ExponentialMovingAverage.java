@@ -0,0 +1,62 @@
+package tech.cassandre.trading.bot.util.indicator;
+
+/**
+ * Exponential moving average (starts with the first value, like ta4j).
+ */
+public class ExponentialMovingAverage extends AbstractPriceIndicator {
+
+    /** Number of values of the period. */
+    private final int barCount;
+
+    /** Weight of a new value. */
+    private final double multiplier;
+
+    /** Number of values received (up to barCount). */
+    private int count;
+
+    /** Value. */
+    private double value = Double.NaN;
+
+    /**
+     * Constructor.
+     *
+     * @param newBarCount number of values of the period
+     */
+    public ExponentialMovingAverage(final int newBarCount) {
+        this(newBarCount, 2.0 / (newBarCount + 1));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param newBarCount   number of values of the period
+     * @param newMultiplier weight of a new value
+     */
+    ExponentialMovingAverage(final int newBarCount, final double newMultiplier) {
+        this.barCount = newBarCount;
+        this.multiplier = newMultiplier;
+    }
+
+    @Override
+    public final void update(final double price) {
+        if (count == 0) {
+            value = price;
+        } else {
+            value += (price - value) * multiplier;
+        }
+        if (count < barCount) {
+            count++;
+        }
+    }
+
+    @Override
+    public final double getValue() {
+        return value;
+    }
+
+    @Override
+    public final boolean isReady() {
+        return count == barCount;
+    }
+
+}
@@ -0,0 +1,17 @@
+package tech.cassandre.trading.bot.util.indicator;
+
+/**
+ * Modified moving average (Wilder's smoothing, used by RSI and ATR).
+ */
+public class ModifiedMovingAverage extends ExponentialMovingAverage {
+
+    /**
+     * Constructor.
+     *
+     * @param barCount number of values of the period
+     */
+    public ModifiedMovingAverage(final int barCount) {
+        super(barCount, 1.0 / barCount);
+    }
+
+}
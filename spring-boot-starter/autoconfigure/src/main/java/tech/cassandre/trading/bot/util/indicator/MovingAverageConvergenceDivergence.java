@@ -0,0 +1,81 @@
+package tech.cassandre.trading.bot.util.indicator;
+
+/**
+ * Moving average convergence divergence (MACD) : short EMA minus long EMA, with its signal line (EMA of the MACD).
+ */
+public class MovingAverageConvergenceDivergence extends AbstractPriceIndicator {
+
+    /** Default signal line bar count. */
+    public static final int DEFAULT_SIGNAL_BAR_COUNT = 9;
+
+    /** Short EMA. */
+    private final ExponentialMovingAverage shortAverage;
+
+    /** Long EMA. */
+    private final ExponentialMovingAverage longAverage;
+
+    /** Signal line. */
+    private final ExponentialMovingAverage signal;
+
+    /**
+     * Constructor (signal line of 9 values).
+     *
+     * @param shortBarCount short EMA bar count
+     * @param longBarCount  long EMA bar count
+     */
+    public MovingAverageConvergenceDivergence(final int shortBarCount, final int longBarCount) {
+        this(shortBarCount, longBarCount, DEFAULT_SIGNAL_BAR_COUNT);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param shortBarCount  short EMA bar count
+     * @param longBarCount   long EMA bar count
+     * @param signalBarCount signal line bar count
+     */
+    public MovingAverageConvergenceDivergence(final int shortBarCount, final int longBarCount, final int signalBarCount) {
+        if (shortBarCount >= longBarCount) {
+            throw new IllegalArgumentException("Long bar count must be greater than short bar count");
+        }
+        this.shortAverage = new ExponentialMovingAverage(shortBarCount);
+        this.longAverage = new ExponentialMovingAverage(longBarCount);
+        this.signal = new ExponentialMovingAverage(signalBarCount);
+    }
+
+    @Override
+    public final void update(final double price) {
+        shortAverage.update(price);
+        longAverage.update(price);
+        signal.update(getValue());
+    }
+
+    @Override
+    public final double getValue() {
+        return shortAverage.getValue() - longAverage.getValue();
+    }
+
+    /**
+     * Returns the signal line value.
+     *
+     * @return signal
+     */
+    public final double getSignal() {
+        return signal.getValue();
+    }
+
+    /**
+     * Returns the histogram value (MACD minus signal).
+     *
+     * @return histogram
+     */
+    public final double getHistogram() {
+        return getValue() - getSignal();
+    }
+
+    @Override
+    public final boolean isReady() {
+        return longAverage.isReady();
+    }
+
+}
@@ -0,0 +1,73 @@
+package tech.cassandre.trading.bot.util.indicator;
+
+/**
+ * Relative strength index (from 0 to 100).
+ */
+public class RelativeStrengthIndex extends AbstractPriceIndicator {
+
+    /** Maximum value. */
+    private static final double MAXIMUM = 100;
+
+    /** Number of values of the period. */
+    private final int barCount;
+
+    /** Average gain. */
+    private final ModifiedMovingAverage averageGain;
+
+    /** Average loss. */
+    private final ModifiedMovingAverage averageLoss;
+
+    /** Number of values received (up to barCount + 1). */
+    private int count;
+
+    /** Previous value. */
+    private double previous;
+
+    /**
+     * Constructor.
+     *
+     * @param newBarCount number of values of the period
+     */
+    public RelativeStrengthIndex(final int newBarCount) {
+        this.barCount = newBarCount;
+        this.averageGain = new ModifiedMovingAverage(newBarCount);
+        this.averageLoss = new ModifiedMovingAverage(newBarCount);
+    }
+
+    @Override
+    public final void update(final double price) {
+        if (count == 0) {
+            averageGain.update(0);
+            averageLoss.update(0);
+        } else {
+            averageGain.update(Math.max(price - previous, 0));
+            averageLoss.update(Math.max(previous - price, 0));
+        }
+        previous = price;
+        if (count <= barCount) {
+            count++;
+        }
+    }
+
+    @Override
+    public final double getValue() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        final double gain = averageGain.getValue();
+        final double loss = averageLoss.getValue();
+        if (loss == 0) {
+            if (gain == 0) {
+                return 0;
+            }
+            return MAXIMUM;
+        }
+        return MAXIMUM - MAXIMUM / (1 + gain / loss);
+    }
+
+    @Override
+    public final boolean isReady() {
+        return count > barCount;
+    }
+
+}
@@ -0,0 +1,22 @@
+package tech.cassandre.trading.bot.util.indicator;
+
+/**
+ * Lowest value of the last values.
+ */
+public class RollingMinimum extends AbstractRollingExtremum {
+
+    /**
+     * Constructor.
+     *
+     * @param barCount number of values of the period
+     */
+    public RollingMinimum(final int barCount) {
+        super(barCount);
+    }
+
+    @Override
+    protected final boolean replaces(final double newValue, final double existing) {
+        return newValue <= existing;
+    }
+
+}
@@ -0,0 +1,62 @@
+package tech.cassandre.trading.bot.util.indicator;
+
+/**
+ * Simple moving average (average of the last values - of all values until there are enough).
+ */
+public class SimpleMovingAverage extends AbstractPriceIndicator {
+
+    /** Last values (ring buffer). */
+    private final double[] values;
+
+    /** Position of the next value in the ring buffer. */
+    private int position;
+
+    /** Number of values in the ring buffer. */
+    private int count;
+
+    /** Sum of the values in the ring buffer. */
+    private double sum;
+
+    /**
+     * Constructor.
+     *
+     * @param barCount number of values averaged
+     */
+    public SimpleMovingAverage(final int barCount) {
+        this.values = new double[barCount];
+    }
+
+    @Override
+    public final void update(final double price) {
+        if (count == values.length) {
+            sum -= values[position];
+        } else {
+            count++;
+        }
+        values[position] = price;
+        sum += price;
+        position++;
+        if (position == values.length) {
+            position = 0;
+            // Sum computed again once per period to avoid rounding errors accumulation.
+            sum = 0;
+            for (int i = 0; i < count; i++) {
+                sum += values[i];
+            }
+        }
+    }
+
+    @Override
+    public final double getValue() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        return sum / count;
+    }
+
+    @Override
+    public final boolean isReady() {
+        return count == values.length;
+    }
+
+}
@@ -0,0 +1,43 @@
+package tech.cassandre.trading.bot.util.indicator;
+
+/**
+ * Streaming indicator - updated with each new value in constant time, without creating objects.
+ * Indicators compute the same values as their ta4j equivalents on the same values.
+ * Indicators are not thread safe : they must be updated and read from the same thread.
+ */
+public interface StreamingIndicator {
+
+    /**
+     * Updates the indicator with a new bar.
+     *
+     * @param high   high price
+     * @param low    low price
+     * @param close  close price
+     * @param volume volume
+     */
+    void update(double high, double low, double close, double volume);
+
+    /**
+     * Updates the indicator with a new price (high, low and close are this price, no volume).
+     *
+     * @param price price
+     */
+    default void update(final double price) {
+        update(price, price, price, 0);
+    }
+
+    /**
+     * Returns the indicator value (NaN if no value was received).
+     *
+     * @return value
+     */
+    double getValue();
+
+    /**
+     * Returns true if the indicator received enough values to cover its period.
+     *
+     * @return true if ready
+     */
+    boolean isReady();
+
+}
@@ -0,0 +1,105 @@
+package tech.cassandre.trading.bot.util.indicator;
+
+import tech.cassandre.trading.bot.dto.market.TickerDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streaming indicators attached to currency pairs and updated with each ticker received for the pair.
+ * Each ticker updates the indicators with its last price (as high, low and close) and with the volume traded since
+ * the previous ticker (the increase of the rolling 24 hours volume). Tickers are received on the ticker flux thread.
+ */
+public class TickerIndicators {
+
+    /** Indicators per currency pair. */
+    private final Map<CurrencyPairDTO, PairIndicators> pairs = new ConcurrentHashMap<>();
+
+    /**
+     * Attaches an indicator to a currency pair.
+     *
+     * @param currencyPair currency pair
+     * @param indicator    indicator
+     * @param <T>          indicator type
+     * @return the indicator
+     */
+    public final <T extends StreamingIndicator> T add(final CurrencyPairDTO currencyPair, final T indicator) {
+        pairs.computeIfAbsent(currencyPair, pair -> new PairIndicators()).add(indicator);
+        return indicator;
+    }
+
+    /**
+     * Returns the indicators attached to a currency pair.
+     *
+     * @param currencyPair currency pair
+     * @return indicators
+     */
+    public final List<StreamingIndicator> get(final CurrencyPairDTO currencyPair) {
+        final PairIndicators pairIndicators = pairs.get(currencyPair);
+        if (pairIndicators == null) {
+            return Collections.emptyList();
+        }
+        return List.of(pairIndicators.indicators);
+    }
+
+    /**
+     * Updates the indicators of the ticker currency pair.
+     *
+     * @param ticker ticker
+     */
+    public final void tickerUpdate(final TickerDTO ticker) {
+        final PairIndicators pairIndicators = pairs.get(ticker.getCurrencyPair());
+        if (pairIndicators != null && ticker.getLast() != null) {
+            pairIndicators.update(ticker);
+        }
+    }
+
+    /**
+     * Indicators of a currency pair.
+     */
+    private static final class PairIndicators {
+
+        /** Indicators (copied on write as they are rarely added). */
+        private volatile StreamingIndicator[] indicators = new StreamingIndicator[0];
+
+        /** Rolling volume of the previous ticker (NaN before the first ticker). */
+        private double previousVolume = Double.NaN;
+
+        /**
+         * Adds an indicator.
+         *
+         * @param indicator indicator
+         */
+        private synchronized void add(final StreamingIndicator indicator) {
+            final StreamingIndicator[] newIndicators = Arrays.copyOf(indicators, indicators.length + 1);
+            newIndicators[indicators.length] = indicator;
+            indicators = newIndicators;
+        }
+
+        /**
+         * Updates the indicators.
+         *
+         * @param ticker ticker
+         */
+        private void update(final TickerDTO ticker) {
+            final double price = ticker.getLast().doubleValue();
+            double volume = 0;
+            if (ticker.getVolume() != null) {
+                final double rollingVolume = ticker.getVolume().doubleValue();
+                if (!Double.isNaN(previousVolume) && rollingVolume > previousVolume) {
+                    volume = rollingVolume - previousVolume;
+                }
+                previousVolume = rollingVolume;
+            }
+            for (StreamingIndicator indicator : indicators) {
+                indicator.update(price, price, price, volume);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,77 @@
+package tech.cassandre.trading.bot.util.indicator;
+
+/**
+ * Volume weighted average price of the last values (typical price : average of high, low and close).
+ */
+public class VolumeWeightedAveragePrice implements StreamingIndicator {
+
+    /** Number of prices in the typical price. */
+    private static final double TYPICAL_PRICE_COUNT = 3;
+
+    /** Last prices multiplied by volumes (ring buffer). */
+    private final double[] amounts;
+
+    /** Last volumes (ring buffer). */
+    private final double[] volumes;
+
+    /** Position of the next value in the ring buffers. */
+    private int position;
+
+    /** Number of values in the ring buffers. */
+    private int count;
+
+    /** Sum of the amounts. */
+    private double amountsSum;
+
+    /** Sum of the volumes. */
+    private double volumesSum;
+
+    /**
+     * Constructor.
+     *
+     * @param barCount number of values of the period
+     */
+    public VolumeWeightedAveragePrice(final int barCount) {
+        this.amounts = new double[barCount];
+        this.volumes = new double[barCount];
+    }
+
+    @Override
+    public final void update(final double high, final double low, final double close, final double volume) {
+        if (count == amounts.length) {
+            amountsSum -= amounts[position];
+            volumesSum -= volumes[position];
+        } else {
+            count++;
+        }
+        amounts[position] = (high + low + close) / TYPICAL_PRICE_COUNT * volume;
+        volumes[position] = volume;
+        amountsSum += amounts[position];
+        volumesSum += volume;
+        position++;
+        if (position == amounts.length) {
+            position = 0;
+            // Sums computed again once per period to avoid rounding errors accumulation.
+            amountsSum = 0;
+            volumesSum = 0;
+            for (int i = 0; i < count; i++) {
+                amountsSum += amounts[i];
+                volumesSum += volumes[i];
+            }
+        }
+    }
+
+    @Override
+    public final double getValue() {
+        if (volumesSum <= 0) {
+            return Double.NaN;
+        }
+        return amountsSum / volumesSum;
+    }
+
+    @Override
+    public final boolean isReady() {
+        return count == amounts.length;
+    }
+
+}
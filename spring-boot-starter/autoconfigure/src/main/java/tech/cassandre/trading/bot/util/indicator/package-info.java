@@ -0,0 +1,4 @@
+/**
+ * Streaming indicators.
+ */
+package tech.cassandre.trading.bot.util.indicator;
@@ -0,0 +1,705 @@
+package tech.cassandre.trading.bot.util.journal;
+
+import tech.cassandre.trading.bot.dto.market.TickerDTO;
+import tech.cassandre.trading.bot.dto.position.PositionDTO;
+import tech.cassandre.trading.bot.dto.position.PositionRulesDTO;
+import tech.cassandre.trading.bot.dto.position.PositionStatusDTO;
+import tech.cassandre.trading.bot.dto.position.PositionTypeDTO;
+import tech.cassandre.trading.bot.dto.strategy.StrategyDTO;
+import tech.cassandre.trading.bot.dto.strategy.StrategyTypeDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderStatusDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderTypeDTO;
+import tech.cassandre.trading.bot.dto.trade.TradeDTO;
+import tech.cassandre.trading.bot.dto.user.AccountDTO;
+import tech.cassandre.trading.bot.dto.user.AccountFeatureDTO;
+import tech.cassandre.trading.bot.dto.user.BalanceDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyAmountDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Binary encoding of journal events.
+ * Fields are written in declaration order, each optional field preceded by a presence byte : numbers are written as
+ * unscaled value and scale, enums as ordinal, currencies as code and dates as epoch second, nanoseconds and zone.
+ * Any change of a DTO or of an enum order requires a new {@link #FORMAT_VERSION}.
+ */
+public final class EventCodec {
+
+    /** Format version - written in journal segments and snapshots headers. */
+    public static final int FORMAT_VERSION = 1;
+
+    /** Initial size of encoding buffers. */
+    private static final int BUFFER_SIZE = 256;
+
+    /**
+     * Private constructor.
+     */
+    private EventCodec() {
+    }
+
+    /**
+     * Encodes an event value.
+     *
+     * @param type  event type
+     * @param value event value
+     * @return bytes
+     */
+    public static byte[] encode(final EventType type, final Object value) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(BUFFER_SIZE);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            switch (type) {
+                case ACCOUNT:
+                    writeAccount(out, (AccountDTO) value);
+                    break;
+                case TICKER:
+                    writeTicker(out, (TickerDTO) value);
+                    break;
+                case ORDER:
+                    writeOrder(out, (OrderDTO) value);
+                    break;
+                case TRADE:
+                    writeTrade(out, (TradeDTO) value);
+                    break;
+                case POSITION:
+                    writePosition(out, (PositionDTO) value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown event type " + type);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes an event value.
+     *
+     * @param type  event type
+     * @param bytes bytes
+     * @return event value
+     */
+    public static Object decode(final EventType type, final byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            switch (type) {
+                case ACCOUNT:
+                    return readAccount(in);
+                case TICKER:
+                    return readTicker(in);
+                case ORDER:
+                    return readOrder(in);
+                case TRADE:
+                    return readTrade(in);
+                case POSITION:
+                    return readPosition(in);
+                default:
+                    throw new IllegalArgumentException("Unknown event type " + type);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // =================================================================================================================
+    // DTOs.
+
+    /**
+     * Writes an account.
+     *
+     * @param out     output
+     * @param account account
+     * @throws IOException write error
+     */
+    private static void writeAccount(final DataOutputStream out, final AccountDTO account) throws IOException {
+        writeString(out, account.getAccountId());
+        writeString(out, account.getName());
+        out.writeInt(account.getFeatures().size());
+        for (AccountFeatureDTO feature : account.getFeatures()) {
+            writeEnum(out, feature);
+        }
+        out.writeInt(account.getBalances().size());
+        for (BalanceDTO balance : account.getBalances().values()) {
+            writeCurrency(out, balance.getCurrency());
+            writeDecimal(out, balance.getTotal());
+            writeDecimal(out, balance.getAvailable());
+            writeDecimal(out, balance.getFrozen());
+            writeDecimal(out, balance.getLoaned());
+            writeDecimal(out, balance.getBorrowed());
+            writeDecimal(out, balance.getWithdrawing());
+            writeDecimal(out, balance.getDepositing());
+        }
+    }
+
+    /**
+     * Reads an account.
+     *
+     * @param in input
+     * @return account
+     * @throws IOException read error
+     */
+    private static AccountDTO readAccount(final DataInputStream in) throws IOException {
+        final String accountId = readString(in);
+        final String name = readString(in);
+        final int featuresCount = in.readInt();
+        Set<AccountFeatureDTO> features = new LinkedHashSet<>();
+        for (int i = 0; i < featuresCount; i++) {
+            features.add(readEnum(in, AccountFeatureDTO.class));
+        }
+        final int balancesCount = in.readInt();
+        Map<CurrencyDTO, BalanceDTO> balances = new LinkedHashMap<>();
+        for (int i = 0; i < balancesCount; i++) {
+            final BalanceDTO balance = BalanceDTO.builder()
+                    .currency(readCurrency(in))
+                    .total(readDecimal(in))
+                    .available(readDecimal(in))
+                    .frozen(readDecimal(in))
+                    .loaned(readDecimal(in))
+                    .borrowed(readDecimal(in))
+                    .withdrawing(readDecimal(in))
+                    .depositing(readDecimal(in))
+                    .build();
+            balances.put(balance.getCurrency(), balance);
+        }
+        return AccountDTO.builder()
+                .accountId(accountId)
+                .name(name)
+                .features(features)
+                .balances(balances)
+                .build();
+    }
+
+    /**
+     * Writes a ticker.
+     *
+     * @param out    output
+     * @param ticker ticker
+     * @throws IOException write error
+     */
+    private static void writeTicker(final DataOutputStream out, final TickerDTO ticker) throws IOException {
+        writeCurrencyPair(out, ticker.getCurrencyPair());
+        writeDecimal(out, ticker.getOpen());
+        writeDecimal(out, ticker.getLast());
+        writeDecimal(out, ticker.getBid());
+        writeDecimal(out, ticker.getAsk());
+        writeDecimal(out, ticker.getHigh());
+        writeDecimal(out, ticker.getLow());
+        writeDecimal(out, ticker.getVwap());
+        writeDecimal(out, ticker.getVolume());
+        writeDecimal(out, ticker.getQuoteVolume());
+        writeDecimal(out, ticker.getBidSize());
+        writeDecimal(out, ticker.getAskSize());
+        writeDate(out, ticker.getTimestamp());
+    }
+
+    /**
+     * Reads a ticker.
+     *
+     * @param in input
+     * @return ticker
+     * @throws IOException read error
+     */
+    private static TickerDTO readTicker(final DataInputStream in) throws IOException {
+        return TickerDTO.builder()
+                .currencyPair(readCurrencyPair(in))
+                .open(readDecimal(in))
+                .last(readDecimal(in))
+                .bid(readDecimal(in))
+                .ask(readDecimal(in))
+                .high(readDecimal(in))
+                .low(readDecimal(in))
+                .vwap(readDecimal(in))
+                .volume(readDecimal(in))
+                .quoteVolume(readDecimal(in))
+                .bidSize(readDecimal(in))
+                .askSize(readDecimal(in))
+                .timestamp(readDate(in))
+                .build();
+    }
+
+    /**
+     * Writes an order (null allowed).
+     *
+     * @param out   output
+     * @param order order
+     * @throws IOException write error
+     */
+    private static void writeOrder(final DataOutputStream out, final OrderDTO order) throws IOException {
+        if (writePresence(out, order)) {
+            writeLong(out, order.getId());
+            writeString(out, order.getOrderId());
+            writeEnum(out, order.getType());
+            writeStrategy(out, order.getStrategy());
+            writeCurrencyPair(out, order.getCurrencyPair());
+            writeAmount(out, order.getAmount());
+            writeAmount(out, order.getAveragePrice());
+            writeAmount(out, order.getLimitPrice());
+            writeString(out, order.getLeverage());
+            writeEnum(out, order.getStatus());
+            writeAmount(out, order.getCumulativeAmount());
+            writeString(out, order.getUserReference());
+            writeDate(out, order.getTimestamp());
+            out.writeInt(order.getTrades().size());
+            for (TradeDTO trade : order.getTrades()) {
+                writeTrade(out, trade);
+            }
+        }
+    }
+
+    /**
+     * Reads an order (null allowed).
+     *
+     * @param in input
+     * @return order
+     * @throws IOException read error
+     */
+    private static OrderDTO readOrder(final DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        final OrderDTO.OrderDTOBuilder builder = OrderDTO.builder()
+                .id(readLong(in))
+                .orderId(readString(in))
+                .type(readEnum(in, OrderTypeDTO.class))
+                .strategy(readStrategy(in))
+                .currencyPair(readCurrencyPair(in))
+                .amount(readAmount(in))
+                .averagePrice(readAmount(in))
+                .limitPrice(readAmount(in))
+                .leverage(readString(in))
+                .status(readEnum(in, OrderStatusDTO.class))
+                .cumulativeAmount(readAmount(in))
+                .userReference(readString(in))
+                .timestamp(readDate(in));
+        final int tradesCount = in.readInt();
+        for (int i = 0; i < tradesCount; i++) {
+            builder.trade(readTrade(in));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Writes a trade.
+     *
+     * @param out   output
+     * @param trade trade
+     * @throws IOException write error
+     */
+    private static void writeTrade(final DataOutputStream out, final TradeDTO trade) throws IOException {
+        writeLong(out, trade.getId());
+        writeString(out, trade.getTradeId());
+        writeEnum(out, trade.getType());
+        writeString(out, trade.getOrderId());
+        writeCurrencyPair(out, trade.getCurrencyPair());
+        writeAmount(out, trade.getAmount());
+        writeAmount(out, trade.getPrice());
+        writeAmount(out, trade.getFee());
+        writeString(out, trade.getUserReference());
+        writeDate(out, trade.getTimestamp());
+    }
+
+    /**
+     * Reads a trade.
+     *
+     * @param in input
+     * @return trade
+     * @throws IOException read error
+     */
+    private static TradeDTO readTrade(final DataInputStream in) throws IOException {
+        return TradeDTO.builder()
+                .id(readLong(in))
+                .tradeId(readString(in))
+                .type(readEnum(in, OrderTypeDTO.class))
+                .orderId(readString(in))
+                .currencyPair(readCurrencyPair(in))
+                .amount(readAmount(in))
+                .price(readAmount(in))
+                .fee(readAmount(in))
+                .userReference(readString(in))
+                .timestamp(readDate(in))
+                .build();
+    }
+
+    /**
+     * Writes a position.
+     *
+     * @param out      output
+     * @param position position
+     * @throws IOException write error
+     */
+    private static void writePosition(final DataOutputStream out, final PositionDTO position) throws IOException {
+        out.writeLong(position.getId());
+        writeLong(out, position.getPositionId());
+        writeEnum(out, position.getType());
+        writeStrategy(out, position.getStrategy());
+        writeCurrencyPair(out, position.getCurrencyPair());
+        writeAmount(out, position.getAmount());
+        if (writePresence(out, position.getRules())) {
+            writeFloat(out, position.getRules().getStopGainPercentage());
+            writeFloat(out, position.getRules().getStopLossPercentage());
+        }
+        writeEnum(out, position.getStatus());
+        writeOrder(out, position.getOpeningOrder());
+        writeOrder(out, position.getClosingOrder());
+        writeAmount(out, position.getLowestPrice());
+        writeAmount(out, position.getHighestPrice());
+        writeAmount(out, position.getLatestPrice());
+    }
+
+    /**
+     * Reads a position.
+     *
+     * @param in input
+     * @return position
+     * @throws IOException read error
+     */
+    private static PositionDTO readPosition(final DataInputStream in) throws IOException {
+        final PositionDTO.PositionDTOBuilder builder = PositionDTO.builder()
+                .id(in.readLong())
+                .positionId(readLong(in))
+                .type(readEnum(in, PositionTypeDTO.class))
+                .strategy(readStrategy(in))
+                .currencyPair(readCurrencyPair(in))
+                .amount(readAmount(in));
+        if (in.readBoolean()) {
+            builder.rules(PositionRulesDTO.builder()
+                    .stopGainPercentage(readFloat(in))
+                    .stopLossPercentage(readFloat(in))
+                    .build());
+        }
+        return builder.status(readEnum(in, PositionStatusDTO.class))
+                .openingOrder(readOrder(in))
+                .closingOrder(readOrder(in))
+                .lowestPrice(readAmount(in))
+                .highestPrice(readAmount(in))
+                .latestPrice(readAmount(in))
+                .build();
+    }
+
+    /**
+     * Writes a strategy (null allowed).
+     *
+     * @param out      output
+     * @param strategy strategy
+     * @throws IOException write error
+     */
+    private static void writeStrategy(final DataOutputStream out, final StrategyDTO strategy) throws IOException {
+        if (writePresence(out, strategy)) {
+            writeLong(out, strategy.getId());
+            writeString(out, strategy.getStrategyId());
+            writeEnum(out, strategy.getType());
+            writeString(out, strategy.getName());
+        }
+    }
+
+    /**
+     * Reads a strategy (null allowed).
+     *
+     * @param in input
+     * @return strategy
+     * @throws IOException read error
+     */
+    private static StrategyDTO readStrategy(final DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return StrategyDTO.builder()
+                .id(readLong(in))
+                .strategyId(readString(in))
+                .type(readEnum(in, StrategyTypeDTO.class))
+                .name(readString(in))
+                .build();
+    }
+
+    // =================================================================================================================
+    // Values.
+
+    /**
+     * Writes a presence byte.
+     *
+     * @param out   output
+     * @param value value
+     * @return true if the value is present
+     * @throws IOException write error
+     */
+    private static boolean writePresence(final DataOutputStream out, final Object value) throws IOException {
+        out.writeBoolean(value != null);
+        return value != null;
+    }
+
+    /**
+     * Writes a string (null allowed).
+     *
+     * @param out   output
+     * @param value value
+     * @throws IOException write error
+     */
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        if (writePresence(out, value)) {
+            out.writeUTF(value);
+        }
+    }
+
+    /**
+     * Reads a string (null allowed).
+     *
+     * @param in input
+     * @return value
+     * @throws IOException read error
+     */
+    private static String readString(final DataInputStream in) throws IOException {
+        if (in.readBoolean()) {
+            return in.readUTF();
+        }
+        return null;
+    }
+
+    /**
+     * Writes a long (null allowed).
+     *
+     * @param out   output
+     * @param value value
+     * @throws IOException write error
+     */
+    private static void writeLong(final DataOutputStream out, final Long value) throws IOException {
+        if (writePresence(out, value)) {
+            out.writeLong(value);
+        }
+    }
+
+    /**
+     * Reads a long (null allowed).
+     *
+     * @param in input
+     * @return value
+     * @throws IOException read error
+     */
+    private static Long readLong(final DataInputStream in) throws IOException {
+        if (in.readBoolean()) {
+            return in.readLong();
+        }
+        return null;
+    }
+
+    /**
+     * Writes a float (null allowed).
+     *
+     * @param out   output
+     * @param value value
+     * @throws IOException write error
+     */
+    private static void writeFloat(final DataOutputStream out, final Float value) throws IOException {
+        if (writePresence(out, value)) {
+            out.writeFloat(value);
+        }
+    }
+
+    /**
+     * Reads a float (null allowed).
+     *
+     * @param in input
+     * @return value
+     * @throws IOException read error
+     */
+    private static Float readFloat(final DataInputStream in) throws IOException {
+        if (in.readBoolean()) {
+            return in.readFloat();
+        }
+        return null;
+    }
+
+    /**
+     * Writes an enum (null allowed).
+     *
+     * @param out   output
+     * @param value value
+     * @throws IOException write error
+     */
+    private static void writeEnum(final DataOutputStream out, final Enum<?> value) throws IOException {
+        if (writePresence(out, value)) {
+            out.writeByte(value.ordinal());
+        }
+    }
+
+    /**
+     * Reads an enum (null allowed).
+     *
+     * @param in        input
+     * @param enumClass enum class
+     * @param <E>       enum type
+     * @return value
+     * @throws IOException read error
+     */
+    private static <E extends Enum<E>> E readEnum(final DataInputStream in, final Class<E> enumClass) throws IOException {
+        if (in.readBoolean()) {
+            return enumClass.getEnumConstants()[in.readUnsignedByte()];
+        }
+        return null;
+    }
+
+    /**
+     * Writes a decimal (null allowed).
+     *
+     * @param out   output
+     * @param value value
+     * @throws IOException write error
+     */
+    private static void writeDecimal(final DataOutputStream out, final BigDecimal value) throws IOException {
+        if (writePresence(out, value)) {
+            final byte[] unscaledValue = value.unscaledValue().toByteArray();
+            out.writeShort(value.scale());
+            out.writeByte(unscaledValue.length);
+            out.write(unscaledValue);
+        }
+    }
+
+    /**
+     * Reads a decimal (null allowed).
+     *
+     * @param in input
+     * @return value
+     * @throws IOException read error
+     */
+    private static BigDecimal readDecimal(final DataInputStream in) throws IOException {
+        if (in.readBoolean()) {
+            final int scale = in.readShort();
+            final byte[] unscaledValue = new byte[in.readUnsignedByte()];
+            in.readFully(unscaledValue);
+            return new BigDecimal(new BigInteger(unscaledValue), scale);
+        }
+        return null;
+    }
+
+    /**
+     * Writes a currency (null allowed).
+     *
+     * @param out      output
+     * @param currency currency
+     * @throws IOException write error
+     */
+    private static void writeCurrency(final DataOutputStream out, final CurrencyDTO currency) throws IOException {
+        if (writePresence(out, currency)) {
+            out.writeUTF(currency.getCode());
+        }
+    }
+
+    /**
+     * Reads a currency (null allowed).
+     *
+     * @param in input
+     * @return currency
+     * @throws IOException read error
+     */
+    private static CurrencyDTO readCurrency(final DataInputStream in) throws IOException {
+        if (in.readBoolean()) {
+            return CurrencyDTO.getInstance(in.readUTF());
+        }
+        return null;
+    }
+
+    /**
+     * Writes a currency pair (null allowed).
+     *
+     * @param out          output
+     * @param currencyPair currency pair
+     * @throws IOException write error
+     */
+    private static void writeCurrencyPair(final DataOutputStream out, final CurrencyPairDTO currencyPair) throws IOException {
+        if (writePresence(out, currencyPair)) {
+            writeCurrency(out, currencyPair.getBaseCurrency());
+            writeCurrency(out, currencyPair.getQuoteCurrency());
+        }
+    }
+
+    /**
+     * Reads a currency pair (null allowed).
+     *
+     * @param in input
+     * @return currency pair
+     * @throws IOException read error
+     */
+    private static CurrencyPairDTO readCurrencyPair(final DataInputStream in) throws IOException {
+        if (in.readBoolean()) {
+            return new CurrencyPairDTO(readCurrency(in), readCurrency(in));
+        }
+        return null;
+    }
+
+    /**
+     * Writes a currency amount (null allowed).
+     *
+     * @param out    output
+     * @param amount amount
+     * @throws IOException write error
+     */
+    private static void writeAmount(final DataOutputStream out, final CurrencyAmountDTO amount) throws IOException {
+        if (writePresence(out, amount)) {
+            writeDecimal(out, amount.getValue());
+            writeCurrency(out, amount.getCurrency());
+        }
+    }
+
+    /**
+     * Reads a currency amount (null allowed).
+     *
+     * @param in input
+     * @return amount
+     * @throws IOException read error
+     */
+    private static CurrencyAmountDTO readAmount(final DataInputStream in) throws IOException {
+        if (in.readBoolean()) {
+            return CurrencyAmountDTO.builder()
+                    .value(readDecimal(in))
+                    .currency(readCurrency(in))
+                    .build();
+        }
+        return null;
+    }
+
+    /**
+     * Writes a date (null allowed).
+     *
+     * @param out   output
+     * @param value value
+     * @throws IOException write error
+     */
+    private static void writeDate(final DataOutputStream out, final ZonedDateTime value) throws IOException {
+        if (writePresence(out, value)) {
+            out.writeLong(value.toEpochSecond());
+            out.writeInt(value.getNano());
+            out.writeUTF(value.getZone().getId());
+        }
+    }
+
+    /**
+     * Reads a date (null allowed).
+     *
+     * @param in input
+     * @return value
+     * @throws IOException read error
+     */
+    private static ZonedDateTime readDate(final DataInputStream in) throws IOException {
+        if (in.readBoolean()) {
+            final Instant instant = Instant.ofEpochSecond(in.readLong(), in.readInt());
+            return ZonedDateTime.ofInstant(instant, ZoneId.of(in.readUTF()));
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,628 @@
+package tech.cassandre.trading.bot.util.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Event journal - append-only log of account, ticker, order, trade and position events.
+ * Events are appended to memory-mapped segment files named after their first sequence. Each record is made of its
+ * payload length, event type, sequence, timestamp, payload (see {@link EventCodec}) and a CRC32 ; a zero length
+ * marks the end of a segment. A torn record at the end of the last segment is ignored and overwritten, and so is a
+ * last segment whose header was not written before a crash.
+ * A snapshot holds the latest value of every account, ticker, order, trade and position ; once written, segments it
+ * covers are deleted so that {@link #recover()} only reads the snapshot and the events that followed.
+ * Events are encoded by the calling thread : only the copy into the segment is serialized between flux threads.
+ * The journal is not a replacement for the database : fluxes append each value before saving it, and orders, trades
+ * and positions are still written synchronously as the fluxes and services read these rows back right after each
+ * update (tickers and position prices are already written in background, see TickerWriter and PositionFlux
+ * checkpoints). Each event therefore adds its append time to the flux thread - measured with JournalBenchmark, about
+ * 0.7 microseconds for a ticker and 1.8 microseconds for an order with its trade, and about 45 microseconds when each
+ * append is forced to the storage device (this depends on the device) - which is why the journal is disabled by
+ * default.
+ */
+public class EventJournal {
+
+    /** Magic number at the beginning of segments and snapshots. */
+    private static final int MAGIC = 0x43534A4C;
+
+    /** Segment header size : magic and format version. */
+    private static final int SEGMENT_HEADER_SIZE = Integer.BYTES * 2;
+
+    /** Snapshot header size : magic, format version, last sequence and number of records. */
+    private static final int SNAPSHOT_HEADER_SIZE = Integer.BYTES * 3 + Long.BYTES;
+
+    /** Record size without payload : length, type, sequence, timestamp and CRC. */
+    private static final int RECORD_OVERHEAD = Integer.BYTES + 1 + Long.BYTES + Long.BYTES + Integer.BYTES;
+
+    /** Segment file prefix. */
+    private static final String SEGMENT_PREFIX = "journal-";
+
+    /** Snapshot file prefix. */
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+
+    /** File suffix. */
+    private static final String FILE_SUFFIX = ".dat";
+
+    /** Temporary file suffix. */
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    /** File name format (sequence padded so that names sort like sequences). */
+    private static final String FILE_NAME_FORMAT = "%s%020d%s";
+
+    /** Logger. */
+    private final Logger logger = LoggerFactory.getLogger(EventJournal.class);
+
+    /** Journal directory. */
+    private final Path directory;
+
+    /** Segment size in bytes. */
+    private final int segmentSize;
+
+    /** True if each append is forced to the storage device. */
+    private final boolean forceWrites;
+
+    /** Checksum (guarded by this). */
+    private final CRC32 checksum = new CRC32();
+
+    /** Lock preventing segments from being deleted while they are read. */
+    private final Object snapshotLock = new Object();
+
+    /** Current segment channel (guarded by this). */
+    private FileChannel channel;
+
+    /** Current segment (guarded by this). */
+    private MappedByteBuffer segment;
+
+    /** Sequence of the last event appended. */
+    private volatile long lastSequence;
+
+    /** Number of events that could not be appended. */
+    private final AtomicLong failedAppends = new AtomicLong();
+
+    /** True once the journal is closed (guarded by this). */
+    private boolean closed;
+
+    /**
+     * Opens a journal (creates the directory if needed and finds the end of the last segment).
+     *
+     * @param newDirectory   journal directory
+     * @param newSegmentSize segment size in bytes
+     * @param newForceWrites true to force each append to the storage device
+     */
+    public EventJournal(final Path newDirectory, final int newSegmentSize, final boolean newForceWrites) {
+        this.directory = newDirectory;
+        this.segmentSize = newSegmentSize;
+        this.forceWrites = newForceWrites;
+        try {
+            Files.createDirectories(directory);
+            final List<Path> segments = listFiles(SEGMENT_PREFIX);
+            final List<Path> snapshots = listFiles(SNAPSHOT_PREFIX);
+            if (!snapshots.isEmpty()) {
+                lastSequence = getSequence(snapshots.get(snapshots.size() - 1), SNAPSHOT_PREFIX);
+            }
+            if (!segments.isEmpty()) {
+                openLastSegment(segments.get(segments.size() - 1));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("EventJournal - Impossible to open journal in " + directory, e);
+        }
+        logger.info("EventJournal - Journal opened in {} (last sequence {})", directory, lastSequence);
+    }
+
+    /**
+     * Appends an event (a failure is logged, counted and thrown).
+     *
+     * @param type  event type
+     * @param value event value
+     * @return event sequence
+     */
+    public final long append(final EventType type, final Object value) {
+        try {
+            return write(type, EventCodec.encode(type, value));
+        } catch (RuntimeException e) {
+            logger.error("EventJournal - Error appending {} event ({} failed appends) : {}", type, failedAppends.incrementAndGet(), e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Writes an encoded event in the current segment.
+     *
+     * @param type    event type
+     * @param payload event payload
+     * @return event sequence
+     */
+    private synchronized long write(final EventType type, final byte[] payload) {
+        if (closed) {
+            throw new IllegalStateException("EventJournal - Journal is closed");
+        }
+        final int recordSize = RECORD_OVERHEAD + payload.length;
+        if (SEGMENT_HEADER_SIZE + recordSize + Integer.BYTES > segmentSize) {
+            throw new IllegalArgumentException("EventJournal - Event too large for segments : " + recordSize + " bytes");
+        }
+        final long sequence = lastSequence + 1;
+        try {
+            if (segment == null || segment.remaining() < recordSize + Integer.BYTES) {
+                createSegment(sequence);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("EventJournal - Impossible to create segment " + sequence, e);
+        }
+        writeRecord(segment, checksum, type, sequence, System.currentTimeMillis(), payload);
+        segment.putInt(segment.position(), 0);
+        if (forceWrites) {
+            segment.force();
+        }
+        lastSequence = sequence;
+        return sequence;
+    }
+
+    /**
+     * Replays events.
+     *
+     * @param fromSequence first sequence to replay (events deleted by a snapshot are not available anymore)
+     * @param consumer     event consumer
+     * @return number of events replayed
+     */
+    public final long replay(final long fromSequence, final Consumer<JournalEvent> consumer) {
+        synchronized (snapshotLock) {
+            final long toSequence = lastSequence;
+            long count = 0;
+            try {
+                final List<Path> segments = listFiles(SEGMENT_PREFIX);
+                for (int i = 0; i < segments.size(); i++) {
+                    // Skipping segments that end before the first sequence.
+                    if (i + 1 < segments.size() && getSequence(segments.get(i + 1), SEGMENT_PREFIX) <= fromSequence) {
+                        continue;
+                    }
+                    final ByteBuffer buffer = mapReadOnly(segments.get(i));
+                    buffer.position(SEGMENT_HEADER_SIZE);
+                    final CRC32 crc = new CRC32();
+                    JournalEvent event = readRecord(buffer, crc);
+                    while (event != null && event.getSequence() <= toSequence) {
+                        if (event.getSequence() >= fromSequence) {
+                            consumer.accept(event);
+                            count++;
+                        }
+                        event = readRecord(buffer, crc);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("EventJournal - Impossible to read journal", e);
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Rebuilds the state from the latest snapshot and the events that followed.
+     *
+     * @return state
+     */
+    public final JournalState recover() {
+        return recover(event -> {
+        });
+    }
+
+    /**
+     * Rebuilds the state from the latest snapshot and the events that followed.
+     *
+     * @param listener receives each event replayed after the snapshot (before it is applied to the state)
+     * @return state
+     */
+    public final JournalState recover(final Consumer<JournalEvent> listener) {
+        synchronized (snapshotLock) {
+            final JournalState state = new JournalState();
+            try {
+                final List<Path> snapshots = listFiles(SNAPSHOT_PREFIX);
+                if (!snapshots.isEmpty()) {
+                    readSnapshot(snapshots.get(snapshots.size() - 1), state);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("EventJournal - Impossible to read snapshot", e);
+            }
+            replay(state.getLastSequence() + 1, event -> {
+                listener.accept(event);
+                state.apply(event);
+            });
+            return state;
+        }
+    }
+
+    /**
+     * Writes a snapshot of the current state then deletes the segments and snapshots it replaces.
+     *
+     * @return sequence of the snapshot (0 if the journal is empty)
+     */
+    public final long writeSnapshot() {
+        synchronized (snapshotLock) {
+            final JournalState state = recover();
+            final long sequence = state.getLastSequence();
+            if (sequence == 0) {
+                return 0;
+            }
+            try {
+                final Path snapshot = directory.resolve(getFileName(SNAPSHOT_PREFIX, sequence));
+                if (Files.notExists(snapshot)) {
+                    writeSnapshot(snapshot, state);
+                    deleteReplacedFiles(sequence);
+                    logger.debug("EventJournal - Snapshot {} written", sequence);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("EventJournal - Impossible to write snapshot " + sequence, e);
+            }
+            return sequence;
+        }
+    }
+
+    /**
+     * Getter lastSequence.
+     *
+     * @return sequence of the last event appended
+     */
+    public final long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Getter failedAppends.
+     *
+     * @return number of events that could not be appended
+     */
+    public final long getFailedAppends() {
+        return failedAppends.get();
+    }
+
+    /**
+     * Forces the current segment to the storage device and closes the journal.
+     */
+    public final synchronized void close() {
+        if (!closed) {
+            closed = true;
+            try {
+                if (segment != null) {
+                    segment.force();
+                    channel.close();
+                }
+            } catch (IOException e) {
+                logger.error("EventJournal - Error closing journal : {}", e.getMessage());
+            }
+            logger.info("EventJournal - Journal closed (last sequence {}, {} failed appends)", lastSequence, failedAppends.get());
+        }
+    }
+
+    /**
+     * Opens the last segment and finds its end.
+     *
+     * @param path segment path
+     * @throws IOException read error
+     */
+    private void openLastSegment(final Path path) throws IOException {
+        channel = FileChannel.open(path, READ, WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        if (segment.remaining() >= SEGMENT_HEADER_SIZE && segment.getInt(0) == 0) {
+            // Segment created but its header was not written before a crash : it has no event.
+            logger.warn("EventJournal - Segment {} has no header, it is initialized again", path);
+            writeHeader();
+        } else {
+            checkHeader(segment, path);
+        }
+        lastSequence = Math.max(lastSequence, getSequence(path, SEGMENT_PREFIX) - 1);
+        int end = segment.position();
+        JournalEvent event = readRecord(segment, checksum);
+        while (event != null) {
+            lastSequence = event.getSequence();
+            end = segment.position();
+            event = readRecord(segment, checksum);
+        }
+        segment.position(end);
+        if (segment.remaining() >= Integer.BYTES) {
+            segment.putInt(end, 0);
+        }
+    }
+
+    /**
+     * Creates a new segment and makes it the current one.
+     *
+     * @param firstSequence first sequence of the segment
+     * @throws IOException write error
+     */
+    private void createSegment(final long firstSequence) throws IOException {
+        if (segment != null) {
+            segment.force();
+            channel.close();
+        }
+        final Path path = directory.resolve(getFileName(SEGMENT_PREFIX, firstSequence));
+        channel = FileChannel.open(path, CREATE, READ, WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        writeHeader();
+        logger.debug("EventJournal - Segment {} created", path);
+    }
+
+    /**
+     * Writes the header of the current segment and forces it to the storage device (the segment is unreadable
+     * without it).
+     */
+    private void writeHeader() {
+        segment.position(0);
+        segment.putInt(MAGIC);
+        segment.putInt(EventCodec.FORMAT_VERSION);
+        segment.putInt(segment.position(), 0);
+        segment.force();
+    }
+
+    /**
+     * Writes a snapshot file (written in a temporary file then renamed).
+     *
+     * @param path  snapshot path
+     * @param state state
+     * @throws IOException write error
+     */
+    private void writeSnapshot(final Path path, final JournalState state) throws IOException {
+        final List<EventType> types = new ArrayList<>();
+        final List<byte[]> payloads = new ArrayList<>();
+        addPayloads(EventType.ACCOUNT, state.getAccounts().values(), types, payloads);
+        addPayloads(EventType.TICKER, state.getTickers().values(), types, payloads);
+        addPayloads(EventType.ORDER, state.getOrders().values(), types, payloads);
+        addPayloads(EventType.TRADE, state.getTrades().values(), types, payloads);
+        addPayloads(EventType.POSITION, state.getPositions().values(), types, payloads);
+
+        final int size = SNAPSHOT_HEADER_SIZE + payloads.stream().mapToInt(p -> RECORD_OVERHEAD + p.length).sum();
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC);
+        buffer.putInt(EventCodec.FORMAT_VERSION);
+        buffer.putLong(state.getLastSequence());
+        buffer.putInt(payloads.size());
+        final CRC32 crc = new CRC32();
+        final long timestamp = System.currentTimeMillis();
+        for (int i = 0; i < payloads.size(); i++) {
+            writeRecord(buffer, crc, types.get(i), state.getLastSequence(), timestamp, payloads.get(i));
+        }
+        buffer.flip();
+
+        final Path temporaryPath = directory.resolve(path.getFileName() + TEMPORARY_FILE_SUFFIX);
+        try (FileChannel snapshotChannel = FileChannel.open(temporaryPath, CREATE_NEW, WRITE)) {
+            while (buffer.hasRemaining()) {
+                snapshotChannel.write(buffer);
+            }
+            snapshotChannel.force(true);
+        }
+        Files.move(temporaryPath, path, ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a snapshot file.
+     *
+     * @param path  snapshot path
+     * @param state state to fill
+     * @throws IOException read error
+     */
+    private void readSnapshot(final Path path, final JournalState state) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        checkHeader(buffer, path);
+        final long sequence = buffer.getLong();
+        final int count = buffer.getInt();
+        final CRC32 crc = new CRC32();
+        for (int i = 0; i < count; i++) {
+            final JournalEvent event = readRecord(buffer, crc);
+            if (event == null) {
+                throw new IllegalStateException("EventJournal - Snapshot " + path + " is corrupted");
+            }
+            state.apply(event);
+        }
+        state.setLastSequence(sequence);
+    }
+
+    /**
+     * Deletes the segments covered by a snapshot and the previous snapshots (the current segment is never deleted).
+     *
+     * @param snapshotSequence snapshot sequence
+     * @throws IOException read error
+     */
+    private void deleteReplacedFiles(final long snapshotSequence) throws IOException {
+        final List<Path> segments = listFiles(SEGMENT_PREFIX);
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (getSequence(segments.get(i + 1), SEGMENT_PREFIX) <= snapshotSequence + 1) {
+                deleteFile(segments.get(i));
+            }
+        }
+        for (Path snapshot : listFiles(SNAPSHOT_PREFIX)) {
+            if (getSequence(snapshot, SNAPSHOT_PREFIX) < snapshotSequence) {
+                deleteFile(snapshot);
+            }
+        }
+    }
+
+    /**
+     * Deletes a file (an error is only logged).
+     *
+     * @param path file path
+     */
+    private void deleteFile(final Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.error("EventJournal - Impossible to delete {} : {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Lists the files with a prefix, sorted by sequence.
+     *
+     * @param prefix file prefix
+     * @return files
+     * @throws IOException read error
+     */
+    private List<Path> listFiles(final String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.getFileName().toString().startsWith(prefix))
+                    .filter(p -> p.getFileName().toString().endsWith(FILE_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Encodes values and adds them to the payloads of a snapshot.
+     *
+     * @param type     event type
+     * @param values   values
+     * @param types    types of the payloads
+     * @param payloads payloads
+     */
+    private static void addPayloads(final EventType type,
+                                    final Iterable<?> values,
+                                    final List<EventType> types,
+                                    final List<byte[]> payloads) {
+        for (Object value : values) {
+            types.add(type);
+            payloads.add(EventCodec.encode(type, value));
+        }
+    }
+
+    /**
+     * Maps a file in read only mode.
+     *
+     * @param path file path
+     * @return buffer
+     * @throws IOException read error
+     */
+    private static ByteBuffer mapReadOnly(final Path path) throws IOException {
+        try (FileChannel readChannel = FileChannel.open(path, READ)) {
+            return readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+        }
+    }
+
+    /**
+     * Checks the magic number and the format version of a file.
+     *
+     * @param buffer buffer positioned at the beginning of the file
+     * @param path   file path
+     */
+    private static void checkHeader(final ByteBuffer buffer, final Path path) {
+        if (buffer.remaining() < SEGMENT_HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IllegalStateException("EventJournal - " + path + " is not a journal file");
+        }
+        final int version = buffer.getInt();
+        if (version != EventCodec.FORMAT_VERSION) {
+            throw new IllegalStateException("EventJournal - " + path + " has an unsupported format version : " + version);
+        }
+    }
+
+    /**
+     * Writes a record.
+     *
+     * @param buffer    buffer
+     * @param crc       checksum
+     * @param type      event type
+     * @param sequence  sequence
+     * @param timestamp timestamp
+     * @param payload   payload
+     */
+    private static void writeRecord(final ByteBuffer buffer,
+                                    final CRC32 crc,
+                                    final EventType type,
+                                    final long sequence,
+                                    final long timestamp,
+                                    final byte[] payload) {
+        final int start = buffer.position();
+        buffer.putInt(payload.length);
+        buffer.put((byte) type.ordinal());
+        buffer.putLong(sequence);
+        buffer.putLong(timestamp);
+        buffer.put(payload);
+        final ByteBuffer content = buffer.duplicate();
+        content.position(start + Integer.BYTES).limit(buffer.position());
+        crc.reset();
+        crc.update(content);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    /**
+     * Reads a record.
+     *
+     * @param buffer buffer positioned on the record (moved after the record if it is valid)
+     * @param crc    checksum
+     * @return event (null at the end of the data or if the record is torn)
+     */
+    private static JournalEvent readRecord(final ByteBuffer buffer, final CRC32 crc) {
+        final int start = buffer.position();
+        if (buffer.remaining() < RECORD_OVERHEAD) {
+            return null;
+        }
+        final int length = buffer.getInt(start);
+        if (length <= 0 || length > buffer.remaining() - RECORD_OVERHEAD) {
+            return null;
+        }
+        final int end = start + RECORD_OVERHEAD + length - Integer.BYTES;
+        final ByteBuffer content = buffer.duplicate();
+        content.position(start + Integer.BYTES).limit(end);
+        crc.reset();
+        crc.update(content);
+        if ((int) crc.getValue() != buffer.getInt(end)) {
+            return null;
+        }
+        buffer.position(start + Integer.BYTES);
+        final int typeOrdinal = buffer.get();
+        final EventType[] types = EventType.values();
+        if (typeOrdinal < 0 || typeOrdinal >= types.length) {
+            return null;
+        }
+        final long sequence = buffer.getLong();
+        final long timestamp = buffer.getLong();
+        final byte[] payload = new byte[length];
+        buffer.get(payload);
+        buffer.position(end + Integer.BYTES);
+        return JournalEvent.builder()
+                .sequence(sequence)
+                .timestamp(timestamp)
+                .type(types[typeOrdinal])
+                .value(EventCodec.decode(types[typeOrdinal], payload))
+                .build();
+    }
+
+    /**
+     * Returns a file name.
+     *
+     * @param prefix   prefix
+     * @param sequence sequence
+     * @return file name
+     */
+    private static String getFileName(final String prefix, final long sequence) {
+        return String.format(FILE_NAME_FORMAT, prefix, sequence, FILE_SUFFIX);
+    }
+
+    /**
+     * Returns the sequence in a file name.
+     *
+     * @param path   file path
+     * @param prefix prefix
+     * @return sequence
+     */
+    private static long getSequence(final Path path, final String prefix) {
+        final String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - FILE_SUFFIX.length()));
+    }
+
+}
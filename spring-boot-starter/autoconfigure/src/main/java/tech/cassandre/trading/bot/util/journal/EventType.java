@@ -0,0 +1,23 @@
+package tech.cassandre.trading.bot.util.journal;
+
+/**
+ * Type of event recorded in the journal.
+ */
+public enum EventType {
+
+    /** Account update. */
+    ACCOUNT,
+
+    /** Ticker update. */
+    TICKER,
+
+    /** Order update. */
+    ORDER,
+
+    /** Trade update. */
+    TRADE,
+
+    /** Position update. */
+    POSITION
+
+}
@@ -0,0 +1,30 @@
+package tech.cassandre.trading.bot.util.journal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Event read from the journal.
+ */
+@Value
+@Builder
+@AllArgsConstructor(access = PRIVATE)
+@SuppressWarnings("checkstyle:VisibilityModifier")
+public class JournalEvent {
+
+    /** Sequence number (starts at 1, increments by 1 for each event). */
+    long sequence;
+
+    /** Time the event was recorded (epoch milliseconds). */
+    long timestamp;
+
+    /** Event type. */
+    EventType type;
+
+    /** Event value (AccountDTO, TickerDTO, OrderDTO, TradeDTO or PositionDTO depending on the type). */
+    Object value;
+
+}
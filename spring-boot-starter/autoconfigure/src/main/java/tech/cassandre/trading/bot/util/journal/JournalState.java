@@ -0,0 +1,142 @@
+package tech.cassandre.trading.bot.util.journal;
+
+import tech.cassandre.trading.bot.dto.market.TickerDTO;
+import tech.cassandre.trading.bot.dto.position.PositionDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderDTO;
+import tech.cassandre.trading.bot.dto.trade.TradeDTO;
+import tech.cassandre.trading.bot.dto.user.AccountDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Journal state - latest value of each account, ticker, order, trade and position found in the journal.
+ * Orders are only kept until their status is final, and trades as long as their order is kept : the state (and the
+ * snapshots written from it) doesn't grow with the trading history.
+ */
+public class JournalState {
+
+    /** Accounts by account id. */
+    private final Map<String, AccountDTO> accounts = new LinkedHashMap<>();
+
+    /** Last ticker by currency pair. */
+    private final Map<CurrencyPairDTO, TickerDTO> tickers = new LinkedHashMap<>();
+
+    /** Orders not in a final status, by order id. */
+    private final Map<String, OrderDTO> orders = new LinkedHashMap<>();
+
+    /** Trades of the orders kept, by trade id. */
+    private final Map<String, TradeDTO> trades = new LinkedHashMap<>();
+
+    /** Positions by technical id. */
+    private final Map<Long, PositionDTO> positions = new LinkedHashMap<>();
+
+    /** Sequence of the last event applied. */
+    private long lastSequence;
+
+    /**
+     * Applies an event.
+     *
+     * @param event event
+     */
+    public final void apply(final JournalEvent event) {
+        switch (event.getType()) {
+            case ACCOUNT:
+                final AccountDTO account = (AccountDTO) event.getValue();
+                accounts.put(account.getAccountId(), account);
+                break;
+            case TICKER:
+                final TickerDTO ticker = (TickerDTO) event.getValue();
+                tickers.put(ticker.getCurrencyPair(), ticker);
+                break;
+            case ORDER:
+                final OrderDTO order = (OrderDTO) event.getValue();
+                if (order.getStatus() != null && order.getStatus().isFinal()) {
+                    orders.remove(order.getOrderId());
+                    trades.values().removeIf(t -> order.getOrderId().equals(t.getOrderId()));
+                } else {
+                    orders.put(order.getOrderId(), order);
+                }
+                break;
+            case TRADE:
+                final TradeDTO trade = (TradeDTO) event.getValue();
+                if (orders.containsKey(trade.getOrderId())) {
+                    trades.put(trade.getTradeId(), trade);
+                }
+                break;
+            case POSITION:
+                final PositionDTO position = (PositionDTO) event.getValue();
+                positions.put(position.getId(), position);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown event type " + event.getType());
+        }
+        lastSequence = event.getSequence();
+    }
+
+    /**
+     * Getter accounts.
+     *
+     * @return accounts by account id
+     */
+    public final Map<String, AccountDTO> getAccounts() {
+        return Collections.unmodifiableMap(accounts);
+    }
+
+    /**
+     * Getter tickers.
+     *
+     * @return last ticker by currency pair
+     */
+    public final Map<CurrencyPairDTO, TickerDTO> getTickers() {
+        return Collections.unmodifiableMap(tickers);
+    }
+
+    /**
+     * Getter orders.
+     *
+     * @return orders not in a final status, by order id
+     */
+    public final Map<String, OrderDTO> getOrders() {
+        return Collections.unmodifiableMap(orders);
+    }
+
+    /**
+     * Getter trades.
+     *
+     * @return trades of the orders kept, by trade id
+     */
+    public final Map<String, TradeDTO> getTrades() {
+        return Collections.unmodifiableMap(trades);
+    }
+
+    /**
+     * Getter positions.
+     *
+     * @return positions by technical id
+     */
+    public final Map<Long, PositionDTO> getPositions() {
+        return Collections.unmodifiableMap(positions);
+    }
+
+    /**
+     * Getter lastSequence.
+     *
+     * @return sequence of the last event applied
+     */
+    public final long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Setter lastSequence.
+     *
+     * @param newLastSequence sequence of the last event applied
+     */
+    final void setLastSequence(final long newLastSequence) {
+        lastSequence = newLastSequence;
+    }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Event journal (disabled by default - see EventJournal for its cost).
+ */
+package tech.cassandre.trading.bot.util.journal;
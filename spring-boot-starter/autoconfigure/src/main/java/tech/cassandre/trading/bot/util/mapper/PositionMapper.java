@@ -1,5 +1,6 @@
 package tech.cassandre.trading.bot.util.mapper;
 
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -32,6 +33,12 @@ public interface PositionMapper {
     @Mapping(target = "strategy", ignore = true)
     void updatePosition(PositionDTO source, @MappingTarget Position target);
 
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(source = "lowestPrice", target = "lowestPrice")
+    @Mapping(source = "highestPrice", target = "highestPrice")
+    @Mapping(source = "latestPrice", target = "latestPrice")
+    void updatePositionPrices(PositionDTO source, @MappingTarget Position target);
+
     // =================================================================================================================
     // Domain to DTO.
 
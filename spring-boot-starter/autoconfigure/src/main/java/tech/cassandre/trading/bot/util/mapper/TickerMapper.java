@@ -1,14 +1,18 @@
 package tech.cassandre.trading.bot.util.mapper;
 
 import org.knowm.xchange.dto.marketdata.Ticker;
+import org.knowm.xchange.dto.marketdata.Trade;
+import org.knowm.xchange.dto.trade.LimitOrder;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import tech.cassandre.trading.bot.dto.market.OrderBookEntryDTO;
+import tech.cassandre.trading.bot.dto.market.PublicTradeDTO;
 import tech.cassandre.trading.bot.dto.market.TickerDTO;
 
 /**
- * Ticker mapper.
+ * Ticker mapper (market data).
  */
-@Mapper(uses = CurrencyMapper.class)
+@Mapper(uses = {CurrencyMapper.class, UtilMapper.class})
 public interface TickerMapper {
 
     // =================================================================================================================
@@ -17,4 +21,25 @@ public interface TickerMapper {
     @Mapping(source = "instrument", target = "currencyPair")
     TickerDTO mapToTickerDTO(Ticker source);
 
+    @Mapping(source = "limitPrice", target = "price")
+    @Mapping(source = "originalAmount", target = "amount")
+    OrderBookEntryDTO mapToOrderBookEntryDTO(LimitOrder source);
+
+    @Mapping(source = "instrument", target = "currencyPair")
+    @Mapping(source = "originalAmount", target = "amount")
+    PublicTradeDTO mapToPublicTradeDTO(Trade source);
+
+    // =================================================================================================================
+    // DTO to domain.
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdOn", ignore = true)
+    @Mapping(target = "updatedOn", ignore = true)
+    tech.cassandre.trading.bot.domain.Ticker mapToTicker(TickerDTO source);
+
+    // =================================================================================================================
+    // Domain to DTO.
+
+    TickerDTO mapToTickerDTO(tech.cassandre.trading.bot.domain.Ticker source);
+
 }
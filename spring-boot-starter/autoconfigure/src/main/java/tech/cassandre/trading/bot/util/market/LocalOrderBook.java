@@ -0,0 +1,435 @@
+package tech.cassandre.trading.bot.util.market;
+
+import tech.cassandre.trading.bot.dto.market.OrderBookDTO;
+import tech.cassandre.trading.bot.dto.market.OrderBookEntryDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderTypeDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import static tech.cassandre.trading.bot.dto.trade.OrderTypeDTO.BID;
+
+/**
+ * Local L2 order book of a currency pair, built from a snapshot then updated with price level changes.
+ * Each side keeps at most {@code depth} levels in a tree sorted from the best price : adding, changing or removing a
+ * level and reading the best price are O(log n), reading the level n is O(n). Not thread safe.
+ */
+public class LocalOrderBook {
+
+    /** Default maximum number of levels per side. */
+    public static final int DEFAULT_DEPTH = 100;
+
+    /** Currency pair. */
+    private final CurrencyPairDTO currencyPair;
+
+    /** Buy side. */
+    private final Side bids;
+
+    /** Sell side. */
+    private final Side asks;
+
+    /** Timestamp of the last snapshot. */
+    private ZonedDateTime timestamp;
+
+    /**
+     * Constructor.
+     *
+     * @param newCurrencyPair currency pair
+     * @param depth           maximum number of levels per side
+     */
+    public LocalOrderBook(final CurrencyPairDTO newCurrencyPair, final int depth) {
+        if (depth <= 0) {
+            throw new IllegalArgumentException("Order book depth must be positive");
+        }
+        this.currencyPair = newCurrencyPair;
+        this.bids = new Side(depth, Comparator.reverseOrder());
+        this.asks = new Side(depth, Comparator.naturalOrder());
+    }
+
+    /**
+     * Replaces the book with a snapshot (levels beyond the depth are ignored).
+     *
+     * @param snapshot order book snapshot
+     */
+    public final void applySnapshot(final OrderBookDTO snapshot) {
+        bids.replace(snapshot.getBids());
+        asks.replace(snapshot.getAsks());
+        timestamp = snapshot.getTimestamp();
+    }
+
+    /**
+     * Updates the book with the differences between the book and a snapshot : levels missing from the snapshot are
+     * removed and levels added or changed are updated (levels beyond the depth are ignored).
+     *
+     * @param snapshot order book snapshot
+     * @return true if a level or the timestamp changed
+     */
+    public final boolean applyChanges(final OrderBookDTO snapshot) {
+        final int changes = bids.applyChanges(snapshot.getBids()) + asks.applyChanges(snapshot.getAsks());
+        final boolean timestampChanged = !Objects.equals(timestamp, snapshot.getTimestamp());
+        timestamp = snapshot.getTimestamp();
+        return changes > 0 || timestampChanged;
+    }
+
+    /**
+     * Updates a price level.
+     *
+     * @param side   BID or ASK
+     * @param price  price
+     * @param amount new total amount at this price (zero to remove the level)
+     */
+    public final void update(final OrderTypeDTO side, final double price, final double amount) {
+        if (side == BID) {
+            bids.update(price, amount);
+        } else {
+            asks.update(price, amount);
+        }
+    }
+
+    /**
+     * Returns the best bid price (NaN if there is no bid).
+     *
+     * @return best bid price
+     */
+    public final double getBestBidPrice() {
+        return bids.getPrice(0);
+    }
+
+    /**
+     * Returns the amount at the best bid price (NaN if there is no bid).
+     *
+     * @return best bid amount
+     */
+    public final double getBestBidAmount() {
+        return bids.getAmount(0);
+    }
+
+    /**
+     * Returns the best ask price (NaN if there is no ask).
+     *
+     * @return best ask price
+     */
+    public final double getBestAskPrice() {
+        return asks.getPrice(0);
+    }
+
+    /**
+     * Returns the amount at the best ask price (NaN if there is no ask).
+     *
+     * @return best ask amount
+     */
+    public final double getBestAskAmount() {
+        return asks.getAmount(0);
+    }
+
+    /**
+     * Returns the price of a bid level (NaN if there is no such level).
+     *
+     * @param level level (0 is the best)
+     * @return price
+     */
+    public final double getBidPrice(final int level) {
+        return bids.getPrice(level);
+    }
+
+    /**
+     * Returns the amount of a bid level (NaN if there is no such level).
+     *
+     * @param level level (0 is the best)
+     * @return amount
+     */
+    public final double getBidAmount(final int level) {
+        return bids.getAmount(level);
+    }
+
+    /**
+     * Returns the price of an ask level (NaN if there is no such level).
+     *
+     * @param level level (0 is the best)
+     * @return price
+     */
+    public final double getAskPrice(final int level) {
+        return asks.getPrice(level);
+    }
+
+    /**
+     * Returns the amount of an ask level (NaN if there is no such level).
+     *
+     * @param level level (0 is the best)
+     * @return amount
+     */
+    public final double getAskAmount(final int level) {
+        return asks.getAmount(level);
+    }
+
+    /**
+     * Returns the amount offered at a price (zero if there is no such level).
+     *
+     * @param side  BID or ASK
+     * @param price price
+     * @return amount
+     */
+    public final double getAmountAt(final OrderTypeDTO side, final double price) {
+        if (side == BID) {
+            return bids.getAmountAt(price);
+        }
+        return asks.getAmountAt(price);
+    }
+
+    /**
+     * Returns the number of bid levels.
+     *
+     * @return number of bid levels
+     */
+    public final int getBidLevels() {
+        return bids.size();
+    }
+
+    /**
+     * Returns the number of ask levels.
+     *
+     * @return number of ask levels
+     */
+    public final int getAskLevels() {
+        return asks.size();
+    }
+
+    /**
+     * Returns the spread (NaN if a side is empty).
+     *
+     * @return spread
+     */
+    public final double getSpread() {
+        return getBestAskPrice() - getBestBidPrice();
+    }
+
+    /**
+     * Returns the middle of the best bid and best ask prices (NaN if a side is empty).
+     *
+     * @return mid price
+     */
+    public final double getMidPrice() {
+        return (getBestAskPrice() + getBestBidPrice()) / 2;
+    }
+
+    /**
+     * Returns an immutable copy of the book.
+     *
+     * @return order book
+     */
+    public final OrderBookDTO toOrderBookDTO() {
+        final OrderBookDTO.OrderBookDTOBuilder builder = OrderBookDTO.builder()
+                .currencyPair(currencyPair)
+                .timestamp(timestamp);
+        bids.getEntries().forEach(builder::bid);
+        asks.getEntries().forEach(builder::ask);
+        return builder.build();
+    }
+
+    /**
+     * Getter currencyPair.
+     *
+     * @return currency pair
+     */
+    public final CurrencyPairDTO getCurrencyPair() {
+        return currencyPair;
+    }
+
+    /**
+     * Getter timestamp.
+     *
+     * @return timestamp of the last snapshot
+     */
+    public final ZonedDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * One side of the book - levels in a tree sorted from the best price.
+     */
+    private static final class Side {
+
+        /** Maximum number of levels. */
+        private final int depth;
+
+        /** Amounts by price, from the best price. */
+        private final NavigableMap<Double, Double> levels;
+
+        /**
+         * Constructor.
+         *
+         * @param newDepth      maximum number of levels
+         * @param newComparator price comparator (the best price first)
+         */
+        private Side(final int newDepth, final Comparator<Double> newComparator) {
+            this.depth = newDepth;
+            this.levels = new TreeMap<>(newComparator);
+        }
+
+        /**
+         * Replaces the levels with the levels of a snapshot (sorted from the best).
+         *
+         * @param entries levels
+         */
+        private void replace(final List<OrderBookEntryDTO> entries) {
+            levels.clear();
+            levels.putAll(read(entries));
+        }
+
+        /**
+         * Applies the differences between the levels and the levels of a snapshot (sorted from the best).
+         *
+         * @param entries levels
+         * @return number of levels added, changed or removed
+         */
+        private int applyChanges(final List<OrderBookEntryDTO> entries) {
+            final Map<Double, Double> snapshot = read(entries);
+            int changes = 0;
+            // Levels removed.
+            final Iterator<Double> prices = levels.keySet().iterator();
+            while (prices.hasNext()) {
+                if (!snapshot.containsKey(prices.next())) {
+                    prices.remove();
+                    changes++;
+                }
+            }
+            // Levels added or changed.
+            for (Map.Entry<Double, Double> level : snapshot.entrySet()) {
+                if (!level.getValue().equals(levels.put(level.getKey(), level.getValue()))) {
+                    changes++;
+                }
+            }
+            return changes;
+        }
+
+        /**
+         * Reads the levels of a snapshot (sorted from the best), at most depth levels.
+         *
+         * @param entries levels
+         * @return amounts by price
+         */
+        private Map<Double, Double> read(final List<OrderBookEntryDTO> entries) {
+            final Map<Double, Double> snapshot = new HashMap<>();
+            for (OrderBookEntryDTO entry : entries) {
+                if (snapshot.size() == depth) {
+                    break;
+                }
+                if (entry.getPrice() != null && entry.getAmount() != null && entry.getAmount().signum() > 0) {
+                    snapshot.put(entry.getPrice().doubleValue(), entry.getAmount().doubleValue());
+                }
+            }
+            return snapshot;
+        }
+
+        /**
+         * Updates a level.
+         *
+         * @param price  price
+         * @param amount amount (zero to remove the level)
+         */
+        private void update(final double price, final double amount) {
+            if (amount > 0) {
+                levels.put(price, amount);
+                if (levels.size() > depth) {
+                    // The worst level is dropped to keep the book bounded.
+                    levels.pollLastEntry();
+                }
+            } else {
+                levels.remove(price);
+            }
+        }
+
+        /**
+         * Returns the number of levels.
+         *
+         * @return number of levels
+         */
+        private int size() {
+            return levels.size();
+        }
+
+        /**
+         * Returns a level.
+         *
+         * @param level level (0 is the best)
+         * @return level (null if there is no such level)
+         */
+        private Map.Entry<Double, Double> getLevel(final int level) {
+            if (level < 0 || level >= levels.size()) {
+                return null;
+            }
+            if (level == 0) {
+                return levels.firstEntry();
+            }
+            final Iterator<Map.Entry<Double, Double>> iterator = levels.entrySet().iterator();
+            for (int i = 0; i < level; i++) {
+                iterator.next();
+            }
+            return iterator.next();
+        }
+
+        /**
+         * Returns the price of a level.
+         *
+         * @param level level (0 is the best)
+         * @return price
+         */
+        private double getPrice(final int level) {
+            final Map.Entry<Double, Double> entry = getLevel(level);
+            if (entry == null) {
+                return Double.NaN;
+            }
+            return entry.getKey();
+        }
+
+        /**
+         * Returns the amount of a level.
+         *
+         * @param level level (0 is the best)
+         * @return amount
+         */
+        private double getAmount(final int level) {
+            final Map.Entry<Double, Double> entry = getLevel(level);
+            if (entry == null) {
+                return Double.NaN;
+            }
+            return entry.getValue();
+        }
+
+        /**
+         * Returns the amount at a price.
+         *
+         * @param price price
+         * @return amount (zero if there is no such level)
+         */
+        private double getAmountAt(final double price) {
+            return levels.getOrDefault(price, 0d);
+        }
+
+        /**
+         * Returns the levels as DTOs.
+         *
+         * @return entries (from the best)
+         */
+        private List<OrderBookEntryDTO> getEntries() {
+            final List<OrderBookEntryDTO> entries = new ArrayList<>(levels.size());
+            levels.forEach((price, amount) -> entries.add(OrderBookEntryDTO.builder()
+                    .price(BigDecimal.valueOf(price))
+                    .amount(BigDecimal.valueOf(amount))
+                    .build()));
+            return entries;
+        }
+
+    }
+
+}
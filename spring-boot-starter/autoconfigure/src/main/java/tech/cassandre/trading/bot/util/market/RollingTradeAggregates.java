@@ -0,0 +1,253 @@
+package tech.cassandre.trading.bot.util.market;
+
+import tech.cassandre.trading.bot.dto.market.PublicTradeDTO;
+
+import java.time.Duration;
+
+import static tech.cassandre.trading.bot.dto.trade.OrderTypeDTO.ASK;
+import static tech.cassandre.trading.bot.dto.trade.OrderTypeDTO.BID;
+
+/**
+ * Rolling aggregates of public trades (volume, VWAP, buy/sell imbalance) over a time window.
+ * The window is split in a fixed number of time buckets stored in a ring buffer : a trade is added to its bucket and
+ * to the totals, and buckets leaving the window are reset when time moves forward. Values are read in constant time.
+ * The time is the trades timestamp (the exchange clock). Not thread safe.
+ */
+public class RollingTradeAggregates {
+
+    /** Default number of buckets in the window. */
+    public static final int DEFAULT_BUCKETS = 60;
+
+    /** Window. */
+    private final Duration window;
+
+    /** Duration of a bucket in milliseconds. */
+    private final long bucketMillis;
+
+    /** Volume traded in each bucket. */
+    private final double[] volumes;
+
+    /** Volume bought by takers in each bucket. */
+    private final double[] buyVolumes;
+
+    /** Volume sold by takers in each bucket. */
+    private final double[] sellVolumes;
+
+    /** Price multiplied by volume in each bucket. */
+    private final double[] amounts;
+
+    /** Number of trades in each bucket. */
+    private final long[] counts;
+
+    /** Most recent bucket number (timestamp divided by the bucket duration). */
+    private long lastBucket = Long.MIN_VALUE;
+
+    /** Volume traded in the window. */
+    private double volume;
+
+    /** Volume bought in the window. */
+    private double buyVolume;
+
+    /** Volume sold in the window. */
+    private double sellVolume;
+
+    /** Price multiplied by volume in the window. */
+    private double amount;
+
+    /** Number of trades in the window. */
+    private long count;
+
+    /**
+     * Constructor (window split in 60 buckets).
+     *
+     * @param newWindow window
+     */
+    public RollingTradeAggregates(final Duration newWindow) {
+        this(newWindow, DEFAULT_BUCKETS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param newWindow   window
+     * @param bucketCount number of buckets in the window (the window moves forward one bucket at a time)
+     */
+    public RollingTradeAggregates(final Duration newWindow, final int bucketCount) {
+        if (bucketCount <= 0 || newWindow.toMillis() < bucketCount) {
+            throw new IllegalArgumentException("Invalid window " + newWindow + " for " + bucketCount + " buckets");
+        }
+        this.window = newWindow;
+        this.bucketMillis = newWindow.toMillis() / bucketCount;
+        this.volumes = new double[bucketCount];
+        this.buyVolumes = new double[bucketCount];
+        this.sellVolumes = new double[bucketCount];
+        this.amounts = new double[bucketCount];
+        this.counts = new long[bucketCount];
+    }
+
+    /**
+     * Adds a public trade.
+     *
+     * @param trade public trade
+     */
+    public final void add(final PublicTradeDTO trade) {
+        if (trade.getTimestamp() != null && trade.getPrice() != null && trade.getAmount() != null) {
+            add(trade.getTimestamp().toInstant().toEpochMilli(),
+                    trade.getType() == BID,
+                    trade.getType() == ASK,
+                    trade.getPrice().doubleValue(),
+                    trade.getAmount().doubleValue());
+        }
+    }
+
+    /**
+     * Adds a trade.
+     *
+     * @param timestamp   trade timestamp in milliseconds
+     * @param buy         true if the taker was buying
+     * @param sell        true if the taker was selling
+     * @param price       price
+     * @param tradeVolume volume
+     */
+    public final void add(final long timestamp, final boolean buy, final boolean sell, final double price, final double tradeVolume) {
+        final long bucket = Math.floorDiv(timestamp, bucketMillis);
+        advanceToBucket(bucket);
+        if (bucket <= lastBucket - volumes.length) {
+            // Trade older than the window.
+            return;
+        }
+        final int slot = (int) Math.floorMod(bucket, (long) volumes.length);
+        volumes[slot] += tradeVolume;
+        volume += tradeVolume;
+        if (buy) {
+            buyVolumes[slot] += tradeVolume;
+            buyVolume += tradeVolume;
+        }
+        if (sell) {
+            sellVolumes[slot] += tradeVolume;
+            sellVolume += tradeVolume;
+        }
+        amounts[slot] += price * tradeVolume;
+        amount += price * tradeVolume;
+        counts[slot]++;
+        count++;
+    }
+
+    /**
+     * Moves the window forward without trade (the trades older than the window are removed).
+     *
+     * @param timestamp timestamp in milliseconds
+     */
+    public final void advanceTo(final long timestamp) {
+        advanceToBucket(Math.floorDiv(timestamp, bucketMillis));
+    }
+
+    /**
+     * Moves the window forward to a bucket.
+     *
+     * @param bucket bucket number
+     */
+    private void advanceToBucket(final long bucket) {
+        if (bucket <= lastBucket) {
+            return;
+        }
+        // Buckets leaving the window are reset.
+        long first = bucket - volumes.length + 1;
+        if (lastBucket != Long.MIN_VALUE && lastBucket + 1 > first) {
+            first = lastBucket + 1;
+        }
+        for (long b = first; b <= bucket; b++) {
+            final int slot = (int) Math.floorMod(b, (long) volumes.length);
+            volumes[slot] = 0;
+            buyVolumes[slot] = 0;
+            sellVolumes[slot] = 0;
+            amounts[slot] = 0;
+            counts[slot] = 0;
+        }
+        lastBucket = bucket;
+        // Totals computed again once per bucket to avoid rounding errors accumulation.
+        volume = 0;
+        buyVolume = 0;
+        sellVolume = 0;
+        amount = 0;
+        count = 0;
+        for (int slot = 0; slot < volumes.length; slot++) {
+            volume += volumes[slot];
+            buyVolume += buyVolumes[slot];
+            sellVolume += sellVolumes[slot];
+            amount += amounts[slot];
+            count += counts[slot];
+        }
+    }
+
+    /**
+     * Getter window.
+     *
+     * @return window
+     */
+    public final Duration getWindow() {
+        return window;
+    }
+
+    /**
+     * Returns the volume traded in the window.
+     *
+     * @return volume
+     */
+    public final double getVolume() {
+        return volume;
+    }
+
+    /**
+     * Returns the volume bought by takers in the window.
+     *
+     * @return buy volume
+     */
+    public final double getBuyVolume() {
+        return buyVolume;
+    }
+
+    /**
+     * Returns the volume sold by takers in the window.
+     *
+     * @return sell volume
+     */
+    public final double getSellVolume() {
+        return sellVolume;
+    }
+
+    /**
+     * Returns the number of trades in the window.
+     *
+     * @return number of trades
+     */
+    public final long getTradeCount() {
+        return count;
+    }
+
+    /**
+     * Returns the volume weighted average price in the window (NaN if there is no trade).
+     *
+     * @return VWAP
+     */
+    public final double getVwap() {
+        if (volume <= 0) {
+            return Double.NaN;
+        }
+        return amount / volume;
+    }
+
+    /**
+     * Returns the buy/sell imbalance in the window, from -1 (only sells) to 1 (only buys) - NaN if there is no trade.
+     *
+     * @return imbalance
+     */
+    public final double getImbalance() {
+        final double sidedVolume = buyVolume + sellVolume;
+        if (sidedVolume <= 0) {
+            return Double.NaN;
+        }
+        return (buyVolume - sellVolume) / sidedVolume;
+    }
+
+}
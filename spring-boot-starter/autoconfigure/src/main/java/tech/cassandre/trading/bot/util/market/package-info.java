@@ -0,0 +1,4 @@
+/**
+ * Market data structures.
+ */
+package tech.cassandre.trading.bot.util.market;
@@ -5,9 +5,13 @@ import lombok.Setter;
 import lombok.ToString;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
+import tech.cassandre.trading.bot.util.validator.Rate;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import java.nio.file.Paths;
 
 /**
  * Database parameters from application.properties.
@@ -23,6 +27,22 @@ public class DatabaseParameters {
     @Valid
     private Datasource datasource = new Datasource();
 
+    /** Positions configuration. */
+    @Valid
+    private Positions positions = new Positions();
+
+    /** Tickers configuration. */
+    @Valid
+    private Tickers tickers = new Tickers();
+
+    /** Journal configuration. */
+    @Valid
+    private Journal journal = new Journal();
+
+    /** Recovery configuration. */
+    @Valid
+    private Recovery recovery = new Recovery();
+
     /** Datasource configuration. */
     @Validated
     @Getter
@@ -60,4 +80,154 @@ public class DatabaseParameters {
 
     }
 
+    /** Positions configuration. */
+    @Validated
+    @Getter
+    @Setter
+    @ToString
+    @ConfigurationProperties(prefix = "cassandre.trading.bot.database.positions")
+    public class Positions {
+
+        /** Checkpoint interval parameter. */
+        public static final String PARAMETER_DATABASE_POSITIONS_CHECKPOINT_INTERVAL = "cassandre.trading.bot.database.positions.checkpoint-interval";
+
+        /** Delay between two writes of positions prices (0 to write prices on every ticker). */
+        @Rate(message = "Invalid positions checkpoint interval - Enter a long value (ex: 123) or a standard ISO 8601 duration (ex: PT10H)")
+        private String checkpointInterval = "PT1S";
+
+    }
+
+    /** Tickers configuration. */
+    @Validated
+    @Getter
+    @Setter
+    @ToString
+    @ConfigurationProperties(prefix = "cassandre.trading.bot.database.tickers")
+    public class Tickers {
+
+        /** Tickers history enabled parameter. */
+        public static final String PARAMETER_DATABASE_TICKERS_ENABLED = "cassandre.trading.bot.database.tickers.enabled";
+
+        /** Tickers flush interval parameter. */
+        public static final String PARAMETER_DATABASE_TICKERS_FLUSH_INTERVAL = "cassandre.trading.bot.database.tickers.flush-interval";
+
+        /** Tickers batch size parameter. */
+        public static final String PARAMETER_DATABASE_TICKERS_BATCH_SIZE = "cassandre.trading.bot.database.tickers.batch-size";
+
+        /** Tickers queue capacity parameter. */
+        public static final String PARAMETER_DATABASE_TICKERS_QUEUE_CAPACITY = "cassandre.trading.bot.database.tickers.queue-capacity";
+
+        /** Tickers retention parameter. */
+        public static final String PARAMETER_DATABASE_TICKERS_RETENTION = "cassandre.trading.bot.database.tickers.retention";
+
+        /** Default batch size. */
+        private static final int DEFAULT_BATCH_SIZE = 500;
+
+        /** Default queue capacity. */
+        private static final int DEFAULT_QUEUE_CAPACITY = 100_000;
+
+        /** True if the tickers received are saved in the TICKERS table. */
+        private boolean enabled = false;
+
+        /** Delay between two writes of the tickers received. */
+        @Rate(message = "Invalid tickers flush interval - Enter a long value (ex: 123) or a standard ISO 8601 duration (ex: PT10H)")
+        private String flushInterval = "PT1S";
+
+        /** Maximum number of tickers written in one transaction. */
+        @Min(value = 1, message = "Tickers batch size must be at least 1")
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        /** Maximum number of tickers waiting to be written (tickers received when it's full are not saved). */
+        @Min(value = 1, message = "Tickers queue capacity must be at least 1")
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+        /** Time during which tickers are kept (0 to keep all tickers). */
+        @Rate(message = "Invalid tickers retention - Enter a long value (ex: 123) or a standard ISO 8601 duration (ex: PT10H)")
+        private String retention = "P30D";
+
+    }
+
+    /** Journal configuration. */
+    @Validated
+    @Getter
+    @Setter
+    @ToString
+    @ConfigurationProperties(prefix = "cassandre.trading.bot.database.journal")
+    public class Journal {
+
+        /** Journal enabled parameter. */
+        public static final String PARAMETER_DATABASE_JOURNAL_ENABLED = "cassandre.trading.bot.database.journal.enabled";
+
+        /** Journal directory parameter. */
+        public static final String PARAMETER_DATABASE_JOURNAL_DIRECTORY = "cassandre.trading.bot.database.journal.directory";
+
+        /** Journal segment size parameter. */
+        public static final String PARAMETER_DATABASE_JOURNAL_SEGMENT_SIZE = "cassandre.trading.bot.database.journal.segment-size";
+
+        /** Journal snapshot interval parameter. */
+        public static final String PARAMETER_DATABASE_JOURNAL_SNAPSHOT_INTERVAL = "cassandre.trading.bot.database.journal.snapshot-interval";
+
+        /** Journal force writes parameter. */
+        public static final String PARAMETER_DATABASE_JOURNAL_FORCE_WRITES = "cassandre.trading.bot.database.journal.force-writes";
+
+        /** Default segment size (64 MB). */
+        private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+        /** Minimum segment size (64 KB). */
+        private static final int MINIMUM_SEGMENT_SIZE = 64 * 1024;
+
+        /**
+         * True if account, ticker, order, trade and position events are recorded in the journal.
+         * Disabled by default : the journal is written on the flux threads before the database, so it adds latency
+         * to each event instead of replacing the database write (see EventJournal).
+         */
+        private boolean enabled = false;
+
+        /** Directory where journal segments and snapshots are saved. */
+        @NotEmpty(message = "Journal directory required")
+        private String directory = Paths.get(System.getProperty("java.io.tmpdir"), "cassandre", "journal").toString();
+
+        /** Size of a journal segment file in bytes. */
+        @Min(value = MINIMUM_SEGMENT_SIZE, message = "Journal segment size must be at least 65536 bytes")
+        private int segmentSize = DEFAULT_SEGMENT_SIZE;
+
+        /** Delay between two snapshots (0 to disable snapshots). */
+        @Rate(message = "Invalid journal snapshot interval - Enter a long value (ex: 123) or a standard ISO 8601 duration (ex: PT10H)")
+        private String snapshotInterval = "PT5M";
+
+        /** True to force each event to the storage device (slower but nothing is lost if the machine crashes). */
+        private boolean forceWrites = false;
+
+    }
+
+    /** Recovery configuration. */
+    @Validated
+    @Getter
+    @Setter
+    @ToString
+    @ConfigurationProperties(prefix = "cassandre.trading.bot.database.recovery")
+    public class Recovery {
+
+        /** Recovery enabled parameter. */
+        public static final String PARAMETER_DATABASE_RECOVERY_ENABLED = "cassandre.trading.bot.database.recovery.enabled";
+
+        /** Recovery maximum duration parameter. */
+        public static final String PARAMETER_DATABASE_RECOVERY_MAXIMUM_DURATION = "cassandre.trading.bot.database.recovery.maximum-duration";
+
+        /** Recovery warm-up period parameter. */
+        public static final String PARAMETER_DATABASE_RECOVERY_WARM_UP_PERIOD = "cassandre.trading.bot.database.recovery.warm-up-period";
+
+        /** True if the strategy state (accounts, last tickers, positions status and bars) is restored at startup. */
+        private boolean enabled = true;
+
+        /** Maximum time spent reading tickers history at startup. */
+        @Rate(message = "Invalid recovery maximum duration - Enter a long value (ex: 123) or a standard ISO 8601 duration (ex: PT10H)")
+        private String maximumDuration = "PT10S";
+
+        /** Period of tickers history read from the tickers table at startup (0 to only use the journal). */
+        @Rate(message = "Invalid recovery warm-up period - Enter a long value (ex: 123) or a standard ISO 8601 duration (ex: PT10H)")
+        private String warmUpPeriod = "P1D";
+
+    }
+
 }
@@ -10,6 +10,9 @@ import tech.cassandre.trading.bot.util.validator.Rate;
 import javax.validation.Valid;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.nio.file.Paths;
 
 /**
  * Exchange parameters from application.properties.
@@ -76,6 +79,14 @@ public class ExchangeParameters {
     @Valid
     private Rates rates = new Rates();
 
+    /** Exchange I/O. */
+    @Valid
+    private Io io = new Io();
+
+    /** Exchange metadata. */
+    @Valid
+    private Metadata metadata = new Metadata();
+
     /** Exchange API rate calls. */
     @Validated
     @Getter
@@ -117,6 +128,12 @@ public class ExchangeParameters {
         /** Rate for order parameter. */
         public static final String PARAMETER_EXCHANGE_RATE_TRADE = "cassandre.trading.bot.exchange.rates.trade";
 
+        /** Global weight limit parameter. */
+        public static final String PARAMETER_EXCHANGE_RATE_GLOBAL_WEIGHT = "cassandre.trading.bot.exchange.rates.global-weight";
+
+        /** Global weight limit period parameter. */
+        public static final String PARAMETER_EXCHANGE_RATE_GLOBAL_PERIOD = "cassandre.trading.bot.exchange.rates.global-period";
+
         /** Delay between calls to account API. */
         @NotNull(message = "Delay between calls to account API is mandatory")
         @Rate(message = "Invalid account rate - Enter a long value (ex: 123) or a standard ISO 8601 duration (ex: PT10H)")
@@ -132,6 +149,126 @@ public class ExchangeParameters {
         @Rate(message = "Invalid trade rate - Enter a long value (ex: 123) or a standard ISO 8601 duration (ex: PT10H)")
         private String trade;
 
+        /** Maximum weight of requests allowed by the exchange during the global period (no limit if not set). */
+        @PositiveOrZero(message = "Global weight limit must be positive")
+        private Long globalWeight;
+
+        /** Period of the global weight limit. */
+        @Rate(message = "Invalid global period - Enter a long value (ex: 123) or a standard ISO 8601 duration (ex: PT10H)")
+        private String globalPeriod = "PT1M";
+
+    }
+
+    /** Exchange I/O. */
+    @Validated
+    @Getter
+    @Setter
+    @ToString
+    @ConfigurationProperties(prefix = "cassandre.trading.bot.exchange.io")
+    public static class Io {
+
+        /** I/O threads parameter. */
+        public static final String PARAMETER_EXCHANGE_IO_THREADS = "cassandre.trading.bot.exchange.io.threads";
+
+        /** I/O timeout parameter. */
+        public static final String PARAMETER_EXCHANGE_IO_TIMEOUT = "cassandre.trading.bot.exchange.io.timeout";
+
+        /** I/O virtual threads parameter. */
+        public static final String PARAMETER_EXCHANGE_IO_VIRTUAL_THREADS = "cassandre.trading.bot.exchange.io.virtual-threads";
+
+        /** I/O coalescing parameter. */
+        public static final String PARAMETER_EXCHANGE_IO_COALESCING = "cassandre.trading.bot.exchange.io.coalescing";
+
+        /** I/O coalescing window parameter. */
+        public static final String PARAMETER_EXCHANGE_IO_COALESCING_WINDOW = "cassandre.trading.bot.exchange.io.coalescing-window";
+
+        /** I/O hedging parameter. */
+        public static final String PARAMETER_EXCHANGE_IO_HEDGING = "cassandre.trading.bot.exchange.io.hedging";
+
+        /** I/O hedging minimum delay parameter. */
+        public static final String PARAMETER_EXCHANGE_IO_HEDGING_MINIMUM_DELAY = "cassandre.trading.bot.exchange.io.hedging-minimum-delay";
+
+        /** I/O circuit breaker parameter. */
+        public static final String PARAMETER_EXCHANGE_IO_CIRCUIT_BREAKER = "cassandre.trading.bot.exchange.io.circuit-breaker";
+
+        /** I/O circuit breaker failures parameter. */
+        public static final String PARAMETER_EXCHANGE_IO_CIRCUIT_BREAKER_FAILURES = "cassandre.trading.bot.exchange.io.circuit-breaker-failures";
+
+        /** I/O circuit breaker open duration parameter. */
+        public static final String PARAMETER_EXCHANGE_IO_CIRCUIT_BREAKER_OPEN_DURATION = "cassandre.trading.bot.exchange.io.circuit-breaker-open-duration";
+
+        /** Default number of threads. */
+        private static final int DEFAULT_THREADS = 10;
+
+        /** Default number of consecutive failures opening a circuit. */
+        private static final int DEFAULT_CIRCUIT_BREAKER_FAILURES = 5;
+
+        /** Maximum number of threads running asynchronous exchange requests. */
+        @Positive(message = "Number of I/O threads must be positive")
+        private int threads = DEFAULT_THREADS;
+
+        /** Timeout of asynchronous exchange requests. */
+        @Rate(message = "Invalid I/O timeout - Enter a long value (ex: 123) or a standard ISO 8601 duration (ex: PT10H)")
+        private String timeout = "PT30S";
+
+        /** Set it to true to run exchange I/O and flux polling on virtual threads (requires Java 21 or later). */
+        private boolean virtualThreads = false;
+
+        /** Set it to true to make concurrent calls to getOrders(), getTrades() and getUser() share the same exchange request. */
+        private boolean coalescing = false;
+
+        /** Time during which the result of a coalesced request is reused. */
+        @Rate(message = "Invalid I/O coalescing window - Enter a long value (ex: 123) or a standard ISO 8601 duration (ex: PT10H)")
+        private String coalescingWindow = "0";
+
+        /** Set it to true to send a duplicate of a ticker, order book, public trades or order status request not answered within the 95th percentile latency. */
+        private boolean hedging = false;
+
+        /** Minimum time to wait before sending a duplicate request. */
+        @Rate(message = "Invalid I/O hedging minimum delay - Enter a long value (ex: 123) or a standard ISO 8601 duration (ex: PT10H)")
+        private String hedgingMinimumDelay = "100";
+
+        /** Set it to true to stop sending requests to an exchange endpoint for a while after consecutive failures. */
+        private boolean circuitBreaker = false;
+
+        /** Number of consecutive failures opening the circuit of an endpoint. */
+        @Positive(message = "Number of circuit breaker failures must be positive")
+        private int circuitBreakerFailures = DEFAULT_CIRCUIT_BREAKER_FAILURES;
+
+        /** Time during which no request is sent to an endpoint once its circuit is open. */
+        @Rate(message = "Invalid I/O circuit breaker open duration - Enter a long value (ex: 123) or a standard ISO 8601 duration (ex: PT10H)")
+        private String circuitBreakerOpenDuration = "PT30S";
+
+    }
+
+    /** Exchange metadata. */
+    @Validated
+    @Getter
+    @Setter
+    @ToString
+    @ConfigurationProperties(prefix = "cassandre.trading.bot.exchange.metadata")
+    public static class Metadata {
+
+        /** Metadata cache parameter. */
+        public static final String PARAMETER_EXCHANGE_METADATA_CACHE = "cassandre.trading.bot.exchange.metadata.cache";
+
+        /** Metadata cache directory parameter. */
+        public static final String PARAMETER_EXCHANGE_METADATA_CACHE_DIRECTORY = "cassandre.trading.bot.exchange.metadata.cache-directory";
+
+        /** Metadata cache TTL parameter. */
+        public static final String PARAMETER_EXCHANGE_METADATA_CACHE_TTL = "cassandre.trading.bot.exchange.metadata.cache-ttl";
+
+        /** Set it to true to start from the exchange metadata saved on disk and refresh it in background. */
+        private boolean cache = false;
+
+        /** Directory where the exchange metadata is saved. */
+        @NotEmpty(message = "Metadata cache directory required")
+        private String cacheDirectory = Paths.get(System.getProperty("java.io.tmpdir"), "cassandre").toString();
+
+        /** Time during which the saved metadata can be used (it's also the delay between two background refreshes). */
+        @Rate(message = "Invalid metadata cache TTL - Enter a long value (ex: 123) or a standard ISO 8601 duration (ex: PT10H)")
+        private String cacheTtl = "PT24H";
+
     }
 
 }
@@ -0,0 +1,263 @@
+package tech.cassandre.trading.bot.util.ratelimit;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Bucket4j;
+import io.github.bucket4j.ConsumptionProbe;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Exchange request scheduler - one instance is shared by all the services of an exchange account.
+ * Each request first waits for the pace of its priority class (rates set in application.properties).
+ * Then, if the exchange has a global weight limit, requests are admitted by priority class : a request is only granted
+ * when no request of a higher priority class is waiting.
+ * A request waiting for longer than the maximum wait of its priority class is rejected.
+ */
+public class ExchangeRequestScheduler {
+
+    /** Maximum time a waiting request sleeps before checking again. */
+    private static final long MAXIMUM_SLEEP_IN_NANOSECONDS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /** Pace of each priority class. */
+    private final Map<RequestPriority, Bucket> paces = new EnumMap<>(RequestPriority.class);
+
+    /** Exchange global weight limit (null if there is no global limit). */
+    private final Bucket globalLimit;
+
+    /** Lock used to admit requests by priority. */
+    private final ReentrantLock lock = new ReentrantLock(true);
+
+    /** Condition signaled when a request leaves the queue. */
+    private final Condition requestLeft = lock.newCondition();
+
+    /** Number of requests waiting for each priority class (guarded by lock). */
+    private final int[] waitingRequests = new int[RequestPriority.values().length];
+
+    /** Statistics of each priority class. */
+    private final Map<RequestPriority, Counters> counters = new EnumMap<>(RequestPriority.class);
+
+    /**
+     * Constructs a scheduler without pace and without global limit.
+     */
+    public ExchangeRequestScheduler() {
+        this(0, 0, 0, 0, null);
+    }
+
+    /**
+     * Constructs a scheduler.
+     *
+     * @param accountRate  delay between two account requests in ms
+     * @param tickerRate   delay between two ticker requests in ms
+     * @param tradeRate    delay between two order status or history requests in ms
+     * @param globalWeight maximum weight of requests allowed by the exchange during globalPeriod (0 means no limit)
+     * @param globalPeriod period of the global weight limit
+     */
+    public ExchangeRequestScheduler(final long accountRate,
+                                    final long tickerRate,
+                                    final long tradeRate,
+                                    final long globalWeight,
+                                    final Duration globalPeriod) {
+        // Paces - order status and history share the same pace as they both use the trade rate.
+        paces.put(RequestPriority.ACCOUNT, getPace(accountRate));
+        paces.put(RequestPriority.TICKER, getPace(tickerRate));
+        final Bucket tradePace = getPace(tradeRate);
+        paces.put(RequestPriority.ORDER_STATUS, tradePace);
+        paces.put(RequestPriority.HISTORY, tradePace);
+
+        // Global limit.
+        if (globalWeight > 0 && globalPeriod != null) {
+            globalLimit = Bucket4j.builder().addLimit(Bandwidth.simple(globalWeight, globalPeriod)).build();
+        } else {
+            globalLimit = null;
+        }
+
+        Arrays.stream(RequestPriority.values()).forEach(priority -> counters.put(priority, new Counters()));
+    }
+
+    /**
+     * Returns a pace bucket (null if there is no pace).
+     *
+     * @param rate rate in ms
+     * @return bucket
+     */
+    private static Bucket getPace(final long rate) {
+        if (rate > 0) {
+            return Bucket4j.builder().addLimit(Bandwidth.simple(1, Duration.ofMillis(rate))).build();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Waits until a request of weight 1 is allowed to be sent to the exchange.
+     *
+     * @param priority request priority
+     * @return true if the request can be sent, false if it was rejected
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public final boolean acquire(final RequestPriority priority) throws InterruptedException {
+        return acquire(priority, 1);
+    }
+
+    /**
+     * Waits until a request is allowed to be sent to the exchange.
+     *
+     * @param priority request priority
+     * @param weight   request weight
+     * @return true if the request can be sent, false if it was rejected
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public final boolean acquire(final RequestPriority priority, final long weight) throws InterruptedException {
+        final Counters priorityCounters = counters.get(priority);
+        final long start = System.nanoTime();
+
+        // We wait for the pace of the priority class.
+        final Bucket pace = paces.get(priority);
+        if (pace != null) {
+            pace.asScheduler().consume(1);
+        }
+
+        // We wait for our turn in the global limit.
+        if (globalLimit != null && !admit(priority, weight, start)) {
+            priorityCounters.rejected.incrementAndGet();
+            return false;
+        }
+
+        // Request granted.
+        final long wait = System.nanoTime() - start;
+        priorityCounters.granted.incrementAndGet();
+        priorityCounters.totalWait.addAndGet(wait);
+        priorityCounters.maximumWait.accumulateAndGet(wait, Math::max);
+        return true;
+    }
+
+    /**
+     * Waits for the global limit to allow a request, giving precedence to higher priority classes.
+     *
+     * @param priority request priority
+     * @param weight   request weight
+     * @param start    time the request started waiting (nano time)
+     * @return true if admitted, false if the maximum wait was reached
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private boolean admit(final RequestPriority priority, final long weight, final long start) throws InterruptedException {
+        final Duration maximumWait = priority.getMaximumWait();
+        lock.lockInterruptibly();
+        try {
+            waitingRequests[priority.ordinal()]++;
+            try {
+                while (true) {
+                    long sleep = MAXIMUM_SLEEP_IN_NANOSECONDS;
+                    if (!isHigherPriorityWaiting(priority)) {
+                        final ConsumptionProbe probe = globalLimit.tryConsumeAndReturnRemaining(weight);
+                        if (probe.isConsumed()) {
+                            return true;
+                        }
+                        sleep = Math.min(sleep, probe.getNanosToWaitForRefill());
+                    }
+                    if (maximumWait != null) {
+                        final long remaining = maximumWait.toNanos() - (System.nanoTime() - start);
+                        if (remaining <= 0) {
+                            return false;
+                        }
+                        sleep = Math.min(sleep, remaining);
+                    }
+                    requestLeft.awaitNanos(Math.max(sleep, 1));
+                }
+            } finally {
+                waitingRequests[priority.ordinal()]--;
+                requestLeft.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns true if a request of a higher priority class is waiting (lock must be held).
+     *
+     * @param priority request priority
+     * @return true if a higher priority request is waiting
+     */
+    private boolean isHigherPriorityWaiting(final RequestPriority priority) {
+        for (int i = 0; i < priority.ordinal(); i++) {
+            if (waitingRequests[i] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the exchange global weight limit is enforced.
+     *
+     * @return true if there is a global limit
+     */
+    public final boolean hasGlobalLimit() {
+        return globalLimit != null;
+    }
+
+    /**
+     * Returns the statistics of a priority class.
+     *
+     * @param priority request priority
+     * @return statistics
+     */
+    public final RequestStatistics getStatistics(final RequestPriority priority) {
+        final Counters priorityCounters = counters.get(priority);
+        int waiting;
+        lock.lock();
+        try {
+            waiting = waitingRequests[priority.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+        return RequestStatistics.builder()
+                .priority(priority)
+                .grantedRequests(priorityCounters.granted.get())
+                .rejectedRequests(priorityCounters.rejected.get())
+                .waitingRequests(waiting)
+                .totalWait(Duration.ofNanos(priorityCounters.totalWait.get()))
+                .maximumWait(Duration.ofNanos(priorityCounters.maximumWait.get()))
+                .build();
+    }
+
+    /**
+     * Returns the statistics of all priority classes.
+     *
+     * @return statistics per priority class
+     */
+    public final Map<RequestPriority, RequestStatistics> getStatistics() {
+        Map<RequestPriority, RequestStatistics> statistics = new EnumMap<>(RequestPriority.class);
+        Arrays.stream(RequestPriority.values()).forEach(priority -> statistics.put(priority, getStatistics(priority)));
+        return statistics;
+    }
+
+    /**
+     * Counters of a priority class.
+     */
+    private static final class Counters {
+
+        /** Number of requests granted. */
+        private final AtomicLong granted = new AtomicLong();
+
+        /** Number of requests rejected. */
+        private final AtomicLong rejected = new AtomicLong();
+
+        /** Total wait of granted requests (ns). */
+        private final AtomicLong totalWait = new AtomicLong();
+
+        /** Maximum wait of a granted request (ns). */
+        private final AtomicLong maximumWait = new AtomicLong();
+
+    }
+
+}
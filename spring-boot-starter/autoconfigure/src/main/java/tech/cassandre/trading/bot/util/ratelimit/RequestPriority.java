@@ -0,0 +1,56 @@
+package tech.cassandre.trading.bot.util.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Priority class of an exchange request (the first value has the highest priority).
+ */
+public enum RequestPriority {
+
+    /** Order placement and cancellation - never rejected. */
+    ORDER_PLACEMENT(null),
+
+    /** Order status polling. */
+    ORDER_STATUS(Duration.ofSeconds(30)),
+
+    /** Ticker retrieval. */
+    TICKER(Duration.ofSeconds(10)),
+
+    /** Account information retrieval. */
+    ACCOUNT(Duration.ofSeconds(30)),
+
+    /** Trade history retrieval. */
+    HISTORY(Duration.ofSeconds(60));
+
+    /** Maximum time a request can wait in the queue before being rejected (null means no limit). */
+    private final Duration maximumWait;
+
+    /**
+     * Constructor.
+     *
+     * @param newMaximumWait maximum wait
+     */
+    RequestPriority(final Duration newMaximumWait) {
+        this.maximumWait = newMaximumWait;
+    }
+
+    /**
+     * Getter for maximumWait.
+     *
+     * @return maximumWait (null means no limit)
+     */
+    public Duration getMaximumWait() {
+        return maximumWait;
+    }
+
+    /**
+     * Returns true if this priority is higher than the priority passed as parameter.
+     *
+     * @param other other priority
+     * @return true if this priority is higher
+     */
+    public boolean isHigherThan(final RequestPriority other) {
+        return ordinal() < other.ordinal();
+    }
+
+}
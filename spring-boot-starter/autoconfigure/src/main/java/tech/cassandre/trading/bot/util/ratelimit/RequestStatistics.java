@@ -0,0 +1,51 @@
+package tech.cassandre.trading.bot.util.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Statistics of a request priority class.
+ */
+@Value
+@Builder
+@AllArgsConstructor(access = PRIVATE)
+@SuppressWarnings("checkstyle:VisibilityModifier")
+public class RequestStatistics {
+
+    /** Priority class. */
+    RequestPriority priority;
+
+    /** Number of requests granted. */
+    long grantedRequests;
+
+    /** Number of requests rejected because they waited too long. */
+    long rejectedRequests;
+
+    /** Number of requests currently waiting. */
+    long waitingRequests;
+
+    /** Total time spent by granted requests in the queue. */
+    Duration totalWait;
+
+    /** Longest time spent by a granted request in the queue. */
+    Duration maximumWait;
+
+    /**
+     * Returns the average time spent by granted requests in the queue.
+     *
+     * @return average wait
+     */
+    public Duration getAverageWait() {
+        if (grantedRequests == 0) {
+            return Duration.ZERO;
+        } else {
+            return totalWait.dividedBy(grantedRequests);
+        }
+    }
+
+}
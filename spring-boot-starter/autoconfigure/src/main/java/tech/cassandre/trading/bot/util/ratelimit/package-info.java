@@ -0,0 +1,4 @@
+/**
+ * Exchange requests rate limiting.
+ */
+package tech.cassandre.trading.bot.util.ratelimit;
\ No newline at end of file
@@ -0,0 +1,217 @@
+package tech.cassandre.trading.bot.util.ta4j;
+
+import org.ta4j.core.BarSeries;
+import tech.cassandre.trading.bot.dto.market.TickerDTO;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bar aggregator - builds OHLCV bars from ticks and adds them to a series when they are closed.
+ * <p>
+ * Bars are aligned on time boundaries (multiples of the bar duration since the epoch, in the local time of the ticks) :
+ * with one day bars, a bar starts at midnight. Each tick only updates the bar being built (O(1)) ; when a tick
+ * belongs to a later period, the bar being built is closed and added to the series. If no tick was received during
+ * some periods, empty bars (open, high, low and close set to the previous close, no volume) are added for them.
+ * Ticks older than the bar being built are ignored as closed bars can't be modified.
+ * <p>
+ * Bars are closed by the ticks timestamps (not by a clock) so the same ticks always give the same bars.
+ */
+public class BarAggregator {
+
+    /** Bar series. */
+    private final BarSeries series;
+
+    /** Bar duration. */
+    private final Duration barDuration;
+
+    /** Bar duration in milliseconds. */
+    private final long barDurationInMillis;
+
+    /** Period of the bar being built (-1 if there is none). */
+    private long period = -1;
+
+    /** Offset of the ticks time zone (in milliseconds). */
+    private long offsetInMillis;
+
+    /** Time zone of the ticks. */
+    private ZoneId zone;
+
+    /** Open price of the bar being built. */
+    private double open;
+
+    /** High price of the bar being built. */
+    private double high;
+
+    /** Low price of the bar being built. */
+    private double low;
+
+    /** Close price of the bar being built. */
+    private double close;
+
+    /** Volume of the bar being built. */
+    private double volume;
+
+    /** Volume of the last ticker received (rolling volume given by the exchange). */
+    private Double lastTickerVolume;
+
+    /**
+     * Constructor.
+     *
+     * @param newSeries      series the closed bars are added to
+     * @param newBarDuration bar duration
+     */
+    public BarAggregator(final BarSeries newSeries, final Duration newBarDuration) {
+        if (newBarDuration.toMillis() <= 0) {
+            throw new IllegalArgumentException("Bar duration must be at least one millisecond");
+        }
+        this.series = newSeries;
+        this.barDuration = newBarDuration;
+        this.barDurationInMillis = newBarDuration.toMillis();
+    }
+
+    /**
+     * Adds a ticker.
+     * The price used is the last price. Tickers give a rolling volume (for example, the volume of the last 24 hours)
+     * so the volume added to the bar is the increase of this rolling volume since the previous ticker.
+     *
+     * @param ticker ticker
+     * @return number of bars closed and added to the series
+     */
+    public final int addTicker(final TickerDTO ticker) {
+        if (ticker.getTimestamp() == null || ticker.getLast() == null) {
+            return 0;
+        }
+        double volumeIncrease = 0;
+        if (ticker.getVolume() != null) {
+            final double tickerVolume = ticker.getVolume().doubleValue();
+            if (lastTickerVolume != null && tickerVolume > lastTickerVolume) {
+                volumeIncrease = tickerVolume - lastTickerVolume;
+            }
+            lastTickerVolume = tickerVolume;
+        }
+        return addTick(ticker.getTimestamp(), ticker.getLast().doubleValue(), volumeIncrease);
+    }
+
+    /**
+     * Adds a tick.
+     *
+     * @param timestamp  tick timestamp
+     * @param price      tick price
+     * @param tickVolume tick volume
+     * @return number of bars closed and added to the series
+     */
+    public final int addTick(final ZonedDateTime timestamp, final double price, final double tickVolume) {
+        final long offset = TimeUnit.SECONDS.toMillis(timestamp.getOffset().getTotalSeconds());
+        final long tickPeriod = Math.floorDiv(timestamp.toInstant().toEpochMilli() + offset, barDurationInMillis);
+
+        // First tick.
+        if (period == -1) {
+            startBar(tickPeriod, offset, timestamp.getZone(), price, tickVolume);
+            return 0;
+        }
+
+        // Tick in the bar being built.
+        if (tickPeriod == period) {
+            high = Math.max(high, price);
+            low = Math.min(low, price);
+            close = price;
+            volume += tickVolume;
+            return 0;
+        }
+
+        // Tick older than the bar being built.
+        if (tickPeriod < period) {
+            return 0;
+        }
+
+        // Tick in a later period : we close the bar and add empty bars for the periods without ticks.
+        addBar(period, open, high, low, close, volume);
+        final long emptyBars = Math.min(tickPeriod - period - 1, Math.max(series.getMaximumBarCount(), 0));
+        for (long i = tickPeriod - emptyBars; i < tickPeriod; i++) {
+            addBar(i, close, close, close, close, 0);
+        }
+        startBar(tickPeriod, offset, timestamp.getZone(), price, tickVolume);
+        return (int) emptyBars + 1;
+    }
+
+    /**
+     * Starts a new bar.
+     *
+     * @param newPeriod  bar period
+     * @param newOffset  ticks time zone offset
+     * @param newZone    ticks time zone
+     * @param price      first price
+     * @param tickVolume first volume
+     */
+    private void startBar(final long newPeriod,
+                          final long newOffset,
+                          final ZoneId newZone,
+                          final double price,
+                          final double tickVolume) {
+        period = newPeriod;
+        offsetInMillis = newOffset;
+        zone = newZone;
+        open = price;
+        high = price;
+        low = price;
+        close = price;
+        volume = tickVolume;
+    }
+
+    /**
+     * Adds a closed bar to the series.
+     *
+     * @param barPeriod bar period
+     * @param barOpen   open price
+     * @param barHigh   high price
+     * @param barLow    low price
+     * @param barClose  close price
+     * @param barVolume volume
+     */
+    private void addBar(final long barPeriod,
+                        final double barOpen,
+                        final double barHigh,
+                        final double barLow,
+                        final double barClose,
+                        final double barVolume) {
+        final long endTime = (barPeriod + 1) * barDurationInMillis - offsetInMillis;
+        if (series instanceof RingBarSeries) {
+            // No object created for the bar.
+            ((RingBarSeries) series).addBar(zone, endTime, barDurationInMillis, barOpen, barHigh, barLow, barClose, barVolume);
+        } else {
+            series.addBar(barDuration, ZonedDateTime.ofInstant(Instant.ofEpochMilli(endTime), zone), barOpen, barHigh, barLow, barClose, barVolume);
+        }
+    }
+
+    /**
+     * Returns true if a bar is being built.
+     *
+     * @return true if a bar is being built
+     */
+    public final boolean isBuildingBar() {
+        return period != -1;
+    }
+
+    /**
+     * Getter close price of the bar being built.
+     *
+     * @return close price
+     */
+    public final double getClose() {
+        return close;
+    }
+
+    /**
+     * Getter volume of the bar being built.
+     *
+     * @return volume
+     */
+    public final double getVolume() {
+        return volume;
+    }
+
+}
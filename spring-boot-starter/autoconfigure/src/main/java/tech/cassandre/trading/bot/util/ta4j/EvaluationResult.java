@@ -0,0 +1,48 @@
+package tech.cassandre.trading.bot.util.ta4j;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Result of a strategy evaluation on a bar series.
+ */
+@Value
+@Builder
+@AllArgsConstructor(access = PRIVATE)
+@SuppressWarnings("checkstyle:VisibilityModifier")
+public class EvaluationResult {
+
+    /** Number of bars evaluated. */
+    int barCount;
+
+    /** Closed trades. */
+    @Singular
+    List<EvaluationTrade> trades;
+
+    /** Gain of the closed trades (fees deducted). */
+    BigDecimal gain;
+
+    /** Fees paid. */
+    BigDecimal fees;
+
+    /** Number of trades with a gain. */
+    int winningTrades;
+
+    /** Number of trades with a loss. */
+    int losingTrades;
+
+    /** True if a position was still opened at the end of the series (it is not in the trades). */
+    boolean positionOpened;
+
+    /** Evaluation duration. */
+    Duration evaluationTime;
+
+}
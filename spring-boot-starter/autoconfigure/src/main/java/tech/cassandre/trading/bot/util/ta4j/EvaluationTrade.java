@@ -0,0 +1,48 @@
+package tech.cassandre.trading.bot.util.ta4j;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Trade simulated by the strategy evaluator (a long position : a buy at the entry and a sell at the exit).
+ */
+@Value
+@Builder
+@AllArgsConstructor(access = PRIVATE)
+@SuppressWarnings("checkstyle:VisibilityModifier")
+public class EvaluationTrade {
+
+    /** Index of the entry bar. */
+    int entryIndex;
+
+    /** End time of the entry bar. */
+    ZonedDateTime entryTime;
+
+    /** Entry price. */
+    BigDecimal entryPrice;
+
+    /** Index of the exit bar. */
+    int exitIndex;
+
+    /** End time of the exit bar. */
+    ZonedDateTime exitTime;
+
+    /** Exit price. */
+    BigDecimal exitPrice;
+
+    /** Amount bought and sold. */
+    BigDecimal amount;
+
+    /** Fees paid on the entry and on the exit. */
+    BigDecimal fees;
+
+    /** Gain (fees deducted). */
+    BigDecimal gain;
+
+}
@@ -0,0 +1,750 @@
+package tech.cassandre.trading.bot.util.ta4j;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBar;
+import org.ta4j.core.BaseBarSeries;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.Num;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Bar series stored in a ring buffer of primitive arrays (one array per bar field).
+ * <p>
+ * Adding a bar only writes primitive values in the arrays and, when the maximum bar count is reached, the oldest bar
+ * is removed in constant time by moving the start of the ring. Arrays grow (by doubling) up to the maximum bar count
+ * so a series with a large maximum bar count doesn't allocate memory it doesn't use ; once they reached their size,
+ * adding a bar doesn't allocate anything. The bars returned by {@link #getBar(int)} are built from the stored values
+ * the first time they are read and kept until the bar is modified or removed, so indicators reading the same bars
+ * again and again don't allocate anything either.
+ * <p>
+ * Values are stored as doubles (like {@link DoubleNum}) and bar end times as epoch milliseconds in the time zone of
+ * the first bar. Empty bars (no price yet) have null prices, like ta4j bars. Unlike ta4j series, the begin index is
+ * the index of the first bar still in the series. The series can be written to a file and read from it with one bulk
+ * copy per field.
+ */
+public class RingBarSeries implements BarSeries {
+
+    /** Serial version. */
+    private static final long serialVersionUID = 1L;
+
+    /** Initial size of the arrays. */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /** Default time period (used by ta4j when no time period is given). */
+    private static final Duration DEFAULT_TIME_PERIOD = Duration.ofDays(1);
+
+    /** File format version. */
+    private static final int FORMAT_VERSION = 1;
+
+    /** Size of a file header (without the time zone) : version, maximum bar count, removed bars, bars and zone size. */
+    private static final int HEADER_SIZE_IN_FILE = Integer.BYTES * 5;
+
+    /** Size of a bar in a file : end time, time period, open, high, low, close, volume, amount and trades. */
+    private static final int BAR_SIZE_IN_FILE = Long.BYTES * 2 + Double.BYTES * 6 + Integer.BYTES;
+
+    /** Series name. */
+    private final String name;
+
+    /** Maximum bar count. */
+    private int maximumBarCount;
+
+    /** Time zone of the bars. */
+    private ZoneId zone = ZoneId.systemDefault();
+
+    /** Bars end times (epoch milliseconds). */
+    private long[] endTimes;
+
+    /** Bars time periods (milliseconds). */
+    private long[] timePeriods;
+
+    /** Bars open prices. */
+    private double[] openPrices;
+
+    /** Bars high prices. */
+    private double[] highPrices;
+
+    /** Bars low prices. */
+    private double[] lowPrices;
+
+    /** Bars close prices. */
+    private double[] closePrices;
+
+    /** Bars volumes. */
+    private double[] volumes;
+
+    /** Bars amounts. */
+    private double[] amounts;
+
+    /** Bars number of trades. */
+    private int[] trades;
+
+    /** Bars already read (null if the bar was not read since it was added or modified). */
+    private RingBar[] bars;
+
+    /** Position of the first bar in the arrays. */
+    private int head;
+
+    /** Number of bars. */
+    private int count;
+
+    /** Number of bars removed. */
+    private int removedBarsCount;
+
+    /**
+     * Constructor.
+     *
+     * @param newName            series name
+     * @param newMaximumBarCount maximum bar count
+     */
+    public RingBarSeries(final String newName, final int newMaximumBarCount) {
+        if (newMaximumBarCount <= 0) {
+            throw new IllegalArgumentException("Maximum bar count must be strictly positive");
+        }
+        this.name = newName;
+        this.maximumBarCount = newMaximumBarCount;
+        allocate(Math.min(INITIAL_CAPACITY, newMaximumBarCount));
+    }
+
+    @Override
+    public final String getName() {
+        return name;
+    }
+
+    @Override
+    public final Bar getBar(final int i) {
+        if (i < 0 || count == 0 || i > getEndIndex()) {
+            throw new IndexOutOfBoundsException("Bar series `" + name + "` : bar " + i + " doesn't exist (begin index "
+                    + getBeginIndex() + ", end index " + getEndIndex() + ")");
+        }
+        // Like ta4j series, the first bar is returned for bars already removed.
+        final int index = Math.max(i, removedBarsCount);
+        final int slot = slot(index);
+        RingBar bar = bars[slot];
+        if (bar == null) {
+            bar = new RingBar(index);
+            bars[slot] = bar;
+        }
+        return bar;
+    }
+
+    @Override
+    public final int getBarCount() {
+        return count;
+    }
+
+    @Override
+    public final List<Bar> getBarData() {
+        return new AbstractList<>() {
+            @Override
+            public Bar get(final int index) {
+                return getBar(removedBarsCount + index);
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    @Override
+    public final int getBeginIndex() {
+        if (count == 0) {
+            return -1;
+        }
+        return removedBarsCount;
+    }
+
+    @Override
+    public final int getEndIndex() {
+        if (count == 0) {
+            return -1;
+        }
+        return removedBarsCount + count - 1;
+    }
+
+    @Override
+    public final int getMaximumBarCount() {
+        return maximumBarCount;
+    }
+
+    @Override
+    public final void setMaximumBarCount(final int newMaximumBarCount) {
+        if (newMaximumBarCount <= 0) {
+            throw new IllegalArgumentException("Maximum bar count must be strictly positive");
+        }
+        maximumBarCount = newMaximumBarCount;
+        while (count > maximumBarCount) {
+            removeFirstBar();
+        }
+        if (endTimes.length > maximumBarCount) {
+            resize(maximumBarCount);
+        }
+    }
+
+    @Override
+    public final int getRemovedBarsCount() {
+        return removedBarsCount;
+    }
+
+    @Override
+    public final void addBar(final Bar bar, final boolean replace) {
+        if (count == 0) {
+            zone = bar.getEndTime().getZone();
+        }
+        final long endTime = bar.getEndTime().toInstant().toEpochMilli();
+        if (replace && count > 0) {
+            final int slot = slot(getEndIndex());
+            write(slot, endTime, bar.getTimePeriod().toMillis(), toDouble(bar.getOpenPrice()), toDouble(bar.getHighPrice()),
+                    toDouble(bar.getLowPrice()), toDouble(bar.getClosePrice()), toDouble(bar.getVolume()));
+            amounts[slot] = toDouble(bar.getAmount());
+            trades[slot] = bar.getTrades();
+        } else {
+            addBar(zone, endTime, bar.getTimePeriod().toMillis(), toDouble(bar.getOpenPrice()), toDouble(bar.getHighPrice()),
+                    toDouble(bar.getLowPrice()), toDouble(bar.getClosePrice()), toDouble(bar.getVolume()));
+            amounts[slot(getEndIndex())] = toDouble(bar.getAmount());
+            trades[slot(getEndIndex())] = bar.getTrades();
+        }
+    }
+
+    @Override
+    public final void addBar(final Duration timePeriod, final ZonedDateTime endTime) {
+        addBar(endTime.getZone(), endTime.toInstant().toEpochMilli(), timePeriod.toMillis(), Double.NaN, Double.NaN, Double.NaN, Double.NaN, 0);
+    }
+
+    @Override
+    public final void addBar(final ZonedDateTime endTime,
+                       final Num openPrice,
+                       final Num highPrice,
+                       final Num lowPrice,
+                       final Num closePrice,
+                       final Num volume,
+                       final Num amount) {
+        addBar(DEFAULT_TIME_PERIOD, endTime, openPrice, highPrice, lowPrice, closePrice, volume, amount);
+    }
+
+    @Override
+    public final void addBar(final Duration timePeriod,
+                       final ZonedDateTime endTime,
+                       final Num openPrice,
+                       final Num highPrice,
+                       final Num lowPrice,
+                       final Num closePrice,
+                       final Num volume) {
+        addBar(endTime.getZone(), endTime.toInstant().toEpochMilli(), timePeriod.toMillis(), toDouble(openPrice),
+                toDouble(highPrice), toDouble(lowPrice), toDouble(closePrice), toDouble(volume));
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public final void addBar(final Duration timePeriod,
+                       final ZonedDateTime endTime,
+                       final Num openPrice,
+                       final Num highPrice,
+                       final Num lowPrice,
+                       final Num closePrice,
+                       final Num volume,
+                       final Num amount) {
+        addBar(timePeriod, endTime, openPrice, highPrice, lowPrice, closePrice, volume);
+        amounts[slot(getEndIndex())] = toDouble(amount);
+    }
+
+    /**
+     * Adds a bar without creating any object.
+     *
+     * @param barZone    time zone of the bar (only used for the first bar of the series)
+     * @param endTime    end time (epoch milliseconds)
+     * @param timePeriod time period (milliseconds)
+     * @param openPrice  open price
+     * @param highPrice  high price
+     * @param lowPrice   low price
+     * @param closePrice close price
+     * @param volume     volume
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public final void addBar(final ZoneId barZone,
+                       final long endTime,
+                       final long timePeriod,
+                       final double openPrice,
+                       final double highPrice,
+                       final double lowPrice,
+                       final double closePrice,
+                       final double volume) {
+        if (count == 0) {
+            zone = barZone;
+        } else if (endTime <= endTimes[slot(getEndIndex())]) {
+            throw new IllegalArgumentException("Cannot add a bar with end time " + Instant.ofEpochMilli(endTime)
+                    + " that is not after the series end time " + Instant.ofEpochMilli(endTimes[slot(getEndIndex())]));
+        }
+        if (count == maximumBarCount) {
+            removeFirstBar();
+        } else if (count == endTimes.length) {
+            resize((int) Math.min((long) endTimes.length * 2, maximumBarCount));
+        }
+        count++;
+        final int slot = slot(getEndIndex());
+        write(slot, endTime, timePeriod, openPrice, highPrice, lowPrice, closePrice, volume);
+        amounts[slot] = 0;
+        trades[slot] = 0;
+    }
+
+    @Override
+    public final void addTrade(final Num tradeVolume, final Num tradePrice) {
+        final int slot = lastSlot();
+        addPrice(slot, tradePrice.doubleValue());
+        volumes[slot] += tradeVolume.doubleValue();
+        amounts[slot] += tradeVolume.doubleValue() * tradePrice.doubleValue();
+        trades[slot]++;
+    }
+
+    @Override
+    public final void addPrice(final Num price) {
+        addPrice(lastSlot(), price.doubleValue());
+    }
+
+    @Override
+    public final BarSeries getSubSeries(final int startIndex, final int endIndex) {
+        if (startIndex > endIndex) {
+            throw new IllegalArgumentException("The end index must be greater than the start index");
+        }
+        final List<Bar> subSeriesBars = new ArrayList<>();
+        if (count > 0) {
+            for (int i = Math.max(startIndex, getBeginIndex()); i < Math.min(endIndex, getEndIndex() + 1); i++) {
+                final Bar bar = getBar(i);
+                subSeriesBars.add(new BaseBar(bar.getTimePeriod(), bar.getEndTime(), bar.getOpenPrice(), bar.getHighPrice(),
+                        bar.getLowPrice(), bar.getClosePrice(), bar.getVolume(), bar.getAmount(), bar.getTrades()));
+            }
+        }
+        return new BaseBarSeries(name, subSeriesBars, function());
+    }
+
+    @Override
+    public final Num numOf(final Number number) {
+        return DoubleNum.valueOf(number);
+    }
+
+    @Override
+    public final Function<Number, Num> function() {
+        return DoubleNum::valueOf;
+    }
+
+    /**
+     * Writes the series in a file (the file is replaced atomically).
+     *
+     * @param file file
+     * @throws IOException error writing the file
+     */
+    public final void writeTo(final Path file) throws IOException {
+        final byte[] zoneId = zone.getId().getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(HEADER_SIZE_IN_FILE + zoneId.length + count * BAR_SIZE_IN_FILE);
+        buffer.putInt(FORMAT_VERSION)
+                .putInt(maximumBarCount)
+                .putInt(removedBarsCount)
+                .putInt(count)
+                .putInt(zoneId.length)
+                .put(zoneId);
+
+        // One bulk copy per field (two if the ring wraps).
+        final int firstPart = Math.min(count, endTimes.length - head);
+        final int secondPart = count - firstPart;
+        buffer.asLongBuffer().put(endTimes, head, firstPart).put(endTimes, 0, secondPart);
+        buffer.position(buffer.position() + count * Long.BYTES);
+        buffer.asLongBuffer().put(timePeriods, head, firstPart).put(timePeriods, 0, secondPart);
+        buffer.position(buffer.position() + count * Long.BYTES);
+        for (double[] column : new double[][]{openPrices, highPrices, lowPrices, closePrices, volumes, amounts}) {
+            buffer.asDoubleBuffer().put(column, head, firstPart).put(column, 0, secondPart);
+            buffer.position(buffer.position() + count * Double.BYTES);
+        }
+        buffer.asIntBuffer().put(trades, head, firstPart).put(trades, 0, secondPart);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        buffer.flip();
+
+        final Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a series from a file written by {@link #writeTo(Path)}.
+     *
+     * @param seriesName series name
+     * @param file       file
+     * @return series
+     * @throws IOException error reading the file
+     */
+    public static RingBarSeries readFrom(final String seriesName, final Path file) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.getInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported bar series file format : " + file);
+        }
+        final RingBarSeries series = new RingBarSeries(seriesName, buffer.getInt());
+        final int removed = buffer.getInt();
+        final int barCount = buffer.getInt();
+        final byte[] zoneId = new byte[buffer.getInt()];
+        buffer.get(zoneId);
+        series.zone = ZoneId.of(new String(zoneId, StandardCharsets.UTF_8));
+        series.allocate(Math.max(barCount, Math.min(INITIAL_CAPACITY, series.maximumBarCount)));
+        series.removedBarsCount = removed;
+        series.count = barCount;
+
+        // One bulk copy per field.
+        buffer.asLongBuffer().get(series.endTimes, 0, barCount);
+        buffer.position(buffer.position() + barCount * Long.BYTES);
+        buffer.asLongBuffer().get(series.timePeriods, 0, barCount);
+        buffer.position(buffer.position() + barCount * Long.BYTES);
+        for (double[] column : new double[][]{series.openPrices, series.highPrices, series.lowPrices, series.closePrices, series.volumes, series.amounts}) {
+            buffer.asDoubleBuffer().get(column, 0, barCount);
+            buffer.position(buffer.position() + barCount * Double.BYTES);
+        }
+        buffer.asIntBuffer().get(series.trades, 0, barCount);
+        return series;
+    }
+
+    /**
+     * Allocates empty arrays.
+     *
+     * @param capacity arrays size
+     */
+    private void allocate(final int capacity) {
+        endTimes = new long[capacity];
+        timePeriods = new long[capacity];
+        openPrices = new double[capacity];
+        highPrices = new double[capacity];
+        lowPrices = new double[capacity];
+        closePrices = new double[capacity];
+        volumes = new double[capacity];
+        amounts = new double[capacity];
+        trades = new int[capacity];
+        bars = new RingBar[capacity];
+        head = 0;
+    }
+
+    /**
+     * Resizes the arrays (bars are moved at the beginning of the new arrays).
+     *
+     * @param capacity new arrays size
+     */
+    private void resize(final int capacity) {
+        final long[] oldEndTimes = endTimes;
+        final long[] oldTimePeriods = timePeriods;
+        final double[][] oldColumns = {openPrices, highPrices, lowPrices, closePrices, volumes, amounts};
+        final int[] oldTrades = trades;
+        final int oldHead = head;
+        allocate(capacity);
+        final double[][] newColumns = {openPrices, highPrices, lowPrices, closePrices, volumes, amounts};
+        final int firstPart = Math.min(count, oldEndTimes.length - oldHead);
+        final int secondPart = count - firstPart;
+        System.arraycopy(oldEndTimes, oldHead, endTimes, 0, firstPart);
+        System.arraycopy(oldEndTimes, 0, endTimes, firstPart, secondPart);
+        System.arraycopy(oldTimePeriods, oldHead, timePeriods, 0, firstPart);
+        System.arraycopy(oldTimePeriods, 0, timePeriods, firstPart, secondPart);
+        for (int i = 0; i < oldColumns.length; i++) {
+            System.arraycopy(oldColumns[i], oldHead, newColumns[i], 0, firstPart);
+            System.arraycopy(oldColumns[i], 0, newColumns[i], firstPart, secondPart);
+        }
+        System.arraycopy(oldTrades, oldHead, trades, 0, firstPart);
+        System.arraycopy(oldTrades, 0, trades, firstPart, secondPart);
+    }
+
+    /**
+     * Removes the first bar.
+     */
+    private void removeFirstBar() {
+        bars[head] = null;
+        head++;
+        if (head == endTimes.length) {
+            head = 0;
+        }
+        count--;
+        removedBarsCount++;
+    }
+
+    /**
+     * Returns the position of a bar in the arrays.
+     *
+     * @param index bar index
+     * @return position in the arrays
+     */
+    private int slot(final int index) {
+        final int slot = head + index - removedBarsCount;
+        if (slot >= endTimes.length) {
+            return slot - endTimes.length;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the position of the last bar in the arrays.
+     *
+     * @return position in the arrays
+     */
+    private int lastSlot() {
+        if (count == 0) {
+            throw new IndexOutOfBoundsException("Bar series `" + name + "` is empty");
+        }
+        return slot(getEndIndex());
+    }
+
+    /**
+     * Writes a bar in the arrays.
+     *
+     * @param slot       position in the arrays
+     * @param endTime    end time
+     * @param timePeriod time period
+     * @param openPrice  open price
+     * @param highPrice  high price
+     * @param lowPrice   low price
+     * @param closePrice close price
+     * @param volume     volume
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private void write(final int slot,
+                       final long endTime,
+                       final long timePeriod,
+                       final double openPrice,
+                       final double highPrice,
+                       final double lowPrice,
+                       final double closePrice,
+                       final double volume) {
+        endTimes[slot] = endTime;
+        timePeriods[slot] = timePeriod;
+        openPrices[slot] = openPrice;
+        highPrices[slot] = highPrice;
+        lowPrices[slot] = lowPrice;
+        closePrices[slot] = closePrice;
+        volumes[slot] = volume;
+        bars[slot] = null;
+    }
+
+    /**
+     * Adds a price to a bar.
+     *
+     * @param slot  position of the bar in the arrays
+     * @param price price
+     */
+    private void addPrice(final int slot, final double price) {
+        if (Double.isNaN(openPrices[slot])) {
+            openPrices[slot] = price;
+        }
+        if (Double.isNaN(highPrices[slot]) || price > highPrices[slot]) {
+            highPrices[slot] = price;
+        }
+        if (Double.isNaN(lowPrices[slot]) || price < lowPrices[slot]) {
+            lowPrices[slot] = price;
+        }
+        closePrices[slot] = price;
+        bars[slot] = null;
+    }
+
+    /**
+     * Converts a number to a double (NaN for null).
+     *
+     * @param value value
+     * @return double
+     */
+    private static double toDouble(final Num value) {
+        if (value == null) {
+            return Double.NaN;
+        }
+        return value.doubleValue();
+    }
+
+    /**
+     * Converts a double to a number (null for NaN).
+     *
+     * @param value value
+     * @return number
+     */
+    private static Num toNum(final double value) {
+        if (Double.isNaN(value)) {
+            return null;
+        }
+        return DoubleNum.valueOf(value);
+    }
+
+    @Override
+    public final String toString() {
+        return "RingBarSeries{name=" + name + ", bars=" + count + ", maximumBarCount=" + maximumBarCount
+                + ", removedBarsCount=" + removedBarsCount + "}";
+    }
+
+    /**
+     * Bar of the series (prices added to the bar are also added to the series bar if it's still there).
+     */
+    private final class RingBar implements Bar {
+
+        /** Serial version. */
+        private static final long serialVersionUID = 1L;
+
+        /** Bar index. */
+        private final int index;
+
+        /** Time period. */
+        private final Duration timePeriod;
+
+        /** End time. */
+        private final ZonedDateTime endTime;
+
+        /** Open price. */
+        private Num openPrice;
+
+        /** High price. */
+        private Num highPrice;
+
+        /** Low price. */
+        private Num lowPrice;
+
+        /** Close price. */
+        private Num closePrice;
+
+        /** Volume. */
+        private Num volume;
+
+        /** Amount. */
+        private Num amount;
+
+        /** Number of trades. */
+        private int barTrades;
+
+        /**
+         * Constructor.
+         *
+         * @param newIndex bar index
+         */
+        RingBar(final int newIndex) {
+            final int slot = slot(newIndex);
+            this.index = newIndex;
+            this.timePeriod = Duration.ofMillis(timePeriods[slot]);
+            this.endTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(endTimes[slot]), zone);
+            this.openPrice = toNum(openPrices[slot]);
+            this.highPrice = toNum(highPrices[slot]);
+            this.lowPrice = toNum(lowPrices[slot]);
+            this.closePrice = toNum(closePrices[slot]);
+            this.volume = DoubleNum.valueOf(volumes[slot]);
+            this.amount = DoubleNum.valueOf(amounts[slot]);
+            this.barTrades = trades[slot];
+        }
+
+        @Override
+        public Num getOpenPrice() {
+            return openPrice;
+        }
+
+        @Override
+        public Num getLowPrice() {
+            return lowPrice;
+        }
+
+        @Override
+        public Num getHighPrice() {
+            return highPrice;
+        }
+
+        @Override
+        public Num getClosePrice() {
+            return closePrice;
+        }
+
+        @Override
+        public Num getVolume() {
+            return volume;
+        }
+
+        @Override
+        public int getTrades() {
+            return barTrades;
+        }
+
+        @Override
+        public Num getAmount() {
+            return amount;
+        }
+
+        @Override
+        public Duration getTimePeriod() {
+            return timePeriod;
+        }
+
+        @Override
+        public ZonedDateTime getBeginTime() {
+            return endTime.minus(timePeriod);
+        }
+
+        @Override
+        public ZonedDateTime getEndTime() {
+            return endTime;
+        }
+
+        @Override
+        public void addTrade(final Num tradeVolume, final Num tradePrice) {
+            addPrice(tradePrice);
+            volume = DoubleNum.valueOf(volume.doubleValue() + tradeVolume.doubleValue());
+            amount = DoubleNum.valueOf(amount.doubleValue() + tradeVolume.doubleValue() * tradePrice.doubleValue());
+            barTrades++;
+            if (isInSeries()) {
+                final int slot = slot(index);
+                volumes[slot] = volume.doubleValue();
+                amounts[slot] = amount.doubleValue();
+                trades[slot] = barTrades;
+            }
+        }
+
+        @Override
+        public void addPrice(final Num price) {
+            final double value = price.doubleValue();
+            final Num valueNum = DoubleNum.valueOf(value);
+            if (openPrice == null) {
+                openPrice = valueNum;
+            }
+            if (highPrice == null || value > highPrice.doubleValue()) {
+                highPrice = valueNum;
+            }
+            if (lowPrice == null || value < lowPrice.doubleValue()) {
+                lowPrice = valueNum;
+            }
+            closePrice = valueNum;
+            if (isInSeries()) {
+                RingBarSeries.this.addPrice(slot(index), value);
+            }
+        }
+
+        /**
+         * Returns true if the bar is still in the series.
+         *
+         * @return true if the bar is in the series
+         */
+        private boolean isInSeries() {
+            return count > 0 && index >= removedBarsCount && index <= getEndIndex();
+        }
+
+        @Override
+        public String toString() {
+            return "RingBar{endTime=" + endTime + ", open=" + openPrice + ", high=" + highPrice + ", low=" + lowPrice
+                    + ", close=" + closePrice + ", volume=" + volume + "}";
+        }
+
+    }
+
+}
@@ -0,0 +1,167 @@
+package tech.cassandre.trading.bot.util.ta4j;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.Num;
+import tech.cassandre.trading.bot.dto.market.TickerDTO;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static java.math.BigDecimal.ZERO;
+
+/**
+ * Strategy evaluator - runs a ta4j strategy over all the bars of a historical series, without the bot.
+ * <p>
+ * Fills are simulated like in dry mode : orders are filled immediately at the close price of the bar where the
+ * strategy gives the signal, with no fee by default. Only one long position is opened at a time : the strategy is asked
+ * to enter when no position is opened and to exit when one is.
+ * <p>
+ * Rules and indicators must be built on the evaluated series : to compare parameters, build a strategy for each set
+ * of parameters on the same series (indicators values are cached by the strategy, not by the series).
+ */
+public class StrategyEvaluator {
+
+    /** Amount bought at each entry. */
+    private final BigDecimal amount;
+
+    /** Fee rate applied on each fill (0.001 for 0.1%). */
+    private final BigDecimal feeRate;
+
+    /**
+     * Constructor (no fee, like dry mode).
+     *
+     * @param newAmount amount bought at each entry
+     */
+    public StrategyEvaluator(final BigDecimal newAmount) {
+        this(newAmount, ZERO);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param newAmount  amount bought at each entry
+     * @param newFeeRate fee rate applied on each fill (0.001 for 0.1%)
+     */
+    public StrategyEvaluator(final BigDecimal newAmount, final BigDecimal newFeeRate) {
+        this.amount = newAmount;
+        this.feeRate = newFeeRate;
+    }
+
+    /**
+     * Builds a bar series from historical tickers (for example, read from the tickers history).
+     * Tickers must be sorted by timestamp ; the last bar, not closed, is not in the series.
+     *
+     * @param name        series name
+     * @param tickers     tickers
+     * @param barDuration bar duration
+     * @return series
+     */
+    public static BarSeries loadSeries(final String name, final Iterable<TickerDTO> tickers, final Duration barDuration) {
+        final BarSeries series = new BaseBarSeriesBuilder()
+                .withNumTypeOf(DoubleNum.class)
+                .withName(name)
+                .build();
+        final BarAggregator aggregator = new BarAggregator(series, barDuration);
+        tickers.forEach(aggregator::addTicker);
+        return series;
+    }
+
+    /**
+     * Evaluates a strategy on all the bars of a series.
+     *
+     * @param series   series
+     * @param strategy strategy built on the series
+     * @return evaluation result
+     */
+    public final EvaluationResult evaluate(final BarSeries series, final Strategy strategy) {
+        final long start = System.nanoTime();
+        final EvaluationResult.EvaluationResultBuilder result = EvaluationResult.builder();
+        final TradingRecord tradingRecord = new BaseTradingRecord();
+        final Num tradeAmount = series.numOf(amount);
+        final double amountValue = amount.doubleValue();
+        final double feeRateValue = feeRate.doubleValue();
+
+        double totalGain = 0;
+        double totalFees = 0;
+        int winningTrades = 0;
+        int losingTrades = 0;
+        int entryIndex = -1;
+        double entryPrice = 0;
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            if (entryIndex == -1) {
+                if (strategy.shouldEnter(i, tradingRecord)) {
+                    final Num closePrice = series.getBar(i).getClosePrice();
+                    tradingRecord.enter(i, closePrice, tradeAmount);
+                    entryIndex = i;
+                    entryPrice = closePrice.doubleValue();
+                }
+            } else if (strategy.shouldExit(i, tradingRecord)) {
+                final Num closePrice = series.getBar(i).getClosePrice();
+                tradingRecord.exit(i, closePrice, tradeAmount);
+                final double exitPrice = closePrice.doubleValue();
+                final double fees = (entryPrice + exitPrice) * amountValue * feeRateValue;
+                final double gain = (exitPrice - entryPrice) * amountValue - fees;
+                totalGain += gain;
+                totalFees += fees;
+                if (gain > 0) {
+                    winningTrades++;
+                } else if (gain < 0) {
+                    losingTrades++;
+                }
+                result.trade(buildTrade(series.getBar(entryIndex), entryIndex, entryPrice, series.getBar(i), i, exitPrice, fees, gain));
+                entryIndex = -1;
+            }
+        }
+
+        return result.barCount(series.getBarCount())
+                .gain(BigDecimal.valueOf(totalGain))
+                .fees(BigDecimal.valueOf(totalFees))
+                .winningTrades(winningTrades)
+                .losingTrades(losingTrades)
+                .positionOpened(entryIndex != -1)
+                .evaluationTime(Duration.ofNanos(System.nanoTime() - start))
+                .build();
+    }
+
+    /**
+     * Builds a trade.
+     *
+     * @param entryBar   entry bar
+     * @param entryIndex entry index
+     * @param entryPrice entry price
+     * @param exitBar    exit bar
+     * @param exitIndex  exit index
+     * @param exitPrice  exit price
+     * @param fees       fees
+     * @param gain       gain
+     * @return trade
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private EvaluationTrade buildTrade(final Bar entryBar,
+                                       final int entryIndex,
+                                       final double entryPrice,
+                                       final Bar exitBar,
+                                       final int exitIndex,
+                                       final double exitPrice,
+                                       final double fees,
+                                       final double gain) {
+        return EvaluationTrade.builder()
+                .entryIndex(entryIndex)
+                .entryTime(entryBar.getEndTime())
+                .entryPrice(BigDecimal.valueOf(entryPrice))
+                .exitIndex(exitIndex)
+                .exitTime(exitBar.getEndTime())
+                .exitPrice(BigDecimal.valueOf(exitPrice))
+                .amount(amount)
+                .fees(BigDecimal.valueOf(fees))
+                .gain(BigDecimal.valueOf(gain))
+                .build();
+    }
+
+}
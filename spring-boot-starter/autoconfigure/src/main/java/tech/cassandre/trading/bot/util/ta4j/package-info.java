@@ -0,0 +1,4 @@
+/**
+ * Ta4j utils.
+ */
+package tech.cassandre.trading.bot.util.ta4j;
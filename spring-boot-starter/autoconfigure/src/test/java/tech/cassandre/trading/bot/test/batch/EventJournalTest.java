@@ -0,0 +1,162 @@
+package tech.cassandre.trading.bot.test.batch;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.cassandre.trading.bot.dto.market.TickerDTO;
+import tech.cassandre.trading.bot.dto.position.PositionDTO;
+import tech.cassandre.trading.bot.dto.position.PositionRulesDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderDTO;
+import tech.cassandre.trading.bot.dto.trade.TradeDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyAmountDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.util.journal.EventJournal;
+import tech.cassandre.trading.bot.util.journal.JournalEvent;
+import tech.cassandre.trading.bot.util.journal.JournalState;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tech.cassandre.trading.bot.dto.position.PositionStatusDTO.OPENED;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.FILLED;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.NEW;
+import static tech.cassandre.trading.bot.dto.trade.OrderTypeDTO.BID;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.BTC;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.ETH;
+import static tech.cassandre.trading.bot.util.journal.EventType.ORDER;
+import static tech.cassandre.trading.bot.util.journal.EventType.POSITION;
+import static tech.cassandre.trading.bot.util.journal.EventType.TICKER;
+import static tech.cassandre.trading.bot.util.journal.EventType.TRADE;
+
+@DisplayName("Batch - Event journal")
+public class EventJournalTest {
+
+    /** Small segments so that the journal rolls to new segments. */
+    private static final int SEGMENT_SIZE = 65536;
+
+    private final CurrencyPairDTO cp = new CurrencyPairDTO(ETH, BTC);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @CaseId(101)
+    @DisplayName("Check events are replayed and recovered from snapshot")
+    public void checkReplayAndRecover() throws IOException {
+        final ZonedDateTime date = ZonedDateTime.now();
+        final TradeDTO trade = TradeDTO.builder()
+                .id(1L)
+                .tradeId("TRADE_000001")
+                .type(BID)
+                .orderId("ORDER_000001")
+                .currencyPair(cp)
+                .amount(new CurrencyAmountDTO("1", ETH))
+                .price(new CurrencyAmountDTO("0.03", BTC))
+                .fee(new CurrencyAmountDTO("0.0001", BTC))
+                .timestamp(date)
+                .build();
+        final OrderDTO order = OrderDTO.builder()
+                .id(1L)
+                .orderId("ORDER_000001")
+                .type(BID)
+                .currencyPair(cp)
+                .amount(new CurrencyAmountDTO("1", ETH))
+                .averagePrice(new CurrencyAmountDTO("0.03", BTC))
+                .status(FILLED)
+                .timestamp(date)
+                .trade(trade)
+                .build();
+        final PositionDTO position = new PositionDTO(1, null, cp, new BigDecimal("1"), "ORDER_000001", PositionRulesDTO.builder().stopGainPercentage(10f).build());
+        position.tradeUpdate(trade);
+
+        // Appending events until the journal uses several segments.
+        EventJournal journal = new EventJournal(directory, SEGMENT_SIZE, false);
+        journal.append(ORDER, order);
+        journal.append(TRADE, trade);
+        journal.append(POSITION, position);
+        int tickers = 0;
+        while (countFiles("journal-") < 3) {
+            journal.append(TICKER, TickerDTO.builder().currencyPair(cp).last(new BigDecimal(tickers++)).timestamp(date).build());
+        }
+        final long lastSequence = journal.getLastSequence();
+        assertEquals(3 + tickers, lastSequence);
+        journal.close();
+
+        // Reopening the journal and replaying events.
+        journal = new EventJournal(directory, SEGMENT_SIZE, false);
+        assertEquals(lastSequence, journal.getLastSequence());
+        List<JournalEvent> events = new ArrayList<>();
+        assertEquals(lastSequence, journal.replay(1, events::add));
+        assertEquals(order, events.get(0).getValue());
+        assertEquals(trade, events.get(1).getValue());
+        final PositionDTO replayedPosition = (PositionDTO) events.get(2).getValue();
+        assertEquals(OPENED, replayedPosition.getStatus());
+        assertEquals(position.getOpeningOrder(), replayedPosition.getOpeningOrder());
+        assertEquals(10f, replayedPosition.getRules().getStopGainPercentage());
+
+        // Snapshot - covered segments are deleted and the state is recovered.
+        assertEquals(lastSequence, journal.writeSnapshot());
+        assertEquals(1, countFiles("journal-"));
+        assertEquals(1, countFiles("snapshot-"));
+        journal.append(TICKER, TickerDTO.builder().currencyPair(cp).last(new BigDecimal("-1")).timestamp(date).build());
+        final TradeDTO trade2 = TradeDTO.builder().tradeId("TRADE_000002").orderId("ORDER_000002").currencyPair(cp).timestamp(date).build();
+        journal.append(ORDER, OrderDTO.builder().orderId("ORDER_000002").currencyPair(cp).status(NEW).timestamp(date).build());
+        journal.append(TRADE, trade2);
+        journal.close();
+
+        // Filled orders and their trades are not kept in the state.
+        journal = new EventJournal(directory, SEGMENT_SIZE, false);
+        JournalState state = journal.recover();
+        assertEquals(lastSequence + 3, state.getLastSequence());
+        assertEquals(1, state.getOrders().size());
+        assertNotNull(state.getOrders().get("ORDER_000002"));
+        assertEquals(1, state.getTrades().size());
+        assertEquals(trade2, state.getTrades().get("TRADE_000002"));
+        assertEquals(OPENED, state.getPositions().get(1L).getStatus());
+        assertEquals(0, new BigDecimal("-1").compareTo(state.getTickers().get(cp).getLast()));
+        assertTrue(state.getAccounts().isEmpty());
+
+        // New events follow the recovered sequence.
+        assertEquals(lastSequence + 4, journal.append(TRADE, trade));
+        journal.close();
+
+        // Failed appends are counted.
+        final EventJournal closedJournal = journal;
+        assertThrows(IllegalStateException.class, () -> closedJournal.append(TRADE, trade));
+        assertEquals(1, closedJournal.getFailedAppends());
+
+        // A last segment without header (crash right after its creation) is initialized again.
+        Files.write(directory.resolve(String.format("journal-%020d.dat", lastSequence + 5)), new byte[SEGMENT_SIZE]);
+        final EventJournal reopenedJournal = new EventJournal(directory, SEGMENT_SIZE, false);
+        assertEquals(lastSequence + 4, reopenedJournal.getLastSequence());
+        assertEquals(lastSequence + 5, reopenedJournal.append(TRADE, trade));
+        state = reopenedJournal.recover();
+        assertEquals(lastSequence + 5, state.getLastSequence());
+        reopenedJournal.close();
+    }
+
+    /**
+     * Count journal files with a prefix.
+     *
+     * @param prefix prefix
+     * @return number of files
+     * @throws IOException read error
+     */
+    private long countFiles(final String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.getFileName().toString().startsWith(prefix)).count();
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package tech.cassandre.trading.bot.test.batch;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tech.cassandre.trading.bot.util.base.BaseExternalFlux;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Batch - Flux delivery")
+public class FluxDeliveryTest {
+
+    /** Number of values emitted by each flux. */
+    private static final int VALUES = 20;
+
+    @Test
+    @CaseId(137)
+    @DisplayName("Check values of fluxes polled concurrently are never delivered concurrently")
+    public void checkSerialDelivery() throws InterruptedException {
+        final TestFlux flux1 = new TestFlux();
+        final TestFlux flux2 = new TestFlux();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final AtomicInteger otherThreads = new AtomicInteger();
+        final CountDownLatch delivered = new CountDownLatch(VALUES * 2);
+        final Consumer<Integer> strategy = value -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            if (!Thread.currentThread().getName().startsWith("cassandre-flux-subscribers")) {
+                otherThreads.incrementAndGet();
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            delivered.countDown();
+        };
+        flux1.getFlux().subscribe(strategy);
+        flux2.getFlux().subscribe(strategy);
+
+        // Both fluxes emit at the same time from their own thread.
+        final Thread thread1 = new Thread(() -> IntStream.range(0, VALUES).forEach(flux1::emitValue));
+        final Thread thread2 = new Thread(() -> IntStream.range(0, VALUES).forEach(flux2::emitValue));
+        thread1.start();
+        thread2.start();
+        thread1.join();
+        thread2.join();
+
+        assertTrue(delivered.await(10, TimeUnit.SECONDS));
+        assertEquals(1, maxRunning.get());
+        assertEquals(0, otherThreads.get());
+    }
+
+    /**
+     * Flux emitting the values it is given.
+     */
+    private static final class TestFlux extends BaseExternalFlux<Integer> {
+
+        @Override
+        protected Collection<Integer> getNewValues() {
+            return Collections.emptyList();
+        }
+
+    }
+
+}
@@ -0,0 +1,158 @@
+package tech.cassandre.trading.bot.test.batch;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tech.cassandre.trading.bot.batch.OrderBookFlux;
+import tech.cassandre.trading.bot.dto.market.OrderBookDTO;
+import tech.cassandre.trading.bot.dto.market.OrderBookEntryDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.service.MarketService;
+import tech.cassandre.trading.bot.util.market.LocalOrderBook;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static tech.cassandre.trading.bot.dto.trade.OrderTypeDTO.ASK;
+import static tech.cassandre.trading.bot.dto.trade.OrderTypeDTO.BID;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.BTC;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.USDT;
+
+@DisplayName("Batch - Order book flux")
+public class OrderBookFluxTest {
+
+    private final CurrencyPairDTO cp = new CurrencyPairDTO(BTC, USDT);
+
+    @Test
+    @CaseId(112)
+    @DisplayName("Check local order book snapshot and level updates")
+    public void checkLocalOrderBook() {
+        LocalOrderBook book = new LocalOrderBook(cp, 3);
+        assertTrue(Double.isNaN(book.getBestBidPrice()));
+
+        // Snapshot with four levels per side - only the three best levels are kept.
+        book.applySnapshot(getOrderBook(new double[]{100, 99, 98, 97}, new double[]{101, 102, 103, 104}));
+        assertEquals(3, book.getBidLevels());
+        assertEquals(3, book.getAskLevels());
+        assertEquals(100, book.getBestBidPrice());
+        assertEquals(101, book.getBestAskPrice());
+        assertEquals(98, book.getBidPrice(2));
+        assertEquals(103, book.getAskPrice(2));
+        assertTrue(Double.isNaN(book.getBidPrice(3)));
+        assertEquals(1, book.getSpread());
+        assertEquals(100.5, book.getMidPrice());
+
+        // Amount changed, level removed and level added.
+        book.update(BID, 99, 5);
+        assertEquals(5, book.getAmountAt(BID, 99));
+        book.update(BID, 100, 0);
+        assertEquals(99, book.getBestBidPrice());
+        assertEquals(2, book.getBidLevels());
+        book.update(BID, 99.5, 2);
+        assertEquals(99.5, book.getBestBidPrice());
+        assertEquals(2, book.getBestBidAmount());
+        assertEquals(3, book.getBidLevels());
+
+        // Book is full : a better level drops the worst one, a worse level is ignored.
+        book.update(ASK, 100.5, 1);
+        assertEquals(100.5, book.getBestAskPrice());
+        assertEquals(102, book.getAskPrice(2));
+        assertEquals(0, book.getAmountAt(ASK, 103));
+        book.update(ASK, 110, 1);
+        assertEquals(3, book.getAskLevels());
+        assertEquals(0, book.getAmountAt(ASK, 110));
+        book.update(ASK, 50, 0);
+        assertEquals(3, book.getAskLevels());
+
+        // Copy of the book.
+        final OrderBookDTO copy = book.toOrderBookDTO();
+        assertEquals(cp, copy.getCurrencyPair());
+        assertEquals(0, new BigDecimal("99.5").compareTo(copy.getBestBid().orElseThrow().getPrice()));
+        assertEquals(0, new BigDecimal("100.5").compareTo(copy.getBestAsk().orElseThrow().getPrice()));
+        assertEquals(3, copy.getBids().size());
+        assertEquals(0, new BigDecimal("98").compareTo(copy.getBids().get(2).getPrice()));
+
+        // Changes from a snapshot - the book is the same as if the snapshot was applied.
+        final OrderBookDTO snapshot = getOrderBook(new double[]{99.5, 98, 97, 96}, new double[]{100.5, 101, 102});
+        assertTrue(book.applyChanges(snapshot));
+        assertEquals(book.toOrderBookDTO(), copy(snapshot, 3));
+        assertEquals(0, book.getAmountAt(BID, 99));
+        assertEquals(97, book.getBidPrice(2));
+        assertEquals(1, book.getAmountAt(ASK, 101));
+        assertFalse(book.applyChanges(snapshot));
+        assertTrue(book.applyChanges(getOrderBook(new double[]{}, new double[]{100.5, 101, 102})));
+        assertEquals(0, book.getBidLevels());
+        assertEquals(3, book.getAskLevels());
+    }
+
+    @Test
+    @CaseId(113)
+    @DisplayName("Check order books are retrieved for requested currency pairs only")
+    public void checkOrderBookFlux() {
+        MarketService marketService = mock(MarketService.class);
+        when(marketService.getOrderBook(cp))
+                .thenReturn(Optional.of(getOrderBook(new double[]{100, 99, 98}, new double[]{101, 102, 103})))
+                .thenReturn(Optional.of(getOrderBook(new double[]{100, 99, 98}, new double[]{101, 102, 103})))
+                .thenReturn(Optional.of(getOrderBook(new double[]{100, 99}, new double[]{100.5, 101})));
+        OrderBookFlux orderBookFlux = new OrderBookFlux(marketService, 2);
+        List<OrderBookDTO> received = new CopyOnWriteArrayList<>();
+        orderBookFlux.getFlux().subscribe(received::add);
+
+        // No order book requested.
+        orderBookFlux.update();
+        assertTrue(received.isEmpty());
+
+        // Three updates - the second order book is the same as the first one.
+        orderBookFlux.updateRequestedCurrencyPairs(Set.of(cp));
+        orderBookFlux.update();
+        orderBookFlux.update();
+        orderBookFlux.update();
+        await().atMost(5, SECONDS).until(() -> received.size() == 2);
+        assertEquals(2, received.get(0).getBids().size());
+        assertEquals(2, received.get(0).getAsks().size());
+        assertEquals(0, new BigDecimal("101").compareTo(received.get(0).getBestAsk().orElseThrow().getPrice()));
+        assertEquals(0, new BigDecimal("100.5").compareTo(received.get(1).getBestAsk().orElseThrow().getPrice()));
+    }
+
+    /**
+     * Returns an order book built with a local order book from a snapshot.
+     *
+     * @param snapshot snapshot
+     * @param depth    depth
+     * @return order book
+     */
+    private OrderBookDTO copy(final OrderBookDTO snapshot, final int depth) {
+        LocalOrderBook book = new LocalOrderBook(cp, depth);
+        book.applySnapshot(snapshot);
+        return book.toOrderBookDTO();
+    }
+
+    /**
+     * Returns an order book with an amount of 1 at each level.
+     *
+     * @param bids bid prices (best first)
+     * @param asks ask prices (best first)
+     * @return order book
+     */
+    private OrderBookDTO getOrderBook(final double[] bids, final double[] asks) {
+        OrderBookDTO.OrderBookDTOBuilder builder = OrderBookDTO.builder().currencyPair(cp);
+        for (double bid : bids) {
+            builder.bid(OrderBookEntryDTO.builder().price(BigDecimal.valueOf(bid)).amount(BigDecimal.ONE).build());
+        }
+        for (double ask : asks) {
+            builder.ask(OrderBookEntryDTO.builder().price(BigDecimal.valueOf(ask)).amount(BigDecimal.ONE).build());
+        }
+        return builder.build();
+    }
+
+}
@@ -0,0 +1,82 @@
+package tech.cassandre.trading.bot.test.batch;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tech.cassandre.trading.bot.batch.PositionFlux;
+import tech.cassandre.trading.bot.domain.Position;
+import tech.cassandre.trading.bot.dto.position.PositionDTO;
+import tech.cassandre.trading.bot.dto.position.PositionRulesDTO;
+import tech.cassandre.trading.bot.dto.trade.TradeDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyAmountDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.repository.OrderRepository;
+import tech.cassandre.trading.bot.repository.PositionRepository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.cassandre.trading.bot.dto.position.PositionStatusDTO.OPENED;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.BTC;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.ETH;
+
+@DisplayName("Batch - Position flux - Checkpoint")
+public class PositionCheckpointTest {
+
+    @Test
+    @CaseId(100)
+    @DisplayName("Check price-only updates are written at checkpoint")
+    public void checkCheckpoint() {
+        PositionRepository positionRepository = mock(PositionRepository.class);
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        Position positionInDatabase = new Position();
+        positionInDatabase.setId(1L);
+        when(positionRepository.findById(1L)).thenReturn(Optional.of(positionInDatabase));
+        PositionFlux positionFlux = new PositionFlux(positionRepository, orderRepository, null, Duration.ofSeconds(1));
+        PositionDTO position = new PositionDTO(1, null, new CurrencyPairDTO(ETH, BTC), new BigDecimal("1"), "ORDER_000001", PositionRulesDTO.builder().build());
+
+        // First update, the position is written.
+        positionFlux.saveValue(position);
+        verify(positionRepository, times(1)).findById(1L);
+        verify(positionRepository, times(1)).save(any(Position.class));
+
+        // Same status and orders, nothing is written before the checkpoint.
+        positionFlux.saveValue(position);
+        positionFlux.saveValue(position);
+        verify(positionRepository, times(1)).findById(1L);
+        verify(positionRepository, times(1)).save(any(Position.class));
+
+        // Checkpoint.
+        assertEquals(1, positionFlux.checkpoint());
+        verify(positionRepository, times(1)).updatePrices(eq(1L), any(), any(), any(), any(), any(), any());
+        assertEquals(0, positionFlux.checkpoint());
+        verify(positionRepository, times(1)).updatePrices(eq(1L), any(), any(), any(), any(), any(), any());
+
+        // Status change, the position is written immediately.
+        position.tradeUpdate(TradeDTO.builder()
+                .tradeId("TRADE_000001")
+                .orderId("ORDER_000001")
+                .amount(CurrencyAmountDTO.builder().value(new BigDecimal("1")).currency(ETH).build())
+                .build());
+        assertEquals(OPENED, position.getStatus());
+        positionFlux.saveValue(position);
+        verify(positionRepository, times(2)).findById(1L);
+        verify(positionRepository, times(2)).save(any(Position.class));
+
+        // Without checkpoint interval, every update is written.
+        PositionFlux positionFluxWithoutCheckpoint = new PositionFlux(positionRepository, orderRepository);
+        positionFluxWithoutCheckpoint.saveValue(position);
+        positionFluxWithoutCheckpoint.saveValue(position);
+        verify(positionRepository, times(4)).save(any(Position.class));
+        assertEquals(0, positionFluxWithoutCheckpoint.checkpoint());
+    }
+
+}
@@ -0,0 +1,184 @@
+package tech.cassandre.trading.bot.test.batch;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.util.concurrent.Queues;
+import tech.cassandre.trading.bot.batch.PublicTradeFlux;
+import tech.cassandre.trading.bot.dto.market.PublicTradeDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderTypeDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.service.MarketService;
+import tech.cassandre.trading.bot.test.util.strategies.TestableTa4jCassandreStrategy;
+import tech.cassandre.trading.bot.util.market.RollingTradeAggregates;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static tech.cassandre.trading.bot.dto.trade.OrderTypeDTO.ASK;
+import static tech.cassandre.trading.bot.dto.trade.OrderTypeDTO.BID;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.BTC;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.USDT;
+
+@DisplayName("Batch - Public trade flux")
+public class PublicTradeFluxTest {
+
+    private static final double PRECISION = 0.000001;
+
+    private final CurrencyPairDTO cp = new CurrencyPairDTO(BTC, USDT);
+
+    private final ZonedDateTime start = ZonedDateTime.parse("2021-01-01T00:00:00Z");
+
+    @Test
+    @CaseId(114)
+    @DisplayName("Check rolling aggregates of public trades")
+    public void checkRollingAggregates() {
+        // One minute window with 60 buckets of one second.
+        RollingTradeAggregates aggregates = new RollingTradeAggregates(Duration.ofMinutes(1));
+        assertTrue(Double.isNaN(aggregates.getVwap()));
+        assertTrue(Double.isNaN(aggregates.getImbalance()));
+
+        aggregates.add(getTrade("1", 0, BID, 100, 1));
+        aggregates.add(getTrade("2", 10, BID, 110, 2));
+        aggregates.add(getTrade("3", 30, ASK, 90, 1));
+        assertEquals(4, aggregates.getVolume(), PRECISION);
+        assertEquals(3, aggregates.getBuyVolume(), PRECISION);
+        assertEquals(1, aggregates.getSellVolume(), PRECISION);
+        assertEquals(3, aggregates.getTradeCount());
+        assertEquals((100 + 220 + 90) / 4.0, aggregates.getVwap(), PRECISION);
+        assertEquals(0.5, aggregates.getImbalance(), PRECISION);
+
+        // 65 seconds later, the first trade left the window.
+        aggregates.add(getTrade("4", 65, ASK, 100, 1));
+        assertEquals(4, aggregates.getVolume(), PRECISION);
+        assertEquals(0, aggregates.getImbalance(), PRECISION);
+        assertEquals(3, aggregates.getTradeCount());
+
+        // A trade older than the window is ignored.
+        aggregates.add(getTrade("5", 1, BID, 100, 10));
+        assertEquals(4, aggregates.getVolume(), PRECISION);
+
+        // Time moves forward without trades.
+        aggregates.advanceTo(start.plusSeconds(85).toInstant().toEpochMilli());
+        assertEquals(2, aggregates.getVolume(), PRECISION);
+        aggregates.advanceTo(start.plusHours(1).toInstant().toEpochMilli());
+        assertEquals(0, aggregates.getVolume(), PRECISION);
+        assertEquals(0, aggregates.getTradeCount());
+    }
+
+    @Test
+    @CaseId(115)
+    @DisplayName("Check public trades are emitted once and update strategy aggregates")
+    public void checkPublicTradeFlux() {
+        MarketService marketService = mock(MarketService.class);
+        when(marketService.getPublicTrades(cp))
+                .thenReturn(List.of(getTrade("1", 0, BID, 100, 1), getTrade("2", 1, ASK, 100, 1)))
+                .thenReturn(List.of(getTrade("1", 0, BID, 100, 1), getTrade("2", 1, ASK, 100, 1), getTrade("3", 1, BID, 101, 2)))
+                .thenReturn(List.of(getTrade("3", 1, BID, 101, 2), getTrade("4", 2, BID, 102, 1)))
+                .thenReturn(List.of(getTrade("4", 2, BID, 102, 1), getTrade(null, 3, BID, 103, 1), getTrade(null, 3, BID, 103, 1)))
+                .thenReturn(List.of(getTrade(null, 3, BID, 103, 1), getTrade(null, 3, BID, 103, 1)));
+        PublicTradeFlux publicTradeFlux = new PublicTradeFlux(marketService);
+        TestableTa4jCassandreStrategy strategy = new TestableTa4jCassandreStrategy();
+        RollingTradeAggregates aggregates = strategy.addTradeAggregates(cp, Duration.ofMinutes(1));
+        List<PublicTradeDTO> received = new CopyOnWriteArrayList<>();
+        publicTradeFlux.getFlux().subscribe(trade -> {
+            strategy.publicTradeUpdate(trade);
+            received.add(trade);
+        });
+
+        // No public trades requested.
+        publicTradeFlux.update();
+        assertTrue(received.isEmpty());
+
+        // Three updates - four different trades.
+        publicTradeFlux.updateRequestedCurrencyPairs(Set.of(cp));
+        publicTradeFlux.update();
+        publicTradeFlux.update();
+        publicTradeFlux.update();
+        await().atMost(5, SECONDS).until(() -> received.size() == 4);
+        assertEquals("1", received.get(0).getId());
+        assertEquals("2", received.get(1).getId());
+        assertEquals("3", received.get(2).getId());
+        assertEquals("4", received.get(3).getId());
+        assertEquals(5, aggregates.getVolume(), PRECISION);
+        assertEquals(0.6, aggregates.getImbalance(), PRECISION);
+
+        // Two equal trades without id are two trades - they are not emitted again by the next update.
+        publicTradeFlux.update();
+        publicTradeFlux.update();
+        await().atMost(5, SECONDS).until(() -> received.size() == 6);
+        assertEquals(received.get(4), received.get(5));
+        assertEquals(7, aggregates.getVolume(), PRECISION);
+        assertEquals(5.0 / 7, aggregates.getImbalance(), PRECISION);
+        publicTradeFlux.update();
+        assertEquals(6, received.size());
+    }
+
+    @Test
+    @CaseId(139)
+    @DisplayName("Check public trades are buffered for slow subscribers and dropped trades are counted")
+    public void checkSlowSubscriber() throws InterruptedException {
+        PublicTradeFlux publicTradeFlux = new PublicTradeFlux(mock(MarketService.class));
+        final CountDownLatch subscriberBlocked = new CountDownLatch(1);
+        final AtomicInteger received = new AtomicInteger();
+        publicTradeFlux.getFlux().subscribe(trade -> {
+            try {
+                subscriberBlocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.incrementAndGet();
+        });
+
+        // The subscriber is blocked : trades are buffered, then the oldest trades are dropped and counted.
+        final PublicTradeDTO trade = getTrade("1", 0, BID, 100, 1);
+        final int dropped = 1000;
+        final int trades = PublicTradeFlux.BUFFER_SIZE + Queues.SMALL_BUFFER_SIZE + dropped;
+        for (int i = 0; i < PublicTradeFlux.BUFFER_SIZE + Queues.SMALL_BUFFER_SIZE; i++) {
+            publicTradeFlux.emitValue(trade);
+        }
+        assertEquals(0, publicTradeFlux.getDroppedValues());
+        for (int i = 0; i < dropped; i++) {
+            publicTradeFlux.emitValue(trade);
+        }
+        assertEquals(dropped, publicTradeFlux.getDroppedValues());
+
+        // All the trades kept are delivered.
+        subscriberBlocked.countDown();
+        await().atMost(10, SECONDS).until(() -> received.get() == trades - dropped);
+    }
+
+    /**
+     * Returns a public trade.
+     *
+     * @param id      id
+     * @param seconds seconds since start
+     * @param type    taker side
+     * @param price   price
+     * @param amount  amount
+     * @return public trade
+     */
+    private PublicTradeDTO getTrade(final String id, final int seconds, final OrderTypeDTO type, final double price, final double amount) {
+        return PublicTradeDTO.builder()
+                .id(id)
+                .currencyPair(cp)
+                .type(type)
+                .price(BigDecimal.valueOf(price))
+                .amount(BigDecimal.valueOf(amount))
+                .timestamp(start.plusSeconds(seconds))
+                .build();
+    }
+
+}
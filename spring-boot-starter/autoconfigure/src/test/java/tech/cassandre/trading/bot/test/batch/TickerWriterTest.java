@@ -0,0 +1,72 @@
+package tech.cassandre.trading.bot.test.batch;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tech.cassandre.trading.bot.batch.TickerWriter;
+import tech.cassandre.trading.bot.dto.market.TickerDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.repository.TickerRepository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.BTC;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.ETH;
+
+@DisplayName("Batch - Ticker writer")
+public class TickerWriterTest {
+
+    @Test
+    @CaseId(103)
+    @DisplayName("Check tickers are written in batches and old tickers deleted")
+    public void checkTickerWriter() {
+        TickerRepository tickerRepository = mock(TickerRepository.class);
+        TickerWriter tickerWriter = new TickerWriter(tickerRepository, 5, 2, Duration.ofDays(1));
+        final CurrencyPairDTO cp = new CurrencyPairDTO(ETH, BTC);
+
+        // Queue capacity is 5, the sixth ticker is dropped.
+        for (int i = 0; i < 5; i++) {
+            assertTrue(tickerWriter.offer(TickerDTO.builder().currencyPair(cp).last(new BigDecimal(i)).timestamp(ZonedDateTime.now()).build()));
+        }
+        assertFalse(tickerWriter.offer(TickerDTO.builder().currencyPair(cp).last(BigDecimal.TEN).timestamp(ZonedDateTime.now()).build()));
+
+        // Five tickers written in three transactions (batch size is 2).
+        assertEquals(5, tickerWriter.flush());
+        verify(tickerRepository, times(3)).saveAll(anyIterable());
+        assertEquals(0, tickerWriter.flush());
+        verify(tickerRepository, times(3)).saveAll(anyIterable());
+
+        // Tickers added during a flush wait for the next one (the flush ends even if tickers keep arriving).
+        for (int i = 0; i < 2; i++) {
+            assertTrue(tickerWriter.offer(TickerDTO.builder().currencyPair(cp).last(new BigDecimal(i)).timestamp(ZonedDateTime.now()).build()));
+        }
+        when(tickerRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            tickerWriter.offer(TickerDTO.builder().currencyPair(cp).last(BigDecimal.ONE).timestamp(ZonedDateTime.now()).build());
+            return invocation.getArgument(0);
+        });
+        assertEquals(2, tickerWriter.flush());
+        assertEquals(1, tickerWriter.flush());
+        verify(tickerRepository, times(5)).saveAll(anyIterable());
+
+        // Retention.
+        when(tickerRepository.deleteByTimestampBefore(any())).thenReturn(4);
+        assertEquals(4, tickerWriter.applyRetention());
+        TickerWriter tickerWriterWithoutRetention = new TickerWriter(tickerRepository, 5, 2, Duration.ZERO);
+        assertEquals(0, tickerWriterWithoutRetention.applyRetention());
+        verify(tickerRepository, times(1)).deleteByTimestampBefore(any());
+        verify(tickerRepository, never()).deleteAll();
+    }
+
+}
@@ -3,16 +3,20 @@ package tech.cassandre.trading.bot.test.repository;
 import io.qase.api.annotation.CaseId;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import tech.cassandre.trading.bot.domain.Order;
+import tech.cassandre.trading.bot.dto.trade.OrderDTO;
 import tech.cassandre.trading.bot.repository.OrderRepository;
 import tech.cassandre.trading.bot.test.util.junit.BaseTest;
 import tech.cassandre.trading.bot.test.util.junit.configuration.Configuration;
 import tech.cassandre.trading.bot.test.util.junit.configuration.Property;
+import tech.cassandre.trading.bot.util.mapper.OrderMapper;
 
 import java.math.BigDecimal;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -30,6 +34,8 @@ import static tech.cassandre.trading.bot.dto.trade.OrderTypeDTO.BID;
 })
 public class OrderRepositoryTest extends BaseTest {
 
+    private final OrderMapper orderMapper = Mappers.getMapper(OrderMapper.class);
+
     @Autowired
     private OrderRepository orderRepository;
 
@@ -94,4 +100,31 @@ public class OrderRepositoryTest extends BaseTest {
         assertEquals(o, oBis.get());
     }
 
+    @Test
+    @CaseId(146)
+    @DisplayName("Check orders are mapped to DTOs outside a session")
+    public void checkOrdersMapping() {
+        // Strategy and trades are fetched with the order (the session is closed when it is mapped).
+        final Optional<Order> order = orderRepository.findByOrderId("BACKUP_OPENING_ORDER_02");
+        assertTrue(order.isPresent());
+        final OrderDTO o = orderMapper.mapToOrderDTO(order.get());
+        assertEquals("01", o.getStrategy().getStrategyId());
+        assertEquals(1, o.getTrades().size());
+        assertTrue(o.getTrade("BACKUP_TRADE_01").isPresent());
+
+        // Same with the other queries.
+        final List<Order> closingOrders = orderRepository.findByOrderIdStartingWith("BACKUP_CLOSING_ORDER_");
+        assertEquals(3, closingOrders.size());
+        assertEquals(5, closingOrders.stream()
+                .map(orderMapper::mapToOrderDTO)
+                .filter(orderDTO -> orderDTO.getStrategy() != null)
+                .mapToInt(orderDTO -> orderDTO.getTrades().size())
+                .sum());
+        assertEquals(10, orderRepository.findByOrderByTimestampAsc()
+                .stream()
+                .map(orderMapper::mapToOrderDTO)
+                .filter(orderDTO -> orderDTO.getStrategy() != null)
+                .count());
+    }
+
 }
@@ -3,12 +3,16 @@ package tech.cassandre.trading.bot.test.repository;
 import io.qase.api.annotation.CaseId;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import tech.cassandre.trading.bot.domain.Position;
+import tech.cassandre.trading.bot.dto.position.PositionDTO;
 import tech.cassandre.trading.bot.repository.PositionRepository;
+import tech.cassandre.trading.bot.repository.PositionStatusView;
 import tech.cassandre.trading.bot.test.util.junit.configuration.Configuration;
 import tech.cassandre.trading.bot.test.util.junit.configuration.Property;
+import tech.cassandre.trading.bot.util.mapper.PositionMapper;
 
 import java.math.BigDecimal;
 import java.util.Iterator;
@@ -16,6 +20,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -32,6 +37,8 @@ import static tech.cassandre.trading.bot.dto.position.PositionTypeDTO.LONG;
 })
 public class PositionRepositoryTest {
 
+    private final PositionMapper positionMapper = Mappers.getMapper(PositionMapper.class);
+
     @Autowired
     private PositionRepository positionRepository;
 
@@ -194,4 +201,80 @@ public class PositionRepositoryTest {
         assertEquals(5, notClosingPositions.get(3).getId());
     }
 
+    @Test
+    @CaseId(143)
+    @DisplayName("Check find by status and currency pair")
+    public void checkFindByStatusAndCurrencyPair() {
+        final List<Position> btcClosedPositions = positionRepository.findByStatusAndCurrencyPair(CLOSED, "BTC/USDT");
+        assertEquals(1, btcClosedPositions.size());
+        assertEquals(4, btcClosedPositions.get(0).getId());
+        final List<Position> ethClosedPositions = positionRepository.findByStatusAndCurrencyPair(CLOSED, "ETH/USD");
+        assertEquals(1, ethClosedPositions.size());
+        assertEquals(5, ethClosedPositions.get(0).getId());
+        assertTrue(positionRepository.findByStatusAndCurrencyPair(OPENED, "ETH/USD").isEmpty());
+    }
+
+    @Test
+    @CaseId(144)
+    @DisplayName("Check find status by status not")
+    public void checkFindStatusByStatusNot() {
+        final List<PositionStatusView> positions = positionRepository.findStatusByStatusNot(CLOSED);
+        assertEquals(3, positions.size());
+
+        // Position 1 - no closing order.
+        PositionStatusView p = positions.get(0);
+        assertEquals(1, p.getId());
+        assertEquals(1, p.getPositionId());
+        assertEquals(OPENING, p.getStatus());
+        assertEquals("BACKUP_OPENING_ORDER_01", p.getOpeningOrderId());
+        assertNull(p.getClosingOrderId());
+        assertTrue(p.isUsingOrder("BACKUP_OPENING_ORDER_01"));
+        assertFalse(p.isUsingOrder(null));
+
+        // Position 2.
+        p = positions.get(1);
+        assertEquals(2, p.getId());
+        assertEquals(OPENED, p.getStatus());
+        assertEquals("BACKUP_OPENING_ORDER_02", p.getOpeningOrderId());
+
+        // Position 3 - opening and closing orders.
+        p = positions.get(2);
+        assertEquals(3, p.getId());
+        assertEquals(CLOSING, p.getStatus());
+        assertEquals("BACKUP_OPENING_ORDER_03", p.getOpeningOrderId());
+        assertEquals("BACKUP_CLOSING_ORDER_01", p.getClosingOrderId());
+        assertTrue(p.isUsingOrder("BACKUP_CLOSING_ORDER_01"));
+        assertFalse(p.isUsingOrder("BACKUP_OPENING_ORDER_02"));
+    }
+
+    @Test
+    @CaseId(145)
+    @DisplayName("Check positions are mapped to DTOs outside a session")
+    public void checkPositionsMapping() {
+        // Orders and trades are fetched with the positions (the session is closed when they are mapped).
+        final Optional<Position> position = positionRepository.findById(3L);
+        assertTrue(position.isPresent());
+        PositionDTO p = positionMapper.mapToPositionDTO(position.get());
+        assertEquals("01", p.getStrategy().getStrategyId());
+        assertEquals("BACKUP_OPENING_ORDER_03", p.getOpeningOrder().getOrderId());
+        assertEquals("01", p.getOpeningOrder().getStrategy().getStrategyId());
+        assertTrue(p.getOpeningOrder().getTrade("BACKUP_TRADE_02").isPresent());
+        assertEquals("BACKUP_CLOSING_ORDER_01", p.getClosingOrder().getOrderId());
+        assertTrue(p.getClosingOrder().getTrade("BACKUP_TRADE_04").isPresent());
+
+        // Same with the other queries.
+        p = positionMapper.mapToPositionDTO(positionRepository.findByStatusAndCurrencyPair(OPENED, "BTC/USDT").get(0));
+        assertTrue(p.getOpeningOrder().getTrade("BACKUP_TRADE_01").isPresent());
+        assertEquals(5, positionRepository.findByOrderById()
+                .stream()
+                .map(positionMapper::mapToPositionDTO)
+                .filter(positionDTO -> positionDTO.getOpeningOrder().getStrategy() != null)
+                .count());
+        assertEquals(3, positionRepository.findByStatusNot(OPENING)
+                .stream()
+                .map(positionMapper::mapToPositionDTO)
+                .filter(positionDTO -> positionDTO.getClosingOrder() != null && !positionDTO.getClosingOrder().getTrades().isEmpty())
+                .count());
+    }
+
 }
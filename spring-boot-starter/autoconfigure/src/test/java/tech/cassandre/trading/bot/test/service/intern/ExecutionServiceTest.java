@@ -0,0 +1,201 @@
+package tech.cassandre.trading.bot.test.service.intern;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import tech.cassandre.trading.bot.batch.OrderFlux;
+import tech.cassandre.trading.bot.dto.trade.OrderCreationResultDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderStatusDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyAmountDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.repository.OrderRepository;
+import tech.cassandre.trading.bot.service.TradeService;
+import tech.cassandre.trading.bot.service.intern.ExecutionServiceImplementation;
+import tech.cassandre.trading.bot.util.concurrent.HashedWheelTimer;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.CANCELED;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.FILLED;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.NEW;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.PARTIALLY_CANCELED;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.PARTIALLY_FILLED;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.PENDING_NEW;
+import static tech.cassandre.trading.bot.dto.trade.OrderTypeDTO.ASK;
+import static tech.cassandre.trading.bot.dto.trade.OrderTypeDTO.BID;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.BTC;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.USDT;
+
+@DisplayName("Service - Intern - Execution service")
+public class ExecutionServiceTest {
+
+    private final CurrencyPairDTO cp = new CurrencyPairDTO(BTC, USDT);
+
+    @Test
+    @CaseId(120)
+    @DisplayName("Check a TWAP order is sliced and its fill state is pushed to the order flux")
+    public void checkTwapOrder() {
+        // Each child order is filled at a price increasing by 10.
+        final AtomicInteger childCounter = new AtomicInteger();
+        TradeService tradeService = mock(TradeService.class);
+        when(tradeService.createBuyMarketOrderAsync(any(), any(), any())).thenAnswer(invocation -> {
+            final int child = childCounter.incrementAndGet();
+            return Mono.just(new OrderCreationResultDTO(getChildOrder("CHILD_" + child, FILLED, invocation.getArgument(2), new BigDecimal(child * 10))));
+        });
+        final OrderFlux orderFlux = new OrderFlux(tradeService, mock(OrderRepository.class));
+        final List<OrderDTO> orders = new CopyOnWriteArrayList<>();
+        orderFlux.getFlux().subscribe(orders::add);
+        HashedWheelTimer timer = new HashedWheelTimer(Duration.ofMillis(5), 64);
+        ExecutionServiceImplementation executionService = new ExecutionServiceImplementation(tradeService, orderFlux, timer);
+
+        // Invalid orders.
+        assertFalse(executionService.createTwapOrder(null, BID, cp, BigDecimal.TEN, Duration.ofMillis(200), 0).isSuccessful());
+        assertFalse(executionService.createTwapOrder(null, BID, cp, BigDecimal.ZERO, Duration.ofMillis(200), 4).isSuccessful());
+
+        // 10 BTC bought in 4 slices.
+        final OrderCreationResultDTO result = executionService.createTwapOrder(null, BID, cp, BigDecimal.TEN, Duration.ofMillis(200), 4);
+        assertTrue(result.isSuccessful());
+        assertTrue(result.getOrderId().startsWith(ExecutionServiceImplementation.TWAP_ORDER_PREFIX));
+        assertEquals(NEW, result.getOrder().getStatus());
+        await().atMost(5, SECONDS).until(() -> orders.stream().anyMatch(order -> order.getStatus() == FILLED));
+        verify(tradeService, times(4)).createBuyMarketOrderAsync(null, cp, new BigDecimal("2.50000000"));
+
+        // Parent order updates : NEW, PARTIALLY_FILLED (x3), FILLED with the average price.
+        assertTrue(orders.stream().allMatch(order -> order.getOrderId().equals(result.getOrderId())));
+        assertEquals(NEW, orders.get(0).getStatus());
+        assertEquals(PARTIALLY_FILLED, orders.get(1).getStatus());
+        final OrderDTO filled = orders.get(orders.size() - 1);
+        assertEquals(5, orders.size());
+        assertEquals(0, BigDecimal.TEN.compareTo(filled.getCumulativeAmount().getValue()));
+        assertEquals(0, new BigDecimal("25").compareTo(filled.getAveragePrice().getValue()));
+        assertTrue(executionService.getExecution(result.getOrderId()).isEmpty());
+        timer.stop();
+    }
+
+    @Test
+    @CaseId(121)
+    @DisplayName("Check a VWAP order follows the volume profile and can be canceled")
+    public void checkVwapOrder() {
+        TradeService tradeService = mock(TradeService.class);
+        when(tradeService.createSellMarketOrderAsync(any(), any(), any()))
+                .thenReturn(Mono.just(new OrderCreationResultDTO(getChildOrder("CHILD_1", PENDING_NEW, BigDecimal.ZERO, null))));
+        final OrderFlux orderFlux = new OrderFlux(tradeService, mock(OrderRepository.class));
+        final List<OrderDTO> orders = new CopyOnWriteArrayList<>();
+        orderFlux.getFlux().subscribe(orders::add);
+        HashedWheelTimer timer = new HashedWheelTimer(Duration.ofMillis(5), 64);
+        ExecutionServiceImplementation executionService = new ExecutionServiceImplementation(tradeService, orderFlux, timer);
+
+        // 4 BTC sold following a 1/3 volume profile over 10 seconds - the first slice is sent immediately.
+        assertFalse(executionService.createVwapOrder(null, ASK, cp, new BigDecimal("4"), Duration.ofSeconds(10), List.of()).isSuccessful());
+        final OrderCreationResultDTO result = executionService.createVwapOrder(null, ASK, cp, new BigDecimal("4"), Duration.ofSeconds(10),
+                List.of(BigDecimal.ONE, new BigDecimal("3")));
+        assertTrue(result.isSuccessful());
+        executionService.orderUpdate(getChildOrder("UNKNOWN", FILLED, BigDecimal.ONE, BigDecimal.TEN));
+        assertEquals(NEW, executionService.getExecution(result.getOrderId()).orElseThrow().getStatus());
+
+        // The child order is filled - the parent is partially filled.
+        await().atMost(5, SECONDS).until(() -> {
+            executionService.orderUpdate(getChildOrder("CHILD_1", FILLED, BigDecimal.ONE, new BigDecimal("100")));
+            return executionService.getExecution(result.getOrderId()).orElseThrow().getStatus() == PARTIALLY_FILLED;
+        });
+        verify(tradeService).createSellMarketOrderAsync(null, cp, new BigDecimal("1.00000000"));
+
+        // Canceled - the second slice is never sent.
+        assertTrue(executionService.cancelExecution(result.getOrderId()));
+        assertFalse(executionService.cancelExecution(result.getOrderId()));
+        await().atMost(5, SECONDS).until(() -> orders.stream().anyMatch(order -> order.getStatus() == PARTIALLY_CANCELED));
+        final OrderDTO canceled = orders.get(orders.size() - 1);
+        assertEquals(0, BigDecimal.ONE.compareTo(canceled.getCumulativeAmount().getValue()));
+        assertEquals(0, new BigDecimal("100").compareTo(canceled.getAveragePrice().getValue()));
+        assertEquals(0, timer.getPendingTimeouts());
+        verify(tradeService, times(1)).createSellMarketOrderAsync(any(), any(), any());
+        timer.stop();
+    }
+
+    @Test
+    @CaseId(133)
+    @DisplayName("Check a child order update received before its creation result is applied and parent ids are unique")
+    public void checkEarlyChildUpdate() {
+        // The exchange pushes the fill of the child order before the placement request returns.
+        final AtomicReference<ExecutionServiceImplementation> executionService = new AtomicReference<>();
+        TradeService tradeService = mock(TradeService.class);
+        when(tradeService.createBuyMarketOrderAsync(any(), any(), any())).thenReturn(Mono.fromCallable(() -> {
+            executionService.get().orderUpdate(getChildOrder("CHILD_1", FILLED, BigDecimal.ONE, BigDecimal.TEN));
+            return new OrderCreationResultDTO(getChildOrder("CHILD_1", PENDING_NEW, BigDecimal.ZERO, null));
+        }));
+        final OrderFlux orderFlux = new OrderFlux(tradeService, mock(OrderRepository.class));
+        final List<OrderDTO> orders = new CopyOnWriteArrayList<>();
+        orderFlux.getFlux().subscribe(orders::add);
+        HashedWheelTimer timer = new HashedWheelTimer(Duration.ofMillis(5), 64);
+        executionService.set(new ExecutionServiceImplementation(tradeService, orderFlux, timer));
+
+        final OrderCreationResultDTO result = executionService.get().createTwapOrder(null, BID, cp, BigDecimal.ONE, Duration.ZERO, 1);
+        await().atMost(5, SECONDS).until(() -> orders.stream().anyMatch(order -> order.getStatus() == FILLED));
+        assertTrue(executionService.get().getExecution(result.getOrderId()).isEmpty());
+        assertNotEquals(result.getOrderId(), executionService.get().createTwapOrder(null, BID, cp, BigDecimal.ONE, Duration.ZERO, 1).getOrderId());
+        timer.stop();
+    }
+
+    @Test
+    @CaseId(138)
+    @DisplayName("Check parent orders running when the bot stopped are closed at startup")
+    public void checkInterruptedExecutions() {
+        TradeService tradeService = mock(TradeService.class);
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        HashedWheelTimer timer = new HashedWheelTimer(Duration.ofMillis(5), 64);
+        ExecutionServiceImplementation executionService = new ExecutionServiceImplementation(tradeService, new OrderFlux(tradeService, orderRepository), timer);
+
+        // Only the parent orders not in a final status are closed.
+        final List<OrderDTO> closedOrders = executionService.closeInterruptedExecutions(List.of(
+                getChildOrder("TWAP_1", PARTIALLY_FILLED, BigDecimal.ONE, BigDecimal.TEN),
+                getChildOrder("VWAP_2", NEW, BigDecimal.ZERO, null),
+                getChildOrder("TWAP_3", FILLED, BigDecimal.ONE, BigDecimal.TEN),
+                getChildOrder("ORDER_4", NEW, BigDecimal.ZERO, null)));
+        assertEquals(2, closedOrders.size());
+        assertEquals("TWAP_1", closedOrders.get(0).getOrderId());
+        assertEquals(PARTIALLY_CANCELED, closedOrders.get(0).getStatus());
+        assertEquals(0, BigDecimal.ONE.compareTo(closedOrders.get(0).getCumulativeAmount().getValue()));
+        assertEquals("VWAP_2", closedOrders.get(1).getOrderId());
+        assertEquals(CANCELED, closedOrders.get(1).getStatus());
+        verify(orderRepository, times(2)).save(any());
+        timer.stop();
+    }
+
+    /**
+     * Returns a child order.
+     *
+     * @param orderId          order id
+     * @param status           status
+     * @param cumulativeAmount amount filled
+     * @param averagePrice     average price
+     * @return order
+     */
+    private OrderDTO getChildOrder(final String orderId, final OrderStatusDTO status, final BigDecimal cumulativeAmount, final BigDecimal averagePrice) {
+        return OrderDTO.builder()
+                .orderId(orderId)
+                .currencyPair(cp)
+                .status(status)
+                .cumulativeAmount(new CurrencyAmountDTO(cumulativeAmount, BTC))
+                .averagePrice(averagePrice == null ? null : new CurrencyAmountDTO(averagePrice, USDT))
+                .build();
+    }
+
+}
@@ -0,0 +1,201 @@
+package tech.cassandre.trading.bot.test.service.intern;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import tech.cassandre.trading.bot.domain.Gain;
+import tech.cassandre.trading.bot.domain.Order;
+import tech.cassandre.trading.bot.domain.Position;
+import tech.cassandre.trading.bot.domain.Trade;
+import tech.cassandre.trading.bot.dto.position.PositionDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyDTO;
+import tech.cassandre.trading.bot.dto.util.GainDTO;
+import tech.cassandre.trading.bot.repository.GainRepository;
+import tech.cassandre.trading.bot.repository.PositionRepository;
+import tech.cassandre.trading.bot.service.intern.GainAggregator;
+import tech.cassandre.trading.bot.util.jpa.CurrencyAmount;
+import tech.cassandre.trading.bot.util.mapper.PositionMapper;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static java.math.RoundingMode.HALF_UP;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.cassandre.trading.bot.dto.position.PositionStatusDTO.CLOSED;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.BTC;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.USDT;
+
+@DisplayName("Service - Intern - Gain aggregator")
+public class GainAggregatorTest {
+
+    private final PositionMapper positionMapper = Mappers.getMapper(PositionMapper.class);
+
+    @Test
+    @CaseId(99)
+    @DisplayName("Check gains are read from totals and rebuilt when inconsistent")
+    public void checkGainAggregator() {
+        GainRepository gainRepository = mock(GainRepository.class);
+        PositionRepository positionRepository = mock(PositionRepository.class);
+        when(gainRepository.findByOrderById()).thenReturn(List.of(getGain("USDT", "713", "911", "26", 2),
+                getGain("BTC", "2000", "1000", "10", 1)));
+        when(gainRepository.sumClosedPositions()).thenReturn(3L);
+        when(positionRepository.countByStatus(CLOSED)).thenReturn(3L);
+
+        // Totals are consistent, closed positions are not read.
+        GainAggregator gainAggregator = new GainAggregator(gainRepository, positionRepository);
+        final HashMap<CurrencyDTO, GainDTO> gains = gainAggregator.getGains();
+        assertEquals(2, gains.size());
+        final GainDTO usdtGain = gains.get(USDT);
+        assertNotNull(usdtGain);
+        assertEquals(27.77, usdtGain.getPercentage());
+        assertEquals(0, new BigDecimal("198").compareTo(usdtGain.getAmount().getValue()));
+        assertEquals(0, new BigDecimal("172").compareTo(usdtGain.getNetAmount().getValue()));
+        final GainDTO btcGain = gains.get(BTC);
+        assertNotNull(btcGain);
+        assertEquals(-50, btcGain.getPercentage());
+        assertEquals(0, new BigDecimal("-1010").compareTo(btcGain.getNetAmount().getValue()));
+        gainAggregator.getGains();
+        verify(gainRepository, times(1)).sumClosedPositions();
+        verify(positionRepository, never()).findByStatus(CLOSED);
+
+        // Totals are not consistent, they are rebuilt from closed positions.
+        when(positionRepository.countByStatus(CLOSED)).thenReturn(4L);
+        when(positionRepository.findByStatus(CLOSED)).thenReturn(Collections.emptyList());
+        gainAggregator = new GainAggregator(gainRepository, positionRepository);
+        gainAggregator.getGains();
+        verify(positionRepository, times(1)).findByStatus(CLOSED);
+        verify(gainRepository, times(1)).deleteAll();
+    }
+
+    @Test
+    @CaseId(129)
+    @DisplayName("Check gains maintained position by position match gains calculated from all closed positions")
+    public void checkGainAggregatorMatchesScan() {
+        GainRepository gainRepository = mock(GainRepository.class);
+        PositionRepository positionRepository = mock(PositionRepository.class);
+        final GainAggregator gainAggregator = new GainAggregator(gainRepository, positionRepository);
+
+        // The gain row behaves like the database : values are stored with a scale of 16.
+        final Gain storedGain = getGain("USDT", "0", "0", "0", 0);
+        when(gainRepository.addClosedPosition(eq("USDT"), any(), any(), any())).thenAnswer(invocation -> {
+            storedGain.setBought(storedGain.getBought().add(invocation.getArgument(1)).setScale(16, HALF_UP));
+            storedGain.setSold(storedGain.getSold().add(invocation.getArgument(2)).setScale(16, HALF_UP));
+            storedGain.setFees(storedGain.getFees().add(invocation.getArgument(3)).setScale(16, HALF_UP));
+            storedGain.setClosedPositions(storedGain.getClosedPositions() + 1);
+            return 1;
+        });
+        when(gainRepository.findByOrderById()).thenReturn(List.of(storedGain));
+        when(gainRepository.sumClosedPositions()).thenAnswer(invocation -> storedGain.getClosedPositions());
+        when(positionRepository.countByStatus(CLOSED)).thenAnswer(invocation -> storedGain.getClosedPositions());
+
+        // Positions with amount x price values longer than the scale stored.
+        final List<PositionDTO> closedPositions = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            final Position position = getClosedPosition(i,
+                    new BigDecimal("0.123456789012345678").multiply(BigDecimal.valueOf(i)),
+                    new BigDecimal("12345.678901234567891"),
+                    new BigDecimal("12346.987654321098765"));
+            gainAggregator.positionClosed(position, () -> { });
+            closedPositions.add(positionMapper.mapToPositionDTO(position));
+        }
+
+        final GainDTO aggregated = gainAggregator.getGains().get(USDT);
+        final GainDTO scanned = GainAggregator.getGains(closedPositions).get(USDT);
+        assertNotNull(aggregated);
+        assertNotNull(scanned);
+        assertEquals(0, scanned.getAmount().getValue().compareTo(aggregated.getAmount().getValue()));
+        assertEquals(0, scanned.getFees().getValue().compareTo(aggregated.getFees().getValue()));
+        assertEquals(scanned.getPercentage(), aggregated.getPercentage());
+        verify(positionRepository, never()).findByStatus(CLOSED);
+    }
+
+    /**
+     * Returns a closed position with one trade per order.
+     *
+     * @param id           position id
+     * @param amount       amount
+     * @param openingPrice opening price
+     * @param closingPrice closing price
+     * @return position
+     */
+    private Position getClosedPosition(final long id, final BigDecimal amount, final BigDecimal openingPrice, final BigDecimal closingPrice) {
+        Position position = new Position();
+        position.setId(id);
+        position.setPositionId(id);
+        position.setCurrencyPair("BTC/USDT");
+        position.setStatus(CLOSED);
+        position.setOpeningOrder(getOrder("OPENING_" + id, amount, openingPrice));
+        position.setClosingOrder(getOrder("CLOSING_" + id, amount, closingPrice));
+        return position;
+    }
+
+    /**
+     * Returns an order with one trade.
+     *
+     * @param orderId order id
+     * @param amount  amount
+     * @param price   price
+     * @return order
+     */
+    private Order getOrder(final String orderId, final BigDecimal amount, final BigDecimal price) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setCurrencyPair("BTC/USDT");
+        Trade trade = new Trade();
+        trade.setTradeId("T_" + orderId);
+        trade.setOrderId(orderId);
+        trade.setCurrencyPair("BTC/USDT");
+        trade.setAmount(getCurrencyAmount(amount, "BTC"));
+        trade.setPrice(getCurrencyAmount(price, "USDT"));
+        trade.setFee(getCurrencyAmount(amount.multiply(price).multiply(new BigDecimal("0.001")), "USDT"));
+        order.getTrades().add(trade);
+        return order;
+    }
+
+    /**
+     * Returns a currency amount.
+     *
+     * @param value    value
+     * @param currency currency
+     * @return currency amount
+     */
+    private CurrencyAmount getCurrencyAmount(final BigDecimal value, final String currency) {
+        CurrencyAmount currencyAmount = new CurrencyAmount();
+        currencyAmount.setValue(value);
+        currencyAmount.setCurrency(currency);
+        return currencyAmount;
+    }
+
+    /**
+     * Returns a gain.
+     *
+     * @param currency        currency
+     * @param bought          bought
+     * @param sold            sold
+     * @param fees            fees
+     * @param closedPositions closed positions
+     * @return gain
+     */
+    private Gain getGain(final String currency, final String bought, final String sold, final String fees, final long closedPositions) {
+        Gain gain = new Gain();
+        gain.setCurrency(currency);
+        gain.setBought(new BigDecimal(bought));
+        gain.setSold(new BigDecimal(sold));
+        gain.setFees(new BigDecimal(fees));
+        gain.setClosedPositions(closedPositions);
+        return gain;
+    }
+
+}
@@ -0,0 +1,111 @@
+package tech.cassandre.trading.bot.test.service.intern;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order;
+import org.knowm.xchange.dto.trade.OpenOrders;
+import org.knowm.xchange.dto.trade.UserTrade;
+import org.knowm.xchange.dto.trade.UserTrades;
+import org.knowm.xchange.service.trade.TradeService;
+import org.knowm.xchange.service.trade.params.TradeHistoryParams;
+import tech.cassandre.trading.bot.dto.trade.OrderDTO;
+import tech.cassandre.trading.bot.dto.trade.TradeDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.service.intern.PendingOrderRegistry;
+import tech.cassandre.trading.bot.service.xchange.TradeServiceXChangeImplementation;
+import tech.cassandre.trading.bot.util.concurrent.ExchangeExecutor;
+import tech.cassandre.trading.bot.util.ratelimit.ExchangeRequestScheduler;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.knowm.xchange.dto.marketdata.Trades.TradeSortType.SortByID;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.BTC;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.USDT;
+
+@DisplayName("Service - Intern - Pending order registry")
+public class PendingOrderRegistryTest {
+
+    private final CurrencyPairDTO cp = new CurrencyPairDTO(BTC, USDT);
+
+    @Test
+    @CaseId(116)
+    @DisplayName("Check pending orders are removed when seen, reconciled, expired or above maximum size")
+    public void checkPendingOrderRegistry() throws InterruptedException {
+        PendingOrderRegistry registry = new PendingOrderRegistry(Duration.ofMillis(500), 3);
+        registry.add(OrderDTO.builder().orderId("O1").build());
+        registry.add(OrderDTO.builder().orderId("O2").build());
+        registry.add(OrderDTO.builder().orderId("O3").build());
+        assertEquals(3, registry.getOrders().size());
+
+        // O1 seen open on the exchange, O2 filled.
+        registry.remove("O1");
+        registry.reconcile(List.of(TradeDTO.builder().tradeId("T1").orderId("O2").build()));
+        assertEquals(1, registry.size());
+        assertEquals("O3", registry.getOrders().iterator().next().getOrderId());
+
+        // Maximum size - the oldest order is evicted.
+        registry.add(OrderDTO.builder().orderId("O4").build());
+        registry.add(OrderDTO.builder().orderId("O5").build());
+        registry.add(OrderDTO.builder().orderId("O6").build());
+        assertEquals(3, registry.size());
+        assertTrue(registry.getOrders().stream().noneMatch(order -> order.getOrderId().equals("O3")));
+
+        // An order added again is the newest one : O5 is evicted before O4.
+        registry.add(OrderDTO.builder().orderId("O4").build());
+        registry.add(OrderDTO.builder().orderId("O7").build());
+        assertEquals(3, registry.size());
+        assertTrue(registry.getOrders().stream().anyMatch(order -> order.getOrderId().equals("O4")));
+        assertTrue(registry.getOrders().stream().noneMatch(order -> order.getOrderId().equals("O5")));
+
+        // Time to live.
+        TimeUnit.MILLISECONDS.sleep(600);
+        assertTrue(registry.getOrders().isEmpty());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    @CaseId(117)
+    @DisplayName("Check a market order filled immediately is not returned forever")
+    public void checkFilledMarketOrder() throws Exception {
+        TradeService xChangeTradeService = mock(TradeService.class);
+        when(xChangeTradeService.placeMarketOrder(any())).thenReturn("O1");
+        when(xChangeTradeService.getOpenOrders()).thenReturn(new OpenOrders(Collections.emptyList()));
+        when(xChangeTradeService.getTradeHistory(any(TradeHistoryParams.class))).thenReturn(new UserTrades(List.of(new UserTrade.Builder()
+                .id("T1")
+                .orderId("O1")
+                .type(Order.OrderType.BID)
+                .originalAmount(BigDecimal.ONE)
+                .currencyPair(CurrencyPair.BTC_USDT)
+                .price(BigDecimal.TEN)
+                .timestamp(new Date())
+                .build()), SortByID));
+        PendingOrderRegistry registry = new PendingOrderRegistry();
+        TradeServiceXChangeImplementation tradeService = new TradeServiceXChangeImplementation(new ExchangeRequestScheduler(),
+                new ExchangeExecutor(1, Duration.ofSeconds(5)),
+                xChangeTradeService,
+                registry);
+
+        // The order is returned while it is pending.
+        assertTrue(tradeService.createBuyMarketOrder(null, cp, BigDecimal.ONE).isSuccessful());
+        assertEquals(1, tradeService.getOrders().size());
+        assertEquals(1, tradeService.getOrders().size());
+
+        // Its trade is found - it's not pending anymore.
+        assertEquals(1, tradeService.getTrades().size());
+        assertEquals(0, registry.size());
+        assertTrue(tradeService.getOrders().isEmpty());
+    }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Intern service tests.
+ */
+package tech.cassandre.trading.bot.test.service.intern;
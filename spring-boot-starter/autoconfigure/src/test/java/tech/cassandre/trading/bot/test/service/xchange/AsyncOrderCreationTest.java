@@ -0,0 +1,101 @@
+package tech.cassandre.trading.bot.test.service.xchange;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.dto.trade.MarketOrder;
+import org.knowm.xchange.dto.trade.OpenOrders;
+import org.knowm.xchange.service.trade.TradeService;
+import tech.cassandre.trading.bot.dto.trade.OrderCreationResultDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.service.intern.PendingOrderRegistry;
+import tech.cassandre.trading.bot.service.xchange.TradeServiceXChangeImplementation;
+import tech.cassandre.trading.bot.service.xchange.UserReferencePolicy;
+import tech.cassandre.trading.bot.util.concurrent.ExchangeExecutor;
+import tech.cassandre.trading.bot.util.concurrent.ExponentialBackoff;
+import tech.cassandre.trading.bot.util.ratelimit.ExchangeRequestScheduler;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.BTC;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.USDT;
+
+@DisplayName("Service - XChange - Asynchronous order creation")
+public class AsyncOrderCreationTest {
+
+    @Test
+    @CaseId(128)
+    @DisplayName("Check an order placement slower than the executor timeout is resolved by its user reference")
+    public void checkSlowOrderPlacement() throws Exception {
+        final AtomicReference<String> sentReference = new AtomicReference<>();
+        TradeService xChangeTradeService = mock(TradeService.class);
+        when(xChangeTradeService.placeMarketOrder(any())).thenAnswer(invocation -> {
+            sentReference.set(invocation.getArgument(0, MarketOrder.class).getUserReference());
+            TimeUnit.SECONDS.sleep(5);
+            return "O1";
+        });
+        when(xChangeTradeService.getOpenOrders()).thenAnswer(invocation -> new OpenOrders(List.of(new LimitOrder(Order.OrderType.BID,
+                BigDecimal.ONE, CurrencyPair.BTC_USDT, "O1", new Date(), BigDecimal.TEN,
+                null, BigDecimal.ZERO, null, Order.OrderStatus.NEW, sentReference.get()))));
+        final ExchangeExecutor exchangeExecutor = new ExchangeExecutor(1, Duration.ofMillis(200));
+
+        // The placement is still running at the timeout : the order is found by its user reference.
+        TradeServiceXChangeImplementation tradeService = getTradeService(xChangeTradeService, exchangeExecutor, UserReferencePolicy.KRAKEN);
+        long start = System.nanoTime();
+        OrderCreationResultDTO result = tradeService.createBuyMarketOrderAsync(null, new CurrencyPairDTO(BTC, USDT), BigDecimal.ONE).block();
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        assertTrue(result.isSuccessful());
+        assertEquals("O1", result.getOrderId());
+        assertEquals(sentReference.get(), result.getOrder().getUserReference());
+
+        // The exchange doesn't return user references : the failure is reported at the timeout.
+        xChangeTradeService = mock(TradeService.class);
+        when(xChangeTradeService.placeMarketOrder(any())).thenAnswer(invocation -> {
+            TimeUnit.SECONDS.sleep(5);
+            return "O2";
+        });
+        tradeService = getTradeService(xChangeTradeService, exchangeExecutor, UserReferencePolicy.DEFAULT);
+        start = System.nanoTime();
+        result = tradeService.createSellMarketOrderAsync(null, new CurrencyPairDTO(BTC, USDT), BigDecimal.ONE).block();
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        assertFalse(result.isSuccessful());
+        verify(xChangeTradeService, never()).getOpenOrders();
+        exchangeExecutor.shutdown();
+    }
+
+    /**
+     * Returns a trade service.
+     *
+     * @param xChangeTradeService XChange trade service
+     * @param exchangeExecutor    exchange executor
+     * @param userReferencePolicy user reference policy
+     * @return trade service
+     */
+    private TradeServiceXChangeImplementation getTradeService(final TradeService xChangeTradeService,
+                                                              final ExchangeExecutor exchangeExecutor,
+                                                              final UserReferencePolicy userReferencePolicy) {
+        return new TradeServiceXChangeImplementation(new ExchangeRequestScheduler(),
+                exchangeExecutor,
+                xChangeTradeService,
+                new PendingOrderRegistry(),
+                new ExponentialBackoff(3, Duration.ofMillis(10), Duration.ofMillis(50)),
+                userReferencePolicy);
+    }
+
+}
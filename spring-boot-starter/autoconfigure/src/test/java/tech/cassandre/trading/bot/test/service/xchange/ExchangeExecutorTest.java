@@ -0,0 +1,88 @@
+package tech.cassandre.trading.bot.test.service.xchange;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tech.cassandre.trading.bot.util.concurrent.ExchangeExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Service - XChange - Exchange executor")
+public class ExchangeExecutorTest {
+
+    @Test
+    @CaseId(93)
+    @DisplayName("Check requests run in parallel")
+    public void checkParallelRequests() {
+        ExchangeExecutor executor = new ExchangeExecutor(4, Duration.ofSeconds(5));
+        try {
+            final long start = System.currentTimeMillis();
+            List<Integer> results = Flux.merge(slowRequest(executor, 1), slowRequest(executor, 2), slowRequest(executor, 3))
+                    .collectSortedList()
+                    .block();
+            assertEquals(List.of(1, 2, 3), results);
+            // Three requests of 500 ms each must take less than 1.5 seconds.
+            assertTrue(System.currentTimeMillis() - start < 1_400);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @CaseId(94)
+    @DisplayName("Check request timeout")
+    public void checkTimeout() {
+        ExchangeExecutor executor = new ExchangeExecutor(1, Duration.ofMillis(100));
+        try {
+            Exception exception = assertThrows(Exception.class, () -> slowRequest(executor, 1).block());
+            assertTrue(exception.getCause() instanceof TimeoutException);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @CaseId(95)
+    @DisplayName("Check fan-out calls")
+    public void checkFanOut() {
+        // Virtual threads are only used if the JVM supports them.
+        ExchangeExecutor executor = new ExchangeExecutor(2, Duration.ofSeconds(1), true);
+        try {
+            final long start = System.currentTimeMillis();
+            Map<Integer, Integer> results = executor.fanOut(List.of(1, 2, 3, 4), value -> {
+                if (value == 4) {
+                    throw new IllegalStateException("Call failed");
+                }
+                try {
+                    TimeUnit.MILLISECONDS.sleep(100 * value);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return value * 10;
+            });
+            // Failed calls are not in the result.
+            assertEquals(Map.of(1, 10, 2, 20, 3, 30), results);
+            assertTrue(System.currentTimeMillis() - start < 1_000);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Mono<Integer> slowRequest(final ExchangeExecutor executor, final int value) {
+        return executor.execute(() -> {
+            TimeUnit.MILLISECONDS.sleep(500);
+            return value;
+        });
+    }
+
+}
@@ -0,0 +1,150 @@
+package tech.cassandre.trading.bot.test.service.xchange;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.marketdata.Ticker;
+import org.knowm.xchange.service.marketdata.MarketDataService;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.service.xchange.MarketServiceXChangeImplementation;
+import tech.cassandre.trading.bot.util.concurrent.CircuitBreaker;
+import tech.cassandre.trading.bot.util.concurrent.ExchangeExecutor;
+import tech.cassandre.trading.bot.util.concurrent.HedgedRequest;
+import tech.cassandre.trading.bot.util.ratelimit.ExchangeRequestScheduler;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.BTC;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.USDT;
+
+@DisplayName("Service - XChange - Hedged requests and circuit breakers")
+public class HedgedRequestTest {
+
+    private final CurrencyPairDTO cp = new CurrencyPairDTO(BTC, USDT);
+
+    @Test
+    @CaseId(126)
+    @DisplayName("Check a duplicate request is sent when a read request is slower than the 95th percentile")
+    public void checkHedgedRequest() throws Exception {
+        final ExecutorService executorService = Executors.newCachedThreadPool();
+        final HedgedRequest<String> hedgedRequest = new HedgedRequest<>(executorService, Duration.ofMillis(20), Duration.ofSeconds(5));
+
+        // Not enough latencies observed - no duplicate request.
+        for (int i = 0; i < 20; i++) {
+            assertEquals("FAST", hedgedRequest.execute(() -> "FAST", () -> true));
+        }
+        assertEquals(0, hedgedRequest.getHedges());
+        assertTrue(hedgedRequest.getHedgingDelay().isPresent());
+        assertEquals(Duration.ofMillis(20), hedgedRequest.getHedgingDelay().get());
+
+        // The first request is stuck - the duplicate answers.
+        final AtomicInteger calls = new AtomicInteger();
+        long start = System.nanoTime();
+        assertEquals("DUPLICATE", hedgedRequest.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                TimeUnit.SECONDS.sleep(3);
+                return "SLOW";
+            }
+            return "DUPLICATE";
+        }, () -> true));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, hedgedRequest.getHedges());
+
+        // The first request fails - the duplicate answers.
+        calls.set(0);
+        assertEquals("DUPLICATE", hedgedRequest.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                TimeUnit.MILLISECONDS.sleep(100);
+                throw new IOException("Error");
+            }
+            TimeUnit.MILLISECONDS.sleep(200);
+            return "DUPLICATE";
+        }, () -> true));
+
+        // Duplicate not allowed by the request scheduler - the first request answers.
+        start = System.nanoTime();
+        assertEquals("SLOW", hedgedRequest.execute(() -> {
+            TimeUnit.MILLISECONDS.sleep(200);
+            return "SLOW";
+        }, () -> false));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals(2, hedgedRequest.getHedges());
+
+        // Both requests fail.
+        assertThrows(IOException.class, () -> hedgedRequest.execute(() -> {
+            TimeUnit.MILLISECONDS.sleep(100);
+            throw new IOException("Error");
+        }, () -> true));
+
+        // Disabled.
+        assertFalse(new HedgedRequest<String>().getHedgingDelay().isPresent());
+        executorService.shutdownNow();
+
+        // No thread available - the caller executes the requests and their latencies are observed.
+        final HedgedRequest<String> callerRequest = new HedgedRequest<>(executorService, Duration.ofMillis(20), Duration.ofSeconds(5));
+        for (int i = 0; i < 20; i++) {
+            assertEquals("CALLER", callerRequest.execute(() -> "CALLER", () -> true));
+        }
+        assertTrue(callerRequest.getHedgingDelay().isPresent());
+    }
+
+    @Test
+    @CaseId(127)
+    @DisplayName("Check ticker requests are shed while the circuit is open")
+    public void checkCircuitBreaker() throws Exception {
+        final MarketDataService marketDataService = mock(MarketDataService.class);
+        when(marketDataService.getTicker(any(CurrencyPair.class))).thenThrow(new IOException("Exchange down"));
+        final ExchangeExecutor exchangeExecutor = new ExchangeExecutor(1, Duration.ofSeconds(5), false, null, Duration.ofMillis(20), 3, Duration.ofMillis(300));
+        MarketServiceXChangeImplementation marketService = new MarketServiceXChangeImplementation(new ExchangeRequestScheduler(),
+                exchangeExecutor,
+                marketDataService);
+
+        // Three failures open the circuit - the next requests are not sent.
+        for (int i = 0; i < 5; i++) {
+            assertTrue(marketService.getTicker(cp).isEmpty());
+        }
+        verify(marketDataService, times(3)).getTicker(any(CurrencyPair.class));
+
+        // After the open duration, a trial request is sent - it succeeds and closes the circuit.
+        TimeUnit.MILLISECONDS.sleep(400);
+        when(marketDataService.getTicker(any(CurrencyPair.class))).thenReturn(new Ticker.Builder()
+                .instrument(CurrencyPair.BTC_USDT)
+                .last(BigDecimal.TEN)
+                .build());
+        assertTrue(marketService.getTicker(cp).isPresent());
+        assertTrue(marketService.getTicker(cp).isPresent());
+        verify(marketDataService, times(5)).getTicker(any(CurrencyPair.class));
+        exchangeExecutor.shutdown();
+
+        // Half open - a single trial request at a time, a failure opens the circuit again.
+        final CircuitBreaker circuitBreaker = new CircuitBreaker("getTicker", 1, Duration.ofMillis(100));
+        circuitBreaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.allowRequest());
+        TimeUnit.MILLISECONDS.sleep(150);
+        assertTrue(circuitBreaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.allowRequest());
+        circuitBreaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.allowRequest());
+        assertTrue(new CircuitBreaker("getTicker").allowRequest());
+    }
+
+}
@@ -0,0 +1,204 @@
+package tech.cassandre.trading.bot.test.service.xchange;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.dto.trade.OpenOrders;
+import org.knowm.xchange.dto.trade.UserTrade;
+import org.knowm.xchange.dto.trade.UserTrades;
+import org.knowm.xchange.exceptions.NotYetImplementedForExchangeException;
+import org.knowm.xchange.service.trade.TradeService;
+import org.knowm.xchange.service.trade.params.TradeHistoryParams;
+import org.knowm.xchange.service.trade.params.orders.OrderQueryParams;
+import org.mockito.ArgumentMatchers;
+import tech.cassandre.trading.bot.dto.trade.OrderDTO;
+import tech.cassandre.trading.bot.service.xchange.TradeServiceXChangeImplementation;
+import tech.cassandre.trading.bot.util.concurrent.ExchangeExecutor;
+import tech.cassandre.trading.bot.util.ratelimit.ExchangeRequestScheduler;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.knowm.xchange.dto.marketdata.Trades.TradeSortType.SortByID;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.CANCELED;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.FILLED;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.NEW;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.PARTIALLY_CANCELED;
+
+@DisplayName("Service - XChange - Order status polling")
+public class OrderStatusPollingTest {
+
+    @Test
+    @CaseId(118)
+    @DisplayName("Check only orders in flight are polled and final status is returned")
+    public void checkOrderStatusPolling() throws Exception {
+        TradeService xChangeTradeService = mock(TradeService.class);
+        when(xChangeTradeService.getOpenOrders()).thenReturn(new OpenOrders(List.of(getOrder("O1", Order.OrderStatus.NEW))));
+        when(xChangeTradeService.getOrder(ArgumentMatchers.<String>any()))
+                .thenReturn(List.of(getOrder("O1", Order.OrderStatus.PARTIALLY_FILLED)))
+                .thenReturn(List.of(getOrder("O1", Order.OrderStatus.FILLED)));
+        TradeServiceXChangeImplementation tradeService = new TradeServiceXChangeImplementation(new ExchangeRequestScheduler(),
+                new ExchangeExecutor(1, Duration.ofSeconds(5)),
+                xChangeTradeService);
+
+        // First call - open orders are scanned to find the orders in flight.
+        Set<OrderDTO> orders = tradeService.getOrders();
+        assertEquals(1, orders.size());
+        assertEquals(NEW, orders.iterator().next().getStatus());
+
+        // Then, only the status of the order in flight is requested, until it's final.
+        assertEquals(1, tradeService.getOrders().size());
+        orders = tradeService.getOrders();
+        assertEquals(1, orders.size());
+        assertEquals(FILLED, orders.iterator().next().getStatus());
+
+        // No order in flight - no request is sent.
+        assertTrue(tradeService.getOrders().isEmpty());
+        assertTrue(tradeService.getOrders().isEmpty());
+        verify(xChangeTradeService, times(1)).getOpenOrders();
+        verify(xChangeTradeService, times(2)).getOrder(ArgumentMatchers.<String>any());
+    }
+
+    @Test
+    @CaseId(119)
+    @DisplayName("Check order ids are batched and open orders are scanned when the exchange can't query by id")
+    public void checkOrderStatusBatchesAndFallback() throws Exception {
+        final int ordersCount = TradeServiceXChangeImplementation.ORDER_STATUS_BATCH_SIZE + 1;
+        final List<LimitOrder> openOrders = IntStream.range(0, ordersCount)
+                .mapToObj(i -> getOrder("O" + i, Order.OrderStatus.NEW))
+                .collect(Collectors.toList());
+
+        // Batches.
+        TradeService xChangeTradeService = mock(TradeService.class);
+        when(xChangeTradeService.getOpenOrders()).thenReturn(new OpenOrders(openOrders));
+        when(xChangeTradeService.getOrder(ArgumentMatchers.<String>any())).thenAnswer(invocation -> List.of(invocation.getArguments()).stream()
+                .map(orderId -> getOrder((String) orderId, Order.OrderStatus.NEW))
+                .collect(Collectors.toList()));
+        TradeServiceXChangeImplementation tradeService = new TradeServiceXChangeImplementation(new ExchangeRequestScheduler(),
+                new ExchangeExecutor(1, Duration.ofSeconds(5)),
+                xChangeTradeService);
+        assertEquals(ordersCount, tradeService.getOrders().size());
+        assertEquals(ordersCount, tradeService.getOrders().size());
+        verify(xChangeTradeService, times(2)).getOrder(ArgumentMatchers.<String>any());
+
+        // Fallback - orders not open anymore for several polls are closed with a status deduced from their trades.
+        xChangeTradeService = mock(TradeService.class);
+        when(xChangeTradeService.getOpenOrders())
+                .thenReturn(new OpenOrders(openOrders))
+                .thenReturn(new OpenOrders(Collections.emptyList()));
+        when(xChangeTradeService.getOrder(ArgumentMatchers.<String>any())).thenThrow(new NotYetImplementedForExchangeException());
+        when(xChangeTradeService.getTradeHistory(any(TradeHistoryParams.class))).thenReturn(new UserTrades(List.of(getTrade("T1", "O0", BigDecimal.ONE),
+                getTrade("T2", "O1", new BigDecimal("0.4"))), SortByID));
+        tradeService = new TradeServiceXChangeImplementation(new ExchangeRequestScheduler(),
+                new ExchangeExecutor(1, Duration.ofSeconds(5)),
+                xChangeTradeService);
+        assertEquals(ordersCount, tradeService.getOrders().size());
+        for (int i = 1; i < TradeServiceXChangeImplementation.MISSED_POLLS_BEFORE_CLOSE; i++) {
+            assertTrue(tradeService.getOrders().isEmpty());
+        }
+        final Map<String, OrderDTO> closedOrders = tradeService.getOrders()
+                .stream()
+                .collect(Collectors.toMap(OrderDTO::getOrderId, Function.identity()));
+        assertEquals(ordersCount, closedOrders.size());
+        assertEquals(FILLED, closedOrders.get("O0").getStatus());
+        assertEquals(PARTIALLY_CANCELED, closedOrders.get("O1").getStatus());
+        assertEquals(0, new BigDecimal("0.4").compareTo(closedOrders.get("O1").getCumulativeAmount().getValue()));
+        assertEquals(CANCELED, closedOrders.get("O2").getStatus());
+        assertTrue(tradeService.getOrders().isEmpty());
+        verify(xChangeTradeService, times(5)).getOpenOrders();
+        verify(xChangeTradeService, times(1)).getOrder(ArgumentMatchers.<String>any());
+        verify(xChangeTradeService, never()).getOrder(ArgumentMatchers.<OrderQueryParams>any());
+        verify(xChangeTradeService, times(1)).getTradeHistory(any(TradeHistoryParams.class));
+    }
+
+    @Test
+    @CaseId(132)
+    @DisplayName("Check an order in flight unknown to the exchange for several polls is closed")
+    public void checkOrderNotFound() throws Exception {
+        TradeService xChangeTradeService = mock(TradeService.class);
+        when(xChangeTradeService.getOpenOrders()).thenReturn(new OpenOrders(List.of(getOrder("O1", Order.OrderStatus.NEW))));
+        when(xChangeTradeService.getOrder(ArgumentMatchers.<String>any()))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(Collections.emptyList())
+                .thenReturn(List.of(getOrder("O1", Order.OrderStatus.NEW)))
+                .thenReturn(Collections.emptyList());
+        when(xChangeTradeService.getTradeHistory(any(TradeHistoryParams.class))).thenReturn(new UserTrades(Collections.emptyList(), SortByID));
+        TradeServiceXChangeImplementation tradeService = new TradeServiceXChangeImplementation(new ExchangeRequestScheduler(),
+                new ExchangeExecutor(1, Duration.ofSeconds(5)),
+                xChangeTradeService);
+        assertEquals(NEW, tradeService.getOrders().iterator().next().getStatus());
+
+        // The order is missing from two polls, then seen again : it's still in flight.
+        assertTrue(tradeService.getOrders().isEmpty());
+        assertTrue(tradeService.getOrders().isEmpty());
+        assertEquals(NEW, tradeService.getOrders().iterator().next().getStatus());
+
+        // The order is not returned by its id anymore - it's canceled as it has no trade once missing from 3 polls.
+        assertTrue(tradeService.getOrders().isEmpty());
+        assertTrue(tradeService.getOrders().isEmpty());
+        verify(xChangeTradeService, never()).getTradeHistory(any(TradeHistoryParams.class));
+        final Set<OrderDTO> orders = tradeService.getOrders();
+        assertEquals(1, orders.size());
+        assertEquals(CANCELED, orders.iterator().next().getStatus());
+        assertTrue(tradeService.getOrders().isEmpty());
+        verify(xChangeTradeService, times(6)).getOrder(ArgumentMatchers.<String>any());
+        verify(xChangeTradeService, times(1)).getTradeHistory(any(TradeHistoryParams.class));
+    }
+
+    /**
+     * Returns an XChange user trade.
+     *
+     * @param tradeId trade id
+     * @param orderId order id
+     * @param amount  amount
+     * @return trade
+     */
+    private UserTrade getTrade(final String tradeId, final String orderId, final BigDecimal amount) {
+        return new UserTrade.Builder()
+                .id(tradeId)
+                .orderId(orderId)
+                .type(Order.OrderType.BID)
+                .originalAmount(amount)
+                .currencyPair(CurrencyPair.BTC_USDT)
+                .price(BigDecimal.TEN)
+                .timestamp(new Date())
+                .build();
+    }
+
+    /**
+     * Returns an XChange limit order.
+     *
+     * @param orderId order id
+     * @param status  status
+     * @return order
+     */
+    private LimitOrder getOrder(final String orderId, final Order.OrderStatus status) {
+        return new LimitOrder.Builder(Order.OrderType.BID, CurrencyPair.BTC_USDT)
+                .id(orderId)
+                .originalAmount(BigDecimal.ONE)
+                .limitPrice(BigDecimal.TEN)
+                .orderStatus(status)
+                .timestamp(new Date())
+                .build();
+    }
+
+}
@@ -0,0 +1,221 @@
+package tech.cassandre.trading.bot.test.service.xchange;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.dto.trade.MarketOrder;
+import org.knowm.xchange.dto.trade.OpenOrders;
+import org.knowm.xchange.dto.trade.UserTrades;
+import org.knowm.xchange.exceptions.FundsExceededException;
+import org.knowm.xchange.exceptions.OperationTimeoutException;
+import org.knowm.xchange.service.trade.TradeService;
+import org.knowm.xchange.service.trade.params.TradeHistoryParamsAll;
+import org.mockito.ArgumentCaptor;
+import tech.cassandre.trading.bot.dto.trade.OrderCreationResultDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.service.intern.PendingOrderRegistry;
+import tech.cassandre.trading.bot.service.xchange.TradeServiceXChangeImplementation;
+import tech.cassandre.trading.bot.service.xchange.UserReferencePolicy;
+import tech.cassandre.trading.bot.util.concurrent.ExchangeExecutor;
+import tech.cassandre.trading.bot.util.concurrent.ExponentialBackoff;
+import tech.cassandre.trading.bot.util.ratelimit.ExchangeRequestScheduler;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.NEW;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.BTC;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.USDT;
+
+@DisplayName("Service - XChange - Order submission retry")
+public class OrderSubmissionRetryTest {
+
+    private final CurrencyPairDTO cp = new CurrencyPairDTO(BTC, USDT);
+
+    @Test
+    @CaseId(124)
+    @DisplayName("Check an order is searched by its user reference before being sent again")
+    public void checkOrderSearchedBeforeRetry() throws Exception {
+        final AtomicInteger references = new AtomicInteger();
+        TradeService xChangeTradeService = mock(TradeService.class);
+        when(xChangeTradeService.createTradeHistoryParams()).thenReturn(new TradeHistoryParamsAll());
+        when(xChangeTradeService.getTradeHistory(any())).thenReturn(new UserTrades(Collections.emptyList(), UserTrades.TradeSortType.SortByID));
+
+        // Market order - the request times out but the order was created on the exchange.
+        when(xChangeTradeService.placeMarketOrder(any())).thenThrow(new OperationTimeoutException("Timeout"));
+        when(xChangeTradeService.getOpenOrders()).thenReturn(new OpenOrders(List.of(getOrder("O1", "REF-1"))));
+        TradeServiceXChangeImplementation tradeService = getTradeService(xChangeTradeService, references);
+        OrderCreationResultDTO result = tradeService.createBuyMarketOrder(null, cp, BigDecimal.ONE);
+        assertTrue(result.isSuccessful());
+        assertEquals("O1", result.getOrderId());
+        assertEquals("REF-1", result.getOrder().getUserReference());
+        final ArgumentCaptor<MarketOrder> marketOrder = ArgumentCaptor.forClass(MarketOrder.class);
+        verify(xChangeTradeService, times(1)).placeMarketOrder(marketOrder.capture());
+        assertEquals("REF-1", marketOrder.getValue().getUserReference());
+
+        // Limit order - the request times out and the order was not created : it's sent again with the same reference.
+        when(xChangeTradeService.placeLimitOrder(any())).thenThrow(new IOException("Connection reset")).thenReturn("O2");
+        when(xChangeTradeService.getOpenOrders()).thenReturn(new OpenOrders(Collections.emptyList()));
+        result = tradeService.createSellLimitOrder(null, cp, BigDecimal.ONE, BigDecimal.TEN);
+        assertTrue(result.isSuccessful());
+        assertEquals("O2", result.getOrderId());
+        final ArgumentCaptor<LimitOrder> limitOrder = ArgumentCaptor.forClass(LimitOrder.class);
+        verify(xChangeTradeService, times(2)).placeLimitOrder(limitOrder.capture());
+        assertTrue(limitOrder.getAllValues().stream().allMatch(order -> "REF-2".equals(order.getUserReference())));
+        verify(xChangeTradeService, times(1)).getTradeHistory(any());
+    }
+
+    @Test
+    @CaseId(125)
+    @DisplayName("Check definite errors are not retried and retries are bounded")
+    public void checkRetriesBounded() throws Exception {
+        final AtomicInteger references = new AtomicInteger();
+        TradeService xChangeTradeService = mock(TradeService.class);
+        when(xChangeTradeService.createTradeHistoryParams()).thenReturn(new TradeHistoryParamsAll());
+        when(xChangeTradeService.getTradeHistory(any())).thenReturn(new UserTrades(Collections.emptyList(), UserTrades.TradeSortType.SortByID));
+        when(xChangeTradeService.getOpenOrders()).thenReturn(new OpenOrders(Collections.emptyList()));
+        TradeServiceXChangeImplementation tradeService = getTradeService(xChangeTradeService, references);
+
+        // Not enough funds - the order is not sent again.
+        when(xChangeTradeService.placeMarketOrder(any())).thenThrow(new FundsExceededException("Not enough funds"));
+        assertFalse(tradeService.createSellMarketOrder(null, cp, BigDecimal.ONE).isSuccessful());
+        verify(xChangeTradeService, times(1)).placeMarketOrder(any());
+
+        // Always timing out - the order is sent 3 times.
+        when(xChangeTradeService.placeLimitOrder(any())).thenThrow(new OperationTimeoutException("Timeout"));
+        assertFalse(tradeService.createBuyLimitOrder(null, cp, BigDecimal.ONE, BigDecimal.TEN).isSuccessful());
+        verify(xChangeTradeService, times(3)).placeLimitOrder(any());
+
+        // Backoff delays.
+        ExponentialBackoff backoff = new ExponentialBackoff(5, Duration.ofMillis(100), Duration.ofMillis(500));
+        assertEquals(Duration.ofMillis(100), backoff.getDelay(1));
+        assertEquals(Duration.ofMillis(200), backoff.getDelay(2));
+        assertEquals(Duration.ofMillis(400), backoff.getDelay(3));
+        assertEquals(Duration.ofMillis(500), backoff.getDelay(4));
+        assertEquals(Duration.ofMillis(500), backoff.getDelay(10));
+        assertThrows(IllegalArgumentException.class, () -> new ExponentialBackoff(0, Duration.ZERO, Duration.ZERO));
+    }
+
+    @Test
+    @CaseId(135)
+    @DisplayName("Check an order is not sent again when the exchange doesn't return user references")
+    public void checkNoRetryWithoutRoundTrip() throws Exception {
+        TradeService xChangeTradeService = mock(TradeService.class);
+        when(xChangeTradeService.placeLimitOrder(any())).thenThrow(new OperationTimeoutException("Timeout")).thenReturn("O1");
+        TradeServiceXChangeImplementation tradeService = getTradeService(xChangeTradeService, UserReferencePolicy.forExchange("kucoin"));
+
+        // The outcome is unknown and the order can't be searched - the failure is reported, the order is not sent again.
+        assertFalse(tradeService.createBuyLimitOrder(null, cp, BigDecimal.ONE, BigDecimal.TEN).isSuccessful());
+        final ArgumentCaptor<LimitOrder> limitOrder = ArgumentCaptor.forClass(LimitOrder.class);
+        verify(xChangeTradeService, times(1)).placeLimitOrder(limitOrder.capture());
+        verify(xChangeTradeService, never()).getOpenOrders();
+        verify(xChangeTradeService, never()).getTradeHistory(any());
+
+        // A user reference is still sent with every order.
+        assertNotNull(limitOrder.getValue().getUserReference());
+        assertFalse(UserReferencePolicy.DEFAULT.isSearchable());
+        assertFalse(UserReferencePolicy.KRAKEN.isRoundTrip());
+
+        // The exchange doesn't return the user reference - the order keeps the one it was sent with.
+        when(xChangeTradeService.placeMarketOrder(any())).thenReturn("O2");
+        when(xChangeTradeService.getOpenOrders()).thenReturn(new OpenOrders(List.of(getOrder("O2", null))));
+        final String userReference = tradeService.createBuyMarketOrder(null, cp, BigDecimal.ONE).getOrder().getUserReference();
+        assertNotNull(userReference);
+        final Set<OrderDTO> orders = tradeService.getOrders();
+        assertEquals(1, orders.size());
+        assertEquals(userReference, orders.iterator().next().getUserReference());
+        assertEquals(NEW, orders.iterator().next().getStatus());
+    }
+
+    @Test
+    @CaseId(136)
+    @DisplayName("Check an order timing out on Kraken is found by its user reference in the open orders")
+    public void checkOrderFoundByUserReference() throws Exception {
+        final AtomicReference<String> sentReference = new AtomicReference<>();
+        TradeService xChangeTradeService = mock(TradeService.class);
+        when(xChangeTradeService.placeLimitOrder(any())).thenAnswer(invocation -> {
+            sentReference.set(invocation.getArgument(0, LimitOrder.class).getUserReference());
+            throw new OperationTimeoutException("Timeout");
+        });
+        when(xChangeTradeService.getOpenOrders()).thenAnswer(invocation -> new OpenOrders(List.of(getOrder("O1", sentReference.get()))));
+        TradeServiceXChangeImplementation tradeService = getTradeService(xChangeTradeService, UserReferencePolicy.forExchange("kraken"));
+
+        // The first placement times out - the order is found by its (integer) user reference and not sent again.
+        OrderCreationResultDTO result = tradeService.createBuyLimitOrder(null, cp, BigDecimal.ONE, BigDecimal.TEN);
+        assertTrue(result.isSuccessful());
+        assertEquals("O1", result.getOrderId());
+        assertTrue(sentReference.get().matches("\\d+"));
+        assertEquals(sentReference.get(), result.getOrder().getUserReference());
+        verify(xChangeTradeService, times(1)).placeLimitOrder(any());
+        verify(xChangeTradeService, never()).getTradeHistory(any());
+
+        // Not open - the order may have been filled : it's searched again but never sent again.
+        when(xChangeTradeService.getOpenOrders()).thenReturn(new OpenOrders(Collections.emptyList()));
+        result = tradeService.createBuyLimitOrder(null, cp, BigDecimal.ONE, BigDecimal.TEN);
+        assertFalse(result.isSuccessful());
+        verify(xChangeTradeService, times(2)).placeLimitOrder(any());
+        verify(xChangeTradeService, times(3)).getOpenOrders();
+    }
+
+    /**
+     * Returns a trade service generating REF-1, REF-2... user references returned by the exchange.
+     *
+     * @param xChangeTradeService XChange trade service
+     * @param references          reference counter
+     * @return trade service
+     */
+    private TradeServiceXChangeImplementation getTradeService(final TradeService xChangeTradeService, final AtomicInteger references) {
+        return getTradeService(xChangeTradeService, new UserReferencePolicy(() -> "REF-" + references.incrementAndGet(), true));
+    }
+
+    /**
+     * Returns a trade service.
+     *
+     * @param xChangeTradeService XChange trade service
+     * @param userReferencePolicy user reference policy
+     * @return trade service
+     */
+    private TradeServiceXChangeImplementation getTradeService(final TradeService xChangeTradeService, final UserReferencePolicy userReferencePolicy) {
+        return new TradeServiceXChangeImplementation(new ExchangeRequestScheduler(),
+                new ExchangeExecutor(1, Duration.ofSeconds(5)),
+                xChangeTradeService,
+                new PendingOrderRegistry(),
+                new ExponentialBackoff(3, Duration.ofMillis(10), Duration.ofMillis(50)),
+                userReferencePolicy);
+    }
+
+    /**
+     * Returns an open order.
+     *
+     * @param orderId       order id
+     * @param userReference user reference
+     * @return order
+     */
+    private LimitOrder getOrder(final String orderId, final String userReference) {
+        return new LimitOrder(Order.OrderType.BID, BigDecimal.ONE, CurrencyPair.BTC_USDT, orderId, new Date(), BigDecimal.TEN,
+                null, BigDecimal.ZERO, null, Order.OrderStatus.NEW, userReference);
+    }
+
+}
@@ -0,0 +1,78 @@
+package tech.cassandre.trading.bot.test.service.xchange;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tech.cassandre.trading.bot.util.concurrent.SingleFlight;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Service - XChange - Request coalescing")
+public class RequestCoalescingTest {
+
+    @Test
+    @CaseId(96)
+    @DisplayName("Check concurrent calls share the same request")
+    public void checkCoalescing() throws Exception {
+        AtomicInteger numberOfRequests = new AtomicInteger(0);
+        SingleFlight<Integer> singleFlight = new SingleFlight<>(Duration.ofMillis(500));
+
+        // Ten concurrent calls.
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(() -> {
+                TimeUnit.MILLISECONDS.sleep(200);
+                return numberOfRequests.incrementAndGet();
+            })));
+        }
+        for (Future<Integer> result : results) {
+            assertEquals(1, result.get());
+        }
+        assertEquals(1, numberOfRequests.get());
+
+        // Within the freshness window, the result is reused.
+        assertEquals(1, singleFlight.execute(numberOfRequests::incrementAndGet));
+
+        // After the freshness window, a new request is sent.
+        TimeUnit.MILLISECONDS.sleep(600);
+        assertEquals(2, singleFlight.execute(numberOfRequests::incrementAndGet));
+
+        // A discarded result (request not sent) is not reused.
+        TimeUnit.MILLISECONDS.sleep(600);
+        assertEquals(0, singleFlight.execute(() -> {
+            singleFlight.discardResult();
+            return 0;
+        }));
+        assertEquals(3, singleFlight.execute(numberOfRequests::incrementAndGet));
+
+        // The request raises an error - the caller waiting for it gets it too.
+        TimeUnit.MILLISECONDS.sleep(600);
+        final Future<Integer> leader = executor.submit(() -> singleFlight.execute(() -> {
+            TimeUnit.MILLISECONDS.sleep(200);
+            throw new AssertionError("Error");
+        }));
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertThrows(ExecutionException.class, () -> singleFlight.execute(numberOfRequests::incrementAndGet));
+        assertThrows(ExecutionException.class, leader::get);
+        assertEquals(4, singleFlight.execute(numberOfRequests::incrementAndGet));
+        executor.shutdown();
+
+        // Disabled coalescing.
+        SingleFlight<Integer> disabled = new SingleFlight<>();
+        assertEquals(5, disabled.execute(numberOfRequests::incrementAndGet));
+        assertEquals(6, disabled.execute(numberOfRequests::incrementAndGet));
+    }
+
+}
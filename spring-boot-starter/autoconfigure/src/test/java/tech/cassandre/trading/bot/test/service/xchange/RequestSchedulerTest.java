@@ -0,0 +1,79 @@
+package tech.cassandre.trading.bot.test.service.xchange;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tech.cassandre.trading.bot.util.ratelimit.ExchangeRequestScheduler;
+import tech.cassandre.trading.bot.util.ratelimit.RequestPriority;
+import tech.cassandre.trading.bot.util.ratelimit.RequestStatistics;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tech.cassandre.trading.bot.util.ratelimit.RequestPriority.HISTORY;
+import static tech.cassandre.trading.bot.util.ratelimit.RequestPriority.ORDER_PLACEMENT;
+
+@DisplayName("Service - XChange - Request scheduler")
+public class RequestSchedulerTest {
+
+    @Test
+    @CaseId(91)
+    @DisplayName("Check priority and statistics")
+    public void checkPriorityAndStatistics() throws InterruptedException {
+        // One request allowed per second.
+        ExchangeRequestScheduler scheduler = new ExchangeRequestScheduler(0, 0, 0, 1, Duration.ofSeconds(1));
+        assertTrue(scheduler.hasGlobalLimit());
+        assertTrue(scheduler.acquire(ORDER_PLACEMENT));
+
+        // A history request starts waiting, then an order placement request arrives.
+        List<RequestPriority> grants = new CopyOnWriteArrayList<>();
+        Thread history = new Thread(() -> acquire(scheduler, HISTORY, grants));
+        Thread order = new Thread(() -> acquire(scheduler, ORDER_PLACEMENT, grants));
+        history.start();
+        TimeUnit.MILLISECONDS.sleep(200);
+        order.start();
+        history.join();
+        order.join();
+
+        // The order placement request must be granted first.
+        assertEquals(List.of(ORDER_PLACEMENT, HISTORY), grants);
+
+        // Statistics.
+        RequestStatistics orderStatistics = scheduler.getStatistics(ORDER_PLACEMENT);
+        assertEquals(2, orderStatistics.getGrantedRequests());
+        assertEquals(0, orderStatistics.getRejectedRequests());
+        assertEquals(0, orderStatistics.getWaitingRequests());
+        RequestStatistics historyStatistics = scheduler.getStatistics(HISTORY);
+        assertEquals(1, historyStatistics.getGrantedRequests());
+        assertTrue(historyStatistics.getMaximumWait().compareTo(orderStatistics.getMaximumWait()) > 0);
+        assertEquals(RequestPriority.values().length, scheduler.getStatistics().size());
+    }
+
+    @Test
+    @CaseId(92)
+    @DisplayName("Check scheduler without global limit")
+    public void checkWithoutGlobalLimit() throws InterruptedException {
+        ExchangeRequestScheduler scheduler = new ExchangeRequestScheduler();
+        assertFalse(scheduler.hasGlobalLimit());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(scheduler.acquire(HISTORY));
+        }
+        assertEquals(100, scheduler.getStatistics(HISTORY).getGrantedRequests());
+    }
+
+    private void acquire(final ExchangeRequestScheduler scheduler, final RequestPriority priority, final List<RequestPriority> grants) {
+        try {
+            if (scheduler.acquire(priority)) {
+                grants.add(priority);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
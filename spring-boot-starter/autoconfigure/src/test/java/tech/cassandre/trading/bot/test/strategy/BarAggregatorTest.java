@@ -0,0 +1,145 @@
+package tech.cassandre.trading.bot.test.strategy;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.num.DoubleNum;
+import tech.cassandre.trading.bot.dto.market.TickerDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.test.util.strategies.TestableTa4jCassandreStrategy;
+import tech.cassandre.trading.bot.util.ta4j.BarAggregator;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.BTC;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.USDT;
+
+@DisplayName("Strategy - Bar aggregator")
+public class BarAggregatorTest {
+
+    private final CurrencyPairDTO cp = new CurrencyPairDTO(BTC, USDT);
+
+    private final ZonedDateTime start = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneId.of("Europe/Paris"));
+
+    @Test
+    @CaseId(104)
+    @DisplayName("Check OHLCV bars are built on time boundaries")
+    public void checkBars() {
+        BarSeries series = new BaseBarSeriesBuilder().withNumTypeOf(DoubleNum.class).build();
+        BarAggregator aggregator = new BarAggregator(series, Duration.ofMinutes(1));
+
+        // First bar (12:00 - 12:01) - nothing is added until a tick is received in the next minute.
+        assertEquals(0, aggregator.addTick(start.withHour(12).withSecond(10), 10, 1));
+        assertEquals(0, aggregator.addTick(start.withHour(12).withSecond(20), 12, 2));
+        assertEquals(0, aggregator.addTick(start.withHour(12).withSecond(30), 8, 3));
+        assertEquals(0, aggregator.addTick(start.withHour(12).withSecond(59), 11, 4));
+        assertEquals(0, series.getBarCount());
+        assertTrue(aggregator.isBuildingBar());
+
+        // Tick at 12:01:00 - the first bar is closed.
+        assertEquals(1, aggregator.addTick(start.withHour(12).withMinute(1), 13, 1));
+        assertEquals(1, series.getBarCount());
+        Bar bar = series.getLastBar();
+        assertEquals(start.withHour(12).withMinute(1), bar.getEndTime());
+        assertEquals(Duration.ofMinutes(1), bar.getTimePeriod());
+        assertEquals(10, bar.getOpenPrice().doubleValue());
+        assertEquals(12, bar.getHighPrice().doubleValue());
+        assertEquals(8, bar.getLowPrice().doubleValue());
+        assertEquals(11, bar.getClosePrice().doubleValue());
+        assertEquals(10, bar.getVolume().doubleValue());
+
+        // Tick older than the bar being built - ignored.
+        assertEquals(0, aggregator.addTick(start.withHour(12).withSecond(40), 1, 1));
+        assertEquals(13, aggregator.getClose());
+        assertEquals(1, aggregator.getVolume());
+
+        // Tick at 12:04:30 - the second bar is closed and two empty bars are added (12:02 and 12:03).
+        assertEquals(3, aggregator.addTick(start.withHour(12).withMinute(4).withSecond(30), 15, 1));
+        assertEquals(4, series.getBarCount());
+        assertEquals(13, series.getBar(1).getClosePrice().doubleValue());
+        for (int i = 2; i < 4; i++) {
+            bar = series.getBar(i);
+            assertEquals(start.withHour(12).withMinute(i + 1), bar.getEndTime());
+            assertEquals(13, bar.getOpenPrice().doubleValue());
+            assertEquals(13, bar.getHighPrice().doubleValue());
+            assertEquals(13, bar.getLowPrice().doubleValue());
+            assertEquals(13, bar.getClosePrice().doubleValue());
+            assertEquals(0, bar.getVolume().doubleValue());
+        }
+
+        // Tickers - the volume is the increase of the rolling volume.
+        aggregator = new BarAggregator(series, Duration.ofDays(1));
+        aggregator.addTicker(TickerDTO.builder().currencyPair(cp).timestamp(start.plusHours(1)).last(BigDecimal.ONE).volume(new BigDecimal(100)).build());
+        aggregator.addTicker(TickerDTO.builder().currencyPair(cp).timestamp(start.plusHours(2)).last(BigDecimal.TEN).volume(new BigDecimal(105)).build());
+        aggregator.addTicker(TickerDTO.builder().currencyPair(cp).timestamp(start.plusHours(3)).last(BigDecimal.ONE).volume(new BigDecimal(90)).build());
+        aggregator.addTicker(TickerDTO.builder().currencyPair(cp).timestamp(start.plusHours(4)).last(BigDecimal.TEN).volume(new BigDecimal(92)).build());
+        assertEquals(10, aggregator.getClose());
+        assertEquals(7, aggregator.getVolume());
+        aggregator.addTicker(TickerDTO.builder().currencyPair(cp).timestamp(start.plusDays(1)).last(BigDecimal.ONE).build());
+        bar = series.getLastBar();
+        assertEquals(start.plusDays(1), bar.getEndTime());
+        assertEquals(1, bar.getOpenPrice().doubleValue());
+        assertEquals(10, bar.getHighPrice().doubleValue());
+        assertEquals(7, bar.getVolume().doubleValue());
+    }
+
+    @Test
+    @CaseId(105)
+    @DisplayName("Check strategy is called when a bar is closed")
+    public void checkStrategyCalledOnBarClose() {
+        TestableTa4jCassandreStrategy strategy = new TestableTa4jCassandreStrategy();
+        final int[] prices = {100, 100, 110, 100, 140, 100, 119, 100, 100, 100, 110, 100, 120, 100, 130};
+
+        // Several tickers per day - the strategy is only called once per day.
+        for (int day = 0; day < prices.length; day++) {
+            for (int hour = 0; hour < 24; hour += 6) {
+                final BigDecimal price = new BigDecimal(prices[day] + 24 - hour);
+                strategy.tickerUpdate(TickerDTO.builder().currencyPair(cp).timestamp(start.plusDays(day).plusHours(hour)).last(price).build());
+            }
+            strategy.tickerUpdate(TickerDTO.builder().currencyPair(cp).timestamp(start.plusDays(day).plusHours(23)).last(new BigDecimal(prices[day])).build());
+        }
+        assertEquals(prices.length * 5, strategy.getTickersUpdateReceived().size());
+        assertEquals(8, strategy.getSeries().getBarCount());
+        assertEquals(100, strategy.getSeries().getLastBar().getClosePrice().doubleValue());
+        assertEquals(124, strategy.getSeries().getLastBar().getHighPrice().doubleValue());
+        assertEquals(4, strategy.getEnterCount());
+        assertEquals(7, strategy.getExitCount());
+    }
+
+    @Test
+    @CaseId(141)
+    @DisplayName("Check bar aggregation can be disabled")
+    public void checkBarAggregationDisabled() {
+        TestableTa4jCassandreStrategy strategy = new TestableTa4jCassandreStrategy() {
+            @Override
+            public Duration getDelayBetweenTwoBars() {
+                return Duration.ofDays(2);
+            }
+
+            @Override
+            public boolean isBarAggregationEnabled() {
+                return false;
+            }
+        };
+        final int[] prices = {100, 100, 110, 100, 140, 100, 119, 100, 100, 100, 110, 100, 120, 100, 130};
+
+        // One ticker per day - a bar is a copy of the first ticker received two days after the previous bar.
+        for (int day = 0; day < prices.length; day++) {
+            strategy.tickerUpdate(TickerDTO.builder().currencyPair(cp).timestamp(start.plusDays(day)).last(new BigDecimal(prices[day])).build());
+        }
+        assertEquals(prices.length, strategy.getTickersUpdateReceived().size());
+        assertEquals(8, strategy.getSeries().getBarCount());
+        assertEquals(130, strategy.getSeries().getLastBar().getClosePrice().doubleValue());
+        assertEquals(5, strategy.getEnterCount());
+        assertEquals(2, strategy.getExitCount());
+    }
+
+}
@@ -67,9 +67,9 @@ public class BasicTa4jCassandreStrategyTest extends BaseTest {
         await().untilAsserted(() -> assertEquals(1, strategy.getLastTickers().size()));
         await().untilAsserted(() -> assertEquals(0, new BigDecimal("130").compareTo(strategy.getLastTickers().get(cp3).getLast())));
 
-        // Check ta4j results.
-        await().untilAsserted(() -> assertEquals(5, strategy.getEnterCount()));
-        await().untilAsserted(() -> assertEquals(2, strategy.getExitCount()));
+        // Check ta4j results (15 daily tickers - 14 daily bars closed, 8 kept).
+        await().untilAsserted(() -> assertEquals(4, strategy.getEnterCount()));
+        await().untilAsserted(() -> assertEquals(7, strategy.getExitCount()));
         await().untilAsserted(() -> assertEquals(8, strategy.getSeries().getBarCount()));
 
         // Check getEstimatedBuyingCost()
@@ -0,0 +1,211 @@
+package tech.cassandre.trading.bot.test.strategy;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.trading.rules.OverIndicatorRule;
+import org.ta4j.core.trading.rules.UnderIndicatorRule;
+import tech.cassandre.trading.bot.dto.market.TickerDTO;
+import tech.cassandre.trading.bot.dto.user.AccountDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.strategy.MultiTa4jCassandreStrategy;
+import tech.cassandre.trading.bot.util.concurrent.SerialExecutor;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.BTC;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.ETH;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.USDT;
+
+@DisplayName("Strategy - Multi ta4j cassandre strategy")
+public class MultiTa4jCassandreStrategyTest {
+
+    private static final CurrencyPairDTO cp1 = new CurrencyPairDTO(BTC, USDT);
+
+    private static final CurrencyPairDTO cp2 = new CurrencyPairDTO(ETH, USDT);
+
+    private static final CurrencyPairDTO cp3 = new CurrencyPairDTO(ETH, BTC);
+
+    private static final Duration ONE_DAY = Duration.ofDays(1);
+
+    private static final Duration TWO_DAYS = Duration.ofDays(2);
+
+    @Test
+    @CaseId(106)
+    @DisplayName("Check each currency pair and timeframe has its own series and strategy")
+    public void checkStrategyBehavior() {
+        TestableMultiTa4jStrategy strategy = new TestableMultiTa4jStrategy();
+        final int[] prices = {100, 100, 110, 100, 140, 100, 119, 100, 100, 100, 110, 100, 120, 100, 130};
+        final ZonedDateTime start = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneId.systemDefault());
+
+        // Same prices for cp1 and cp2, nothing evaluated for cp3 (not requested).
+        for (int day = 0; day < prices.length; day++) {
+            strategy.tickerUpdate(TickerDTO.builder().currencyPair(cp1).timestamp(start.plusDays(day)).last(new BigDecimal(prices[day])).build());
+            strategy.tickerUpdate(TickerDTO.builder().currencyPair(cp2).timestamp(start.plusDays(day)).last(new BigDecimal(prices[day])).build());
+            strategy.tickerUpdate(TickerDTO.builder().currencyPair(cp3).timestamp(start.plusDays(day)).last(BigDecimal.ONE).build());
+            // Each bar is evaluated (evaluations are only coalesced when tickers wait).
+            await().until(strategy::isEvaluationDone);
+        }
+        assertEquals(3, strategy.getLastTickers().size());
+        assertEquals(0, strategy.getCoalescedEvaluations());
+
+        // One day series - 14 bars closed, 8 kept.
+        assertTrue(strategy.getSeries(cp1, ONE_DAY).isPresent());
+        assertEquals(8, strategy.getSeries(cp1, ONE_DAY).get().getBarCount());
+        assertEquals(8, strategy.getSeries(cp2, ONE_DAY).get().getBarCount());
+        // Two days series - 7 bars closed.
+        assertEquals(7, strategy.getSeries(cp1, TWO_DAYS).get().getBarCount());
+        assertEquals(7, strategy.getSeries(cp2, TWO_DAYS).get().getBarCount());
+        assertTrue(strategy.getSeries(cp3, ONE_DAY).isEmpty());
+        assertTrue(strategy.getSeries(cp1, Duration.ofHours(1)).isEmpty());
+
+        // Same results for cp1 and cp2 (4 enters & 7 exits with one day bars).
+        assertEquals(4, strategy.enters.get(cp1 + " " + ONE_DAY).get());
+        assertEquals(7, strategy.exits.get(cp1 + " " + ONE_DAY).get());
+        assertEquals(4, strategy.enters.get(cp2 + " " + ONE_DAY).get());
+        assertEquals(7, strategy.exits.get(cp2 + " " + ONE_DAY).get());
+        // Two days bars all close at 100 - no signal.
+        assertTrue(strategy.enters.keySet().stream().noneMatch(key -> key.endsWith(TWO_DAYS.toString())));
+        assertTrue(strategy.exits.keySet().stream().noneMatch(key -> key.endsWith(TWO_DAYS.toString())));
+
+        // Evaluation in the strategy threads.
+        assertTrue(strategy.threads.keySet().stream().allMatch(name -> name.startsWith("cassandre-ta4j-")));
+        strategy.stopEvaluation();
+    }
+
+    @Test
+    @CaseId(140)
+    @DisplayName("Check tickers waiting for a slow evaluation are all aggregated and evaluated once")
+    public void checkSlowEvaluation() throws InterruptedException {
+        final CountDownLatch evaluationBlocked = new CountDownLatch(1);
+        TestableMultiTa4jStrategy strategy = new TestableMultiTa4jStrategy() {
+            @Override
+            public void shouldExit(final CurrencyPairDTO currencyPair, final Duration timeframe) {
+                super.shouldExit(currencyPair, timeframe);
+                try {
+                    evaluationBlocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        final ZonedDateTime start = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneId.systemDefault());
+
+        // Falling prices : the first exit blocks the evaluation of cp1 while 2,000 tickers are received.
+        for (int day = 0; day < 5; day++) {
+            strategy.tickerUpdate(TickerDTO.builder().currencyPair(cp1).timestamp(start.plusDays(day)).last(new BigDecimal(1000 - day)).build());
+        }
+        await().until(() -> strategy.exits.containsKey(cp1 + " " + ONE_DAY));
+        for (int day = 5; day < 2005; day++) {
+            strategy.tickerUpdate(TickerDTO.builder().currencyPair(cp1).timestamp(start.plusDays(day)).last(new BigDecimal(3000 - day)).build());
+        }
+        assertFalse(strategy.isEvaluationDone());
+
+        // No ticker is dropped : the bars are all built, the evaluations waiting are coalesced into one.
+        evaluationBlocked.countDown();
+        await().until(strategy::isEvaluationDone);
+        assertEquals(3000 - 2003, strategy.getSeries(cp1, ONE_DAY).get().getLastBar().getClosePrice().doubleValue());
+        assertTrue(strategy.getCoalescedEvaluations() > 0);
+        strategy.stopEvaluation();
+    }
+
+    @Test
+    @CaseId(131)
+    @DisplayName("Check the tasks waiting in a serial executor are bounded")
+    public void checkSerialExecutorBounded() {
+        final List<Runnable> batches = new LinkedList<>();
+        final AtomicInteger runs = new AtomicInteger();
+        final SerialExecutor executor = new SerialExecutor(batches::add, 2);
+
+        // Two tasks waiting - the third one is rejected.
+        executor.execute(runs::incrementAndGet);
+        executor.execute(runs::incrementAndGet);
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(runs::incrementAndGet));
+        assertFalse(executor.isIdle());
+
+        // Once run, new tasks are accepted.
+        assertEquals(1, batches.size());
+        batches.remove(0).run();
+        assertEquals(2, runs.get());
+        assertTrue(executor.isIdle());
+        executor.execute(runs::incrementAndGet);
+        batches.remove(0).run();
+        assertEquals(3, runs.get());
+        assertThrows(IllegalArgumentException.class, () -> new SerialExecutor(batches::add, 0));
+    }
+
+    /**
+     * Multi ta4j strategy counting the signals.
+     */
+    private static class TestableMultiTa4jStrategy extends MultiTa4jCassandreStrategy {
+
+        private final Map<String, AtomicInteger> enters = new ConcurrentHashMap<>();
+
+        private final Map<String, AtomicInteger> exits = new ConcurrentHashMap<>();
+
+        private final Map<String, Boolean> threads = new ConcurrentHashMap<>();
+
+        @Override
+        public Set<CurrencyPairDTO> getRequestedCurrencyPairs() {
+            return Set.of(cp1, cp2);
+        }
+
+        @Override
+        public Set<Duration> getTimeframes() {
+            return Set.of(ONE_DAY, TWO_DAYS);
+        }
+
+        @Override
+        public int getMaximumBarCount() {
+            return 8;
+        }
+
+        @Override
+        public Strategy getStrategy(CurrencyPairDTO currencyPair, Duration timeframe, BarSeries series) {
+            ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+            SMAIndicator sma = new SMAIndicator(closePrice, 3);
+            return new BaseStrategy(new UnderIndicatorRule(sma, closePrice), new OverIndicatorRule(sma, closePrice));
+        }
+
+        @Override
+        public Optional<AccountDTO> getTradeAccount(Set<AccountDTO> accounts) {
+            return accounts.stream().findFirst();
+        }
+
+        @Override
+        public void shouldEnter(CurrencyPairDTO currencyPair, Duration timeframe) {
+            threads.put(Thread.currentThread().getName(), true);
+            enters.computeIfAbsent(currencyPair + " " + timeframe, key -> new AtomicInteger()).incrementAndGet();
+        }
+
+        @Override
+        public void shouldExit(CurrencyPairDTO currencyPair, Duration timeframe) {
+            threads.put(Thread.currentThread().getName(), true);
+            exits.computeIfAbsent(currencyPair + " " + timeframe, key -> new AtomicInteger()).incrementAndGet();
+        }
+
+    }
+
+}
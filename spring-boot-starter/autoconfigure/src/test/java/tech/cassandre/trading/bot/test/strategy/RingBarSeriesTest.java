@@ -0,0 +1,170 @@
+package tech.cassandre.trading.bot.test.strategy;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.num.DoubleNum;
+import tech.cassandre.trading.bot.util.ta4j.RingBarSeries;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Strategy - Ring bar series")
+public class RingBarSeriesTest {
+
+    private final ZonedDateTime start = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneId.of("Europe/Paris"));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @CaseId(109)
+    @DisplayName("Check ring bar series gives the same results as ta4j series")
+    public void checkRingBarSeries() {
+        final int maximumBarCount = 1500;
+        RingBarSeries ring = new RingBarSeries("ring", maximumBarCount);
+        BarSeries base = new BaseBarSeriesBuilder().withNumTypeOf(DoubleNum.class).withName("base").build();
+        base.setMaximumBarCount(maximumBarCount);
+        assertEquals(-1, ring.getBeginIndex());
+        assertEquals(-1, ring.getEndIndex());
+        assertEquals(0, ring.getBarCount());
+
+        // 5000 bars added, 1500 kept.
+        for (int i = 0; i < 5000; i++) {
+            final double price = 100 + 10 * Math.sin(i / 20.0);
+            ring.addBar(Duration.ofMinutes(1), start.plusMinutes(i + 1), price, price + 1, price - 1, price + 0.5, i);
+            base.addBar(Duration.ofMinutes(1), start.plusMinutes(i + 1), price, price + 1, price - 1, price + 0.5, i);
+        }
+        assertEquals(base.getBarCount(), ring.getBarCount());
+        assertEquals(base.getRemovedBarsCount(), ring.getBeginIndex());
+        assertEquals(base.getEndIndex(), ring.getEndIndex());
+        assertEquals(base.getRemovedBarsCount(), ring.getRemovedBarsCount());
+        assertEquals(3500, ring.getBeginIndex());
+        assertEquals(4999, ring.getEndIndex());
+
+        // Same bars and same indicators values.
+        final SMAIndicator ringSma = new SMAIndicator(new ClosePriceIndicator(ring), 50);
+        final SMAIndicator baseSma = new SMAIndicator(new ClosePriceIndicator(base), 50);
+        final RSIIndicator ringRsi = new RSIIndicator(new ClosePriceIndicator(ring), 14);
+        final RSIIndicator baseRsi = new RSIIndicator(new ClosePriceIndicator(base), 14);
+        for (int i = ring.getBeginIndex(); i <= ring.getEndIndex(); i++) {
+            assertBarEquals(base.getBar(i), ring.getBar(i));
+            assertEquals(baseSma.getValue(i).doubleValue(), ringSma.getValue(i).doubleValue(), 1e-9);
+            assertEquals(baseRsi.getValue(i).doubleValue(), ringRsi.getValue(i).doubleValue(), 1e-9);
+        }
+        // Removed bars are replaced by the first bar.
+        assertBarEquals(ring.getBar(ring.getBeginIndex()), ring.getBar(10));
+        assertThrows(IndexOutOfBoundsException.class, () -> ring.getBar(5000));
+        assertThrows(IllegalArgumentException.class, () -> ring.addBar(Duration.ofMinutes(1), start, 1, 1, 1, 1, 1));
+        assertEquals(1500, ring.getBarData().size());
+        assertBarEquals(ring.getBar(4999), ring.getBarData().get(1499));
+
+        // Empty bar, prices and trades added to the last bar.
+        ring.addBar(Duration.ofMinutes(1), start.plusMinutes(5001));
+        assertNull(ring.getLastBar().getClosePrice());
+        ring.addPrice(DoubleNum.valueOf(10));
+        ring.addTrade(DoubleNum.valueOf(2), DoubleNum.valueOf(12));
+        ring.getLastBar().addPrice(DoubleNum.valueOf(8));
+        Bar bar = ring.getLastBar();
+        assertEquals(start.plusMinutes(5001), bar.getEndTime());
+        assertEquals(start.plusMinutes(5000), bar.getBeginTime());
+        assertEquals(10, bar.getOpenPrice().doubleValue());
+        assertEquals(12, bar.getHighPrice().doubleValue());
+        assertEquals(8, bar.getLowPrice().doubleValue());
+        assertEquals(8, bar.getClosePrice().doubleValue());
+        assertEquals(2, bar.getVolume().doubleValue());
+        assertEquals(24, bar.getAmount().doubleValue());
+        assertEquals(1, bar.getTrades());
+
+        // Sub series.
+        final BarSeries subSeries = ring.getSubSeries(4000, 4010);
+        assertEquals(10, subSeries.getBarCount());
+        assertBarEquals(ring.getBar(4000), subSeries.getFirstBar());
+
+        // Bars are built once and kept until they are modified.
+        assertSame(ring.getBar(4500), ring.getBar(4500));
+        final Bar lastBar = ring.getLastBar();
+        assertSame(lastBar, ring.getLastBar());
+        ring.addPrice(DoubleNum.valueOf(9));
+        assertNotSame(lastBar, ring.getLastBar());
+        assertEquals(9, ring.getLastBar().getClosePrice().doubleValue());
+
+        // Smaller maximum bar count.
+        ring.addBar(Duration.ofMinutes(1), start.plusMinutes(5002), 1, 1, 1, 1, 1);
+        assertEquals(1500, ring.getBarCount());
+        assertEquals(5001, ring.getEndIndex());
+        ring.setMaximumBarCount(100);
+        assertEquals(100, ring.getBarCount());
+        assertEquals(5001, ring.getEndIndex());
+        assertEquals(1, ring.getLastBar().getClosePrice().doubleValue());
+    }
+
+    @Test
+    @CaseId(142)
+    @DisplayName("Check ring bar series is written to a file and read from it")
+    public void checkWriteAndRead() throws IOException {
+        // 25 bars added, 10 kept - the ring wraps.
+        RingBarSeries ring = new RingBarSeries("ring", 10);
+        for (int i = 0; i < 25; i++) {
+            ring.addBar(Duration.ofMinutes(1), start.plusMinutes(i + 1), 100 + i, 101 + i, 99 + i, 100.5 + i, i);
+        }
+        ring.addTrade(DoubleNum.valueOf(2), DoubleNum.valueOf(130));
+        ring.addBar(Duration.ofMinutes(1), start.plusMinutes(26));
+
+        final Path file = directory.resolve("ring.bin");
+        ring.writeTo(file);
+        final RingBarSeries read = RingBarSeries.readFrom("read", file);
+        assertEquals("read", read.getName());
+        assertEquals(ring.getMaximumBarCount(), read.getMaximumBarCount());
+        assertEquals(ring.getBarCount(), read.getBarCount());
+        assertEquals(ring.getBeginIndex(), read.getBeginIndex());
+        assertEquals(ring.getEndIndex(), read.getEndIndex());
+        for (int i = ring.getBeginIndex(); i < ring.getEndIndex(); i++) {
+            assertBarEquals(ring.getBar(i), read.getBar(i));
+            assertEquals(ring.getBar(i).getAmount().doubleValue(), read.getBar(i).getAmount().doubleValue());
+            assertEquals(ring.getBar(i).getTrades(), read.getBar(i).getTrades());
+            assertEquals(ring.getBar(i).getEndTime(), read.getBar(i).getEndTime());
+        }
+        assertEquals(1, read.getBar(24).getTrades());
+        assertNull(read.getLastBar().getClosePrice());
+
+        // The series read keeps working as a ring.
+        read.addBar(Duration.ofMinutes(1), start.plusMinutes(27), 1, 1, 1, 1, 1);
+        assertEquals(10, read.getBarCount());
+        assertEquals(26, read.getEndIndex());
+        assertEquals(1, read.getLastBar().getClosePrice().doubleValue());
+    }
+
+    /**
+     * Checks that two bars are equal.
+     *
+     * @param expected expected bar
+     * @param actual   actual bar
+     */
+    private void assertBarEquals(final Bar expected, final Bar actual) {
+        assertEquals(expected.getEndTime().toInstant(), actual.getEndTime().toInstant());
+        assertEquals(expected.getTimePeriod(), actual.getTimePeriod());
+        assertEquals(expected.getOpenPrice().doubleValue(), actual.getOpenPrice().doubleValue());
+        assertEquals(expected.getHighPrice().doubleValue(), actual.getHighPrice().doubleValue());
+        assertEquals(expected.getLowPrice().doubleValue(), actual.getLowPrice().doubleValue());
+        assertEquals(expected.getClosePrice().doubleValue(), actual.getClosePrice().doubleValue());
+        assertEquals(expected.getVolume().doubleValue(), actual.getVolume().doubleValue());
+    }
+
+}
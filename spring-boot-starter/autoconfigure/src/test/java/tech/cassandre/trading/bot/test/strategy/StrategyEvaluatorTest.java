@@ -0,0 +1,110 @@
+package tech.cassandre.trading.bot.test.strategy;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.trading.rules.OverIndicatorRule;
+import org.ta4j.core.trading.rules.UnderIndicatorRule;
+import tech.cassandre.trading.bot.dto.market.TickerDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.util.ta4j.EvaluationResult;
+import tech.cassandre.trading.bot.util.ta4j.StrategyEvaluator;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.BTC;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.USDT;
+
+@DisplayName("Strategy - Strategy evaluator")
+public class StrategyEvaluatorTest {
+
+    private final CurrencyPairDTO cp = new CurrencyPairDTO(BTC, USDT);
+
+    private final ZonedDateTime start = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneId.systemDefault());
+
+    @Test
+    @CaseId(107)
+    @DisplayName("Check trades and gains of a strategy on a historical series")
+    public void checkEvaluation() {
+        // 16 daily tickers give 15 daily bars.
+        final int[] prices = {100, 100, 110, 100, 140, 100, 119, 100, 100, 100, 110, 100, 120, 100, 130, 100};
+        List<TickerDTO> tickers = new ArrayList<>();
+        for (int day = 0; day < prices.length; day++) {
+            tickers.add(TickerDTO.builder().currencyPair(cp).timestamp(start.plusDays(day)).last(new BigDecimal(prices[day])).build());
+        }
+        final BarSeries series = StrategyEvaluator.loadSeries(cp.toString(), tickers, Duration.ofDays(1));
+        assertEquals(15, series.getBarCount());
+
+        // Without fees.
+        EvaluationResult result = new StrategyEvaluator(BigDecimal.ONE).evaluate(series, getStrategy(series, 3));
+        assertEquals(15, result.getBarCount());
+        assertEquals(4, result.getTrades().size());
+        assertEquals(0, result.getWinningTrades());
+        assertEquals(4, result.getLosingTrades());
+        assertTrue(result.isPositionOpened());
+        assertEquals(0, new BigDecimal("-80").compareTo(result.getGain()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(result.getFees()));
+        assertEquals(2, result.getTrades().get(0).getEntryIndex());
+        assertEquals(start.plusDays(3), result.getTrades().get(0).getEntryTime());
+        assertEquals(0, new BigDecimal("110").compareTo(result.getTrades().get(0).getEntryPrice()));
+        assertEquals(3, result.getTrades().get(0).getExitIndex());
+        assertEquals(0, new BigDecimal("100").compareTo(result.getTrades().get(0).getExitPrice()));
+        assertEquals(0, new BigDecimal("-10").compareTo(result.getTrades().get(0).getGain()));
+
+        // With fees (0.1%) and 2 BTC.
+        result = new StrategyEvaluator(new BigDecimal(2), new BigDecimal("0.001")).evaluate(series, getStrategy(series, 3));
+        assertEquals(0, new BigDecimal("1.76").compareTo(result.getFees().setScale(2, RoundingMode.HALF_UP)));
+        assertEquals(0, new BigDecimal("-161.76").compareTo(result.getGain().setScale(2, RoundingMode.HALF_UP)));
+    }
+
+    @Test
+    @CaseId(108)
+    @DisplayName("Check a year of minute bars is evaluated")
+    public void checkYearOfMinuteBars() {
+        final BarSeries series = new BaseBarSeriesBuilder()
+                .withNumTypeOf(DoubleNum.class)
+                .build();
+        final int bars = 365 * 24 * 60;
+        for (int i = 0; i < bars; i++) {
+            final double price = 100 + 10 * Math.sin(i / 120.0);
+            series.addBar(Duration.ofMinutes(1), start.plusMinutes(i + 1), price, price, price, price, 1);
+        }
+
+        // Several parameter sets on the same series.
+        for (int barCount = 10; barCount <= 30; barCount += 10) {
+            final EvaluationResult result = new StrategyEvaluator(BigDecimal.ONE).evaluate(series, getStrategy(series, barCount));
+            assertEquals(bars, result.getBarCount());
+            assertTrue(result.getTrades().size() > 0);
+            assertTrue(result.getEvaluationTime().toSeconds() < 60);
+        }
+    }
+
+    /**
+     * Returns the strategy to evaluate.
+     *
+     * @param series   series
+     * @param barCount sma bar count
+     * @return strategy
+     */
+    private Strategy getStrategy(final BarSeries series, final int barCount) {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator sma = new SMAIndicator(closePrice, barCount);
+        return new BaseStrategy(new UnderIndicatorRule(sma, closePrice), new OverIndicatorRule(sma, closePrice));
+    }
+
+}
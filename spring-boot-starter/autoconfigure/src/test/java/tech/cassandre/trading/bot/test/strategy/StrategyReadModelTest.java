@@ -0,0 +1,131 @@
+package tech.cassandre.trading.bot.test.strategy;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tech.cassandre.trading.bot.domain.Order;
+import tech.cassandre.trading.bot.domain.Position;
+import tech.cassandre.trading.bot.dto.position.PositionDTO;
+import tech.cassandre.trading.bot.dto.position.PositionStatusDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderDTO;
+import tech.cassandre.trading.bot.dto.trade.OrderStatusDTO;
+import tech.cassandre.trading.bot.dto.trade.TradeDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.repository.OrderRepository;
+import tech.cassandre.trading.bot.repository.PositionRepository;
+import tech.cassandre.trading.bot.repository.TradeRepository;
+import tech.cassandre.trading.bot.strategy.intern.StrategyReadModel;
+
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static tech.cassandre.trading.bot.dto.position.PositionStatusDTO.OPENED;
+import static tech.cassandre.trading.bot.dto.position.PositionStatusDTO.OPENING;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.FILLED;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.NEW;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.BTC;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.ETH;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.USDT;
+
+@DisplayName("Strategy - Read model")
+public class StrategyReadModelTest {
+
+    private final CurrencyPairDTO cp1 = new CurrencyPairDTO(ETH, BTC);
+
+    private final CurrencyPairDTO cp2 = new CurrencyPairDTO(BTC, USDT);
+
+    @Test
+    @CaseId(98)
+    @DisplayName("Check read model is loaded once and updated by flux updates without querying the database")
+    public void checkReadModel() {
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        TradeRepository tradeRepository = mock(TradeRepository.class);
+        PositionRepository positionRepository = mock(PositionRepository.class);
+        Order order1 = getOrder(1L, "ORDER_000001", FILLED);
+        Order order2 = getOrder(2L, "ORDER_000002", NEW);
+        Position position1 = getPosition(1L, cp1, order1, OPENED);
+        when(orderRepository.findByOrderByTimestampAsc()).thenReturn(List.of(order1, order2));
+        when(tradeRepository.findByOrderByTimestampAsc()).thenReturn(Collections.emptyList());
+        when(positionRepository.findByOrderById()).thenReturn(List.of(position1));
+        StrategyReadModel readModel = new StrategyReadModel(orderRepository, tradeRepository, positionRepository);
+
+        // Updates received before the first read are ignored (the model is loaded from database).
+        readModel.orderUpdate(OrderDTO.builder().orderId("ORDER_000001").build());
+        verify(orderRepository, times(0)).findByOrderId("ORDER_000001");
+
+        // First read.
+        Map<String, OrderDTO> orders = readModel.getOrders();
+        assertEquals(2, orders.size());
+        assertEquals(1, readModel.getOpenOrders().size());
+        assertTrue(readModel.getOpenOrders().containsKey("ORDER_000002"));
+        assertEquals(1, readModel.getPositions().size());
+        assertEquals(1, readModel.getPositionsByCurrencyPair(cp1).size());
+        assertTrue(readModel.getPositionsByCurrencyPair(cp2).isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> readModel.getOrders().remove("ORDER_000001"));
+
+        // Views are read-only views of the model : the database is not queried again.
+        assertSame(orders, readModel.getOrders());
+        verify(orderRepository, times(1)).findByOrderByTimestampAsc();
+
+        // Order 2 is filled by a trade - the exchange doesn't return the technical id and the trades of the order.
+        readModel.tradeUpdate(TradeDTO.builder().tradeId("TRADE_000001").orderId("ORDER_000002").build());
+        readModel.orderUpdate(OrderDTO.builder().orderId("ORDER_000002").status(FILLED).build());
+        assertEquals(2, orders.size());
+        assertEquals(1, readModel.getTrades().size());
+        assertTrue(readModel.getOpenOrders().isEmpty());
+        assertEquals(2L, orders.get("ORDER_000002").getId());
+        assertEquals(FILLED, orders.get("ORDER_000002").getStatus());
+        assertTrue(orders.get("ORDER_000002").getTrade("TRADE_000001").isPresent());
+
+        // New position on the second currency pair.
+        readModel.positionUpdate(PositionDTO.builder().id(2L).currencyPair(cp2).status(OPENING).build());
+        assertEquals(2, readModel.getPositions().size());
+        assertEquals(1, readModel.getPositionsByCurrencyPair(cp2).size());
+        assertEquals(OPENING, readModel.getPositions().get(2L).getStatus());
+
+        // Position 2 is opened.
+        final Map<Long, PositionDTO> cp2Positions = readModel.getPositionsByCurrencyPair(cp2);
+        readModel.positionUpdate(PositionDTO.builder().id(2L).currencyPair(cp2).status(OPENED).build());
+        assertEquals(OPENED, readModel.getPositions().get(2L).getStatus());
+        assertEquals(OPENED, cp2Positions.get(2L).getStatus());
+        assertThrows(UnsupportedOperationException.class, () -> cp2Positions.remove(2L));
+
+        // Updates never query the database.
+        verify(orderRepository, times(1)).findByOrderByTimestampAsc();
+        verify(tradeRepository, times(1)).findByOrderByTimestampAsc();
+        verify(positionRepository, times(1)).findByOrderById();
+        verifyNoMoreInteractions(orderRepository, tradeRepository, positionRepository);
+    }
+
+    private Order getOrder(final long id, final String orderId, final OrderStatusDTO status) {
+        Order order = new Order();
+        order.setId(id);
+        order.setOrderId(orderId);
+        order.setCurrencyPair(cp1.toString());
+        order.setStatus(status);
+        order.setTimestamp(ZonedDateTime.now());
+        return order;
+    }
+
+    private Position getPosition(final long id, final CurrencyPairDTO currencyPair, final Order openingOrder, final PositionStatusDTO status) {
+        Position position = new Position();
+        position.setId(id);
+        position.setPositionId(id);
+        position.setCurrencyPair(currencyPair.toString());
+        position.setOpeningOrder(openingOrder);
+        position.setStatus(status);
+        return position;
+    }
+
+}
@@ -0,0 +1,136 @@
+package tech.cassandre.trading.bot.test.strategy;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.cassandre.trading.bot.domain.Ticker;
+import tech.cassandre.trading.bot.dto.market.TickerDTO;
+import tech.cassandre.trading.bot.dto.user.AccountDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.repository.PositionRepository;
+import tech.cassandre.trading.bot.repository.PositionStatusView;
+import tech.cassandre.trading.bot.repository.TickerRepository;
+import tech.cassandre.trading.bot.strategy.intern.StrategyRecovery;
+import tech.cassandre.trading.bot.strategy.intern.StrategyState;
+import tech.cassandre.trading.bot.test.util.strategies.TestableTa4jCassandreStrategy;
+import tech.cassandre.trading.bot.util.journal.EventJournal;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.cassandre.trading.bot.dto.position.PositionStatusDTO.CLOSED;
+import static tech.cassandre.trading.bot.dto.position.PositionStatusDTO.OPENED;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.BTC;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.ETH;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.USDT;
+import static tech.cassandre.trading.bot.util.journal.EventType.ACCOUNT;
+import static tech.cassandre.trading.bot.util.journal.EventType.TICKER;
+
+@DisplayName("Strategy - Recovery")
+public class StrategyRecoveryTest {
+
+    private final CurrencyPairDTO cp1 = new CurrencyPairDTO(BTC, USDT);
+
+    private final CurrencyPairDTO cp2 = new CurrencyPairDTO(ETH, BTC);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @CaseId(102)
+    @DisplayName("Check strategy state is restored from database and journal")
+    public void checkRecovery() {
+        // Journal with 10 daily tickers for the strategy currency pair, one for another pair and an account.
+        EventJournal journal = new EventJournal(directory, 65536, false);
+        final ZonedDateTime start = ZonedDateTime.now().minusDays(10);
+        for (int i = 0; i < 10; i++) {
+            journal.append(TICKER, TickerDTO.builder().currencyPair(cp1).last(new BigDecimal(i)).timestamp(start.plusDays(i)).build());
+        }
+        journal.append(TICKER, TickerDTO.builder().currencyPair(cp2).last(BigDecimal.ONE).timestamp(start).build());
+        journal.append(ACCOUNT, AccountDTO.builder().accountId("01").name("journal").build());
+        journal.close();
+
+        // One opened position in database.
+        PositionRepository positionRepository = mock(PositionRepository.class);
+        PositionStatusView position = mock(PositionStatusView.class);
+        when(position.getId()).thenReturn(1L);
+        when(position.getStatus()).thenReturn(OPENED);
+        when(positionRepository.findStatusByStatusNot(CLOSED)).thenReturn(List.of(position));
+
+        // Recovery - the account retrieved from the exchange replaces the one in the journal.
+        journal = new EventJournal(directory, 65536, false);
+        StrategyRecovery recovery = new StrategyRecovery(positionRepository, null, journal, true, Duration.ofSeconds(10), Duration.ZERO);
+        final StrategyState state = recovery.recover(Set.of(cp1), List.of(AccountDTO.builder().accountId("01").name("trade").build()));
+        assertEquals(1, state.getAccounts().size());
+        assertEquals("trade", state.getAccounts().get("01").getName());
+        assertEquals(1, state.getLastTickers().size());
+        assertEquals(0, new BigDecimal(9).compareTo(state.getLastTickers().get(cp1).getLast()));
+        assertEquals(OPENED, state.getPositionsStatus().get(1L));
+        assertEquals(10, state.getTickers().size());
+        assertTrue(state.getRecoveryTime() < 10000);
+        journal.close();
+
+        // Restoring the strategy - bars are rebuilt (9 daily bars closed, 8 kept) without calling the strategy.
+        TestableTa4jCassandreStrategy strategy = new TestableTa4jCassandreStrategy();
+        strategy.restoreState(state);
+        assertEquals(8, strategy.getSeries().getBarCount());
+        assertEquals(1, strategy.getAccounts().size());
+        assertTrue(strategy.getTradeAccount().isPresent());
+        assertTrue(strategy.getLastTickers().containsKey(cp1));
+        assertTrue(strategy.getTickersUpdateReceived().isEmpty());
+        assertEquals(0, strategy.getEnterCount());
+        assertEquals(0, strategy.getExitCount());
+    }
+
+    @Test
+    @CaseId(130)
+    @DisplayName("Check strategy state is restored from the tickers table and read only once")
+    public void checkRecoveryFromTickersTable() {
+        // Tickers table with 10 daily tickers, journal disabled.
+        PositionRepository positionRepository = mock(PositionRepository.class);
+        when(positionRepository.findStatusByStatusNot(CLOSED)).thenReturn(Collections.emptyList());
+        TickerRepository tickerRepository = mock(TickerRepository.class);
+        final ZonedDateTime start = ZonedDateTime.now().minusDays(10);
+        List<Ticker> tickers = new LinkedList<>();
+        for (int i = 0; i < 10; i++) {
+            Ticker ticker = new Ticker();
+            ticker.setCurrencyPair(cp1.toString());
+            ticker.setLast(new BigDecimal(i));
+            ticker.setTimestamp(start.plusDays(i));
+            tickers.add(ticker);
+        }
+        when(tickerRepository.findByCurrencyPairAndTimestampBetweenOrderByTimestamp(eq(cp1.toString()), any(), any())).thenReturn(tickers);
+
+        // Recovery - last ticker and tickers history come from the table.
+        StrategyRecovery recovery = new StrategyRecovery(positionRepository, tickerRepository, null, true, Duration.ofSeconds(10), Duration.ofDays(30));
+        final StrategyState state = recovery.recover(Set.of(cp1, cp2), Collections.emptyList());
+        assertEquals(1, state.getLastTickers().size());
+        assertEquals(0, new BigDecimal(9).compareTo(state.getLastTickers().get(cp1).getLast()));
+        assertEquals(10, state.getTickers().size());
+        TestableTa4jCassandreStrategy strategy = new TestableTa4jCassandreStrategy();
+        strategy.restoreState(state);
+        assertEquals(8, strategy.getSeries().getBarCount());
+        assertEquals(0, strategy.getEnterCount());
+
+        // A second recovery shares the result of the first one.
+        assertEquals(10, recovery.recover(Set.of(cp1), Collections.emptyList()).getTickers().size());
+        verify(positionRepository, times(1)).findStatusByStatusNot(CLOSED);
+        verify(tickerRepository, times(1)).findByCurrencyPairAndTimestampBetweenOrderByTimestamp(eq(cp1.toString()), any(), any());
+    }
+
+}
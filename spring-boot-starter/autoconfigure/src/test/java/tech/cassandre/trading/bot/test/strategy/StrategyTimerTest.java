@@ -0,0 +1,81 @@
+package tech.cassandre.trading.bot.test.strategy;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import tech.cassandre.trading.bot.domain.Order;
+import tech.cassandre.trading.bot.dto.trade.OrderStatusDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.repository.OrderRepository;
+import tech.cassandre.trading.bot.repository.PositionRepository;
+import tech.cassandre.trading.bot.repository.TradeRepository;
+import tech.cassandre.trading.bot.service.TradeService;
+import tech.cassandre.trading.bot.test.util.strategies.TestableTa4jCassandreStrategy;
+import tech.cassandre.trading.bot.util.concurrent.HashedWheelTimer;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.FILLED;
+import static tech.cassandre.trading.bot.dto.trade.OrderStatusDTO.NEW;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.BTC;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.ETH;
+
+@DisplayName("Strategy - Timer")
+public class StrategyTimerTest {
+
+    private final CurrencyPairDTO cp1 = new CurrencyPairDTO(ETH, BTC);
+
+    @Test
+    @CaseId(134)
+    @DisplayName("Check orders not in a final status are canceled after a delay without loading them on the timer thread")
+    public void checkCancelOrderAfter() {
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        final List<String> loadingThreads = new CopyOnWriteArrayList<>();
+        when(orderRepository.findByOrderByTimestampAsc()).thenAnswer(invocation -> {
+            loadingThreads.add(Thread.currentThread().getName());
+            return List.of(getOrder(1L, "ORDER_000001", FILLED), getOrder(2L, "ORDER_000002", NEW));
+        });
+        TradeService tradeService = mock(TradeService.class);
+        when(tradeService.cancelOrderAsync(any())).thenReturn(Mono.just(true));
+        HashedWheelTimer timer = new HashedWheelTimer(Duration.ofMillis(5), 64);
+        TestableTa4jCassandreStrategy strategy = new TestableTa4jCassandreStrategy();
+        strategy.setOrderRepository(orderRepository);
+        strategy.setTradeRepository(mock(TradeRepository.class));
+        strategy.setPositionRepository(mock(PositionRepository.class));
+        strategy.setTradeService(tradeService);
+        strategy.setTimer(timer);
+
+        // Only the order not filled is canceled.
+        strategy.cancelOrderAfter("ORDER_000001", Duration.ofMillis(10));
+        strategy.cancelOrderAfter("ORDER_000002", Duration.ofMillis(10));
+        await().atMost(5, SECONDS).untilAsserted(() -> verify(tradeService).cancelOrderAsync("ORDER_000002"));
+        verify(tradeService, never()).cancelOrderAsync("ORDER_000001");
+        assertEquals(1, loadingThreads.size());
+        assertNotEquals("cassandre-timer", loadingThreads.get(0));
+        timer.stop();
+    }
+
+    private Order getOrder(final long id, final String orderId, final OrderStatusDTO status) {
+        Order order = new Order();
+        order.setId(id);
+        order.setOrderId(orderId);
+        order.setCurrencyPair(cp1.toString());
+        order.setStatus(status);
+        order.setTimestamp(ZonedDateTime.now());
+        return order;
+    }
+
+}
@@ -0,0 +1,163 @@
+package tech.cassandre.trading.bot.test.strategy;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.ATRIndicator;
+import org.ta4j.core.indicators.EMAIndicator;
+import org.ta4j.core.indicators.MACDIndicator;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.HighestValueIndicator;
+import org.ta4j.core.indicators.helpers.LowestValueIndicator;
+import org.ta4j.core.indicators.statistics.StandardDeviationIndicator;
+import org.ta4j.core.indicators.volume.VWAPIndicator;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.Num;
+import tech.cassandre.trading.bot.dto.market.TickerDTO;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.test.util.strategies.TestableTa4jCassandreStrategy;
+import tech.cassandre.trading.bot.util.indicator.AverageTrueRange;
+import tech.cassandre.trading.bot.util.indicator.BollingerBands;
+import tech.cassandre.trading.bot.util.indicator.ExponentialMovingAverage;
+import tech.cassandre.trading.bot.util.indicator.MovingAverageConvergenceDivergence;
+import tech.cassandre.trading.bot.util.indicator.RelativeStrengthIndex;
+import tech.cassandre.trading.bot.util.indicator.RollingMaximum;
+import tech.cassandre.trading.bot.util.indicator.RollingMinimum;
+import tech.cassandre.trading.bot.util.indicator.SimpleMovingAverage;
+import tech.cassandre.trading.bot.util.indicator.VolumeWeightedAveragePrice;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.BTC;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.ETH;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.USDT;
+
+@DisplayName("Strategy - Streaming indicators")
+public class StreamingIndicatorsTest {
+
+    private static final double PRECISION = 0.000001;
+
+    @Test
+    @CaseId(110)
+    @DisplayName("Check streaming indicators give the same values as ta4j indicators")
+    public void checkValues() {
+        // Random walk bars.
+        final BarSeries series = new BaseBarSeriesBuilder().withNumTypeOf(DoubleNum.class).build();
+        final Random random = new Random(42);
+        final ZonedDateTime start = ZonedDateTime.now();
+        double close = 100;
+        for (int i = 0; i < 1000; i++) {
+            final double open = close;
+            close = Math.max(1, open + random.nextGaussian());
+            final double high = Math.max(open, close) + random.nextDouble();
+            final double low = Math.min(open, close) - random.nextDouble();
+            series.addBar(start.plusMinutes(i), open, high, low, close, random.nextDouble() * 10);
+        }
+
+        // ta4j indicators.
+        final ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        final SMAIndicator ta4jSma = new SMAIndicator(closePrice, 20);
+        final EMAIndicator ta4jEma = new EMAIndicator(closePrice, 20);
+        final RSIIndicator ta4jRsi = new RSIIndicator(closePrice, 14);
+        final MACDIndicator ta4jMacd = new MACDIndicator(closePrice, 12, 26);
+        final EMAIndicator ta4jSignal = new EMAIndicator(ta4jMacd, 9);
+        final StandardDeviationIndicator ta4jDeviation = new StandardDeviationIndicator(closePrice, 20);
+        final ATRIndicator ta4jAtr = new ATRIndicator(series, 14);
+        final VWAPIndicator ta4jVwap = new VWAPIndicator(series, 10);
+        final HighestValueIndicator ta4jMaximum = new HighestValueIndicator(closePrice, 30);
+        final LowestValueIndicator ta4jMinimum = new LowestValueIndicator(closePrice, 30);
+
+        // Streaming indicators.
+        final SimpleMovingAverage sma = new SimpleMovingAverage(20);
+        final ExponentialMovingAverage ema = new ExponentialMovingAverage(20);
+        final RelativeStrengthIndex rsi = new RelativeStrengthIndex(14);
+        final MovingAverageConvergenceDivergence macd = new MovingAverageConvergenceDivergence(12, 26);
+        final BollingerBands bollinger = new BollingerBands(20);
+        final AverageTrueRange atr = new AverageTrueRange(14);
+        final VolumeWeightedAveragePrice vwap = new VolumeWeightedAveragePrice(10);
+        final RollingMaximum maximum = new RollingMaximum(30);
+        final RollingMinimum minimum = new RollingMinimum(30);
+
+        for (int i = 0; i < series.getBarCount(); i++) {
+            final double high = series.getBar(i).getHighPrice().doubleValue();
+            final double low = series.getBar(i).getLowPrice().doubleValue();
+            final double price = series.getBar(i).getClosePrice().doubleValue();
+            final double volume = series.getBar(i).getVolume().doubleValue();
+            sma.update(price);
+            ema.update(price);
+            rsi.update(price);
+            macd.update(price);
+            bollinger.update(price);
+            atr.update(high, low, price, volume);
+            vwap.update(high, low, price, volume);
+            maximum.update(price);
+            minimum.update(price);
+
+            assertEquals(value(ta4jSma, i), sma.getValue(), PRECISION);
+            assertEquals(value(ta4jEma, i), ema.getValue(), PRECISION);
+            assertEquals(value(ta4jRsi, i), rsi.getValue(), PRECISION);
+            assertEquals(value(ta4jMacd, i), macd.getValue(), PRECISION);
+            assertEquals(value(ta4jSignal, i), macd.getSignal(), PRECISION);
+            assertEquals(value(ta4jSma, i), bollinger.getMiddle(), PRECISION);
+            assertEquals(value(ta4jSma, i) + 2 * value(ta4jDeviation, i), bollinger.getUpper(), PRECISION);
+            assertEquals(value(ta4jSma, i) - 2 * value(ta4jDeviation, i), bollinger.getLower(), PRECISION);
+            assertEquals(value(ta4jAtr, i), atr.getValue(), PRECISION);
+            assertEquals(value(ta4jVwap, i), vwap.getValue(), PRECISION);
+            assertEquals(value(ta4jMaximum, i), maximum.getValue(), PRECISION);
+            assertEquals(value(ta4jMinimum, i), minimum.getValue(), PRECISION);
+            assertEquals(i >= 19, sma.isReady());
+            assertEquals(i >= 14, rsi.isReady());
+            assertEquals(i >= 29, maximum.isReady());
+        }
+    }
+
+    @Test
+    @CaseId(111)
+    @DisplayName("Check indicators attached to a currency pair are updated with its tickers")
+    public void checkTickerIndicators() {
+        final CurrencyPairDTO cp1 = new CurrencyPairDTO(BTC, USDT);
+        final CurrencyPairDTO cp2 = new CurrencyPairDTO(ETH, BTC);
+        final TestableTa4jCassandreStrategy strategy = new TestableTa4jCassandreStrategy();
+        final SimpleMovingAverage sma = strategy.addIndicator(cp1, new SimpleMovingAverage(3));
+        final VolumeWeightedAveragePrice vwap = strategy.addIndicator(cp1, new VolumeWeightedAveragePrice(3));
+        assertEquals(2, strategy.getIndicators().get(cp1).size());
+        assertTrue(strategy.getIndicators().get(cp2).isEmpty());
+        assertTrue(Double.isNaN(sma.getValue()));
+
+        // Tickers of the other currency pair are ignored.
+        strategy.tickerUpdate(TickerDTO.builder().currencyPair(cp2).last(new BigDecimal("1000")).build());
+        assertTrue(Double.isNaN(sma.getValue()));
+
+        // Rolling volumes 100, 102 and 105 - volumes traded are 0, 2 and 3.
+        strategy.tickerUpdate(TickerDTO.builder().currencyPair(cp1).last(new BigDecimal("10")).volume(new BigDecimal("100")).build());
+        strategy.tickerUpdate(TickerDTO.builder().currencyPair(cp1).last(new BigDecimal("20")).volume(new BigDecimal("102")).build());
+        assertFalse(sma.isReady());
+        strategy.tickerUpdate(TickerDTO.builder().currencyPair(cp1).last(new BigDecimal("30")).volume(new BigDecimal("105")).build());
+        assertTrue(sma.isReady());
+        assertEquals(20, sma.getValue(), PRECISION);
+        assertEquals((20 * 2 + 30 * 3) / 5.0, vwap.getValue(), PRECISION);
+        assertEquals(4, strategy.getTickersUpdateReceived().size());
+    }
+
+    /**
+     * Returns the value of a ta4j indicator as a double.
+     *
+     * @param indicator indicator
+     * @param index     index
+     * @return value
+     */
+    private double value(final Indicator<Num> indicator, final int index) {
+        return indicator.getValue(index).doubleValue();
+    }
+
+}
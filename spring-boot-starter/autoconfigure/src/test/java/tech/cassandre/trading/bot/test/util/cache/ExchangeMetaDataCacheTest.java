@@ -0,0 +1,75 @@
+package tech.cassandre.trading.bot.test.util.cache;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.knowm.xchange.Exchange;
+import org.knowm.xchange.ExchangeFactory;
+import org.knowm.xchange.ExchangeSpecification;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.meta.CurrencyPairMetaData;
+import org.knowm.xchange.dto.meta.ExchangeMetaData;
+import org.knowm.xchange.kucoin.KucoinExchange;
+import tech.cassandre.trading.bot.dto.util.CurrencyPairDTO;
+import tech.cassandre.trading.bot.service.xchange.ExchangeServiceXChangeImplementation;
+import tech.cassandre.trading.bot.util.cache.ExchangeMetaDataCache;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.BTC;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.ETH;
+import static tech.cassandre.trading.bot.dto.util.CurrencyDTO.USDT;
+
+@DisplayName("Util - Cache - Exchange metadata cache")
+public class ExchangeMetaDataCacheTest {
+
+    @Test
+    @CaseId(97)
+    @DisplayName("Check metadata is saved and loaded from the cache")
+    public void checkMetaDataCache(@TempDir final Path directory) throws Exception {
+        ExchangeMetaDataCache cache = new ExchangeMetaDataCache(directory, "kucoin", Duration.ofHours(1));
+        assertTrue(cache.getValidFile().isEmpty());
+
+        // We save metadata with two currency pairs.
+        Map<CurrencyPair, CurrencyPairMetaData> currencyPairs = new LinkedHashMap<>();
+        currencyPairs.put(CurrencyPair.ETH_BTC, new CurrencyPairMetaData(new BigDecimal("0.001"), new BigDecimal("0.0001"), null, 8, null));
+        currencyPairs.put(CurrencyPair.BTC_USDT, new CurrencyPairMetaData(new BigDecimal("0.001"), new BigDecimal("0.00001"), null, 2, null));
+        ExchangeMetaData metaData = new ExchangeMetaData(currencyPairs, Collections.emptyMap(), null, null, false);
+        assertTrue(cache.save(metaData));
+        assertEquals(directory.resolve("kucoin-metadata-v" + ExchangeMetaDataCache.CACHE_VERSION + ".json"), cache.getFile());
+
+        // A new exchange is created from the cache without calling the exchange.
+        Optional<Path> cachedMetaData = cache.getValidFile();
+        assertTrue(cachedMetaData.isPresent());
+        ExchangeSpecification cachedSpecification = new ExchangeSpecification(KucoinExchange.class);
+        cachedSpecification.setMetaDataJsonFileOverride(cachedMetaData.get().toString());
+        cachedSpecification.setShouldLoadRemoteMetaData(false);
+        Exchange cachedExchange = ExchangeFactory.INSTANCE.createExchange(cachedSpecification);
+        ExchangeServiceXChangeImplementation exchangeService = new ExchangeServiceXChangeImplementation(cachedExchange, cache);
+        assertEquals(2, exchangeService.getAvailableCurrencyPairs().size());
+        assertTrue(exchangeService.getAvailableCurrencyPairs().contains(new CurrencyPairDTO(ETH, BTC)));
+        assertTrue(exchangeService.getAvailableCurrencyPairs().contains(new CurrencyPairDTO(BTC, USDT)));
+
+        // Expired cache.
+        Files.setLastModifiedTime(cache.getFile(), FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        assertTrue(cache.getValidFile().isEmpty());
+
+        // Invalid cache.
+        Files.writeString(cache.getFile(), "{ invalid");
+        assertFalse(cache.getValidFile().isPresent());
+    }
+
+}
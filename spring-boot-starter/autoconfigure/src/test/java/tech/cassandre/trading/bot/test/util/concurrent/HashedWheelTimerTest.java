@@ -0,0 +1,88 @@
+package tech.cassandre.trading.bot.test.util.concurrent;
+
+import io.qase.api.annotation.CaseId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tech.cassandre.trading.bot.util.concurrent.HashedWheelTimer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Util - Concurrent - Hashed wheel timer")
+public class HashedWheelTimerTest {
+
+    @Test
+    @CaseId(122)
+    @DisplayName("Check 100 000 timers are run or canceled on a single thread")
+    public void checkManyTimers() {
+        HashedWheelTimer timer = new HashedWheelTimer(Duration.ofMillis(5), 256);
+        final AtomicInteger runs = new AtomicInteger();
+        final AtomicLong early = new AtomicLong();
+
+        // 100 000 timers with delays from 0.5 to 2.5 seconds (several wheel rounds) - one out of two is canceled.
+        final List<HashedWheelTimer.Timeout> timeouts = new ArrayList<>(100_000);
+        for (int i = 0; i < 100_000; i++) {
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500 + i % 2000);
+            timeouts.add(timer.schedule(() -> {
+                runs.incrementAndGet();
+                // Timers must not run before their deadline.
+                if (System.nanoTime() < deadline) {
+                    early.incrementAndGet();
+                }
+            }, Duration.ofMillis(500 + i % 2000)));
+        }
+        for (int i = 1; i < timeouts.size(); i += 2) {
+            assertTrue(timeouts.get(i).cancel());
+        }
+        assertEquals(50_000, timer.getPendingTimeouts());
+
+        await().atMost(10, SECONDS).until(() -> runs.get() == 50_000);
+        assertEquals(0, early.get());
+        assertEquals(0, timer.getPendingTimeouts());
+        assertTrue(timeouts.get(0).isExpired());
+        assertTrue(timeouts.get(1).isCanceled());
+        assertFalse(timeouts.get(0).cancel());
+        timer.stop();
+        assertThrows(IllegalStateException.class, () -> timer.schedule(() -> { }, Duration.ZERO));
+    }
+
+    @Test
+    @CaseId(123)
+    @DisplayName("Check periodic timers run until canceled")
+    public void checkPeriodicTimer() throws InterruptedException {
+        HashedWheelTimer timer = new HashedWheelTimer(Duration.ofMillis(5), 64);
+        final AtomicInteger runs = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+
+        // A failing task is still rescheduled.
+        final HashedWheelTimer.Timeout periodic = timer.scheduleAtFixedRate(runs::incrementAndGet, Duration.ZERO, Duration.ofMillis(20));
+        final HashedWheelTimer.Timeout failing = timer.scheduleAtFixedRate(() -> {
+            failures.incrementAndGet();
+            throw new IllegalStateException("Error");
+        }, Duration.ofMillis(10), Duration.ofMillis(20));
+        await().atMost(5, SECONDS).until(() -> runs.get() >= 5 && failures.get() >= 5);
+
+        assertTrue(periodic.cancel());
+        assertTrue(failing.cancel());
+        assertFalse(periodic.cancel());
+        assertTrue(periodic.isCanceled());
+        TimeUnit.MILLISECONDS.sleep(50);
+        final int runsAfterCancel = runs.get();
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertEquals(runsAfterCancel, runs.get());
+        assertEquals(0, timer.getPendingTimeouts());
+        timer.stop();
+    }
+
+}
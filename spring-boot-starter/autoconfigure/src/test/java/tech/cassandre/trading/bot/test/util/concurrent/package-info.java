@@ -0,0 +1,4 @@
+/**
+ * Concurrency utils tests.
+ */
+package tech.cassandre.trading.bot.test.util.concurrent;
@@ -74,7 +74,7 @@ public class TestableTa4jCassandreStrategy extends BasicTa4jCassandreStrategy {
 
     @Override
     public Duration getDelayBetweenTwoBars() {
-        return Duration.ofDays(2);
+        return Duration.ofDays(1);
     }
 
     @Override